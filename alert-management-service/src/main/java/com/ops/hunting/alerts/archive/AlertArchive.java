@@ -0,0 +1,74 @@
+package com.ops.hunting.alerts.archive;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ops.hunting.alerts.dto.AlertCursor;
+import com.ops.hunting.alerts.dto.AlertSearchCriteria;
+import com.ops.hunting.alerts.entity.Alert;
+import com.ops.hunting.alerts.entity.ArchivedAlert;
+import com.ops.hunting.alerts.repository.AlertSearchRepository;
+import com.ops.hunting.alerts.repository.ArchivedAlertRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Read and encode side of the cold tier. Archived alerts are handed back as
+ * detached {@link Alert} instances so callers map them like hot rows.
+ */
+@Component
+@RequiredArgsConstructor
+public class AlertArchive {
+
+	private final ArchivedAlertRepository archivedAlertRepository;
+	private final AlertSearchRepository alertSearchRepository;
+	private final ObjectMapper objectMapper;
+
+	public Optional<Alert> find(UUID id) {
+		return archivedAlertRepository.findById(id).map(this::decode);
+	}
+
+	/** Keyset page of archived alerts, with the same contract as the hot seek. */
+	public List<Alert> seek(AlertSearchCriteria criteria, AlertCursor after, int limit) {
+		return alertSearchRepository.seekArchived(criteria, after, limit).stream().map(this::decode)
+				.collect(Collectors.toList());
+	}
+
+	public ArchivedAlert encode(Alert alert, LocalDateTime archivedAt) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+		try (OutputStream out = new GZIPOutputStream(bytes)) {
+			objectMapper.writeValue(out, alert);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot encode alert " + alert.getId(), e);
+		}
+
+		return ArchivedAlert.builder().id(alert.getId()).severity(alert.getSeverity()).status(alert.getStatus())
+				.sourceSystem(alert.getSourceSystem()).sourceIp(alert.getSourceIp())
+				.destinationIp(alert.getDestinationIp()).ruleId(alert.getRuleId()).assignedTo(alert.getAssignedTo())
+				.threatCategory(alert.getThreatCategory()).confidenceScore(alert.getConfidenceScore())
+				.investigationId(alert.getInvestigationId()).createdAt(alert.getCreatedAt())
+				.closedAt(alert.getClosedAt()).archivedAt(archivedAt).payload(bytes.toByteArray()).build();
+	}
+
+	public Alert decode(ArchivedAlert archived) {
+		try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(archived.getPayload()))) {
+			return objectMapper.readValue(in, Alert.class);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot decode archived alert " + archived.getId(), e);
+		}
+	}
+}
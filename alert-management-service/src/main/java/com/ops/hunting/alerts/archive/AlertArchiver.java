@@ -0,0 +1,138 @@
+package com.ops.hunting.alerts.archive;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ops.hunting.alerts.cache.AlertCacheEvictor;
+import com.ops.hunting.alerts.entity.Alert;
+import com.ops.hunting.alerts.entity.ArchivedAlert;
+import com.ops.hunting.alerts.enums.AlertStatus;
+import com.ops.hunting.alerts.payload.AlertPayloadStore;
+import com.ops.hunting.alerts.repository.AlertJdbcRepository;
+import com.ops.hunting.alerts.repository.AlertRepository;
+import com.ops.hunting.alerts.service.AlertSummaryCounters;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves closed and false-positive alerts that have not changed for
+ * {@code after-days} from {@code alerts} into {@code alerts_archive}, keeping
+ * the hot table, its indexes and its buffer pool footprint down to the alerts
+ * triage still works on. Each batch is copied and deleted in one short
+ * transaction with its rows locked {@code SKIP LOCKED}, so instances can run
+ * the archiver side by side and an alert is never in both tiers.
+ */
+@Component
+@Slf4j
+public class AlertArchiver {
+
+	static final List<AlertStatus> ARCHIVABLE = List.of(AlertStatus.CLOSED, AlertStatus.FALSE_POSITIVE);
+
+	private final AlertJdbcRepository alertJdbcRepository;
+	private final AlertRepository alertRepository;
+	private final AlertArchive alertArchive;
+	private final AlertPayloadStore alertPayloadStore;
+	private final AlertSummaryCounters alertSummaryCounters;
+	private final AlertCacheEvictor alertCacheEvictor;
+	private final TransactionTemplate transactionTemplate;
+	private final Counter archived;
+
+	@Value("${app.alert.archive.enabled:true}")
+	private boolean enabled = true;
+
+	@Value("${app.alert.archive.after-days:30}")
+	private int afterDays = 30;
+
+	@Value("${app.alert.archive.batch-size:500}")
+	private int batchSize = 500;
+
+	@Value("${app.alert.archive.max-batches-per-run:100}")
+	private int maxBatchesPerRun = 100;
+
+	public AlertArchiver(AlertJdbcRepository alertJdbcRepository, AlertRepository alertRepository,
+			AlertArchive alertArchive, AlertPayloadStore alertPayloadStore, AlertSummaryCounters alertSummaryCounters,
+			AlertCacheEvictor alertCacheEvictor, PlatformTransactionManager transactionManager,
+			MeterRegistry meterRegistry) {
+		this.alertJdbcRepository = alertJdbcRepository;
+		this.alertRepository = alertRepository;
+		this.alertArchive = alertArchive;
+		this.alertPayloadStore = alertPayloadStore;
+		this.alertSummaryCounters = alertSummaryCounters;
+		this.alertCacheEvictor = alertCacheEvictor;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.archived = Counter.builder("alerts.archive.moved").description("Alerts moved to the archive tier")
+				.register(meterRegistry);
+	}
+
+	@Scheduled(fixedDelayString = "${app.alert.archive.interval-ms:3600000}",
+			initialDelayString = "${app.alert.archive.initial-delay-ms:300000}")
+	public void archive() {
+		if (!enabled) {
+			return;
+		}
+
+		LocalDateTime cutoff = LocalDateTime.now().minusDays(afterDays);
+		int total = 0;
+		try {
+			for (int i = 0; i < maxBatchesPerRun; i++) {
+				List<Alert> moved = transactionTemplate.execute(tx -> archiveBatch(cutoff));
+				if (moved == null || moved.isEmpty()) {
+					break;
+				}
+				afterMove(moved);
+				total += moved.size();
+				if (moved.size() < batchSize) {
+					break;
+				}
+			}
+		} catch (RuntimeException e) {
+			log.warn("Alert archiving stopped after {} alerts: {}", total, e.getMessage());
+		}
+
+		if (total > 0) {
+			log.info("Archived {} alerts unchanged since {}", total, cutoff);
+		}
+	}
+
+	List<Alert> archiveBatch(LocalDateTime cutoff) {
+		List<UUID> ids = alertJdbcRepository.lockArchivableIds(ARCHIVABLE, cutoff, batchSize);
+		if (ids.isEmpty()) {
+			return List.of();
+		}
+
+		List<Alert> alerts = alertRepository.findAllById(ids);
+		alertPayloadStore.loadAll(alerts);
+		LocalDateTime now = LocalDateTime.now();
+		List<ArchivedAlert> rows = new ArrayList<>(alerts.size());
+		List<UUID> movedIds = new ArrayList<>(alerts.size());
+		for (Alert alert : alerts) {
+			rows.add(alertArchive.encode(alert, now));
+			movedIds.add(alert.getId());
+		}
+
+		alertJdbcRepository.batchInsertArchived(rows);
+		alertJdbcRepository.deleteByIds(movedIds);
+		alertPayloadStore.deleteAll(movedIds);
+		return alerts;
+	}
+
+	private void afterMove(List<Alert> moved) {
+		List<UUID> ids = new ArrayList<>(moved.size());
+		for (Alert alert : moved) {
+			ids.add(alert.getId());
+			alertSummaryCounters.recordDeleted(alert);
+		}
+		alertCacheEvictor.evict(ids);
+		archived.increment(moved.size());
+	}
+}
@@ -0,0 +1,56 @@
+package com.ops.hunting.alerts.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Evicts many entries from the {@code alerts} cache at once. With the Redis
+ * cache manager this is a single {@code DEL} per call instead of one round trip
+ * per key.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AlertCacheEvictor {
+
+	public static final String ALERTS_CACHE = "alerts";
+
+	private final CacheManager cacheManager;
+	private final ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+
+	public void evict(Collection<UUID> alertIds) {
+		if (alertIds.isEmpty()) {
+			return;
+		}
+
+		Cache cache = cacheManager.getCache(ALERTS_CACHE);
+		if (cache == null) {
+			return;
+		}
+
+		StringRedisTemplate redisTemplate = redisTemplateProvider.getIfAvailable();
+		if (cache instanceof RedisCache redisCache && redisTemplate != null) {
+			List<String> keys = new ArrayList<>(alertIds.size());
+			for (UUID alertId : alertIds) {
+				keys.add(redisCache.getCacheConfiguration().getKeyPrefixFor(ALERTS_CACHE) + alertId);
+			}
+			Long removed = redisTemplate.delete(keys);
+			log.debug("Evicted {} of {} alerts from cache", removed, keys.size());
+			return;
+		}
+
+		alertIds.forEach(cache::evict);
+	}
+}
@@ -0,0 +1,28 @@
+package com.ops.hunting.alerts.cluster;
+
+import java.util.UUID;
+
+/**
+ * In-memory state of one cluster, keyed by its representative alert.
+ */
+final class AlertCluster {
+
+	final UUID id;
+	final int[] signature;
+	final long firstSeen;
+	long lastSeen;
+	long size;
+
+	AlertCluster(UUID id, int[] signature, long seenAt) {
+		this.id = id;
+		this.signature = signature;
+		this.firstSeen = seenAt;
+		this.lastSeen = seenAt;
+		this.size = 1;
+	}
+
+	void join(long seenAt) {
+		size++;
+		lastSeen = Math.max(lastSeen, seenAt);
+	}
+}
@@ -0,0 +1,304 @@
+package com.ops.hunting.alerts.cluster;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ops.hunting.alerts.config.ClusterProperties;
+import com.ops.hunting.alerts.dto.AlertClusterDTO;
+import com.ops.hunting.alerts.entity.Alert;
+import com.ops.hunting.alerts.payload.AlertPayloadStore;
+import com.ops.hunting.alerts.repository.AlertJdbcRepository;
+import com.ops.hunting.alerts.util.TransactionHooks;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Groups near-duplicate alerts, such as the same detection repeated with
+ * different timestamps, ports or ids, that exact-hash deduplication keeps
+ * apart. Title, description and the head of {@code rawData} are reduced to a
+ * MinHash signature; an {@link LshIndex} over cluster representatives finds
+ * the few candidate clusters, and the alert joins the most similar one above
+ * {@code similarity-threshold} or becomes a new representative. Members
+ * carry the representative's id in {@code Alert.clusterId}.
+ * <p>
+ * The index holds at most {@code max-clusters} representatives in LRU order
+ * and drops clusters idle for {@code idle-timeout}; it is rebuilt from the
+ * table at startup. Representatives seeded and members counted by a
+ * transaction that rolls back are removed again.
+ */
+@Component
+@Slf4j
+public class AlertClusterer {
+
+	private static final long HASH_SEED = 0x2545f4914f6cdd1dL;
+	private static final ZoneId ZONE = ZoneId.systemDefault();
+
+	private static final String MEMBER_COUNTS_SQL = "SELECT cluster_id, COUNT(*), MAX(created_at) FROM alerts "
+			+ "WHERE cluster_id IS NOT NULL AND created_at >= ? GROUP BY cluster_id";
+
+	private final ClusterProperties properties;
+	private final JdbcTemplate jdbcTemplate;
+	private final AlertPayloadStore alertPayloadStore;
+	private final MinHasher hasher;
+	private final LshIndex index;
+	private final Map<UUID, AlertCluster> clusters;
+	private final Counter joined;
+
+	public AlertClusterer(ClusterProperties properties, JdbcTemplate jdbcTemplate,
+			AlertPayloadStore alertPayloadStore, MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.jdbcTemplate = jdbcTemplate;
+		this.alertPayloadStore = alertPayloadStore;
+		this.hasher = new MinHasher(properties.getShingleSize(), properties.getBands() * properties.getRowsPerBand(),
+				HASH_SEED);
+		this.index = new LshIndex(properties.getBands(), properties.getRowsPerBand());
+		this.clusters = new LinkedHashMap<>(1024, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<UUID, AlertCluster> eldest) {
+				if (size() <= properties.getMaxClusters()) {
+					return false;
+				}
+				index.remove(eldest.getKey(), eldest.getValue().signature);
+				return true;
+			}
+		};
+		this.joined = Counter.builder("alerts.cluster.joined")
+				.description("Alerts assigned to an existing near-duplicate cluster").register(meterRegistry);
+		Gauge.builder("alerts.cluster.clusters", this, AlertClusterer::clusterCount)
+				.description("Indexed near-duplicate clusters").register(meterRegistry);
+	}
+
+	/**
+	 * Assigns alerts that already carry an id to a cluster, setting
+	 * {@code clusterId} in place when they join an existing one. Signatures are
+	 * computed before taking the index lock.
+	 */
+	public void assign(List<Alert> alerts) {
+		if (!properties.isEnabled() || alerts.isEmpty()) {
+			return;
+		}
+
+		List<int[]> signatures = new ArrayList<>(alerts.size());
+		for (Alert alert : alerts) {
+			signatures.add(alert.getId() != null
+					? hasher.signature(text(alert.getTitle(), alert.getDescription(), alert.getRawData()))
+					: null);
+		}
+
+		List<AlertCluster> seeded = new ArrayList<>();
+		List<AlertCluster> grown = new ArrayList<>();
+		synchronized (this) {
+			for (int i = 0; i < alerts.size(); i++) {
+				if (signatures.get(i) != null) {
+					assign(alerts.get(i), signatures.get(i), seeded, grown);
+				}
+			}
+		}
+		undoOnRollback(seeded, grown);
+	}
+
+	public void assign(Alert alert) {
+		assign(List.of(alert));
+	}
+
+	/** The largest clusters with at least {@code minSize} members; representatives are not loaded. */
+	public synchronized List<AlertClusterDTO> largest(int limit, long minSize) {
+		Comparator<AlertCluster> bySize = Comparator.comparingLong((AlertCluster cluster) -> cluster.size)
+				.thenComparingLong(cluster -> cluster.lastSeen);
+		PriorityQueue<AlertCluster> top = new PriorityQueue<>(bySize);
+		for (AlertCluster cluster : clusters.values()) {
+			if (cluster.size >= minSize) {
+				top.add(cluster);
+				if (top.size() > limit) {
+					top.poll();
+				}
+			}
+		}
+
+		List<AlertClusterDTO> result = new ArrayList<>(top.size());
+		while (!top.isEmpty()) {
+			AlertCluster cluster = top.poll();
+			result.add(0, AlertClusterDTO.builder().clusterId(cluster.id).size(cluster.size)
+					.firstSeen(toLocal(cluster.firstSeen)).lastSeen(toLocal(cluster.lastSeen)).build());
+		}
+		return result;
+	}
+
+	@Scheduled(fixedDelayString = "${app.alert.cluster.sweep-interval-ms:600000}")
+	public synchronized void sweep() {
+		long cutoff = System.currentTimeMillis() - properties.getIdleTimeout().toMillis();
+		Iterator<AlertCluster> it = clusters.values().iterator();
+		while (it.hasNext()) {
+			AlertCluster cluster = it.next();
+			if (cluster.lastSeen < cutoff) {
+				index.remove(cluster.id, cluster.signature);
+				it.remove();
+			}
+		}
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		if (!properties.isEnabled()) {
+			return;
+		}
+		synchronized (this) {
+			clusters.clear();
+			index.clear();
+		}
+
+		Timestamp since = Timestamp.valueOf(LocalDateTime.now().minus(properties.getIdleTimeout()));
+		try {
+			UUID after = null;
+			while (true) {
+				List<UUID> page = seedPage(since, after);
+				if (page.size() < properties.getRebuildPageSize()) {
+					break;
+				}
+				after = page.get(page.size() - 1);
+			}
+			jdbcTemplate.query(MEMBER_COUNTS_SQL, rs -> {
+				UUID clusterId = AlertJdbcRepository.fromBytes(rs.getBytes(1));
+				long members = rs.getLong(2);
+				long lastSeen = rs.getTimestamp(3).getTime();
+				synchronized (this) {
+					AlertCluster cluster = clusters.get(clusterId);
+					if (cluster != null) {
+						cluster.size += members;
+						cluster.lastSeen = Math.max(cluster.lastSeen, lastSeen);
+					}
+				}
+			}, since);
+			log.info("Near-duplicate index rebuilt with {} clusters", clusterCount());
+		} catch (RuntimeException e) {
+			log.warn("Could not rebuild near-duplicate clusters: {}", e.getMessage());
+		}
+	}
+
+	synchronized int clusterCount() {
+		return clusters.size();
+	}
+
+	private void assign(Alert alert, int[] signature, List<AlertCluster> seeded, List<AlertCluster> grown) {
+		long seenAt = toMillis(alert.getCreatedAt());
+		AlertCluster best = null;
+		double bestSimilarity = properties.getSimilarityThreshold();
+		for (UUID candidate : index.candidates(signature)) {
+			AlertCluster cluster = clusters.get(candidate);
+			if (cluster == null) {
+				continue;
+			}
+			double similarity = MinHasher.similarity(signature, cluster.signature);
+			if (similarity >= bestSimilarity) {
+				best = cluster;
+				bestSimilarity = similarity;
+			}
+		}
+
+		if (best == null) {
+			seeded.add(seed(alert.getId(), signature, seenAt));
+		} else if (!best.id.equals(alert.getId())) {
+			best.join(seenAt);
+			alert.setClusterId(best.id);
+			grown.add(best);
+			joined.increment();
+		}
+	}
+
+	private AlertCluster seed(UUID id, int[] signature, long seenAt) {
+		AlertCluster cluster = new AlertCluster(id, signature, seenAt);
+		clusters.put(id, cluster);
+		index.add(id, signature);
+		return cluster;
+	}
+
+	/**
+	 * Drops representatives whose rows were never written, so that later
+	 * alerts neither join them nor drop out of triage behind a missing cluster.
+	 */
+	private void undoOnRollback(List<AlertCluster> seeded, List<AlertCluster> grown) {
+		if (seeded.isEmpty() && grown.isEmpty()) {
+			return;
+		}
+		TransactionHooks.onRollback(() -> {
+			synchronized (this) {
+				for (AlertCluster cluster : seeded) {
+					if (clusters.remove(cluster.id, cluster)) {
+						index.remove(cluster.id, cluster.signature);
+					}
+				}
+				grown.forEach(cluster -> cluster.size--);
+			}
+		});
+	}
+
+	/** Re-seeds one page of representatives and returns their ids. */
+	private List<UUID> seedPage(Timestamp since, UUID after) {
+		String sql = "SELECT id, title, description, created_at FROM alerts "
+				+ "WHERE cluster_id IS NULL AND created_at >= ?" + (after != null ? " AND id > ?" : "")
+				+ " ORDER BY id LIMIT ?";
+		Object[] args = after != null
+				? new Object[] { since, AlertJdbcRepository.toBytes(after), properties.getRebuildPageSize() }
+				: new Object[] { since, properties.getRebuildPageSize() };
+
+		List<Representative> page = jdbcTemplate.query(sql,
+				(rs, rowNum) -> new Representative(AlertJdbcRepository.fromBytes(rs.getBytes(1)), rs.getString(2),
+						rs.getString(3), rs.getTimestamp(4).getTime()),
+				args);
+		List<UUID> ids = page.stream().map(Representative::id).toList();
+		Map<UUID, String> rawData = alertPayloadStore.find(ids, properties.getRawDataChars());
+		for (Representative row : page) {
+			int[] signature = hasher.signature(text(row.title(), row.description(), rawData.get(row.id())));
+			if (signature != null) {
+				synchronized (this) {
+					seed(row.id(), signature, row.createdAt());
+				}
+			}
+		}
+		return ids;
+	}
+
+	private String text(String title, String description, String rawData) {
+		StringBuilder text = new StringBuilder();
+		if (title != null) {
+			text.append(title).append(' ');
+		}
+		if (description != null) {
+			text.append(description).append(' ');
+		}
+		if (rawData != null) {
+			text.append(rawData, 0, Math.min(rawData.length(), properties.getRawDataChars()));
+		}
+		return text.toString();
+	}
+
+	private static long toMillis(LocalDateTime time) {
+		return time != null ? time.atZone(ZONE).toInstant().toEpochMilli() : System.currentTimeMillis();
+	}
+
+	private static LocalDateTime toLocal(long millis) {
+		return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZONE);
+	}
+
+	private record Representative(UUID id, String title, String description, long createdAt) {
+	}
+}
@@ -0,0 +1,94 @@
+package com.ops.hunting.alerts.cluster;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Locality-sensitive hash index over MinHash signatures. A signature is cut
+ * into bands and every band is hashed to a bucket; signatures that agree on
+ * all rows of at least one band share a bucket and become candidates. Most
+ * buckets hold a single cluster, which is stored directly to keep the map
+ * small. Not thread-safe.
+ */
+final class LshIndex {
+
+	private final int bands;
+	private final int rowsPerBand;
+	private final Map<Long, Object> buckets = new HashMap<>();
+
+	LshIndex(int bands, int rowsPerBand) {
+		this.bands = bands;
+		this.rowsPerBand = rowsPerBand;
+	}
+
+	Set<UUID> candidates(int[] signature) {
+		Set<UUID> candidates = new LinkedHashSet<>();
+		for (int band = 0; band < bands; band++) {
+			Object entry = buckets.get(bucket(signature, band));
+			if (entry instanceof UUID id) {
+				candidates.add(id);
+			} else if (entry instanceof UUID[] ids) {
+				candidates.addAll(Arrays.asList(ids));
+			}
+		}
+		return candidates;
+	}
+
+	void add(UUID id, int[] signature) {
+		for (int band = 0; band < bands; band++) {
+			buckets.merge(bucket(signature, band), id, LshIndex::append);
+		}
+	}
+
+	void remove(UUID id, int[] signature) {
+		for (int band = 0; band < bands; band++) {
+			buckets.computeIfPresent(bucket(signature, band), (key, entry) -> without(entry, id));
+		}
+	}
+
+	int bucketCount() {
+		return buckets.size();
+	}
+
+	void clear() {
+		buckets.clear();
+	}
+
+	private long bucket(int[] signature, int band) {
+		long hash = band * 0x9e3779b97f4a7c15L;
+		int from = band * rowsPerBand;
+		for (int i = from; i < from + rowsPerBand; i++) {
+			hash = (hash ^ signature[i]) * 0x100000001b3L;
+		}
+		return hash;
+	}
+
+	private static Object append(Object entry, Object added) {
+		UUID id = (UUID) added;
+		if (entry instanceof UUID existing) {
+			return existing.equals(id) ? existing : new UUID[] { existing, id };
+		}
+		UUID[] ids = (UUID[]) entry;
+		for (UUID existing : ids) {
+			if (existing.equals(id)) {
+				return ids;
+			}
+		}
+		UUID[] grown = Arrays.copyOf(ids, ids.length + 1);
+		grown[ids.length] = id;
+		return grown;
+	}
+
+	private static Object without(Object entry, UUID id) {
+		if (entry instanceof UUID existing) {
+			return existing.equals(id) ? null : existing;
+		}
+		UUID[] ids = (UUID[]) entry;
+		UUID[] kept = Arrays.stream(ids).filter(existing -> !existing.equals(id)).toArray(UUID[]::new);
+		return kept.length == 0 ? null : kept.length == 1 ? kept[0] : kept;
+	}
+}
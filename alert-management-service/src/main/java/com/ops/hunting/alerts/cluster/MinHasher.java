@@ -0,0 +1,108 @@
+package com.ops.hunting.alerts.cluster;
+
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Turns alert text into a MinHash signature. Values that vary between
+ * otherwise identical alerts (UUIDs, IP addresses, timestamps, hex ids and
+ * numbers) are replaced by placeholders before the text is split into
+ * word shingles, so the signature tracks the wording rather than the
+ * incidental values.
+ */
+final class MinHasher {
+
+	private static final Pattern UUID_PATTERN = Pattern
+			.compile("\\b[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}\\b");
+	private static final Pattern TIMESTAMP_PATTERN = Pattern
+			.compile("\\b\\d{4}-\\d{2}-\\d{2}[t ]\\d{2}:\\d{2}(:\\d{2}(\\.\\d+)?)?z?\\b");
+	private static final Pattern IPV4_PATTERN = Pattern.compile("\\b\\d{1,3}(\\.\\d{1,3}){3}\\b");
+	private static final Pattern HEX_PATTERN = Pattern.compile("\\b(0x)?[0-9a-f]{8,}\\b");
+	private static final Pattern NUMBER_PATTERN = Pattern.compile("\\d+");
+	private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^a-z0-9#]+");
+
+	private final int shingleSize;
+	private final long[] seeds;
+
+	MinHasher(int shingleSize, int hashCount, long seed) {
+		this.shingleSize = Math.max(1, shingleSize);
+		this.seeds = new long[hashCount];
+		SplittableRandom random = new SplittableRandom(seed);
+		for (int i = 0; i < hashCount; i++) {
+			seeds[i] = random.nextLong();
+		}
+	}
+
+	/** Returns {@code null} when the text has no tokens to compare. */
+	int[] signature(String text) {
+		long[] shingles = shingles(text);
+		if (shingles.length == 0) {
+			return null;
+		}
+		int[] signature = new int[seeds.length];
+		for (int i = 0; i < seeds.length; i++) {
+			long min = Long.MAX_VALUE;
+			for (long shingle : shingles) {
+				long value = mix(shingle ^ seeds[i]);
+				if (Long.compareUnsigned(value, min) < 0) {
+					min = value;
+				}
+			}
+			signature[i] = (int) (min >>> 32);
+		}
+		return signature;
+	}
+
+	/** Fraction of positions where both signatures agree, an estimate of Jaccard similarity. */
+	static double similarity(int[] a, int[] b) {
+		int same = 0;
+		for (int i = 0; i < a.length; i++) {
+			if (a[i] == b[i]) {
+				same++;
+			}
+		}
+		return (double) same / a.length;
+	}
+
+	long[] shingles(String text) {
+		String normalized = normalize(text);
+		ArrayList<Long> tokens = new ArrayList<>();
+		for (String token : TOKEN_SEPARATOR.split(normalized)) {
+			if (!token.isEmpty()) {
+				tokens.add(mix(token.hashCode()));
+			}
+		}
+		if (tokens.isEmpty()) {
+			return new long[0];
+		}
+
+		int count = Math.max(1, tokens.size() - shingleSize + 1);
+		long[] shingles = new long[count];
+		for (int i = 0; i < count; i++) {
+			long hash = 0;
+			for (int j = i; j < Math.min(i + shingleSize, tokens.size()); j++) {
+				hash = mix(hash * 31 + tokens.get(j));
+			}
+			shingles[i] = hash;
+		}
+		return shingles;
+	}
+
+	static String normalize(String text) {
+		String lower = text.toLowerCase(Locale.ROOT);
+		lower = UUID_PATTERN.matcher(lower).replaceAll(" #id ");
+		lower = TIMESTAMP_PATTERN.matcher(lower).replaceAll(" #ts ");
+		lower = IPV4_PATTERN.matcher(lower).replaceAll(" #ip ");
+		lower = HEX_PATTERN.matcher(lower).replaceAll(" #hex ");
+		return NUMBER_PATTERN.matcher(lower).replaceAll(" #n ");
+	}
+
+	/** SplitMix64 finalizer. */
+	private static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+}
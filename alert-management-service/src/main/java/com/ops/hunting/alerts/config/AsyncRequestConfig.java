@@ -0,0 +1,36 @@
+package com.ops.hunting.alerts.config;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Lets a handler give its own async response, such as a long export, a
+ * longer timeout by setting {@link #TIMEOUT_ATTRIBUTE} to a {@link Duration},
+ * so the global {@code spring.mvc.async.request-timeout} stays at its default.
+ */
+@Configuration
+public class AsyncRequestConfig implements WebMvcConfigurer {
+
+	public static final String TIMEOUT_ATTRIBUTE = AsyncRequestConfig.class.getName() + ".timeout";
+
+	@Override
+	public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+		configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+			@Override
+			public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+				Object timeout = request.getAttribute(TIMEOUT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+				if (timeout instanceof Duration duration && request instanceof AsyncWebRequest asyncRequest) {
+					asyncRequest.setTimeout(duration.toMillis());
+				}
+			}
+		});
+	}
+}
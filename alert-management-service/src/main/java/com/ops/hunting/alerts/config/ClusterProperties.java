@@ -0,0 +1,42 @@
+package com.ops.hunting.alerts.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Near-duplicate clustering settings. Signatures have
+ * {@code bands * rows-per-band} MinHash values; two alerts land in the same
+ * cluster when their estimated Jaccard similarity reaches
+ * {@code similarity-threshold}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.alert.cluster")
+public class ClusterProperties {
+
+	private boolean enabled = true;
+
+	/** Consecutive tokens per shingle. */
+	private int shingleSize = 2;
+
+	private int bands = 16;
+
+	private int rowsPerBand = 4;
+
+	private double similarityThreshold = 0.7;
+
+	/** Characters of {@code rawData} that are shingled. */
+	private int rawDataChars = 2000;
+
+	/** Upper bound on indexed clusters; the least recently matched is evicted. */
+	private int maxClusters = 20000;
+
+	/** Clusters without a new member for this long are dropped. */
+	private Duration idleTimeout = Duration.ofHours(24);
+
+	private int rebuildPageSize = 2000;
+}
@@ -0,0 +1,37 @@
+package com.ops.hunting.alerts.config;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import com.ops.hunting.alerts.enums.CorrelationDimension;
+
+import lombok.Data;
+
+/**
+ * Alert correlation settings. A key's window slides forward with every alert
+ * and closes once no alert has arrived for {@code window}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.alert.correlation")
+public class CorrelationProperties {
+
+	private boolean enabled = true;
+
+	private Duration window = Duration.ofMinutes(30);
+
+	/** Alerts sharing a key before they are grouped into an incident. */
+	private int minAlerts = 2;
+
+	/** Upper bound on tracked keys; the least recently used key is evicted. */
+	private int maxKeys = 200000;
+
+	/** Alert ids remembered per key while it waits for {@code min-alerts}. */
+	private int maxPendingPerKey = 50;
+
+	private Set<CorrelationDimension> dimensions = EnumSet.allOf(CorrelationDimension.class);
+}
@@ -0,0 +1,73 @@
+package com.ops.hunting.alerts.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Alert deduplication settings. {@code sources} overrides the defaults per
+ * {@code sourceSystem}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.alert.dedup")
+public class DeduplicationProperties {
+
+	private boolean enabled = true;
+
+	private Duration defaultWindow = Duration.ofMinutes(15);
+
+	/** Repeats folded into one alert before a fresh alert is raised. */
+	private int defaultMaxOccurrences = 10000;
+
+	/** Upper bound on tracked keys across all source systems. */
+	private int maxEntries = 500000;
+
+	private int bloomExpectedInsertions = 1000000;
+
+	private double bloomFalsePositiveRate = 0.01;
+
+	private Map<String, SourcePolicy> sources = new HashMap<>();
+
+	@Data
+	public static class SourcePolicy {
+		private Boolean enabled;
+		private Duration window;
+		private Integer maxOccurrences;
+	}
+
+	public boolean isEnabledFor(String sourceSystem) {
+		SourcePolicy policy = policyFor(sourceSystem);
+		return enabled && (policy == null || policy.getEnabled() == null || policy.getEnabled());
+	}
+
+	public Duration windowFor(String sourceSystem) {
+		SourcePolicy policy = policyFor(sourceSystem);
+		return policy != null && policy.getWindow() != null ? policy.getWindow() : defaultWindow;
+	}
+
+	public int maxOccurrencesFor(String sourceSystem) {
+		SourcePolicy policy = policyFor(sourceSystem);
+		return policy != null && policy.getMaxOccurrences() != null ? policy.getMaxOccurrences()
+				: defaultMaxOccurrences;
+	}
+
+	public Duration longestWindow() {
+		Duration longest = defaultWindow;
+		for (SourcePolicy policy : sources.values()) {
+			if (policy.getWindow() != null && policy.getWindow().compareTo(longest) > 0) {
+				longest = policy.getWindow();
+			}
+		}
+		return longest;
+	}
+
+	private SourcePolicy policyFor(String sourceSystem) {
+		return sourceSystem != null ? sources.get(sourceSystem) : null;
+	}
+}
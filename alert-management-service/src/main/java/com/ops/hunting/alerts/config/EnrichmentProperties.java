@@ -0,0 +1,56 @@
+package com.ops.hunting.alerts.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Alert enrichment settings. The drain interval is read directly by the
+ * scheduled method ({@code drain-interval-ms}).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.alert.enrichment")
+public class EnrichmentProperties {
+
+	private boolean enabled = true;
+
+	/** Alerts waiting for enrichment; further alerts are left unenriched and counted. */
+	private int queueCapacity = 100000;
+
+	/** Alerts enriched concurrently and written back in one batch. */
+	private int batchSize = 1000;
+
+	/** Threads running cache-missing lookups that may block. */
+	private int lookupThreads = 16;
+
+	/** Matches IPs against the {@code indicators} table. */
+	private Stage threatIntel = new Stage(true, Duration.ofMillis(200), 100000, null);
+
+	/** CSV of {@code network,country} rows, e.g. {@code 10.0.0.0/8,ZZ}. */
+	private Stage geo = new Stage(true, Duration.ofMillis(20), 100000, null);
+
+	/** CSV of {@code ip,owner} rows exported from the asset inventory. */
+	private Stage asset = new Stage(true, Duration.ofMillis(20), 100000, null);
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Stage {
+		private boolean enabled = true;
+
+		/** Lookups slower than this fall back to an empty result that is not cached. */
+		private Duration timeout = Duration.ofMillis(50);
+
+		/** Distinct IPs remembered by the stage's LRU cache. */
+		private int cacheSize = 100000;
+
+		/** Data file, for stages backed by a local file. */
+		private String file;
+	}
+}
@@ -3,34 +3,143 @@ package com.ops.hunting.alerts.config;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.util.backoff.FixedBackOff;
+
+import com.ops.hunting.alerts.dto.AlertGeneratedEventDTO;
 
 @Configuration
 public class KafkaConfig {
-    
+
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
-    
+
+    @Value("${spring.kafka.consumer.group-id:alert-management-group}")
+    private String groupId;
+
+    @Value("${app.alert.ingest.max-poll-records:1000}")
+    private int maxPollRecords;
+
+    @Value("${app.alert.ingest.fetch-min-bytes:65536}")
+    private int fetchMinBytes;
+
+    @Value("${app.alert.ingest.fetch-max-wait-ms:200}")
+    private int fetchMaxWaitMs;
+
+    @Value("${app.alert.ingest.concurrency:3}")
+    private int concurrency;
+
+    @Value("${app.alert.ingest.retry-interval-ms:1000}")
+    private long retryIntervalMs;
+
+    @Value("${app.alert.ingest.max-retries:5}")
+    private long maxRetries;
+
+    @Value("${app.outbox.producer.linger-ms:10}")
+    private int outboxLingerMs;
+
+    @Value("${app.outbox.producer.batch-size:131072}")
+    private int outboxBatchSize;
+
+    @Value("${app.outbox.producer.compression-type:lz4}")
+    private String outboxCompressionType;
+
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        
+
         return new DefaultKafkaProducerFactory<>(configProps);
     }
-    
+
     @Bean
     public KafkaTemplate<String, Object> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
-}
\ No newline at end of file
+
+    /**
+     * Idempotent producer for the outbox relay. Outbox payloads are stored as
+     * JSON already, so values go out as strings; idempotence with acks=all keeps
+     * producer retries from duplicating or reordering a batch, and linger plus
+     * compression let one relay batch travel in a few large requests.
+     */
+    @Bean
+    public ProducerFactory<String, String> outboxProducerFactory() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, outboxLingerMs);
+        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, outboxBatchSize);
+        configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, outboxCompressionType);
+
+        return new DefaultKafkaProducerFactory<>(configProps);
+    }
+
+    @Bean
+    public KafkaTemplate<String, String> outboxKafkaTemplate() {
+        return new KafkaTemplate<>(outboxProducerFactory());
+    }
+
+    /**
+     * Consumer for detection output. Type headers written by the producer refer to
+     * classes in detection-analytics-service, so they are ignored and every record
+     * is bound to {@link AlertGeneratedEventDTO}. Poison records surface as null
+     * values instead of stalling the partition.
+     */
+    @Bean
+    public ConsumerFactory<String, AlertGeneratedEventDTO> alertEventConsumerFactory() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        configProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        configProps.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, fetchMinBytes);
+        configProps.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, fetchMaxWaitMs);
+
+        JsonDeserializer<AlertGeneratedEventDTO> valueDeserializer = new JsonDeserializer<>(
+                AlertGeneratedEventDTO.class, false);
+
+        return new DefaultKafkaConsumerFactory<>(configProps, new StringDeserializer(),
+                new ErrorHandlingDeserializer<>(valueDeserializer));
+    }
+
+    /**
+     * Batch listener factory with manual acknowledgment: offsets are committed by
+     * the listener only after the whole batch has been persisted. A failed batch
+     * is redelivered after a fixed back-off.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, AlertGeneratedEventDTO> alertEventBatchListenerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, AlertGeneratedEventDTO> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(alertEventConsumerFactory());
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(new FixedBackOff(retryIntervalMs, maxRetries)));
+        return factory;
+    }
+}
@@ -0,0 +1,34 @@
+package com.ops.hunting.alerts.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Live alert feed limits. Flush and summary intervals are read directly by the
+ * scheduled methods ({@code flush-interval-ms}, {@code summary-interval-ms}).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.alert.live-feed")
+public class LiveFeedProperties {
+
+	private boolean enabled = true;
+
+	/** Events waiting for fan-out; further events are dropped and counted. */
+	private int ingressCapacity = 50000;
+
+	/** Distinct alerts queued per session before the oldest are dropped. */
+	private int sessionQueueCapacity = 500;
+
+	/** Alerts per frame, i.e. per session per flush. */
+	private int maxBatch = 200;
+
+	/** Bytes buffered for a slow WebSocket before the session is closed. */
+	private int sendBufferSizeLimit = 512 * 1024;
+
+	private Duration sendTimeLimit = Duration.ofSeconds(10);
+}
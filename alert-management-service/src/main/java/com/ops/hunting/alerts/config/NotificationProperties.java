@@ -0,0 +1,34 @@
+package com.ops.hunting.alerts.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Notification coalescing settings. Notifications for the same recipient and
+ * channel are held for up to {@code window} and sent as one digest; urgent
+ * channels wait at most {@code urgent-max-delay}. Each recipient may receive
+ * {@code burst} messages at once, then one per {@code refill-interval}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.alert.notification")
+public class NotificationProperties {
+
+	/** When false every notification is published on its own, in the caller's transaction. */
+	private boolean coalesce = true;
+
+	private Duration window = Duration.ofSeconds(30);
+
+	private Duration urgentMaxDelay = Duration.ofSeconds(5);
+
+	/** Alerts listed per digest; a full batch is sent without waiting for the window. */
+	private int maxBatch = 50;
+
+	private int burst = 5;
+
+	private Duration refillInterval = Duration.ofMinutes(1);
+}
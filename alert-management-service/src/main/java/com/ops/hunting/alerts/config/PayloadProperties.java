@@ -0,0 +1,24 @@
+package com.ops.hunting.alerts.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/** Off-row storage of alert raw payloads. */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.alert.payload")
+public class PayloadProperties {
+
+	/** Longer payloads are truncated before they are stored. */
+	private int maxChars = 1024 * 1024;
+
+	/** Payloads smaller than this many bytes are stored uncompressed. */
+	private int compressMinBytes = 256;
+
+	/** Moves payloads still held in the legacy {@code alerts.raw_data} column at startup. */
+	private boolean migrateInline = true;
+
+	private int migratePageSize = 1000;
+}
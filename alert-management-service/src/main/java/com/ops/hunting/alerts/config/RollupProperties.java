@@ -0,0 +1,43 @@
+package com.ops.hunting.alerts.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Alert volume roll-up settings. The flush and purge intervals are read
+ * directly by the scheduled methods ({@code flush-interval-ms},
+ * {@code purge-interval-ms}).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.alert.rollup")
+public class RollupProperties {
+
+	private boolean enabled = true;
+
+	/** How long minute, hour and day buckets are kept. */
+	private Duration minuteRetention = Duration.ofDays(2);
+
+	private Duration hourRetention = Duration.ofDays(90);
+
+	private Duration dayRetention = Duration.ofDays(3 * 365);
+
+	/** Distinct buckets buffered between flushes before new ones are dropped and counted. */
+	private int maxPendingBuckets = 200000;
+
+	/** Days of existing alerts rolled up when the table is found empty at startup. */
+	private int backfillDays = 30;
+
+	/** Alerts read per query while backfilling. */
+	private int backfillPageSize = 10000;
+
+	/** Upper bound on buckets per histogram series. */
+	private int maxHistogramBuckets = 5000;
+
+	/** Rows deleted per statement when purging expired buckets. */
+	private int purgeBatchSize = 10000;
+}
@@ -0,0 +1,44 @@
+package com.ops.hunting.alerts.config;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import com.ops.hunting.alerts.enums.AlertSeverity;
+
+import lombok.Data;
+
+/**
+ * SLA settings for unacknowledged alerts. An OPEN alert escalates once its
+ * severity's deadline passes and again every {@code repeat-interval} until it
+ * leaves OPEN or reaches {@code max-escalations}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.alert.sla")
+public class SlaProperties {
+
+	private boolean enabled = true;
+
+	/** Severities without an entry are never escalated. */
+	private Map<AlertSeverity, Duration> deadlines = new EnumMap<>(Map.of(AlertSeverity.CRITICAL,
+			Duration.ofMinutes(15), AlertSeverity.HIGH, Duration.ofHours(1)));
+
+	private Duration repeatInterval = Duration.ofMinutes(30);
+
+	private int maxEscalations = 3;
+
+	/** Timer resolution; escalations fire at most one tick late. */
+	private Duration tick = Duration.ofSeconds(1);
+
+	/** Slots per wheel level, a power of two. */
+	private int wheelSize = 256;
+
+	private int wheelLevels = 4;
+
+	/** Alerts read per query while rebuilding timers at startup. */
+	private int rebuildPageSize = 5000;
+}
@@ -0,0 +1,39 @@
+package com.ops.hunting.alerts.config;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import com.ops.hunting.alerts.enums.AlertSeverity;
+
+import lombok.Data;
+
+/**
+ * Risk scoring for the triage queue. An alert scores
+ * {@code severity weight * (0.5 + 0.5 * confidence) * category weight}; ties go
+ * to the older alert.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.alert.triage")
+public class TriageProperties {
+
+	private boolean enabled = true;
+
+	private Map<AlertSeverity, Double> severityWeights = new EnumMap<>(Map.of(AlertSeverity.CRITICAL, 100.0,
+			AlertSeverity.HIGH, 60.0, AlertSeverity.MEDIUM, 30.0, AlertSeverity.LOW, 10.0));
+
+	/** Threat categories not listed weigh 1.0. */
+	private Map<String, Double> categoryWeights = new HashMap<>();
+
+	/** Used when an alert has no confidence score. */
+	private double defaultConfidence = 0.5;
+
+	/** Head entries tried per claim before giving up. */
+	private int claimAttempts = 20;
+
+	private int rebuildPageSize = 5000;
+}
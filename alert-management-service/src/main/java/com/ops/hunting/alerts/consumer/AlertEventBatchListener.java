@@ -0,0 +1,91 @@
+package com.ops.hunting.alerts.consumer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import com.ops.hunting.alerts.dto.AlertGeneratedEventDTO;
+import com.ops.hunting.alerts.service.AlertIngestionService;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drains the {@code alert-events} topic in micro-batches and persists each
+ * batch in a single transaction before committing its offsets.
+ */
+@Component
+@Slf4j
+public class AlertEventBatchListener {
+
+	private final AlertIngestionService alertIngestionService;
+	private final MeterRegistry meterRegistry;
+	private final Timer batchLatency;
+	private final DistributionSummary batchSize;
+	private final Map<TopicPartition, AtomicLong> partitionLag = new ConcurrentHashMap<>();
+
+	public AlertEventBatchListener(AlertIngestionService alertIngestionService, MeterRegistry meterRegistry) {
+		this.alertIngestionService = alertIngestionService;
+		this.meterRegistry = meterRegistry;
+		this.batchLatency = Timer.builder("alerts.ingest.batch.latency")
+				.description("Time to persist one alert-events batch").publishPercentileHistogram()
+				.register(meterRegistry);
+		this.batchSize = DistributionSummary.builder("alerts.ingest.batch.size")
+				.description("Records per alert-events batch").register(meterRegistry);
+	}
+
+	@KafkaListener(topics = "${app.alert.ingest.topic:alert-events}", containerFactory = "alertEventBatchListenerFactory")
+	public void onAlertEvents(List<ConsumerRecord<String, AlertGeneratedEventDTO>> records, Acknowledgment ack,
+			Consumer<?, ?> consumer) {
+		Timer.Sample sample = Timer.start(meterRegistry);
+
+		List<AlertGeneratedEventDTO> events = new ArrayList<>(records.size());
+		for (ConsumerRecord<String, AlertGeneratedEventDTO> record : records) {
+			if (record.value() == null) {
+				log.warn("Skipping undeserializable record at {}-{}@{}", record.topic(), record.partition(),
+						record.offset());
+				continue;
+			}
+			events.add(record.value());
+		}
+
+		int persisted = alertIngestionService.ingestEvents(events);
+		ack.acknowledge();
+
+		sample.stop(batchLatency);
+		batchSize.record(records.size());
+		recordLag(consumer);
+
+		log.debug("Ingested batch of {} records ({} alerts persisted)", records.size(), persisted);
+	}
+
+	private void recordLag(Consumer<?, ?> consumer) {
+		for (TopicPartition partition : consumer.assignment()) {
+			OptionalLong lag = consumer.currentLag(partition);
+			if (lag.isPresent()) {
+				partitionLag.computeIfAbsent(partition, this::registerLagGauge).set(lag.getAsLong());
+			}
+		}
+	}
+
+	private AtomicLong registerLagGauge(TopicPartition partition) {
+		AtomicLong holder = new AtomicLong();
+		Gauge.builder("alerts.ingest.consumer.lag", holder, AtomicLong::get)
+				.description("Records behind the log end offset").tag("topic", partition.topic())
+				.tag("partition", String.valueOf(partition.partition())).register(meterRegistry);
+		return holder;
+	}
+}
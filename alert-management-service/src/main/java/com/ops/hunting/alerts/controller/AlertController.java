@@ -1,19 +1,26 @@
 package com.ops.hunting.alerts.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -22,15 +29,28 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.ops.hunting.alerts.config.AsyncRequestConfig;
+import com.ops.hunting.alerts.dto.AlertClusterDTO;
+import com.ops.hunting.alerts.dto.AlertCursorPageDTO;
 import com.ops.hunting.alerts.dto.AlertDTO;
+import com.ops.hunting.alerts.dto.AlertHistogramDTO;
+import com.ops.hunting.alerts.dto.AlertImportResultDTO;
+import com.ops.hunting.alerts.dto.AlertSearchCriteria;
 import com.ops.hunting.alerts.dto.AlertSummaryDTO;
-import com.ops.hunting.alerts.enums.AlertSeverity;
+import com.ops.hunting.alerts.enums.AlertExportFormat;
 import com.ops.hunting.alerts.enums.AlertStatus;
+import com.ops.hunting.alerts.enums.RollupDimension;
+import com.ops.hunting.alerts.enums.RollupGranularity;
+import com.ops.hunting.alerts.service.AlertExportService;
+import com.ops.hunting.alerts.service.AlertImportService;
 import com.ops.hunting.alerts.service.AlertService;
+import com.ops.hunting.common.dto.BulkOperationResponse;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -43,6 +63,11 @@ import lombok.extern.slf4j.Slf4j;
 public class AlertController {
 
 	private final AlertService alertService;
+	private final AlertExportService alertExportService;
+	private final AlertImportService alertImportService;
+
+	@Value("${app.alert.export.request-timeout:1h}")
+	private Duration exportTimeout = Duration.ofHours(1);
 
 	@PostMapping
 	@Operation(summary = "Create a new alert")
@@ -53,12 +78,24 @@ public class AlertController {
 		return ResponseEntity.status(HttpStatus.CREATED).body(createdAlert);
 	}
 
+	@PostMapping(value = "/bulk", consumes = { "application/x-ndjson", "application/gzip",
+			MediaType.APPLICATION_OCTET_STREAM_VALUE })
+	@Operation(summary = "Create alerts from an NDJSON body, optionally gzip-compressed")
+	@PreAuthorize("hasRole('ANALYST') or hasRole('ADMIN')")
+	public ResponseEntity<AlertImportResultDTO> importAlerts(InputStream body) throws IOException {
+		AlertImportResultDTO result = alertImportService.importNdjson(body);
+		HttpStatus status = result.getAcceptedCount() > 0 || result.getTotalLines() == 0 ? HttpStatus.OK
+				: HttpStatus.UNPROCESSABLE_ENTITY;
+		return ResponseEntity.status(status).body(result);
+	}
+
 	@GetMapping("/{id}")
 	@Operation(summary = "Get alert by ID")
 	@PreAuthorize("hasRole('VIEWER') or hasRole('ANALYST') or hasRole('ADMIN')")
-	public ResponseEntity<AlertDTO> getAlertById(@PathVariable UUID id) {
+	public ResponseEntity<AlertDTO> getAlertById(@PathVariable UUID id,
+			@RequestParam(defaultValue = "false") boolean includeArchived) {
 		log.debug("Fetching alert with ID: {}", id);
-		AlertDTO alert = alertService.getAlertById(id);
+		AlertDTO alert = includeArchived ? alertService.getAlertIncludingArchive(id) : alertService.getAlertById(id);
 		return ResponseEntity.ok(alert);
 	}
 
@@ -108,14 +145,45 @@ public class AlertController {
 	@GetMapping("/search")
 	@Operation(summary = "Search alerts with filters")
 	@PreAuthorize("hasRole('VIEWER') or hasRole('ANALYST') or hasRole('ADMIN')")
-	public ResponseEntity<Page<AlertDTO>> searchAlerts(@RequestParam(required = false) AlertSeverity severity,
-			@RequestParam(required = false) AlertStatus status,
-			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
-			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
-			@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size) {
+	public ResponseEntity<Page<AlertDTO>> searchAlerts(@ModelAttribute AlertSearchCriteria criteria,
+			@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size,
+			@RequestParam(defaultValue = "createdAt") String sortBy,
+			@RequestParam(defaultValue = "desc") String sortDir) {
+
+		Sort sort = sortDir.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+		Pageable pageable = PageRequest.of(page, size, sort);
+		Page<AlertDTO> alerts = alertService.searchAlerts(criteria, pageable);
+		return ResponseEntity.ok(alerts);
+	}
+
+	@GetMapping("/export")
+	@Operation(summary = "Stream all matching alerts as NDJSON or CSV")
+	@PreAuthorize("hasRole('ANALYST') or hasRole('ADMIN')")
+	public ResponseEntity<StreamingResponseBody> exportAlerts(@ModelAttribute AlertSearchCriteria criteria,
+			@RequestParam(defaultValue = "NDJSON") AlertExportFormat format,
+			@RequestParam(defaultValue = "false") boolean gzip, HttpServletRequest request) {
+
+		log.info("Exporting alerts as {} (gzip: {}) with criteria: {}", format, gzip, criteria);
+		request.setAttribute(AsyncRequestConfig.TIMEOUT_ATTRIBUTE, exportTimeout);
+		StreamingResponseBody body = out -> alertExportService.export(criteria, format, gzip, out);
+
+		String filename = "alerts." + format.getExtension() + (gzip ? ".gz" : "");
+		return ResponseEntity.ok()
+				.contentType(MediaType.parseMediaType(gzip ? "application/gzip" : format.getContentType()))
+				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"").body(body);
+	}
 
-		Pageable pageable = PageRequest.of(page, size);
-		Page<AlertDTO> alerts = alertService.searchAlerts(severity, status, from, to, pageable);
+	@GetMapping("/scroll")
+	@Operation(summary = "Scroll alerts newest first with a continuation cursor")
+	@PreAuthorize("hasRole('VIEWER') or hasRole('ANALYST') or hasRole('ADMIN')")
+	public ResponseEntity<AlertCursorPageDTO> scrollAlerts(@ModelAttribute AlertSearchCriteria criteria,
+			@RequestParam(required = false) String cursor, @RequestParam(defaultValue = "50") int size,
+			@RequestParam(defaultValue = "false") boolean includeTotal,
+			@RequestParam(defaultValue = "false") boolean includeArchived) {
+
+		int pageSize = Math.max(1, Math.min(size, 1000));
+		AlertCursorPageDTO alerts = alertService.scrollAlerts(criteria, cursor, pageSize, includeTotal,
+				includeArchived);
 		return ResponseEntity.ok(alerts);
 	}
 
@@ -146,15 +214,57 @@ public class AlertController {
 		return ResponseEntity.ok(staleAlerts);
 	}
 
+	@GetMapping("/triage")
+	@Operation(summary = "Get unassigned open alerts by descending risk score")
+	@PreAuthorize("hasRole('ANALYST') or hasRole('ADMIN')")
+	public ResponseEntity<List<AlertDTO>> getTriageQueue(@RequestParam(defaultValue = "20") int limit) {
+		List<AlertDTO> alerts = alertService.getTriageQueue(Math.max(1, Math.min(limit, 500)));
+		return ResponseEntity.ok(alerts);
+	}
+
+	@PostMapping("/triage/claim")
+	@Operation(summary = "Claim the highest-risk unassigned open alert")
+	@PreAuthorize("hasRole('ANALYST') or hasRole('ADMIN')")
+	public ResponseEntity<AlertDTO> claimNextAlert(@RequestParam String assignee) {
+		log.info("Claiming next alert for {}", assignee);
+		AlertDTO claimed = alertService.claimNextAlert(assignee);
+		return claimed != null ? ResponseEntity.ok(claimed) : ResponseEntity.noContent().build();
+	}
+
+	@GetMapping("/clusters")
+	@Operation(summary = "Get the largest near-duplicate alert clusters")
+	@PreAuthorize("hasRole('VIEWER') or hasRole('ANALYST') or hasRole('ADMIN')")
+	public ResponseEntity<List<AlertClusterDTO>> getClusters(@RequestParam(defaultValue = "20") int limit,
+			@RequestParam(defaultValue = "2") long minSize) {
+		List<AlertClusterDTO> clusters = alertService.getClusters(Math.max(1, Math.min(limit, 500)), minSize);
+		return ResponseEntity.ok(clusters);
+	}
+
+	@GetMapping("/histogram")
+	@Operation(summary = "Get alert counts over time, optionally split by severity, source system or rule")
+	@PreAuthorize("hasRole('VIEWER') or hasRole('ANALYST') or hasRole('ADMIN')")
+	public ResponseEntity<AlertHistogramDTO> getHistogram(
+			@RequestParam(defaultValue = "HOUR") RollupGranularity granularity,
+			@RequestParam(defaultValue = "ALL") RollupDimension dimension, @RequestParam(required = false) String value,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+			@RequestParam(defaultValue = "10") int limit) {
+		LocalDateTime end = to != null ? to : LocalDateTime.now();
+		LocalDateTime start = from != null ? from : end.minusDays(1);
+		AlertHistogramDTO histogram = alertService.getHistogram(granularity, dimension, value, start, end,
+				Math.max(1, Math.min(limit, 100)));
+		return ResponseEntity.ok(histogram);
+	}
+
 	@PatchMapping("/bulk-status")
 	@Operation(summary = "Bulk update alert status")
 	@PreAuthorize("hasRole('ANALYST') or hasRole('ADMIN')")
-	public ResponseEntity<Void> bulkUpdateStatus(@RequestParam List<UUID> alertIds, @RequestParam AlertStatus status,
-			@RequestParam String updatedBy) {
+	public ResponseEntity<BulkOperationResponse> bulkUpdateStatus(@RequestParam List<UUID> alertIds,
+			@RequestParam AlertStatus status, @RequestParam String updatedBy) {
 
 		log.info("Bulk updating {} alerts to status: {}", alertIds.size(), status);
-		alertService.bulkUpdateStatus(alertIds, status, updatedBy);
-		return ResponseEntity.ok().build();
+		BulkOperationResponse response = alertService.bulkUpdateStatus(alertIds, status, updatedBy);
+		return ResponseEntity.ok(response);
 	}
 
 	@GetMapping("/source-systems")
@@ -0,0 +1,27 @@
+package com.ops.hunting.alerts.controller;
+
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Controller;
+
+import com.ops.hunting.alerts.dto.AlertFeedFilter;
+import com.ops.hunting.alerts.live.AlertLiveFeed;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * STOMP endpoint through which a live feed session sets its filter, by sending
+ * to {@code /app/alerts/feed/filter}.
+ */
+@Controller
+@RequiredArgsConstructor
+public class AlertFeedController {
+
+	private final AlertLiveFeed alertLiveFeed;
+
+	@MessageMapping("/alerts/feed/filter")
+	public void updateFilter(@Payload AlertFeedFilter filter, SimpMessageHeaderAccessor headers) {
+		alertLiveFeed.updateFilter(headers.getSessionId(), filter);
+	}
+}
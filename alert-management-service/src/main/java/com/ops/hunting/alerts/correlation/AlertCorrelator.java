@@ -0,0 +1,371 @@
+package com.ops.hunting.alerts.correlation;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ops.hunting.alerts.config.CorrelationProperties;
+import com.ops.hunting.alerts.dto.AlertIncidentDTO;
+import com.ops.hunting.alerts.entity.Alert;
+import com.ops.hunting.alerts.enums.CorrelationDimension;
+import com.ops.hunting.alerts.outbox.OutboxPublisher;
+import com.ops.hunting.alerts.repository.AlertJdbcRepository;
+import com.ops.hunting.alerts.util.TransactionHooks;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Groups alerts into incidents as they arrive. Every alert opens or extends
+ * a sliding window per configured dimension ({@code SOURCE_IP:10.0.0.5},
+ * {@code RULE_ID:42}, ...); once a window holds {@code min-alerts} alerts its
+ * members get an incident id, stored in {@code Alert.investigationId}, and
+ * later alerts on any key of that incident join it. Windows live in a
+ * size-bounded LRU map, expire after {@code window} of inactivity and are
+ * checkpointed to {@code correlation_checkpoints} so a restart resumes open
+ * incidents instead of starting over. A call works on copies of the windows
+ * it touches and applies them once the persisting transaction commits, so a
+ * rolled-back batch neither counts towards a window nor strands pending
+ * members that were never written.
+ * <p>
+ * This replaces the self-joins on {@code alerts} otherwise needed to find
+ * related alerts: each alert costs a few map lookups.
+ */
+@Component
+@Slf4j
+public class AlertCorrelator {
+
+	static final String INCIDENT_TOPIC = "alert-incidents";
+
+	private static final String INSERT_CHECKPOINT_SQL = "INSERT INTO correlation_checkpoints (created_at, "
+			+ "window_count, state) VALUES (?, ?, ?)";
+	private static final String DELETE_CHECKPOINTS_BEFORE_SQL = "DELETE FROM correlation_checkpoints WHERE id < ?";
+	private static final String LATEST_CHECKPOINT_SQL = "SELECT state FROM correlation_checkpoints "
+			+ "ORDER BY id DESC LIMIT 1";
+	private static final TypeReference<List<CorrelationWindow>> WINDOW_LIST = new TypeReference<>() {
+	};
+
+	private final CorrelationProperties properties;
+	private final AlertJdbcRepository alertJdbcRepository;
+	private final OutboxPublisher outboxPublisher;
+	private final JdbcTemplate jdbcTemplate;
+	private final ObjectMapper objectMapper;
+	private final Map<String, CorrelationWindow> windows;
+	private final Counter incidentsCreated;
+	private final Counter alertsLinked;
+	private boolean dirty;
+
+	public AlertCorrelator(CorrelationProperties properties, AlertJdbcRepository alertJdbcRepository,
+			OutboxPublisher outboxPublisher, JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+			MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.alertJdbcRepository = alertJdbcRepository;
+		this.outboxPublisher = outboxPublisher;
+		this.jdbcTemplate = jdbcTemplate;
+		this.objectMapper = objectMapper;
+		this.windows = new LinkedHashMap<>(1024, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CorrelationWindow> eldest) {
+				return size() > properties.getMaxKeys();
+			}
+		};
+		this.incidentsCreated = Counter.builder("alerts.correlation.incidents")
+				.description("Incidents raised by alert correlation").register(meterRegistry);
+		this.alertsLinked = Counter.builder("alerts.correlation.linked")
+				.description("Alerts linked to a correlated incident").register(meterRegistry);
+		Gauge.builder("alerts.correlation.windows", this, AlertCorrelator::windowCount)
+				.description("Open correlation windows").register(meterRegistry);
+	}
+
+	/**
+	 * Correlates alerts that already carry an id. Alerts in the list get their
+	 * incident set in place; members persisted by earlier calls are updated in
+	 * the table. Must run in the transaction that persists the alerts so the
+	 * {@code alert-incidents} events commit with them.
+	 */
+	public void correlate(List<Alert> alerts) {
+		if (!properties.isEnabled() || alerts.isEmpty()) {
+			return;
+		}
+
+		Map<UUID, Alert> batch = new HashMap<>();
+		for (Alert alert : alerts) {
+			if (alert.getId() != null) {
+				batch.put(alert.getId(), alert);
+			}
+		}
+
+		Map<UUID, IncidentDelta> deltas = new LinkedHashMap<>();
+		Map<String, StagedWindow> staged = new LinkedHashMap<>();
+		synchronized (this) {
+			for (Alert alert : alerts) {
+				if (alert.getId() != null) {
+					correlate(alert, batch, deltas, staged);
+				}
+			}
+		}
+		TransactionHooks.afterCommit(() -> apply(staged.values()));
+
+		for (IncidentDelta delta : deltas.values()) {
+			if (!delta.persisted.isEmpty()) {
+				alertJdbcRepository.assignInvestigation(delta.incidentId, delta.persisted);
+			}
+			outboxPublisher.publish(INCIDENT_TOPIC, delta.incidentId.toString(), delta.toEvent());
+		}
+	}
+
+	public void correlate(Alert alert) {
+		correlate(List.of(alert));
+	}
+
+	@Scheduled(fixedDelayString = "${app.alert.correlation.sweep-interval-ms:60000}")
+	public synchronized void sweep() {
+		long cutoff = System.currentTimeMillis() - properties.getWindow().toMillis();
+		if (windows.values().removeIf(window -> window.getLastSeen() < cutoff)) {
+			dirty = true;
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${app.alert.correlation.checkpoint-interval-ms:60000}")
+	public void checkpoint() {
+		List<CorrelationWindow> copy;
+		synchronized (this) {
+			if (!properties.isEnabled() || !dirty) {
+				return;
+			}
+			copy = new ArrayList<>(windows.size());
+			windows.values().forEach(window -> copy.add(window.copy()));
+			dirty = false;
+		}
+
+		try {
+			String state = objectMapper.writeValueAsString(copy);
+			KeyHolder keyHolder = new GeneratedKeyHolder();
+			jdbcTemplate.update(connection -> {
+				PreparedStatement ps = connection.prepareStatement(INSERT_CHECKPOINT_SQL,
+						Statement.RETURN_GENERATED_KEYS);
+				ps.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+				ps.setInt(2, copy.size());
+				ps.setString(3, state);
+				return ps;
+			}, keyHolder);
+			Number id = keyHolder.getKey();
+			if (id != null) {
+				jdbcTemplate.update(DELETE_CHECKPOINTS_BEFORE_SQL, id.longValue());
+			}
+			log.debug("Checkpointed {} correlation windows", copy.size());
+		} catch (JsonProcessingException | RuntimeException e) {
+			synchronized (this) {
+				dirty = true;
+			}
+			log.warn("Correlation checkpoint failed: {}", e.getMessage());
+		}
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void restore() {
+		if (!properties.isEnabled()) {
+			return;
+		}
+		try {
+			List<String> states = jdbcTemplate.query(LATEST_CHECKPOINT_SQL, (rs, rowNum) -> rs.getString(1));
+			if (!states.isEmpty()) {
+				log.info("Correlation state restored with {} open windows", restore(states.get(0)));
+			}
+		} catch (RuntimeException e) {
+			log.warn("Could not restore correlation checkpoint: {}", e.getMessage());
+		}
+	}
+
+	synchronized int restore(String state) {
+		List<CorrelationWindow> saved;
+		try {
+			saved = objectMapper.readValue(state, WINDOW_LIST);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Unreadable correlation checkpoint", e);
+		}
+		long cutoff = System.currentTimeMillis() - properties.getWindow().toMillis();
+		int restored = 0;
+		for (CorrelationWindow window : saved) {
+			if (window.getLastSeen() >= cutoff) {
+				windows.putIfAbsent(window.getKey(), window);
+				restored++;
+			}
+		}
+		return restored;
+	}
+
+	synchronized String snapshot() throws JsonProcessingException {
+		return objectMapper.writeValueAsString(new ArrayList<>(windows.values()));
+	}
+
+	synchronized int windowCount() {
+		return windows.size();
+	}
+
+	private void correlate(Alert alert, Map<UUID, Alert> batch, Map<UUID, IncidentDelta> deltas,
+			Map<String, StagedWindow> staged) {
+		long at = epochMillis(alert.getCreatedAt());
+		long windowMillis = properties.getWindow().toMillis();
+
+		List<CorrelationWindow> touched = new ArrayList<>(properties.getDimensions().size());
+		for (CorrelationDimension dimension : properties.getDimensions()) {
+			String value = dimension.extract(alert);
+			if (value == null || value.isBlank()) {
+				continue;
+			}
+			String key = dimension.name() + ':' + value;
+			StagedWindow stage = staged.computeIfAbsent(key, k -> new StagedWindow(windows.get(k)));
+			CorrelationWindow window = stage.window;
+			if (window == null || at - window.getLastSeen() > windowMillis) {
+				window = new CorrelationWindow(key, at);
+				stage.window = window;
+				stage.restarted = true;
+			}
+			window.record(alert.getId(), at, properties.getMaxPendingPerKey());
+			touched.add(window);
+		}
+
+		// Join the oldest incident any key already belongs to, or raise one as
+		// soon as a key has seen enough alerts.
+		UUID incident = null;
+		long earliest = Long.MAX_VALUE;
+		for (CorrelationWindow window : touched) {
+			if (window.getIncidentId() != null && window.getFirstSeen() < earliest) {
+				incident = window.getIncidentId();
+				earliest = window.getFirstSeen();
+			}
+		}
+		boolean created = false;
+		if (incident == null) {
+			for (CorrelationWindow window : touched) {
+				if (window.getCount() >= properties.getMinAlerts()) {
+					incident = UUID.randomUUID();
+					created = true;
+					incidentsCreated.increment();
+					break;
+				}
+			}
+			if (incident == null) {
+				return;
+			}
+		}
+
+		IncidentDelta delta = deltas.computeIfAbsent(incident, IncidentDelta::new);
+		delta.created |= created;
+		for (CorrelationWindow window : touched) {
+			if (window.getIncidentId() == null) {
+				window.setIncidentId(incident);
+			}
+			if (incident.equals(window.getIncidentId())) {
+				delta.keys.add(window.getKey());
+				delta.extend(window.getFirstSeen(), window.getLastSeen());
+				for (UUID member : window.drainPending()) {
+					link(member, incident, batch, delta);
+				}
+			}
+		}
+		link(alert.getId(), incident, batch, delta);
+	}
+
+	/**
+	 * Publishes committed window copies. A window another transaction replaced
+	 * in the meantime absorbs this one's additions instead of being overwritten.
+	 */
+	private synchronized void apply(Collection<StagedWindow> staged) {
+		for (StagedWindow stage : staged) {
+			CorrelationWindow current = windows.get(stage.window.getKey());
+			if (current == null || current == stage.committed) {
+				windows.put(stage.window.getKey(), stage.window);
+			} else {
+				current.absorb(stage.restarted ? null : stage.committed, stage.window,
+						properties.getMaxPendingPerKey());
+			}
+		}
+		dirty = true;
+	}
+
+	private void link(UUID alertId, UUID incident, Map<UUID, Alert> batch, IncidentDelta delta) {
+		if (!delta.alertIds.add(alertId)) {
+			return;
+		}
+		Alert member = batch.get(alertId);
+		if (member == null) {
+			delta.persisted.add(alertId);
+		} else if (member.getInvestigationId() == null) {
+			member.setInvestigationId(incident);
+		}
+		alertsLinked.increment();
+	}
+
+	private static long epochMillis(LocalDateTime time) {
+		return time != null ? time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+				: System.currentTimeMillis();
+	}
+
+	private static LocalDateTime toLocalDateTime(long epochMillis) {
+		return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+	}
+
+	/** A call's private copy of one window and the committed window it started from. */
+	private static final class StagedWindow {
+		private final CorrelationWindow committed;
+		private CorrelationWindow window;
+		private boolean restarted;
+
+		private StagedWindow(CorrelationWindow committed) {
+			this.committed = committed;
+			this.window = committed != null ? committed.copy() : null;
+		}
+	}
+
+	private static final class IncidentDelta {
+		private final UUID incidentId;
+		private final Set<String> keys = new LinkedHashSet<>();
+		private final Set<UUID> alertIds = new LinkedHashSet<>();
+		private final List<UUID> persisted = new ArrayList<>();
+		private boolean created;
+		private long windowStart = Long.MAX_VALUE;
+		private long windowEnd = Long.MIN_VALUE;
+
+		private IncidentDelta(UUID incidentId) {
+			this.incidentId = incidentId;
+		}
+
+		private void extend(long start, long end) {
+			windowStart = Math.min(windowStart, start);
+			windowEnd = Math.max(windowEnd, end);
+		}
+
+		private AlertIncidentDTO toEvent() {
+			return AlertIncidentDTO.builder().incidentId(incidentId).newIncident(created).correlationKeys(keys)
+					.alertIds(new ArrayList<>(alertIds)).windowStart(toLocalDateTime(windowStart))
+					.windowEnd(toLocalDateTime(windowEnd)).detectedAt(LocalDateTime.now()).build();
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package com.ops.hunting.alerts.correlation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Open window for one correlation key. Until the key reaches
+ * {@code min-alerts} its members are kept in {@code pending} so they can be
+ * linked once the incident is raised.
+ */
+@Data
+@NoArgsConstructor
+class CorrelationWindow {
+
+	private String key;
+	private UUID incidentId;
+	private long firstSeen;
+	private long lastSeen;
+	private long count;
+	private List<UUID> pending = new ArrayList<>();
+
+	CorrelationWindow(String key, long firstSeen) {
+		this.key = key;
+		this.firstSeen = firstSeen;
+		this.lastSeen = firstSeen;
+	}
+
+	void record(UUID alertId, long at, int maxPending) {
+		count++;
+		firstSeen = Math.min(firstSeen, at);
+		lastSeen = Math.max(lastSeen, at);
+		if (incidentId == null) {
+			if (pending.size() >= maxPending) {
+				pending.remove(0);
+			}
+			pending.add(alertId);
+		}
+	}
+
+	List<UUID> drainPending() {
+		if (pending.isEmpty()) {
+			return List.of();
+		}
+		List<UUID> drained = pending;
+		pending = new ArrayList<>();
+		return drained;
+	}
+
+	/**
+	 * Adds what {@code updated} recorded on top of {@code base}, the state it
+	 * was copied from, or all of it when {@code base} is {@code null}.
+	 */
+	void absorb(CorrelationWindow base, CorrelationWindow updated, int maxPending) {
+		count += updated.count - (base != null ? base.count : 0);
+		firstSeen = Math.min(firstSeen, updated.firstSeen);
+		lastSeen = Math.max(lastSeen, updated.lastSeen);
+		if (incidentId == null && updated.incidentId != null) {
+			incidentId = updated.incidentId;
+			pending = new ArrayList<>();
+		} else if (incidentId == null) {
+			for (UUID alertId : updated.pending) {
+				if ((base == null || !base.pending.contains(alertId)) && !pending.contains(alertId)) {
+					if (pending.size() >= maxPending) {
+						pending.remove(0);
+					}
+					pending.add(alertId);
+				}
+			}
+		}
+	}
+
+	CorrelationWindow copy() {
+		CorrelationWindow copy = new CorrelationWindow(key, firstSeen);
+		copy.incidentId = incidentId;
+		copy.lastSeen = lastSeen;
+		copy.count = count;
+		copy.pending = new ArrayList<>(pending);
+		return copy;
+	}
+}
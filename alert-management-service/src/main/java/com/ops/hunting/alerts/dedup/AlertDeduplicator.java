@@ -0,0 +1,185 @@
+package com.ops.hunting.alerts.dedup;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ops.hunting.alerts.config.DeduplicationProperties;
+import com.ops.hunting.alerts.entity.Alert;
+import com.ops.hunting.alerts.repository.AlertRepository;
+import com.ops.hunting.alerts.util.TransactionHooks;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Time-windowed index of recently raised alerts, keyed per source system on
+ * {@code hash} or on {@code ruleId + sourceIp + destinationIp} when no hash is
+ * supplied. A Bloom filter answers the common "never seen" case without
+ * touching the index. Changes made inside a transaction are undone if it rolls
+ * back, so a redelivered batch is not matched against rows that were never
+ * written.
+ */
+@Component
+@Slf4j
+public class AlertDeduplicator {
+
+	private final DeduplicationProperties properties;
+	private final AlertRepository alertRepository;
+	private final RotatingBloomFilter bloomFilter;
+	private final Map<String, Entry> index = new ConcurrentHashMap<>();
+	private volatile long lastRotation = System.currentTimeMillis();
+
+	public AlertDeduplicator(DeduplicationProperties properties, AlertRepository alertRepository) {
+		this.properties = properties;
+		this.alertRepository = alertRepository;
+		this.bloomFilter = new RotatingBloomFilter(properties.getBloomExpectedInsertions(),
+				properties.getBloomFalsePositiveRate());
+	}
+
+	/**
+	 * Returns the id of the alert this one repeats, or {@code null} when it
+	 * should be persisted as a new alert, in which case it is registered as the
+	 * representative for its key.
+	 */
+	public UUID registerOrMatch(Alert alert) {
+		String key = keyOf(alert);
+		if (key == null || !properties.isEnabledFor(alert.getSourceSystem())) {
+			return null;
+		}
+
+		long now = System.currentTimeMillis();
+		if (!bloomFilter.mightContain(key)) {
+			bloomFilter.put(key);
+			register(key, newEntry(alert, now));
+			return null;
+		}
+
+		Entry[] match = new Entry[1];
+		Entry[] created = new Entry[1];
+		index.compute(key, (k, existing) -> {
+			if (existing != null && existing.alertId != null && existing.expiresAt > now
+					&& existing.occurrences.get() < properties.maxOccurrencesFor(alert.getSourceSystem())) {
+				existing.occurrences.incrementAndGet();
+				match[0] = existing;
+				return existing;
+			}
+			created[0] = newEntry(alert, now);
+			return created[0];
+		});
+
+		if (match[0] != null) {
+			Entry entry = match[0];
+			TransactionHooks.onRollback(entry.occurrences::decrementAndGet);
+			return entry.alertId;
+		}
+		TransactionHooks.onRollback(() -> index.remove(key, created[0]));
+		return null;
+	}
+
+	/** Records the id of a representative alert once it has been persisted. */
+	public void bind(Alert alert) {
+		String key = keyOf(alert);
+		if (key != null && alert.getId() != null) {
+			Entry entry = index.get(key);
+			if (entry != null && entry.alertId == null) {
+				entry.alertId = alert.getId();
+			}
+		}
+	}
+
+	/** Drops the key of an alert whose representative row no longer exists. */
+	public void forget(Alert alert) {
+		String key = keyOf(alert);
+		if (key != null) {
+			index.remove(key);
+		}
+	}
+
+	public int size() {
+		return index.size();
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void warmUp() {
+		if (!properties.isEnabled()) {
+			return;
+		}
+		LocalDateTime since = LocalDateTime.now().minus(properties.longestWindow());
+		int loaded = 0;
+		for (Alert alert : alertRepository.findByCreatedAtAfter(since)) {
+			String key = keyOf(alert);
+			if (key == null) {
+				continue;
+			}
+			long createdAt = alert.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+			Entry entry = newEntry(alert, createdAt);
+			if (entry.expiresAt > System.currentTimeMillis()) {
+				bloomFilter.put(key);
+				index.merge(key, entry, (a, b) -> a.expiresAt >= b.expiresAt ? a : b);
+				loaded++;
+			}
+		}
+		log.info("Dedup index warmed with {} recent alerts", loaded);
+	}
+
+	@Scheduled(fixedDelayString = "${app.alert.dedup.sweep-interval-ms:60000}")
+	public void sweep() {
+		long now = System.currentTimeMillis();
+		index.values().removeIf(entry -> entry.expiresAt <= now);
+
+		Iterator<String> keys = index.keySet().iterator();
+		while (index.size() > properties.getMaxEntries() && keys.hasNext()) {
+			keys.next();
+			keys.remove();
+		}
+
+		if (now - lastRotation >= properties.longestWindow().toMillis()) {
+			// Keys still in the index must survive the rotation.
+			bloomFilter.rotate();
+			index.keySet().forEach(bloomFilter::put);
+			lastRotation = now;
+		}
+	}
+
+	static String keyOf(Alert alert) {
+		String source = alert.getSourceSystem() + "|";
+		if (alert.getHash() != null && !alert.getHash().isBlank()) {
+			return "h:" + source + alert.getHash();
+		}
+		if (alert.getRuleId() == null && alert.getSourceIp() == null && alert.getDestinationIp() == null) {
+			return null;
+		}
+		return "r:" + source + alert.getRuleId() + '|' + alert.getSourceIp() + '|' + alert.getDestinationIp();
+	}
+
+	private void register(String key, Entry entry) {
+		index.put(key, entry);
+		TransactionHooks.onRollback(() -> index.remove(key, entry));
+	}
+
+	private Entry newEntry(Alert alert, long firstSeen) {
+		Duration window = properties.windowFor(alert.getSourceSystem());
+		return new Entry(alert.getId(), firstSeen + window.toMillis());
+	}
+
+	private static final class Entry {
+		private volatile UUID alertId;
+		private final long expiresAt;
+		private final AtomicInteger occurrences = new AtomicInteger(1);
+
+		private Entry(UUID alertId, long expiresAt) {
+			this.alertId = alertId;
+			this.expiresAt = expiresAt;
+		}
+	}
+}
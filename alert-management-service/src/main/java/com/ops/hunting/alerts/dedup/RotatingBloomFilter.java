@@ -0,0 +1,81 @@
+package com.ops.hunting.alerts.dedup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter with two generations. Entries are added to the
+ * current generation and looked up in both; {@link #rotate()} drops the older
+ * generation so keys age out without per-key deletes.
+ */
+public class RotatingBloomFilter {
+
+	private final int bitCount;
+	private final int hashCount;
+	private volatile AtomicLongArray current;
+	private volatile AtomicLongArray previous;
+
+	public RotatingBloomFilter(int expectedInsertions, double falsePositiveRate) {
+		long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+		this.bitCount = (int) Math.max(64, Math.min(bits, Integer.MAX_VALUE - 63));
+		this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+		this.current = new AtomicLongArray((bitCount + 63) / 64);
+		this.previous = new AtomicLongArray((bitCount + 63) / 64);
+	}
+
+	public void put(String key) {
+		AtomicLongArray bits = current;
+		long hash = hash64(key);
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		for (int i = 1; i <= hashCount; i++) {
+			int index = Math.floorMod(h1 + i * h2, bitCount);
+			long mask = 1L << (index & 63);
+			int word = index >>> 6;
+			long value;
+			do {
+				value = bits.get(word);
+				if ((value & mask) != 0) {
+					break;
+				}
+			} while (!bits.compareAndSet(word, value, value | mask));
+		}
+	}
+
+	public boolean mightContain(String key) {
+		long hash = hash64(key);
+		return contains(current, hash) || contains(previous, hash);
+	}
+
+	public synchronized void rotate() {
+		previous = current;
+		current = new AtomicLongArray(previous.length());
+	}
+
+	private boolean contains(AtomicLongArray bits, long hash) {
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		for (int i = 1; i <= hashCount; i++) {
+			int index = Math.floorMod(h1 + i * h2, bitCount);
+			if ((bits.get(index >>> 6) & (1L << (index & 63))) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/** 64-bit FNV-1a followed by a murmur3 finalizer for better bit spread. */
+	private static long hash64(String key) {
+		long hash = 0xcbf29ce484222325L;
+		for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+			hash ^= b;
+			hash *= 0x100000001b3L;
+		}
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+}
@@ -0,0 +1,26 @@
+package com.ops.hunting.alerts.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Aggregated {@code alert-status-updated} event covering one chunk of a bulk
+ * status transition.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AlertBulkStatusUpdateDTO {
+	private String operationId;
+	private List<UUID> alertIds;
+	private String newStatus;
+	private String updatedBy;
+	private LocalDateTime updatedAt;
+}
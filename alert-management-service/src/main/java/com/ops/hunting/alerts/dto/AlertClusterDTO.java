@@ -0,0 +1,31 @@
+package com.ops.hunting.alerts.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A group of near-duplicate alerts. The cluster id is the id of its
+ * representative alert; members carry it in {@code AlertDTO.clusterId}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AlertClusterDTO {
+	private UUID clusterId;
+	private long size;
+	private AlertDTO representative;
+
+	@JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+	private LocalDateTime firstSeen;
+
+	@JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+	private LocalDateTime lastSeen;
+}
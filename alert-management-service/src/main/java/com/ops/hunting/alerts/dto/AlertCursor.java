@@ -0,0 +1,31 @@
+package com.ops.hunting.alerts.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in the {@code (createdAt, id)} ordering of alerts. Clients only see
+ * the encoded form and hand it back unchanged to fetch the next slice.
+ */
+public record AlertCursor(LocalDateTime createdAt, UUID id) {
+
+	private static final char SEPARATOR = '|';
+
+	public String encode() {
+		String raw = createdAt + String.valueOf(SEPARATOR) + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static AlertCursor decode(String token) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			int separator = raw.indexOf(SEPARATOR);
+			return new AlertCursor(LocalDateTime.parse(raw.substring(0, separator)),
+					UUID.fromString(raw.substring(separator + 1)));
+		} catch (RuntimeException e) {
+			throw new IllegalArgumentException("Invalid cursor: " + token);
+		}
+	}
+}
@@ -0,0 +1,20 @@
+package com.ops.hunting.alerts.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AlertCursorPageDTO {
+	private List<AlertDTO> content;
+	private int size;
+	private boolean hasNext;
+	private String nextCursor;
+	private Long approximateTotal;
+}
@@ -61,5 +61,13 @@ public class AlertDTO {
 	private String rawData;
 	private String hash;
 	private UUID investigationId;
+	private UUID clusterId;
+	private Integer occurrenceCount;
+
+	@JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+	private LocalDateTime lastSeenAt;
+
+	private AlertEnrichmentDTO enrichment;
+
 	private Long version;
 }
@@ -0,0 +1,27 @@
+package com.ops.hunting.alerts.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AlertEnrichmentDTO {
+
+	private String threatIntelIndicatorId;
+	private Double threatIntelConfidence;
+	private String sourceCountry;
+	private String destinationCountry;
+	private String sourceAssetOwner;
+	private String destinationAssetOwner;
+
+	@JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+	private LocalDateTime enrichedAt;
+}
@@ -0,0 +1,47 @@
+package com.ops.hunting.alerts.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.ops.hunting.alerts.entity.Alert;
+import com.ops.hunting.alerts.enums.AlertSeverity;
+import com.ops.hunting.alerts.enums.AlertStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Compact view of an alert change pushed to live feed subscribers.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AlertFeedEvent {
+
+	public enum Change {
+		CREATED, UPDATED, STATUS_CHANGED, DELETED
+	}
+
+	private UUID alertId;
+	private Change change;
+	private String title;
+	private AlertSeverity severity;
+	private AlertStatus status;
+	private String sourceSystem;
+	private String assignedTo;
+	private Integer occurrenceCount;
+
+	@JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+	private LocalDateTime createdAt;
+
+	public static AlertFeedEvent of(Alert alert, Change change) {
+		return AlertFeedEvent.builder().alertId(alert.getId()).change(change).title(alert.getTitle())
+				.severity(alert.getSeverity()).status(alert.getStatus()).sourceSystem(alert.getSourceSystem())
+				.assignedTo(alert.getAssignedTo()).occurrenceCount(alert.getOccurrenceCount())
+				.createdAt(alert.getCreatedAt()).build();
+	}
+}
@@ -0,0 +1,23 @@
+package com.ops.hunting.alerts.dto;
+
+import java.util.Set;
+
+import com.ops.hunting.alerts.enums.AlertSeverity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Live feed subscription filter. Empty or missing fields match everything.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AlertFeedFilter {
+	private Set<AlertSeverity> severities;
+	private Set<String> sourceSystems;
+	private String assignee;
+}
@@ -0,0 +1,37 @@
+package com.ops.hunting.alerts.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One message on {@code /user/queue/alerts}: either a batch of alert changes
+ * or a periodic summary that also reports what the session missed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AlertFeedFrame {
+
+	public static final String ALERTS = "ALERTS";
+	public static final String SUMMARY = "SUMMARY";
+
+	private String type;
+	private List<AlertFeedEvent> alerts;
+	private AlertSummaryDTO summary;
+	private Integer pending;
+	private Long conflated;
+	private Long dropped;
+
+	@JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+	private LocalDateTime timestamp;
+}
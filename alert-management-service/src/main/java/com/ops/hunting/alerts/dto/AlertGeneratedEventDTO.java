@@ -0,0 +1,27 @@
+package com.ops.hunting.alerts.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Payload published by detection-analytics-service on the {@code alert-events}
+ * topic when an analytic execution produces alerts.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class AlertGeneratedEventDTO {
+	private UUID analyticId;
+	private int alertCount;
+	private String alertData;
+	private LocalDateTime timestamp;
+}
@@ -0,0 +1,41 @@
+package com.ops.hunting.alerts.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.ops.hunting.alerts.enums.RollupDimension;
+import com.ops.hunting.alerts.enums.RollupGranularity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Alert counts per bucket, one series per dimension value. {@code counts[i]}
+ * of every series belongs to {@code buckets[i]}; empty buckets are zero.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AlertHistogramDTO {
+
+	private RollupGranularity granularity;
+	private RollupDimension dimension;
+
+	@JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+	private List<LocalDateTime> buckets;
+
+	private List<Series> series;
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Series {
+		private String value;
+		private long total;
+		private long[] counts;
+	}
+}
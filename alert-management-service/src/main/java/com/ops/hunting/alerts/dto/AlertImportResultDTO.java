@@ -0,0 +1,46 @@
+package com.ops.hunting.alerts.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AlertImportResultDTO {
+
+	/** Non-blank lines read. */
+	private long totalLines;
+
+	/** Valid alerts handed to ingestion, including repeats folded into existing alerts. */
+	private long acceptedCount;
+
+	/** New alert rows written. */
+	private long insertedCount;
+
+	private long rejectedCount;
+
+	/** Rejected lines, capped at {@code app.alert.import.max-reported-errors}. */
+	private List<LineError> errors;
+
+	@JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+	private LocalDateTime startedAt;
+
+	@JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+	private LocalDateTime completedAt;
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class LineError {
+		private long line;
+		private String message;
+	}
+}
@@ -0,0 +1,29 @@
+package com.ops.hunting.alerts.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * {@code alert-incidents} event: alerts newly linked to a correlated incident.
+ * The incident id is also written to {@code Alert.investigationId}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AlertIncidentDTO {
+	private UUID incidentId;
+	private boolean newIncident;
+	private Set<String> correlationKeys;
+	private List<UUID> alertIds;
+	private LocalDateTime windowStart;
+	private LocalDateTime windowEnd;
+	private LocalDateTime detectedAt;
+}
@@ -0,0 +1,51 @@
+package com.ops.hunting.alerts.dto;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import com.ops.hunting.alerts.enums.AlertSeverity;
+import com.ops.hunting.alerts.enums.AlertStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Optional alert filters. Unset fields and empty sets add no predicate. Also
+ * bound straight from the search, scroll and export query strings.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class AlertSearchCriteria {
+	private Set<AlertSeverity> severities;
+	private Set<AlertStatus> statuses;
+	private String sourceSystem;
+	private String assignedTo;
+	private String ruleId;
+	private String sourceIp;
+	private String destinationIp;
+	private String threatCategory;
+	private Double minConfidence;
+	private Double maxConfidence;
+	@DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+	private LocalDateTime from;
+	@DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+	private LocalDateTime to;
+	private UUID clusterId;
+
+	/** Binds the singular {@code severity} query parameter. */
+	public void setSeverity(Set<AlertSeverity> severity) {
+		this.severities = severity;
+	}
+
+	/** Binds the singular {@code status} query parameter. */
+	public void setStatus(Set<AlertStatus> status) {
+		this.statuses = status;
+	}
+}
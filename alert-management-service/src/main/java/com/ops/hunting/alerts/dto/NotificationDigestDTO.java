@@ -0,0 +1,35 @@
+package com.ops.hunting.alerts.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.ops.hunting.alerts.enums.NotificationChannel;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Several notifications of one channel for one recipient, sent as a single
+ * message. Each alert appears once with its latest state; alerts beyond the
+ * batch limit are only counted in {@code omitted}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationDigestDTO {
+
+	private NotificationChannel channel;
+	private String recipient;
+	private List<AlertDTO> alerts;
+	private long omitted;
+
+	@JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+	private LocalDateTime firstAt;
+
+	@JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+	private LocalDateTime lastAt;
+}
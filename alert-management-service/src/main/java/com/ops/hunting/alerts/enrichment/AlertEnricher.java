@@ -0,0 +1,179 @@
+package com.ops.hunting.alerts.enrichment;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import com.ops.hunting.alerts.config.EnrichmentProperties;
+import com.ops.hunting.alerts.entity.Alert;
+import com.ops.hunting.alerts.entity.AlertEnrichment;
+import com.ops.hunting.alerts.repository.AlertJdbcRepository;
+import com.ops.hunting.alerts.util.TransactionHooks;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Adds threat-intel, geo and asset context to stored alerts without slowing
+ * ingestion down. Writers only append to a bounded queue after commit; a
+ * worker thread takes batches, runs every enabled {@link EnrichmentStage} of
+ * every alert in the batch concurrently, and writes the results back with one
+ * batched update. Each stage caches per IP and gives up after its own timeout,
+ * so a batch takes at most as long as the slowest stage timeout. Alerts that
+ * do not fit the queue stay unenriched and are counted.
+ */
+@Component
+@Slf4j
+public class AlertEnricher {
+
+	private final EnrichmentProperties properties;
+	private final List<EnrichmentStage> stages;
+	private final AlertJdbcRepository alertJdbcRepository;
+	private final BlockingQueue<EnrichmentTarget> queue;
+	private final ExecutorService lookupExecutor;
+	private final Counter enriched;
+	private final Counter dropped;
+	private volatile Thread worker;
+
+	public AlertEnricher(EnrichmentProperties properties, List<EnrichmentStage> stages,
+			AlertJdbcRepository alertJdbcRepository, MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.stages = stages;
+		this.alertJdbcRepository = alertJdbcRepository;
+		this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+		AtomicInteger threads = new AtomicInteger();
+		this.lookupExecutor = new ThreadPoolExecutor(properties.getLookupThreads(), properties.getLookupThreads(), 0L,
+				TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(properties.getBatchSize() * 4), runnable -> {
+					Thread thread = new Thread(runnable, "alert-enrichment-lookup-" + threads.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		this.enriched = Counter.builder("alerts.enrichment.enriched").description("Alerts enriched")
+				.register(meterRegistry);
+		this.dropped = Counter.builder("alerts.enrichment.dropped")
+				.description("Alerts left unenriched because the queue was full").register(meterRegistry);
+		Gauge.builder("alerts.enrichment.pending", queue, BlockingQueue::size)
+				.description("Alerts waiting for enrichment").register(meterRegistry);
+	}
+
+	/** Queues the given alerts for enrichment once the current transaction commits. */
+	public void submit(Collection<Alert> alerts) {
+		if (!properties.isEnabled() || alerts.isEmpty()) {
+			return;
+		}
+		List<EnrichmentTarget> targets = new ArrayList<>(alerts.size());
+		for (Alert alert : alerts) {
+			if (alert.getSourceIp() != null || alert.getDestinationIp() != null) {
+				targets.add(new EnrichmentTarget(alert.getId(), alert.getSourceIp(), alert.getDestinationIp()));
+			}
+		}
+		if (targets.isEmpty()) {
+			return;
+		}
+
+		TransactionHooks.afterCommit(() -> offer(targets));
+	}
+
+	public void submit(Alert alert) {
+		submit(List.of(alert));
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public synchronized void start() {
+		if (!properties.isEnabled() || worker != null) {
+			return;
+		}
+		worker = new Thread(this::run, "alert-enricher");
+		worker.setDaemon(true);
+		worker.start();
+		log.info("Alert enrichment started with stages {}", stages.stream().filter(EnrichmentStage::isEnabled)
+				.map(EnrichmentStage::name).toList());
+	}
+
+	@PreDestroy
+	public synchronized void stop() {
+		if (worker != null) {
+			worker.interrupt();
+			worker = null;
+		}
+		lookupExecutor.shutdownNow();
+	}
+
+	/** Runs every enabled stage for the batch and stores the results. */
+	void enrich(List<EnrichmentTarget> batch) {
+		List<EnrichmentStage> enabled = stages.stream().filter(EnrichmentStage::isEnabled).toList();
+		if (enabled.isEmpty()) {
+			return;
+		}
+		LocalDateTime now = LocalDateTime.now();
+		Map<UUID, AlertEnrichment> results = new LinkedHashMap<>();
+		List<CompletableFuture<Void>> pending = new ArrayList<>(batch.size() * enabled.size());
+		for (EnrichmentTarget target : batch) {
+			AlertEnrichment enrichment = AlertEnrichment.builder().enrichedAt(now).build();
+			results.put(target.id(), enrichment);
+			for (EnrichmentStage stage : enabled) {
+				pending.add(stage.enrich(target, enrichment, lookupExecutor));
+			}
+		}
+		try {
+			CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+		} catch (CompletionException e) {
+			// Stages fall back on their own; whatever completed is still stored
+			log.debug("Enrichment stage failed: {}", e.getMessage());
+		}
+		alertJdbcRepository.updateEnrichment(results);
+		enriched.increment(results.size());
+	}
+
+	private void run() {
+		List<EnrichmentTarget> batch = new ArrayList<>(properties.getBatchSize());
+		while (!Thread.currentThread().isInterrupted()) {
+			try {
+				EnrichmentTarget first = queue.poll(1, TimeUnit.SECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				queue.drainTo(batch, properties.getBatchSize() - 1);
+				enrich(batch);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (DataAccessException e) {
+				log.warn("Storing enrichment for {} alerts failed: {}", batch.size(), e.getMessage());
+			} catch (RuntimeException e) {
+				log.error("Enriching {} alerts failed", batch.size(), e);
+			} finally {
+				batch.clear();
+			}
+		}
+	}
+
+	private void offer(List<EnrichmentTarget> targets) {
+		for (EnrichmentTarget target : targets) {
+			if (!queue.offer(target)) {
+				dropped.increment();
+			}
+		}
+	}
+}
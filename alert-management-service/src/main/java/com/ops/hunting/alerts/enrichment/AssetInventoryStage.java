@@ -0,0 +1,74 @@
+package com.ops.hunting.alerts.enrichment;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.ops.hunting.alerts.config.EnrichmentProperties;
+import com.ops.hunting.alerts.entity.AlertEnrichment;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Resolves IPs to the owning team from an asset inventory export, a CSV of
+ * {@code ip,owner} rows. Without a configured file the stage is disabled.
+ */
+@Component
+@Slf4j
+public class AssetInventoryStage extends CachedIpStage<String> {
+
+	private volatile Map<String, String> owners = Map.of();
+
+	public AssetInventoryStage(EnrichmentProperties properties, MeterRegistry meterRegistry) {
+		super("asset", properties.getAsset(), meterRegistry);
+		EnrichmentProperties.Stage settings = properties.getAsset();
+		if (settings.isEnabled() && StringUtils.hasText(settings.getFile())) {
+			try {
+				load(Path.of(settings.getFile()));
+			} catch (IOException | RuntimeException e) {
+				log.warn("Asset enrichment disabled, cannot read {}: {}", settings.getFile(), e.getMessage());
+			}
+		}
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return super.isEnabled() && !owners.isEmpty();
+	}
+
+	/** Replaces the inventory with the contents of {@code file}. */
+	void load(Path file) throws IOException {
+		Map<String, String> loaded = new HashMap<>();
+		try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				String[] fields = line.split(",");
+				if (fields.length >= 2 && !line.startsWith("#") && !fields[1].isBlank()) {
+					loaded.put(fields[0].trim(), fields[1].trim());
+				}
+			}
+		}
+		owners = loaded;
+		clearCache();
+		log.info("Loaded {} assets from {}", loaded.size(), file);
+	}
+
+	@Override
+	protected String load(String ip) {
+		return owners.get(ip.trim());
+	}
+
+	@Override
+	protected void apply(AlertEnrichment enrichment, String source, String destination) {
+		enrichment.setSourceAssetOwner(source);
+		enrichment.setDestinationAssetOwner(destination);
+	}
+}
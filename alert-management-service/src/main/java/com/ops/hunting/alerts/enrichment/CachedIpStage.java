@@ -0,0 +1,130 @@
+package com.ops.hunting.alerts.enrichment;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import com.ops.hunting.alerts.config.EnrichmentProperties;
+import com.ops.hunting.alerts.entity.AlertEnrichment;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stage that resolves the source and destination IP independently through an
+ * LRU cache. Hits, including remembered misses, complete synchronously;
+ * {@linkplain #blocking() blocking} loads run on the lookup executor and fall
+ * back to {@code null} after the stage timeout. Concurrent misses for the same
+ * IP share one load. Fallbacks are not cached, so the next alert with that IP
+ * tries again.
+ */
+@Slf4j
+abstract class CachedIpStage<V> implements EnrichmentStage {
+
+	private final String name;
+	private final EnrichmentProperties.Stage settings;
+	private final LruCache<String, Optional<V>> cache;
+	private final Map<String, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+	private final Counter fallbacks;
+
+	CachedIpStage(String name, EnrichmentProperties.Stage settings, MeterRegistry meterRegistry) {
+		this.name = name;
+		this.settings = settings;
+		this.cache = new LruCache<>(settings.getCacheSize());
+		this.fallbacks = Counter.builder("alerts.enrichment.fallbacks").tag("stage", name)
+				.description("Enrichment lookups that timed out or failed").register(meterRegistry);
+	}
+
+	/** Looks up one IP; {@code null} when there is nothing to add. */
+	protected abstract V load(String ip) throws Exception;
+
+	protected abstract void apply(AlertEnrichment enrichment, V source, V destination);
+
+	/** Whether {@link #load} may block and must run off the caller's thread. */
+	protected boolean blocking() {
+		return false;
+	}
+
+	@Override
+	public String name() {
+		return name;
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return settings.isEnabled();
+	}
+
+	@Override
+	public CompletableFuture<Void> enrich(EnrichmentTarget target, AlertEnrichment enrichment,
+			Executor lookupExecutor) {
+		CompletableFuture<V> source = lookup(target.sourceIp(), lookupExecutor);
+		CompletableFuture<V> destination = lookup(target.destinationIp(), lookupExecutor);
+		return source.thenAcceptBoth(destination, (src, dst) -> {
+			if (src != null || dst != null) {
+				apply(enrichment, src, dst);
+			}
+		});
+	}
+
+	void clearCache() {
+		cache.clear();
+	}
+
+	private CompletableFuture<V> lookup(String ip, Executor lookupExecutor) {
+		if (ip == null || ip.isBlank()) {
+			return CompletableFuture.completedFuture(null);
+		}
+		Optional<V> cached = cache.get(ip);
+		if (cached != null) {
+			return CompletableFuture.completedFuture(cached.orElse(null));
+		}
+		if (!blocking()) {
+			try {
+				return CompletableFuture.completedFuture(remember(ip, load(ip)));
+			} catch (Exception e) {
+				return CompletableFuture.completedFuture(fallback(ip, e));
+			}
+		}
+		CompletableFuture<V> shared = inFlight.get(ip);
+		if (shared != null) {
+			return shared;
+		}
+		CompletableFuture<V> loaded;
+		try {
+			loaded = CompletableFuture.supplyAsync(() -> {
+				try {
+					return load(ip);
+				} catch (Exception e) {
+					throw new IllegalStateException(e);
+				}
+			}, lookupExecutor);
+		} catch (RuntimeException e) {
+			// Lookup executor saturated
+			return CompletableFuture.completedFuture(fallback(ip, e));
+		}
+		CompletableFuture<V> result = loaded.orTimeout(settings.getTimeout().toMillis(), TimeUnit.MILLISECONDS)
+				.handle((value, error) -> error == null ? remember(ip, value) : fallback(ip, error));
+		CompletableFuture<V> existing = inFlight.putIfAbsent(ip, result);
+		if (existing != null) {
+			return existing;
+		}
+		result.whenComplete((value, error) -> inFlight.remove(ip, result));
+		return result;
+	}
+
+	private V remember(String ip, V value) {
+		cache.put(ip, Optional.ofNullable(value));
+		return value;
+	}
+
+	private V fallback(String ip, Throwable error) {
+		fallbacks.increment();
+		log.debug("{} lookup for {} fell back: {}", name, ip, error.toString());
+		return null;
+	}
+}
@@ -0,0 +1,25 @@
+package com.ops.hunting.alerts.enrichment;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import com.ops.hunting.alerts.entity.AlertEnrichment;
+
+/**
+ * One independent lookup of the enrichment pipeline. Stages of the same alert
+ * run concurrently and each fills its own fields of the shared
+ * {@link AlertEnrichment}.
+ */
+public interface EnrichmentStage {
+
+	String name();
+
+	boolean isEnabled();
+
+	/**
+	 * Fills this stage's fields. The returned future must complete normally
+	 * within the stage's timeout, leaving its fields empty when the lookup is
+	 * slow or fails.
+	 */
+	CompletableFuture<Void> enrich(EnrichmentTarget target, AlertEnrichment enrichment, Executor lookupExecutor);
+}
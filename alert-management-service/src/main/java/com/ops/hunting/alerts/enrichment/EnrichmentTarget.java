@@ -0,0 +1,7 @@
+package com.ops.hunting.alerts.enrichment;
+
+import java.util.UUID;
+
+/** The part of an alert the enrichment stages look at. */
+public record EnrichmentTarget(UUID id, String sourceIp, String destinationIp) {
+}
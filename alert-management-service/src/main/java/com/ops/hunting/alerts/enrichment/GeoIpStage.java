@@ -0,0 +1,200 @@
+package com.ops.hunting.alerts.enrichment;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.ops.hunting.alerts.config.EnrichmentProperties;
+import com.ops.hunting.alerts.entity.AlertEnrichment;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Resolves IPv4 addresses to a country from a local {@code network,country}
+ * CSV (CIDR or single address per row, {@code #} comments allowed). Ranges are
+ * held in sorted arrays and found by binary search, so a lookup never leaves
+ * the process. Nested networks are split on load so the most specific one
+ * wins. Without a configured file the stage is disabled.
+ */
+@Component
+@Slf4j
+public class GeoIpStage extends CachedIpStage<String> {
+
+	private volatile Ranges ranges = new Ranges(new long[0], new long[0], new String[0]);
+
+	public GeoIpStage(EnrichmentProperties properties, MeterRegistry meterRegistry) {
+		super("geo", properties.getGeo(), meterRegistry);
+		EnrichmentProperties.Stage settings = properties.getGeo();
+		if (settings.isEnabled() && StringUtils.hasText(settings.getFile())) {
+			try {
+				load(Path.of(settings.getFile()));
+			} catch (IOException | RuntimeException e) {
+				log.warn("Geo enrichment disabled, cannot read {}: {}", settings.getFile(), e.getMessage());
+			}
+		}
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return super.isEnabled() && ranges.countries().length > 0;
+	}
+
+	/** Replaces the ranges with the contents of {@code file}. */
+	void load(Path file) throws IOException {
+		List<Range> rows = new ArrayList<>();
+		try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				Range range = parse(line);
+				if (range != null) {
+					rows.add(range);
+				}
+			}
+		}
+		List<Range> flat = flatten(rows);
+		long[] starts = new long[flat.size()];
+		long[] ends = new long[flat.size()];
+		String[] countries = new String[flat.size()];
+		for (int i = 0; i < flat.size(); i++) {
+			starts[i] = flat.get(i).start();
+			ends[i] = flat.get(i).end();
+			countries[i] = flat.get(i).country();
+		}
+		ranges = new Ranges(starts, ends, countries);
+		clearCache();
+		log.info("Loaded {} geo ranges ({} after splitting nested networks) from {}", rows.size(), flat.size(), file);
+	}
+
+	/**
+	 * Turns CIDR rows into disjoint ranges sorted by start. Two networks are
+	 * either disjoint or one contains the other, so a stack of the networks
+	 * still open is enough: each inner network cuts its parent in two. Of two
+	 * identical networks the later row wins.
+	 */
+	private static List<Range> flatten(List<Range> rows) {
+		List<Range> sorted = new ArrayList<>(rows);
+		sorted.sort(Comparator.comparingLong(Range::start).thenComparing(Range::end, Comparator.reverseOrder()));
+		List<Range> flat = new ArrayList<>(sorted.size());
+		Deque<Range> open = new ArrayDeque<>();
+		long next = 0;
+		for (Range range : sorted) {
+			while (!open.isEmpty() && open.peek().end() < range.start()) {
+				next = close(open.pop(), next, flat);
+			}
+			if (!open.isEmpty() && next < range.start()) {
+				flat.add(new Range(next, range.start() - 1, open.peek().country()));
+			}
+			next = range.start();
+			open.push(range);
+		}
+		while (!open.isEmpty()) {
+			next = close(open.pop(), next, flat);
+		}
+		return flat;
+	}
+
+	/** Emits what is left of {@code range} from {@code next} on; returns the next uncovered address. */
+	private static long close(Range range, long next, List<Range> flat) {
+		if (next <= range.end()) {
+			flat.add(new Range(next, range.end(), range.country()));
+			return range.end() + 1;
+		}
+		return next;
+	}
+
+	@Override
+	protected String load(String ip) {
+		long address = toLong(ip);
+		if (address < 0) {
+			return null;
+		}
+		Ranges current = ranges;
+		long[] starts = current.starts();
+		int low = 0;
+		int high = starts.length - 1;
+		int found = -1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (starts[mid] <= address) {
+				found = mid;
+				low = mid + 1;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return found >= 0 && address <= current.ends()[found] ? current.countries()[found] : null;
+	}
+
+	@Override
+	protected void apply(AlertEnrichment enrichment, String source, String destination) {
+		enrichment.setSourceCountry(source);
+		enrichment.setDestinationCountry(destination);
+	}
+
+	private static Range parse(String line) {
+		String trimmed = line.trim();
+		if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+			return null;
+		}
+		String[] fields = trimmed.split(",");
+		if (fields.length < 2 || fields[1].isBlank()) {
+			return null;
+		}
+		String network = fields[0].trim();
+		int prefix = 32;
+		int slash = network.indexOf('/');
+		if (slash >= 0) {
+			try {
+				prefix = Integer.parseInt(network.substring(slash + 1));
+			} catch (NumberFormatException e) {
+				return null;
+			}
+			network = network.substring(0, slash);
+		}
+		long address = toLong(network);
+		if (address < 0 || prefix < 0 || prefix > 32) {
+			return null;
+		}
+		long size = 1L << (32 - prefix);
+		long start = address & ~(size - 1) & 0xFFFFFFFFL;
+		return new Range(start, start + size - 1, fields[1].trim().toUpperCase());
+	}
+
+	/** Dotted IPv4 address as an unsigned value, or -1 when it is not one. */
+	static long toLong(String ip) {
+		String[] octets = ip.trim().split("\\.");
+		if (octets.length != 4) {
+			return -1;
+		}
+		long value = 0;
+		for (String octet : octets) {
+			try {
+				int part = Integer.parseInt(octet);
+				if (part < 0 || part > 255) {
+					return -1;
+				}
+				value = (value << 8) | part;
+			} catch (NumberFormatException e) {
+				return -1;
+			}
+		}
+		return value;
+	}
+
+	private record Range(long start, long end, String country) {
+	}
+
+	private record Ranges(long[] starts, long[] ends, String[] countries) {
+	}
+}
@@ -0,0 +1,35 @@
+package com.ops.hunting.alerts.enrichment;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** Size-bounded access-ordered cache; every operation locks the cache. */
+final class LruCache<K, V> {
+
+	private final LinkedHashMap<K, V> entries;
+
+	LruCache(int maxSize) {
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	synchronized V get(K key) {
+		return entries.get(key);
+	}
+
+	synchronized void put(K key, V value) {
+		entries.put(key, value);
+	}
+
+	synchronized int size() {
+		return entries.size();
+	}
+
+	synchronized void clear() {
+		entries.clear();
+	}
+}
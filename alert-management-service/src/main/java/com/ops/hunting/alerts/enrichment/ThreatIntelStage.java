@@ -0,0 +1,59 @@
+package com.ops.hunting.alerts.enrichment;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.ops.hunting.alerts.config.EnrichmentProperties;
+import com.ops.hunting.alerts.entity.AlertEnrichment;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Matches alert IPs against the shared {@code indicators} table and keeps the
+ * most confident hit of either endpoint.
+ */
+@Component
+public class ThreatIntelStage extends CachedIpStage<ThreatIntelStage.Match> {
+
+	private static final String MATCH_SQL = "SELECT id, confidence FROM indicators "
+			+ "WHERE type = 'IP' AND value = ? ORDER BY confidence DESC LIMIT 1";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public ThreatIntelStage(JdbcTemplate jdbcTemplate, EnrichmentProperties properties, MeterRegistry meterRegistry) {
+		super("threat-intel", properties.getThreatIntel(), meterRegistry);
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	@Override
+	protected Match load(String ip) {
+		List<Match> matches = jdbcTemplate.query(MATCH_SQL, (rs, rowNum) -> {
+			double confidence = rs.getDouble("confidence");
+			return new Match(rs.getString("id"), rs.wasNull() ? null : confidence);
+		}, ip);
+		return matches.isEmpty() ? null : matches.get(0);
+	}
+
+	@Override
+	protected boolean blocking() {
+		return true;
+	}
+
+	@Override
+	protected void apply(AlertEnrichment enrichment, Match source, Match destination) {
+		Match best = source == null || (destination != null && confidence(destination) > confidence(source))
+				? destination
+				: source;
+		enrichment.setThreatIntelIndicatorId(best.id());
+		enrichment.setThreatIntelConfidence(best.confidence());
+	}
+
+	private static double confidence(Match match) {
+		return match.confidence() != null ? match.confidence() : 0.0;
+	}
+
+	record Match(String id, Double confidence) {
+	}
+}
@@ -10,13 +10,16 @@ import com.ops.hunting.alerts.enums.AlertSeverity;
 import com.ops.hunting.alerts.enums.AlertStatus;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -24,7 +27,16 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "alerts")
+@Table(name = "alerts", indexes = { @Index(name = "idx_alerts_created_at_id", columnList = "created_at, id"),
+		@Index(name = "idx_alerts_status_severity_created", columnList = "status, severity, created_at"),
+		@Index(name = "idx_alerts_assignee_status_created", columnList = "assigned_to, status, created_at"),
+		@Index(name = "idx_alerts_source_system_created", columnList = "source_system, created_at"),
+		@Index(name = "idx_alerts_rule_created", columnList = "rule_id, created_at"),
+		@Index(name = "idx_alerts_source_ip_created", columnList = "source_ip, created_at"),
+		@Index(name = "idx_alerts_destination_ip_created", columnList = "destination_ip, created_at"),
+		@Index(name = "idx_alerts_status_updated", columnList = "status, updated_at"),
+		@Index(name = "idx_alerts_status_created", columnList = "status, created_at"),
+		@Index(name = "idx_alerts_cluster_created", columnList = "cluster_id, created_at") })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -102,7 +114,8 @@ public class Alert {
 	@Column(name = "updated_at")
 	private LocalDateTime updatedAt;
 
-	@Column(name = "raw_data", length = 5000)
+	/** Stored off-row by {@code AlertPayloadStore}; only set when written or loaded. */
+	@Transient
 	private String rawData;
 
 	@Column(name = "hash")
@@ -111,6 +124,23 @@ public class Alert {
 	@Column(name = "investigation_id")
 	private UUID investigationId;
 
+	@Column(name = "cluster_id")
+	private UUID clusterId;
+
+	@Builder.Default
+	@Column(name = "occurrence_count", updatable = false)
+	private Integer occurrenceCount = 1;
+
+	@Column(name = "last_seen_at", updatable = false)
+	private LocalDateTime lastSeenAt;
+
+	@Builder.Default
+	@Column(name = "escalation_level", updatable = false)
+	private Integer escalationLevel = 0;
+
+	@Embedded
+	private AlertEnrichment enrichment;
+
 	@Version
 	private Long version;
 }
\ No newline at end of file
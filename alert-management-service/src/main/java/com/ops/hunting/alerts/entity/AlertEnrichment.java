@@ -0,0 +1,44 @@
+package com.ops.hunting.alerts.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Context looked up for an alert's endpoints after it was stored. Written only
+ * by the enrichment pipeline, so entity saves never overwrite it.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AlertEnrichment {
+
+	/** Best-confidence threat-intel indicator matching either IP. */
+	@Column(name = "ti_indicator_id", length = 50, insertable = false, updatable = false)
+	private String threatIntelIndicatorId;
+
+	@Column(name = "ti_confidence", insertable = false, updatable = false)
+	private Double threatIntelConfidence;
+
+	@Column(name = "source_country", length = 2, insertable = false, updatable = false)
+	private String sourceCountry;
+
+	@Column(name = "destination_country", length = 2, insertable = false, updatable = false)
+	private String destinationCountry;
+
+	@Column(name = "source_asset_owner", insertable = false, updatable = false)
+	private String sourceAssetOwner;
+
+	@Column(name = "destination_asset_owner", insertable = false, updatable = false)
+	private String destinationAssetOwner;
+
+	@Column(name = "enriched_at", insertable = false, updatable = false)
+	private LocalDateTime enrichedAt;
+}
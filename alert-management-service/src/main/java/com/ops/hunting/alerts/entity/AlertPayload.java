@@ -0,0 +1,43 @@
+package com.ops.hunting.alerts.entity;
+
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Raw payload of an alert, kept out of the {@code alerts} row so list and
+ * search queries never read it. {@code data} is deflate-compressed unless the
+ * payload is too small to benefit; see {@code codec}.
+ */
+@Entity
+@Table(name = "alert_payloads")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AlertPayload {
+
+	@Id
+	@Column(name = "alert_id")
+	private UUID alertId;
+
+	/** 0 for UTF-8 as is, 1 for deflate. */
+	@Column(nullable = false)
+	private Integer codec;
+
+	/** Payload length in characters before compression. */
+	@Column(name = "raw_length", nullable = false)
+	private Integer rawLength;
+
+	@Lob
+	@Column(nullable = false, length = 16 * 1024 * 1024)
+	private byte[] data;
+}
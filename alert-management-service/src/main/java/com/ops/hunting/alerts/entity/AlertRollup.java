@@ -0,0 +1,59 @@
+package com.ops.hunting.alerts.entity;
+
+import java.time.LocalDateTime;
+
+import com.ops.hunting.alerts.enums.RollupDimension;
+import com.ops.hunting.alerts.enums.RollupGranularity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of alerts created in one time bucket for one value of a dimension.
+ * Rows are only ever incremented by upsert on the unique bucket key, which
+ * also serves histogram range scans.
+ */
+@Entity
+@Table(name = "alert_rollups", uniqueConstraints = @UniqueConstraint(name = "uk_alert_rollups_bucket",
+		columnNames = { "granularity", "dimension", "bucket_start", "dimension_value" }),
+		indexes = @Index(name = "idx_alert_rollups_value_bucket",
+				columnList = "granularity, dimension, dimension_value, bucket_start"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AlertRollup {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 8)
+	private RollupGranularity granularity;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 16)
+	private RollupDimension dimension;
+
+	@Column(name = "dimension_value", nullable = false)
+	private String dimensionValue;
+
+	@Column(name = "bucket_start", nullable = false)
+	private LocalDateTime bucketStart;
+
+	@Column(name = "alert_count", nullable = false)
+	private Long alertCount;
+}
@@ -0,0 +1,88 @@
+package com.ops.hunting.alerts.entity;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.ops.hunting.alerts.enums.AlertSeverity;
+import com.ops.hunting.alerts.enums.AlertStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cold copy of a closed alert. The columns the search screens filter on are
+ * kept as plain columns with their own indexes; everything else lives in a
+ * gzip-compressed JSON {@code payload}, so an archived row costs a fraction of
+ * a hot one and never touches the {@code alerts} indexes or buffer pool pages.
+ */
+@Entity
+@Table(name = "alerts_archive", indexes = {
+		@Index(name = "idx_alerts_archive_created_at_id", columnList = "created_at, id"),
+		@Index(name = "idx_alerts_archive_source_ip_created", columnList = "source_ip, created_at"),
+		@Index(name = "idx_alerts_archive_destination_ip_created", columnList = "destination_ip, created_at"),
+		@Index(name = "idx_alerts_archive_rule_created", columnList = "rule_id, created_at"),
+		@Index(name = "idx_alerts_archive_archived_at", columnList = "archived_at") })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedAlert {
+
+	@Id
+	private UUID id;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false)
+	private AlertSeverity severity;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false)
+	private AlertStatus status;
+
+	@Column(name = "source_system")
+	private String sourceSystem;
+
+	@Column(name = "source_ip")
+	private String sourceIp;
+
+	@Column(name = "destination_ip")
+	private String destinationIp;
+
+	@Column(name = "rule_id")
+	private String ruleId;
+
+	@Column(name = "assigned_to")
+	private String assignedTo;
+
+	@Column(name = "threat_category")
+	private String threatCategory;
+
+	@Column(name = "confidence_score")
+	private Double confidenceScore;
+
+	@Column(name = "investigation_id")
+	private UUID investigationId;
+
+	@Column(name = "created_at", nullable = false)
+	private LocalDateTime createdAt;
+
+	@Column(name = "closed_at")
+	private LocalDateTime closedAt;
+
+	@Column(name = "archived_at", nullable = false)
+	private LocalDateTime archivedAt;
+
+	@Lob
+	@Column(nullable = false)
+	private byte[] payload;
+}
@@ -0,0 +1,42 @@
+package com.ops.hunting.alerts.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Serialized open correlation windows. Only the latest row is kept; it is
+ * written and read with plain JDBC by the correlation package.
+ */
+@Entity
+@Table(name = "correlation_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CorrelationCheckpoint {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "created_at", nullable = false)
+	private LocalDateTime createdAt;
+
+	@Column(name = "window_count", nullable = false)
+	private Integer windowCount;
+
+	@Lob
+	@Column(nullable = false)
+	private String state;
+}
@@ -0,0 +1,49 @@
+package com.ops.hunting.alerts.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Kafka message recorded in the same transaction as the change it describes.
+ * Rows are written and drained with plain JDBC by the outbox package; the
+ * mapping only exists so the schema is managed with the rest of the entities.
+ */
+@Entity
+@Table(name = "outbox_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(nullable = false)
+	private String topic;
+
+	@Column(name = "message_key")
+	private String messageKey;
+
+	@Column(name = "payload_type")
+	private String payloadType;
+
+	@Lob
+	@Column(nullable = false)
+	private String payload;
+
+	@Column(name = "created_at", nullable = false)
+	private LocalDateTime createdAt;
+}
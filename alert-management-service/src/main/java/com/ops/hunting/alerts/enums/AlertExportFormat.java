@@ -0,0 +1,21 @@
+package com.ops.hunting.alerts.enums;
+
+public enum AlertExportFormat {
+	NDJSON("application/x-ndjson", "ndjson"), CSV("text/csv", "csv");
+
+	private final String contentType;
+	private final String extension;
+
+	AlertExportFormat(String contentType, String extension) {
+		this.contentType = contentType;
+		this.extension = extension;
+	}
+
+	public String getContentType() {
+		return contentType;
+	}
+
+	public String getExtension() {
+		return extension;
+	}
+}
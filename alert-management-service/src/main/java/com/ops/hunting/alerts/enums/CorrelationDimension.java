@@ -0,0 +1,20 @@
+package com.ops.hunting.alerts.enums;
+
+import java.util.function.Function;
+
+import com.ops.hunting.alerts.entity.Alert;
+
+public enum CorrelationDimension {
+	SOURCE_IP(Alert::getSourceIp), DESTINATION_IP(Alert::getDestinationIp), RULE_ID(Alert::getRuleId),
+	THREAT_CATEGORY(Alert::getThreatCategory);
+
+	private final Function<Alert, String> extractor;
+
+	CorrelationDimension(Function<Alert, String> extractor) {
+		this.extractor = extractor;
+	}
+
+	public String extract(Alert alert) {
+		return extractor.apply(alert);
+	}
+}
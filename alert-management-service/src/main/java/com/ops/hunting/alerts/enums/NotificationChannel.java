@@ -0,0 +1,26 @@
+package com.ops.hunting.alerts.enums;
+
+/**
+ * Kinds of alert notification, each with its outbox topic. Urgent channels
+ * bypass per-recipient rate limits once their maximum delay is reached.
+ */
+public enum NotificationChannel {
+	CRITICAL_ALERT("critical-alert-notification", true), ASSIGNMENT("alert-assignment-notification", false),
+	STATUS_UPDATE("alert-status-notification", false), ESCALATION("alert-escalation-notification", true);
+
+	private final String topic;
+	private final boolean urgent;
+
+	NotificationChannel(String topic, boolean urgent) {
+		this.topic = topic;
+		this.urgent = urgent;
+	}
+
+	public String getTopic() {
+		return topic;
+	}
+
+	public boolean isUrgent() {
+		return urgent;
+	}
+}
@@ -0,0 +1,24 @@
+package com.ops.hunting.alerts.enums;
+
+import java.util.function.Function;
+
+import com.ops.hunting.alerts.entity.Alert;
+
+public enum RollupDimension {
+	ALL(alert -> "all"), SEVERITY(alert -> alert.getSeverity() != null ? alert.getSeverity().name() : null),
+	SOURCE_SYSTEM(Alert::getSourceSystem), RULE_NAME(Alert::getRuleName);
+
+	/** Bucket value for alerts without one. */
+	public static final String NONE = "(none)";
+
+	private final Function<Alert, String> extractor;
+
+	RollupDimension(Function<Alert, String> extractor) {
+		this.extractor = extractor;
+	}
+
+	public String extract(Alert alert) {
+		String value = extractor.apply(alert);
+		return value != null && !value.isBlank() ? value : NONE;
+	}
+}
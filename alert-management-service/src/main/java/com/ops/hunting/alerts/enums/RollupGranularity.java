@@ -0,0 +1,33 @@
+package com.ops.hunting.alerts.enums;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+public enum RollupGranularity {
+	MINUTE(ChronoUnit.MINUTES), HOUR(ChronoUnit.HOURS), DAY(ChronoUnit.DAYS);
+
+	private final ChronoUnit unit;
+
+	RollupGranularity(ChronoUnit unit) {
+		this.unit = unit;
+	}
+
+	/** Start of the bucket containing {@code time}. */
+	public LocalDateTime truncate(LocalDateTime time) {
+		return time.truncatedTo(unit);
+	}
+
+	public LocalDateTime next(LocalDateTime bucketStart) {
+		return bucketStart.plus(1, unit);
+	}
+
+	/** Whole buckets from {@code from} to {@code to}. */
+	public long between(LocalDateTime from, LocalDateTime to) {
+		return unit.between(from, to);
+	}
+
+	public Duration getWidth() {
+		return unit.getDuration();
+	}
+}
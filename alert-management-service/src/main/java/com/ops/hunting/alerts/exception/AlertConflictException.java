@@ -0,0 +1,7 @@
+package com.ops.hunting.alerts.exception;
+
+public class AlertConflictException extends RuntimeException {
+	public AlertConflictException(String message) {
+		super(message);
+	}
+}
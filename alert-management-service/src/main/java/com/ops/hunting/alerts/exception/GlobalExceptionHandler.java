@@ -29,6 +29,17 @@ public class GlobalExceptionHandler {
 		return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
 	}
 
+	@ExceptionHandler(AlertConflictException.class)
+	public ResponseEntity<ErrorResponse> handleAlertConflict(AlertConflictException ex) {
+		log.warn("Alert update conflict: {}", ex.getMessage());
+
+		ErrorResponse error = ErrorResponse.builder().timestamp(LocalDateTime.now())
+				.status(HttpStatus.CONFLICT.value()).error("Conflict").message(ex.getMessage()).path("/api/alerts")
+				.build();
+
+		return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+	}
+
 	@ExceptionHandler(MethodArgumentNotValidException.class)
 	public ResponseEntity<ErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex) {
 		log.error("Validation error: {}", ex.getMessage());
@@ -47,6 +58,17 @@ public class GlobalExceptionHandler {
 		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
 	}
 
+	@ExceptionHandler(IllegalArgumentException.class)
+	public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
+		log.error("Bad request: {}", ex.getMessage());
+
+		ErrorResponse error = ErrorResponse.builder().timestamp(LocalDateTime.now())
+				.status(HttpStatus.BAD_REQUEST.value()).error("Bad Request").message(ex.getMessage())
+				.path("/api/alerts").build();
+
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+	}
+
 	@ExceptionHandler(AccessDeniedException.class)
 	public ResponseEntity<ErrorResponse> handleAccessDenied(AccessDeniedException ex) {
 		log.error("Access denied: {}", ex.getMessage());
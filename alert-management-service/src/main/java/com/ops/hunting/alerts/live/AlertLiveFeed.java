@@ -0,0 +1,169 @@
+package com.ops.hunting.alerts.live;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import com.ops.hunting.alerts.config.LiveFeedProperties;
+import com.ops.hunting.alerts.dto.AlertFeedEvent;
+import com.ops.hunting.alerts.dto.AlertFeedFilter;
+import com.ops.hunting.alerts.dto.AlertFeedFrame;
+import com.ops.hunting.alerts.dto.AlertSummaryDTO;
+import com.ops.hunting.alerts.entity.Alert;
+import com.ops.hunting.alerts.service.AlertSummaryCounters;
+import com.ops.hunting.alerts.util.TransactionHooks;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pushes alert changes to STOMP sessions subscribed to
+ * {@code /user/queue/alerts}. Writers only append to a bounded ingress queue;
+ * a scheduled flush fans events out to the sessions whose filter matches and
+ * sends each session at most {@code max-batch} alerts per tick, so a burst
+ * turns into paced frames instead of one message per alert. Every session also
+ * gets a summary frame with the current counters and what it missed.
+ */
+@Component
+@Slf4j
+public class AlertLiveFeed {
+
+	static final String DESTINATION = "/queue/alerts";
+	static final String SUBSCRIPTION = "/user" + DESTINATION;
+
+	private final SimpMessagingTemplate messagingTemplate;
+	private final AlertSummaryCounters alertSummaryCounters;
+	private final LiveFeedProperties properties;
+	private final BlockingQueue<AlertFeedEvent> ingress;
+	private final Map<String, FeedSession> sessions = new ConcurrentHashMap<>();
+	private final Counter ingressDropped;
+
+	public AlertLiveFeed(SimpMessagingTemplate messagingTemplate, AlertSummaryCounters alertSummaryCounters,
+			LiveFeedProperties properties, MeterRegistry meterRegistry) {
+		this.messagingTemplate = messagingTemplate;
+		this.alertSummaryCounters = alertSummaryCounters;
+		this.properties = properties;
+		this.ingress = new ArrayBlockingQueue<>(properties.getIngressCapacity());
+		this.ingressDropped = Counter.builder("alerts.live.ingress.dropped")
+				.description("Alert changes dropped before fan-out").register(meterRegistry);
+		Gauge.builder("alerts.live.sessions", sessions, Map::size).description("Live feed sessions")
+				.register(meterRegistry);
+	}
+
+	/** Whether any session would receive a publish, so callers can skip loading alerts. */
+	public boolean isListening() {
+		return properties.isEnabled() && !sessions.isEmpty();
+	}
+
+	/** Queues changes for delivery once the current transaction commits. */
+	public void publish(List<Alert> alerts, AlertFeedEvent.Change change) {
+		if (!isListening() || alerts.isEmpty()) {
+			return;
+		}
+		List<AlertFeedEvent> events = new ArrayList<>(alerts.size());
+		alerts.forEach(alert -> events.add(AlertFeedEvent.of(alert, change)));
+
+		TransactionHooks.afterCommit(() -> offer(events));
+	}
+
+	public void publish(Alert alert, AlertFeedEvent.Change change) {
+		publish(List.of(alert), change);
+	}
+
+	public void updateFilter(String sessionId, AlertFeedFilter filter) {
+		session(sessionId).setFilter(filter);
+		log.debug("Live feed session {} filter set to {}", sessionId, filter);
+	}
+
+	@EventListener
+	public void onSubscribe(SessionSubscribeEvent event) {
+		SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+		if (SUBSCRIPTION.equals(accessor.getDestination()) && accessor.getSessionId() != null) {
+			session(accessor.getSessionId());
+		}
+	}
+
+	@EventListener
+	public void onDisconnect(SessionDisconnectEvent event) {
+		sessions.remove(event.getSessionId());
+	}
+
+	@Scheduled(fixedDelayString = "${app.alert.live-feed.flush-interval-ms:250}")
+	public void flush() {
+		List<AlertFeedEvent> batch = new ArrayList<>();
+		ingress.drainTo(batch);
+		if (sessions.isEmpty()) {
+			return;
+		}
+
+		for (FeedSession session : sessions.values()) {
+			for (AlertFeedEvent event : batch) {
+				if (session.matches(event)) {
+					session.enqueue(event);
+				}
+			}
+			List<AlertFeedEvent> frame = session.drain(properties.getMaxBatch());
+			if (!frame.isEmpty()) {
+				send(session, AlertFeedFrame.builder().type(AlertFeedFrame.ALERTS).alerts(frame)
+						.timestamp(LocalDateTime.now()).build());
+			}
+		}
+	}
+
+	@Scheduled(fixedRateString = "${app.alert.live-feed.summary-interval-ms:5000}")
+	public void sendSummaries() {
+		if (sessions.isEmpty()) {
+			return;
+		}
+		AlertSummaryDTO summary = alertSummaryCounters.snapshot();
+		LocalDateTime now = LocalDateTime.now();
+		for (FeedSession session : sessions.values()) {
+			long[] losses = session.takeLosses();
+			send(session, AlertFeedFrame.builder().type(AlertFeedFrame.SUMMARY).summary(summary)
+					.pending(session.pending()).conflated(losses[0]).dropped(losses[1]).timestamp(now).build());
+		}
+	}
+
+	int sessionCount() {
+		return sessions.size();
+	}
+
+	private void offer(List<AlertFeedEvent> events) {
+		for (AlertFeedEvent event : events) {
+			if (!ingress.offer(event)) {
+				ingressDropped.increment();
+			}
+		}
+	}
+
+	private FeedSession session(String sessionId) {
+		return sessions.computeIfAbsent(sessionId, id -> new FeedSession(id, properties.getSessionQueueCapacity()));
+	}
+
+	private void send(FeedSession session, AlertFeedFrame frame) {
+		SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+		headers.setSessionId(session.getId());
+		headers.setLeaveMutable(true);
+		try {
+			messagingTemplate.convertAndSendToUser(session.getId(), DESTINATION, frame, headers.getMessageHeaders());
+		} catch (MessagingException e) {
+			log.debug("Live feed send to session {} failed: {}", session.getId(), e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,101 @@
+package com.ops.hunting.alerts.live;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.ops.hunting.alerts.dto.AlertFeedEvent;
+import com.ops.hunting.alerts.dto.AlertFeedFilter;
+import com.ops.hunting.alerts.enums.AlertSeverity;
+
+/**
+ * Per-session send queue keyed by alert id. A newer change to an alert that is
+ * still queued replaces the older one in place, so a lagging client receives
+ * the latest state once rather than every intermediate step. When the queue
+ * is full the oldest non-critical entry is dropped.
+ */
+class FeedSession {
+
+	private final String id;
+	private final int capacity;
+	private final LinkedHashMap<UUID, AlertFeedEvent> pending = new LinkedHashMap<>();
+	private volatile AlertFeedFilter filter = new AlertFeedFilter();
+	private long conflated;
+	private long dropped;
+
+	FeedSession(String id, int capacity) {
+		this.id = id;
+		this.capacity = capacity;
+	}
+
+	String getId() {
+		return id;
+	}
+
+	void setFilter(AlertFeedFilter filter) {
+		this.filter = filter != null ? filter : new AlertFeedFilter();
+	}
+
+	boolean matches(AlertFeedEvent event) {
+		AlertFeedFilter current = filter;
+		if (current.getSeverities() != null && !current.getSeverities().isEmpty()
+				&& !current.getSeverities().contains(event.getSeverity())) {
+			return false;
+		}
+		if (current.getSourceSystems() != null && !current.getSourceSystems().isEmpty()
+				&& !current.getSourceSystems().contains(event.getSourceSystem())) {
+			return false;
+		}
+		return current.getAssignee() == null || current.getAssignee().isBlank()
+				|| current.getAssignee().equals(event.getAssignedTo());
+	}
+
+	synchronized void enqueue(AlertFeedEvent event) {
+		if (pending.put(event.getAlertId(), event) != null) {
+			conflated++;
+			return;
+		}
+		if (pending.size() > capacity) {
+			evictOne();
+			dropped++;
+		}
+	}
+
+	synchronized List<AlertFeedEvent> drain(int max) {
+		List<AlertFeedEvent> batch = new ArrayList<>(Math.min(max, pending.size()));
+		Iterator<AlertFeedEvent> it = pending.values().iterator();
+		while (batch.size() < max && it.hasNext()) {
+			batch.add(it.next());
+			it.remove();
+		}
+		return batch;
+	}
+
+	synchronized int pending() {
+		return pending.size();
+	}
+
+	/** Returns {conflated, dropped} since the previous call. */
+	synchronized long[] takeLosses() {
+		long[] losses = { conflated, dropped };
+		conflated = 0;
+		dropped = 0;
+		return losses;
+	}
+
+	private void evictOne() {
+		Iterator<Map.Entry<UUID, AlertFeedEvent>> it = pending.entrySet().iterator();
+		while (it.hasNext()) {
+			if (it.next().getValue().getSeverity() != AlertSeverity.CRITICAL) {
+				it.remove();
+				return;
+			}
+		}
+		it = pending.entrySet().iterator();
+		it.next();
+		it.remove();
+	}
+}
@@ -3,6 +3,7 @@ package com.ops.hunting.alerts.mapper;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
+import org.mapstruct.Named;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 
 import com.ops.hunting.alerts.dto.AlertDTO;
@@ -11,13 +12,22 @@ import com.ops.hunting.alerts.entity.Alert;
 @Mapper(componentModel = "spring", nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
 public interface AlertMapper {
 
+	/** List view; the raw payload is only mapped by {@link #toDetailDTO}. */
+	@Mapping(target = "rawData", ignore = true)
 	AlertDTO toDTO(Alert alert);
 
+	@Named("detail")
+	AlertDTO toDetailDTO(Alert alert);
+
+	@Mapping(target = "clusterId", ignore = true)
+	@Mapping(target = "enrichment", ignore = true)
 	Alert toEntity(AlertDTO alertDTO);
 
 	@Mapping(target = "id", ignore = true)
 	@Mapping(target = "createdAt", ignore = true)
 	@Mapping(target = "updatedAt", ignore = true)
 	@Mapping(target = "version", ignore = true)
+	@Mapping(target = "clusterId", ignore = true)
+	@Mapping(target = "enrichment", ignore = true)
 	void updateEntityFromDTO(AlertDTO alertDTO, @MappingTarget Alert alert);
 }
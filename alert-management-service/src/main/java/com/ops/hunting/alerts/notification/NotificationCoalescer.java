@@ -0,0 +1,245 @@
+package com.ops.hunting.alerts.notification;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import com.ops.hunting.alerts.config.NotificationProperties;
+import com.ops.hunting.alerts.dto.AlertDTO;
+import com.ops.hunting.alerts.dto.NotificationDigestDTO;
+import com.ops.hunting.alerts.enums.NotificationChannel;
+import com.ops.hunting.alerts.outbox.OutboxPublisher;
+import com.ops.hunting.alerts.util.TransactionHooks;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Coalesces notifications per recipient and channel so an alert storm reaches
+ * downstream email and chat integrations as a few digests instead of one
+ * message per alert. Notifications are queued after the change commits and
+ * held until the batch window ends or the batch is full; repeated
+ * notifications about the same alert keep only the latest state.
+ * <p>
+ * Each recipient has a token bucket. A due batch without a token keeps
+ * collecting, listing at most {@code max-batch} alerts and counting the rest,
+ * until a token frees up. Urgent channels go out within
+ * {@code urgent-max-delay} whatever the limit. A batch of one alert is
+ * published on the channel's own topic exactly as before; larger batches go to
+ * {@value #DIGEST_TOPIC}.
+ * <p>
+ * Held notifications live in memory and are flushed on shutdown; a crash
+ * loses at most one window of them.
+ */
+@Component
+@Slf4j
+public class NotificationCoalescer {
+
+	static final String DIGEST_TOPIC = "alert-notification-digest";
+
+	/** Recipient of notifications for alerts nobody is assigned to. */
+	static final String ON_CALL = "on-call";
+
+	private static final ZoneId ZONE = ZoneId.systemDefault();
+
+	private final NotificationProperties properties;
+	private final OutboxPublisher outboxPublisher;
+	private final TransactionTemplate transactionTemplate;
+	private final Map<BatchKey, Batch> batches = new LinkedHashMap<>();
+	private final Map<String, TokenBucket> buckets = new HashMap<>();
+	private final Counter submitted;
+	private final Counter published;
+	private final Counter limited;
+
+	public NotificationCoalescer(NotificationProperties properties, OutboxPublisher outboxPublisher,
+			PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.outboxPublisher = outboxPublisher;
+		// Batches are also flushed from afterCommit callbacks, outside the caller's transaction
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.submitted = Counter.builder("alerts.notifications.submitted").description("Notifications queued")
+				.register(meterRegistry);
+		this.published = Counter.builder("alerts.notifications.published")
+				.description("Notification messages published, digests counting once").register(meterRegistry);
+		this.limited = Counter.builder("alerts.notifications.rate-limited")
+				.description("Due batches held back by a recipient's rate limit").register(meterRegistry);
+		Gauge.builder("alerts.notifications.pending", this, NotificationCoalescer::pendingBatches)
+				.description("Notification batches waiting to be sent").register(meterRegistry);
+	}
+
+	/**
+	 * Queues a notification about {@code alert} for {@code recipient}, or the
+	 * on-call rotation when blank, once the current transaction commits.
+	 */
+	public void submit(NotificationChannel channel, String recipient, AlertDTO alert) {
+		if (!properties.isCoalesce()) {
+			outboxPublisher.publish(channel.getTopic(), key(alert), alert);
+			return;
+		}
+		String to = StringUtils.hasText(recipient) ? recipient : ON_CALL;
+		TransactionHooks.afterCommit(() -> send(offer(channel, to, alert, System.currentTimeMillis())));
+	}
+
+	@Scheduled(fixedDelayString = "${app.alert.notification.tick-ms:1000}")
+	public void tick() {
+		tick(System.currentTimeMillis());
+	}
+
+	void tick(long nowMillis) {
+		send(due(nowMillis, false));
+	}
+
+	/** Sends everything still held, ignoring rate limits. */
+	@PreDestroy
+	public void flushAll() {
+		send(due(System.currentTimeMillis(), true));
+	}
+
+	synchronized int pendingBatches() {
+		return batches.size();
+	}
+
+	synchronized List<Batch> offer(NotificationChannel channel, String recipient, AlertDTO alert, long nowMillis) {
+		BatchKey key = new BatchKey(channel, recipient);
+		Batch batch = batches.computeIfAbsent(key, k -> new Batch(k, nowMillis, properties));
+		batch.add(alert, nowMillis, properties.getMaxBatch());
+		submitted.increment();
+		if (batch.size() >= properties.getMaxBatch() && bucket(recipient, nowMillis).tryAcquire(nowMillis)) {
+			batches.remove(key);
+			return List.of(batch);
+		}
+		return List.of();
+	}
+
+	private synchronized List<Batch> due(long nowMillis, boolean force) {
+		List<Batch> due = new ArrayList<>();
+		for (Iterator<Batch> it = batches.values().iterator(); it.hasNext();) {
+			Batch batch = it.next();
+			boolean urgent = nowMillis >= batch.urgentBy;
+			boolean ready = nowMillis >= batch.openedAt + properties.getWindow().toMillis()
+					|| batch.size() >= properties.getMaxBatch();
+			if (!force && !urgent && !ready) {
+				continue;
+			}
+			TokenBucket bucket = bucket(batch.key.recipient(), nowMillis);
+			if (bucket.tryAcquire(nowMillis) || urgent || force) {
+				it.remove();
+				due.add(batch);
+			} else if (!batch.limited) {
+				batch.limited = true;
+				limited.increment();
+			}
+		}
+		buckets.entrySet().removeIf(entry -> entry.getValue().isFull(nowMillis));
+		return due;
+	}
+
+	private TokenBucket bucket(String recipient, long nowMillis) {
+		return buckets.computeIfAbsent(recipient,
+				r -> new TokenBucket(properties.getBurst(), properties.getRefillInterval(), nowMillis));
+	}
+
+	private void send(List<Batch> due) {
+		for (Batch batch : due) {
+			try {
+				transactionTemplate.executeWithoutResult(tx -> publish(batch));
+				published.increment();
+			} catch (RuntimeException e) {
+				log.warn("Publishing {} {} notifications for {} failed, retrying later: {}", batch.size(),
+						batch.key.channel(), batch.key.recipient(), e.getMessage());
+				restore(batch);
+			}
+		}
+	}
+
+	private void publish(Batch batch) {
+		NotificationChannel channel = batch.key.channel();
+		if (batch.alerts.size() == 1 && batch.omitted == 0) {
+			AlertDTO alert = batch.alerts.values().iterator().next();
+			outboxPublisher.publish(channel.getTopic(), key(alert), alert);
+			return;
+		}
+		log.info("Sending digest of {} {} notifications to {}", batch.size(), channel, batch.key.recipient());
+		outboxPublisher.publish(DIGEST_TOPIC, batch.key.recipient(),
+				NotificationDigestDTO.builder().channel(channel).recipient(batch.key.recipient())
+						.alerts(new ArrayList<>(batch.alerts.values())).omitted(batch.omitted)
+						.firstAt(toLocal(batch.openedAt)).lastAt(toLocal(batch.lastAt)).build());
+	}
+
+	/** Puts back a batch that failed to publish, merging anything queued for it since. */
+	private synchronized void restore(Batch batch) {
+		Batch newer = batches.remove(batch.key);
+		batches.put(batch.key, batch);
+		if (newer != null) {
+			newer.alerts.values().forEach(alert -> batch.add(alert, newer.lastAt, properties.getMaxBatch()));
+			batch.omitted += newer.omitted;
+			batch.urgentBy = Math.min(batch.urgentBy, newer.urgentBy);
+		}
+	}
+
+	private static LocalDateTime toLocal(long millis) {
+		return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZONE);
+	}
+
+	private static String key(AlertDTO alert) {
+		return alert.getId() != null ? alert.getId().toString() : null;
+	}
+
+	private record BatchKey(NotificationChannel channel, String recipient) {
+	}
+
+	/** Notifications held for one recipient and channel. Guarded by the coalescer. */
+	static final class Batch {
+
+		private final BatchKey key;
+		private final long openedAt;
+		private final long urgentDelay;
+		private final Map<Object, AlertDTO> alerts = new LinkedHashMap<>();
+		private long urgentBy = Long.MAX_VALUE;
+		private long lastAt;
+		private long omitted;
+		private boolean limited;
+
+		private Batch(BatchKey key, long openedAt, NotificationProperties properties) {
+			this.key = key;
+			this.openedAt = openedAt;
+			this.lastAt = openedAt;
+			this.urgentDelay = properties.getUrgentMaxDelay().toMillis();
+		}
+
+		/** Keeps the latest notification per alert, counting alerts beyond {@code maxBatch}. */
+		private void add(AlertDTO alert, long nowMillis, int maxBatch) {
+			lastAt = Math.max(lastAt, nowMillis);
+			if (key.channel().isUrgent()) {
+				urgentBy = Math.min(urgentBy, nowMillis + urgentDelay);
+			}
+			Object id = alert.getId() != null ? alert.getId() : new Object();
+			if (alerts.containsKey(id) || alerts.size() < maxBatch) {
+				alerts.put(id, alert);
+			} else {
+				omitted++;
+			}
+		}
+
+		int size() {
+			return alerts.size() + (int) Math.min(omitted, Integer.MAX_VALUE - alerts.size());
+		}
+	}
+}
@@ -0,0 +1,43 @@
+package com.ops.hunting.alerts.notification;
+
+import java.time.Duration;
+
+/**
+ * Token bucket holding up to {@code capacity} tokens and regaining one every
+ * {@code refillInterval}. Not thread-safe; the owner synchronizes.
+ */
+final class TokenBucket {
+
+	private final double capacity;
+	private final double tokensPerMilli;
+	private double tokens;
+	private long lastMillis;
+
+	TokenBucket(int capacity, Duration refillInterval, long nowMillis) {
+		this.capacity = Math.max(1, capacity);
+		this.tokensPerMilli = 1.0 / Math.max(1, refillInterval.toMillis());
+		this.tokens = this.capacity;
+		this.lastMillis = nowMillis;
+	}
+
+	boolean tryAcquire(long nowMillis) {
+		refill(nowMillis);
+		if (tokens < 1) {
+			return false;
+		}
+		tokens--;
+		return true;
+	}
+
+	boolean isFull(long nowMillis) {
+		refill(nowMillis);
+		return tokens >= capacity;
+	}
+
+	private void refill(long nowMillis) {
+		if (nowMillis > lastMillis) {
+			tokens = Math.min(capacity, tokens + (nowMillis - lastMillis) * tokensPerMilli);
+			lastMillis = nowMillis;
+		}
+	}
+}
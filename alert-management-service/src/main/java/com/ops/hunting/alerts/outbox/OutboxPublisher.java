@@ -0,0 +1,41 @@
+package com.ops.hunting.alerts.outbox;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Records outgoing Kafka messages in {@code outbox_events}. The insert joins
+ * the caller's transaction, so a message exists exactly when the change it
+ * describes was committed; {@link OutboxRelay} delivers it afterwards.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxPublisher {
+
+	private static final String INSERT_SQL = "INSERT INTO outbox_events (topic, message_key, payload_type, payload, "
+			+ "created_at) VALUES (?, ?, ?, ?, ?)";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final ObjectMapper objectMapper;
+
+	public void publish(String topic, String key, Object payload) {
+		jdbcTemplate.update(INSERT_SQL, topic, key, payload.getClass().getName(), toJson(payload),
+				Timestamp.valueOf(LocalDateTime.now()));
+	}
+
+	private String toJson(Object payload) {
+		try {
+			return objectMapper.writeValueAsString(payload);
+		} catch (JsonProcessingException e) {
+			throw new IllegalArgumentException("Cannot serialize outbox payload " + payload.getClass().getName(), e);
+		}
+	}
+}
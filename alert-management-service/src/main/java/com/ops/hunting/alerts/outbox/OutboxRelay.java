@@ -0,0 +1,176 @@
+package com.ops.hunting.alerts.outbox;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.kafka.support.mapping.AbstractJavaTypeMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drains {@code outbox_events} to Kafka, oldest id first. Each batch is claimed
+ * with {@code FOR UPDATE SKIP LOCKED}, so several instances can relay in
+ * parallel without sending the same row twice, sent through the idempotent
+ * outbox producer, and deleted with one statement once every send is
+ * acknowledged. A failed send rolls the batch back and it is retried on the
+ * next run, which makes delivery at-least-once.
+ * <p>
+ * Messages for the same key are not guaranteed to arrive in commit order:
+ * parallel relays send their batches independently, a row whose transaction
+ * commits after a higher id has been relayed goes out later, and a retried
+ * batch follows rows sent in the meantime. Consumers must tolerate duplicates
+ * and reordering, e.g. by comparing the alert version.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+	private static final String CLAIM_SQL = "SELECT id, topic, message_key, payload_type, payload "
+			+ "FROM outbox_events ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+	private static final String OLDEST_SQL = "SELECT created_at FROM outbox_events ORDER BY id LIMIT 1";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final KafkaTemplate<String, String> outboxKafkaTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final AtomicLong lagMillis = new AtomicLong();
+	private final Counter published;
+	private final Timer batchLatency;
+	private final MeterRegistry meterRegistry;
+
+	@Value("${app.outbox.relay-enabled:true}")
+	private boolean enabled = true;
+
+	@Value("${app.outbox.batch-size:500}")
+	private int batchSize = 500;
+
+	@Value("${app.outbox.max-batches-per-run:20}")
+	private int maxBatchesPerRun = 20;
+
+	@Value("${app.outbox.send-timeout-ms:10000}")
+	private long sendTimeoutMs = 10000;
+
+	public OutboxRelay(JdbcTemplate jdbcTemplate,
+			@Qualifier("outboxKafkaTemplate") KafkaTemplate<String, String> outboxKafkaTemplate,
+			PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.outboxKafkaTemplate = outboxKafkaTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.meterRegistry = meterRegistry;
+		this.published = Counter.builder("outbox.relay.published").description("Outbox messages sent to Kafka")
+				.register(meterRegistry);
+		this.batchLatency = Timer.builder("outbox.relay.batch.latency")
+				.description("Time to send and delete one outbox batch").register(meterRegistry);
+		Gauge.builder("outbox.relay.lag", lagMillis, AtomicLong::get).baseUnit("milliseconds")
+				.description("Age of the oldest undelivered outbox message").register(meterRegistry);
+	}
+
+	@Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:200}")
+	public void relay() {
+		if (!enabled) {
+			return;
+		}
+		try {
+			for (int i = 0; i < maxBatchesPerRun; i++) {
+				Integer sent = transactionTemplate.execute(tx -> relayBatch());
+				if (sent == null || sent < batchSize) {
+					break;
+				}
+			}
+		} catch (RuntimeException e) {
+			log.warn("Outbox relay stopped, retrying next run: {}", e.getMessage());
+		} finally {
+			updateLag();
+		}
+	}
+
+	int relayBatch() {
+		List<OutboxRecord> batch = jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> new OutboxRecord(rs.getLong(1),
+				rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5)), batchSize);
+		if (batch.isEmpty()) {
+			return 0;
+		}
+
+		Timer.Sample sample = Timer.start(meterRegistry);
+		List<CompletableFuture<SendResult<String, String>>> sends = new ArrayList<>(batch.size());
+		for (OutboxRecord row : batch) {
+			sends.add(outboxKafkaTemplate.send(toProducerRecord(row)));
+		}
+		outboxKafkaTemplate.flush();
+		awaitAll(sends);
+
+		List<Long> ids = batch.stream().map(OutboxRecord::id).toList();
+		jdbcTemplate.update("DELETE FROM outbox_events WHERE id IN ("
+				+ String.join(", ", Collections.nCopies(ids.size(), "?")) + ")", ids.toArray());
+
+		published.increment(batch.size());
+		sample.stop(batchLatency);
+		return batch.size();
+	}
+
+	long lagMillis() {
+		return lagMillis.get();
+	}
+
+	/**
+	 * Payloads are stored as JSON already; the type header keeps records
+	 * identical to what the {@code JsonSerializer} producer used to write.
+	 */
+	private static ProducerRecord<String, String> toProducerRecord(OutboxRecord row) {
+		ProducerRecord<String, String> record = new ProducerRecord<>(row.topic(), row.key(), row.payload());
+		if (row.payloadType() != null) {
+			record.headers().add(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME,
+					row.payloadType().getBytes(StandardCharsets.UTF_8));
+		}
+		return record;
+	}
+
+	private void awaitAll(List<CompletableFuture<SendResult<String, String>>> sends) {
+		try {
+			CompletableFuture.allOf(sends.toArray(new CompletableFuture[0])).get(sendTimeoutMs,
+					TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while sending outbox batch", e);
+		} catch (ExecutionException | TimeoutException e) {
+			throw new IllegalStateException("Outbox batch was not acknowledged", e);
+		}
+	}
+
+	private void updateLag() {
+		try {
+			List<Timestamp> oldest = jdbcTemplate.query(OLDEST_SQL, (rs, rowNum) -> rs.getTimestamp(1));
+			lagMillis.set(oldest.isEmpty() || oldest.get(0) == null ? 0
+					: Math.max(0, Duration.between(oldest.get(0).toLocalDateTime(), LocalDateTime.now()).toMillis()));
+		} catch (RuntimeException e) {
+			log.debug("Could not read outbox lag: {}", e.getMessage());
+		}
+	}
+
+	record OutboxRecord(long id, String topic, String key, String payloadType, String payload) {
+	}
+}
@@ -0,0 +1,129 @@
+package com.ops.hunting.alerts.payload;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.ops.hunting.alerts.config.PayloadProperties;
+import com.ops.hunting.alerts.entity.Alert;
+import com.ops.hunting.alerts.repository.AlertJdbcRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps alert raw payloads in {@code alert_payloads}, compressed, instead of
+ * on the {@code alerts} row. {@link Alert#getRawData()} is transient: writers
+ * set it and call {@link #saveAll}, and readers that need it (the detail
+ * view, archiving, cluster rebuilds) load it explicitly. Everything else,
+ * lists, searches and exports included, never touches the payload.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AlertPayloadStore {
+
+	private static final String INSERT_SQL = "INSERT INTO alert_payloads (alert_id, codec, raw_length, data) "
+			+ "VALUES (?, ?, ?, ?)";
+
+	private static final String DELETE_SQL = "DELETE FROM alert_payloads WHERE alert_id = ?";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final PayloadProperties properties;
+
+	@Value("${app.alert.jdbc.batch-size:500}")
+	private int batchSize = 500;
+
+	/**
+	 * Stores the payloads of freshly inserted alerts, truncated to
+	 * {@code max-chars}. Alerts without a payload are skipped. Must run inside
+	 * the transaction that inserted the alerts.
+	 */
+	public void saveAll(Collection<Alert> alerts) {
+		List<Alert> withPayload = new ArrayList<>();
+		for (Alert alert : alerts) {
+			if (alert.getRawData() != null && !alert.getRawData().isEmpty()) {
+				withPayload.add(alert);
+			}
+		}
+		if (withPayload.isEmpty()) {
+			return;
+		}
+
+		jdbcTemplate.batchUpdate(INSERT_SQL, withPayload, batchSize, (ps, alert) -> {
+			String text = alert.getRawData();
+			if (text.length() > properties.getMaxChars()) {
+				log.debug("Truncating {} char payload of alert {}", text.length(), alert.getId());
+				text = text.substring(0, properties.getMaxChars());
+			}
+			PayloadCodec.Encoded encoded = PayloadCodec.encode(text, properties.getCompressMinBytes());
+			ps.setBytes(1, AlertJdbcRepository.toBytes(alert.getId()));
+			ps.setInt(2, encoded.codec());
+			ps.setInt(3, text.length());
+			ps.setBytes(4, encoded.data());
+		});
+	}
+
+	public void save(Alert alert) {
+		saveAll(List.of(alert));
+	}
+
+	/** Fills in {@code rawData} of the given alerts from the store. */
+	public void loadAll(Collection<Alert> alerts) {
+		List<UUID> ids = new ArrayList<>(alerts.size());
+		for (Alert alert : alerts) {
+			if (alert.getRawData() == null && alert.getId() != null) {
+				ids.add(alert.getId());
+			}
+		}
+		Map<UUID, String> payloads = find(ids, Integer.MAX_VALUE);
+		for (Alert alert : alerts) {
+			if (alert.getRawData() == null && alert.getId() != null) {
+				alert.setRawData(payloads.get(alert.getId()));
+			}
+		}
+	}
+
+	public Alert load(Alert alert) {
+		loadAll(List.of(alert));
+		return alert;
+	}
+
+	/**
+	 * Payloads of the given alerts, each cut to its first {@code maxChars}
+	 * characters; only that much is inflated.
+	 */
+	public Map<UUID, String> find(Collection<UUID> alertIds, int maxChars) {
+		if (alertIds.isEmpty()) {
+			return Collections.emptyMap();
+		}
+		Map<UUID, String> payloads = new HashMap<>(alertIds.size() * 2);
+		List<UUID> ids = new ArrayList<>(alertIds);
+		for (int from = 0; from < ids.size(); from += batchSize) {
+			List<UUID> chunk = ids.subList(from, Math.min(ids.size(), from + batchSize));
+			String sql = "SELECT alert_id, codec, data FROM alert_payloads WHERE alert_id IN ("
+					+ String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+			jdbcTemplate.query(sql, rs -> {
+				payloads.put(AlertJdbcRepository.fromBytes(rs.getBytes(1)),
+						PayloadCodec.decode(rs.getInt(2), rs.getBytes(3), maxChars));
+			}, chunk.stream().map(AlertJdbcRepository::toBytes).toArray());
+		}
+		return payloads;
+	}
+
+	public void deleteAll(Collection<UUID> alertIds) {
+		if (alertIds.isEmpty()) {
+			return;
+		}
+		jdbcTemplate.batchUpdate(DELETE_SQL, new ArrayList<>(alertIds), batchSize,
+				(ps, id) -> ps.setBytes(1, AlertJdbcRepository.toBytes(id)));
+	}
+}
@@ -0,0 +1,91 @@
+package com.ops.hunting.alerts.payload;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ops.hunting.alerts.config.PayloadProperties;
+import com.ops.hunting.alerts.entity.Alert;
+import com.ops.hunting.alerts.repository.AlertJdbcRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves payloads written before they were stored off-row from the legacy
+ * {@code alerts.raw_data} column into {@link AlertPayloadStore}, one page per
+ * transaction, and clears the column behind them. Once it reports nothing
+ * left to move the column can be dropped; on schemas without it this does
+ * nothing.
+ */
+@Component
+@Slf4j
+public class InlinePayloadMigrator {
+
+	private static final String SELECT_SQL = "SELECT id, raw_data FROM alerts WHERE raw_data IS NOT NULL LIMIT ?";
+	private static final String CLEAR_SQL = "UPDATE alerts SET raw_data = NULL WHERE id = ?";
+
+	private final PayloadProperties properties;
+	private final AlertPayloadStore alertPayloadStore;
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+
+	public InlinePayloadMigrator(PayloadProperties properties, AlertPayloadStore alertPayloadStore,
+			JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+		this.properties = properties;
+		this.alertPayloadStore = alertPayloadStore;
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void migrate() {
+		if (!properties.isMigrateInline()) {
+			return;
+		}
+		long moved = 0;
+		try {
+			while (true) {
+				Integer page = transactionTemplate.execute(tx -> migratePage());
+				if (page == null || page == 0) {
+					break;
+				}
+				moved += page;
+			}
+		} catch (BadSqlGrammarException e) {
+			log.debug("No inline raw_data column to migrate: {}", e.getMessage());
+			return;
+		} catch (DataAccessException e) {
+			log.warn("Moving inline payloads stopped after {} alerts: {}", moved, e.getMessage());
+			return;
+		}
+		if (moved > 0) {
+			log.info("Moved {} inline alert payloads off-row; alerts.raw_data can now be dropped", moved);
+		}
+	}
+
+	private int migratePage() {
+		List<Alert> page = new ArrayList<>();
+		jdbcTemplate.query(SELECT_SQL, rs -> {
+			page.add(Alert.builder().id(AlertJdbcRepository.fromBytes(rs.getBytes(1))).rawData(rs.getString(2))
+					.build());
+		}, properties.getMigratePageSize());
+		if (page.isEmpty()) {
+			return 0;
+		}
+		List<UUID> ids = page.stream().map(Alert::getId).toList();
+		alertPayloadStore.deleteAll(ids);
+		alertPayloadStore.saveAll(page);
+		jdbcTemplate.batchUpdate(CLEAR_SQL, ids, ids.size(),
+				(ps, id) -> ps.setBytes(1, AlertJdbcRepository.toBytes(id)));
+		return page.size();
+	}
+}
@@ -0,0 +1,67 @@
+package com.ops.hunting.alerts.payload;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/** Encodes payloads as plain UTF-8 or deflate at the fastest level. */
+final class PayloadCodec {
+
+	static final int PLAIN = 0;
+	static final int DEFLATE = 1;
+
+	private PayloadCodec() {
+	}
+
+	/** Compresses when the payload is large enough and actually shrinks. */
+	static Encoded encode(String text, int compressMinBytes) {
+		byte[] plain = text.getBytes(StandardCharsets.UTF_8);
+		if (plain.length < compressMinBytes) {
+			return new Encoded(PLAIN, plain);
+		}
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(plain.length / 3 + 16);
+		Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+		try (DeflaterOutputStream out = new DeflaterOutputStream(bytes, deflater)) {
+			out.write(plain);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			deflater.end();
+		}
+		return bytes.size() < plain.length ? new Encoded(DEFLATE, bytes.toByteArray()) : new Encoded(PLAIN, plain);
+	}
+
+	/** Decodes at most {@code maxChars} characters, inflating no more than needed. */
+	static String decode(int codec, byte[] data, int maxChars) {
+		if (codec == PLAIN) {
+			String text = new String(data, StandardCharsets.UTF_8);
+			return text.length() > maxChars ? text.substring(0, maxChars) : text;
+		}
+		if (codec != DEFLATE) {
+			throw new IllegalArgumentException("Unknown payload codec " + codec);
+		}
+		StringBuilder text = new StringBuilder(Math.min(maxChars, data.length * 4));
+		char[] buffer = new char[8192];
+		try (Reader reader = new InputStreamReader(new InflaterInputStream(new ByteArrayInputStream(data)),
+				StandardCharsets.UTF_8)) {
+			int read;
+			while (text.length() < maxChars
+					&& (read = reader.read(buffer, 0, Math.min(buffer.length, maxChars - text.length()))) != -1) {
+				text.append(buffer, 0, read);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Corrupt alert payload", e);
+		}
+		return text.toString();
+	}
+
+	record Encoded(int codec, byte[] data) {
+	}
+}
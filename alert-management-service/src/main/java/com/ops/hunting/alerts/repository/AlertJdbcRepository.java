@@ -0,0 +1,451 @@
+package com.ops.hunting.alerts.repository;
+
+import java.nio.ByteBuffer;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.ops.hunting.alerts.entity.Alert;
+import com.ops.hunting.alerts.entity.AlertEnrichment;
+import com.ops.hunting.alerts.entity.ArchivedAlert;
+import com.ops.hunting.alerts.enums.AlertSeverity;
+import com.ops.hunting.alerts.enums.AlertStatus;
+import com.ops.hunting.alerts.sla.SlaTarget;
+import com.ops.hunting.alerts.triage.TriageCandidate;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Plain JDBC access to the {@code alerts} and {@code alerts_archive} tables for
+ * set-based writes that would otherwise go through the persistence context one
+ * entity at a time.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AlertJdbcRepository {
+
+	private static final String INSERT_SQL = "INSERT INTO alerts (id, title, description, severity, status, "
+			+ "source_system, source_ip, destination_ip, source_port, destination_port, protocol, rule_id, rule_name, "
+			+ "assigned_to, tags, threat_category, confidence_score, created_at, updated_at, hash, "
+			+ "investigation_id, occurrence_count, last_seen_at, version, cluster_id) "
+			+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	private static final String INCREMENT_OCCURRENCES_SQL = "UPDATE alerts "
+			+ "SET occurrence_count = COALESCE(occurrence_count, 1) + ?, last_seen_at = ? WHERE id = ?";
+
+	private static final String ASSIGN_INVESTIGATION_SQL = "UPDATE alerts SET investigation_id = ?, "
+			+ "version = COALESCE(version, 0) + 1 WHERE id = ? AND investigation_id IS NULL";
+
+	private static final String INSERT_ARCHIVED_SQL = "INSERT INTO alerts_archive (id, severity, status, "
+			+ "source_system, source_ip, destination_ip, rule_id, assigned_to, threat_category, confidence_score, "
+			+ "investigation_id, created_at, closed_at, archived_at, payload) "
+			+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	private static final String DELETE_SQL = "DELETE FROM alerts WHERE id = ?";
+
+	private static final String CLAIM_ESCALATION_SQL = "UPDATE alerts SET escalation_level = ? "
+			+ "WHERE id = ? AND status = 'OPEN' AND COALESCE(escalation_level, 0) < ?";
+
+	private static final String CLAIM_SQL = "UPDATE alerts SET assigned_to = ?, status = 'IN_PROGRESS', "
+			+ "updated_at = ?, version = COALESCE(version, 0) + 1 "
+			+ "WHERE id = ? AND status = 'OPEN' AND (assigned_to IS NULL OR assigned_to = '')";
+
+	private static final String SELECT_SQL = "SELECT id, title, description, severity, status, source_system, "
+			+ "source_ip, destination_ip, source_port, destination_port, protocol, rule_id, rule_name, assigned_to, "
+			+ "closed_by, closed_at, resolution_notes, tags, threat_category, confidence_score, created_at, updated_at, "
+			+ "hash, investigation_id, cluster_id, occurrence_count, last_seen_at, escalation_level, ti_indicator_id, "
+			+ "ti_confidence, source_country, destination_country, source_asset_owner, destination_asset_owner, "
+			+ "enriched_at, version FROM alerts WHERE id = ?";
+
+	private static final String COMPARE_AND_SET_SQL = "UPDATE alerts SET title = ?, description = ?, severity = ?, "
+			+ "status = ?, assigned_to = ?, closed_by = ?, closed_at = ?, resolution_notes = ?, updated_at = ?, "
+			+ "version = COALESCE(version, 0) + 1 WHERE id = ? AND COALESCE(version, 0) = ? AND status = ?";
+
+	private static final String ENRICH_SQL = "UPDATE alerts SET ti_indicator_id = ?, ti_confidence = ?, "
+			+ "source_country = ?, destination_country = ?, source_asset_owner = ?, destination_asset_owner = ?, "
+			+ "enriched_at = ? WHERE id = ?";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	@Value("${app.alert.jdbc.batch-size:500}")
+	private int batchSize;
+
+	/**
+	 * Inserts the given alerts with JDBC batching. Ids, timestamps and the initial
+	 * version are assigned here so callers get back fully populated rows. Must run
+	 * inside the caller's transaction. Returns the number of rows inserted.
+	 */
+	public int batchInsert(List<Alert> alerts) {
+		if (alerts.isEmpty()) {
+			return 0;
+		}
+
+		for (Alert alert : alerts) {
+			if (alert.getId() == null) {
+				alert.setId(UUID.randomUUID());
+			}
+			if (alert.getUpdatedAt() == null) {
+				alert.setUpdatedAt(alert.getCreatedAt());
+			}
+			if (alert.getOccurrenceCount() == null) {
+				alert.setOccurrenceCount(1);
+			}
+			alert.setVersion(0L);
+		}
+
+		int[][] counts = jdbcTemplate.batchUpdate(INSERT_SQL, alerts, batchSize, this::bindInsert);
+
+		int inserted = 0;
+		for (int[] chunk : counts) {
+			for (int count : chunk) {
+				// Rewritten batches report SUCCESS_NO_INFO; a single-row INSERT that did not throw wrote its row
+				inserted += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+			}
+		}
+		return inserted;
+	}
+
+	private void bindInsert(PreparedStatement ps, Alert alert) throws SQLException {
+		ps.setBytes(1, toBytes(alert.getId()));
+		ps.setString(2, alert.getTitle());
+		ps.setString(3, alert.getDescription());
+		ps.setString(4, alert.getSeverity().name());
+		ps.setString(5, alert.getStatus().name());
+		ps.setString(6, alert.getSourceSystem());
+		ps.setString(7, alert.getSourceIp());
+		ps.setString(8, alert.getDestinationIp());
+		setInteger(ps, 9, alert.getSourcePort());
+		setInteger(ps, 10, alert.getDestinationPort());
+		ps.setString(11, alert.getProtocol());
+		ps.setString(12, alert.getRuleId());
+		ps.setString(13, alert.getRuleName());
+		ps.setString(14, alert.getAssignedTo());
+		ps.setString(15, alert.getTags());
+		ps.setString(16, alert.getThreatCategory());
+		if (alert.getConfidenceScore() != null) {
+			ps.setDouble(17, alert.getConfidenceScore());
+		} else {
+			ps.setNull(17, Types.DOUBLE);
+		}
+		ps.setTimestamp(18, Timestamp.valueOf(alert.getCreatedAt()));
+		ps.setTimestamp(19, Timestamp.valueOf(alert.getUpdatedAt()));
+		ps.setString(20, alert.getHash());
+		ps.setBytes(21, alert.getInvestigationId() != null ? toBytes(alert.getInvestigationId()) : null);
+		ps.setInt(22, alert.getOccurrenceCount());
+		ps.setTimestamp(23, alert.getLastSeenAt() != null ? Timestamp.valueOf(alert.getLastSeenAt()) : null);
+		ps.setLong(24, alert.getVersion());
+		ps.setBytes(25, alert.getClusterId() != null ? toBytes(alert.getClusterId()) : null);
+	}
+
+	/**
+	 * Folds repeated detections into their representative alerts. Returns the
+	 * ids whose row no longer exists.
+	 */
+	public List<UUID> incrementOccurrences(Map<UUID, Integer> repeats, LocalDateTime lastSeen) {
+		List<Map.Entry<UUID, Integer>> entries = new ArrayList<>(repeats.entrySet());
+		Timestamp lastSeenAt = Timestamp.valueOf(lastSeen);
+
+		int[][] counts = jdbcTemplate.batchUpdate(INCREMENT_OCCURRENCES_SQL, entries, batchSize, (ps, entry) -> {
+			ps.setInt(1, entry.getValue());
+			ps.setTimestamp(2, lastSeenAt);
+			ps.setBytes(3, toBytes(entry.getKey()));
+		});
+
+		List<UUID> missing = new ArrayList<>();
+		int position = 0;
+		for (int[] chunk : counts) {
+			for (int count : chunk) {
+				if (count == 0) {
+					missing.add(entries.get(position).getKey());
+				}
+				position++;
+			}
+		}
+		return missing;
+	}
+
+	/**
+	 * Links alerts to a correlated incident. Alerts already attached to an
+	 * investigation keep it. Linked rows get a new version, so bulk status
+	 * changes that read the old one retry instead of overwriting the link.
+	 */
+	public int assignInvestigation(UUID investigationId, Collection<UUID> alertIds) {
+		byte[] investigation = toBytes(investigationId);
+		int[][] counts = jdbcTemplate.batchUpdate(ASSIGN_INVESTIGATION_SQL, new ArrayList<>(alertIds), batchSize,
+				(ps, alertId) -> {
+					ps.setBytes(1, investigation);
+					ps.setBytes(2, toBytes(alertId));
+				});
+
+		int assigned = 0;
+		for (int[] chunk : counts) {
+			for (int count : chunk) {
+				assigned += Math.max(count, 0);
+			}
+		}
+		return assigned;
+	}
+
+	/**
+	 * Locks up to {@code limit} alerts in one of {@code statuses} that have not
+	 * changed since {@code before}, oldest first. Alerts still referenced by
+	 * indicators stay hot. Must run inside the caller's transaction.
+	 */
+	public List<UUID> lockArchivableIds(Collection<AlertStatus> statuses, LocalDateTime before, int limit) {
+		String sql = "SELECT a.id FROM alerts a WHERE a.status IN ("
+				+ String.join(", ", Collections.nCopies(statuses.size(), "?")) + ") AND a.updated_at < ? "
+				+ "AND NOT EXISTS (SELECT 1 FROM alert_indicators ai WHERE ai.alert_id = a.id) "
+				+ "ORDER BY a.updated_at LIMIT ? FOR UPDATE SKIP LOCKED";
+
+		List<Object> args = new ArrayList<>(statuses.size() + 2);
+		statuses.forEach(status -> args.add(status.name()));
+		args.add(Timestamp.valueOf(before));
+		args.add(limit);
+		return jdbcTemplate.query(sql, (rs, rowNum) -> fromBytes(rs.getBytes(1)), args.toArray());
+	}
+
+	public void batchInsertArchived(List<ArchivedAlert> archived) {
+		jdbcTemplate.batchUpdate(INSERT_ARCHIVED_SQL, archived, batchSize, (ps, row) -> {
+			ps.setBytes(1, toBytes(row.getId()));
+			ps.setString(2, row.getSeverity().name());
+			ps.setString(3, row.getStatus().name());
+			ps.setString(4, row.getSourceSystem());
+			ps.setString(5, row.getSourceIp());
+			ps.setString(6, row.getDestinationIp());
+			ps.setString(7, row.getRuleId());
+			ps.setString(8, row.getAssignedTo());
+			ps.setString(9, row.getThreatCategory());
+			if (row.getConfidenceScore() != null) {
+				ps.setDouble(10, row.getConfidenceScore());
+			} else {
+				ps.setNull(10, Types.DOUBLE);
+			}
+			ps.setBytes(11, row.getInvestigationId() != null ? toBytes(row.getInvestigationId()) : null);
+			ps.setTimestamp(12, Timestamp.valueOf(row.getCreatedAt()));
+			ps.setTimestamp(13, row.getClosedAt() != null ? Timestamp.valueOf(row.getClosedAt()) : null);
+			ps.setTimestamp(14, Timestamp.valueOf(row.getArchivedAt()));
+			ps.setBytes(15, row.getPayload());
+		});
+	}
+
+	public void deleteByIds(List<UUID> ids) {
+		jdbcTemplate.batchUpdate(DELETE_SQL, ids, batchSize, (ps, id) -> ps.setBytes(1, toBytes(id)));
+	}
+
+	/**
+	 * Pages through OPEN alerts of the given severities in id order, starting
+	 * after {@code after} (or from the beginning when {@code null}).
+	 */
+	public List<SlaTarget> findOpenSlaTargets(Collection<AlertSeverity> severities, UUID after, int limit) {
+		if (severities.isEmpty()) {
+			return List.of();
+		}
+
+		String sql = "SELECT id, severity, created_at, COALESCE(escalation_level, 0) FROM alerts "
+				+ "WHERE status = 'OPEN' AND severity IN ("
+				+ String.join(", ", Collections.nCopies(severities.size(), "?")) + ")"
+				+ (after != null ? " AND id > ?" : "") + " ORDER BY id LIMIT ?";
+
+		List<Object> args = new ArrayList<>(severities.size() + 2);
+		severities.forEach(severity -> args.add(severity.name()));
+		if (after != null) {
+			args.add(toBytes(after));
+		}
+		args.add(limit);
+		return jdbcTemplate.query(sql,
+				(rs, rowNum) -> new SlaTarget(fromBytes(rs.getBytes(1)), AlertSeverity.valueOf(rs.getString(2)),
+						rs.getTimestamp(3).toLocalDateTime(), rs.getInt(4)),
+				args.toArray());
+	}
+
+	/**
+	 * Raises the escalation level of alerts that are still OPEN and below
+	 * {@code level}. Only one caller wins each step, so replicas sharing the
+	 * table do not escalate the same alert twice. Returns the ids that moved.
+	 */
+	public List<UUID> claimEscalations(List<UUID> ids, int level) {
+		int[][] counts = jdbcTemplate.batchUpdate(CLAIM_ESCALATION_SQL, ids, batchSize, (ps, id) -> {
+			ps.setInt(1, level);
+			ps.setBytes(2, toBytes(id));
+			ps.setInt(3, level);
+		});
+
+		List<UUID> claimed = new ArrayList<>();
+		int position = 0;
+		for (int[] chunk : counts) {
+			for (int count : chunk) {
+				if (count > 0) {
+					claimed.add(ids.get(position));
+				}
+				position++;
+			}
+		}
+		return claimed;
+	}
+
+	/**
+	 * Pages through unassigned OPEN alerts that are not near-duplicate cluster
+	 * members in id order, starting after
+	 * {@code after} (or from the beginning when {@code null}).
+	 */
+	public List<TriageCandidate> findTriageCandidates(UUID after, int limit) {
+		String sql = "SELECT id, severity, confidence_score, threat_category, created_at FROM alerts "
+				+ "WHERE status = 'OPEN' AND (assigned_to IS NULL OR assigned_to = '') AND cluster_id IS NULL"
+				+ (after != null ? " AND id > ?" : "") + " ORDER BY id LIMIT ?";
+		Object[] args = after != null ? new Object[] { toBytes(after), limit } : new Object[] { limit };
+		return jdbcTemplate.query(sql, (rs, rowNum) -> {
+			double confidence = rs.getDouble(3);
+			Double confidenceScore = rs.wasNull() ? null : confidence;
+			Timestamp createdAt = rs.getTimestamp(5);
+			return new TriageCandidate(fromBytes(rs.getBytes(1)), AlertSeverity.valueOf(rs.getString(2)),
+					confidenceScore, rs.getString(4), createdAt != null ? createdAt.toLocalDateTime() : null);
+		}, args);
+	}
+
+	/**
+	 * Assigns an unassigned OPEN alert and moves it to IN_PROGRESS in one
+	 * statement. Returns {@code false} when someone else got there first.
+	 */
+	public boolean claim(UUID id, String assignee, LocalDateTime now) {
+		return jdbcTemplate.update(CLAIM_SQL, assignee, Timestamp.valueOf(now), toBytes(id)) == 1;
+	}
+
+	/**
+	 * Reads one alert row without going through the persistence context, so a
+	 * re-read in the same transaction is never served stale. With
+	 * {@code lock} the row is read with {@code FOR UPDATE}, which also sees
+	 * changes committed after the transaction's snapshot.
+	 */
+	public Optional<Alert> findById(UUID id, boolean lock) {
+		List<Alert> rows = jdbcTemplate.query(lock ? SELECT_SQL + " FOR UPDATE" : SELECT_SQL, this::mapAlert,
+				(Object) toBytes(id));
+		return rows.stream().findFirst();
+	}
+
+	/**
+	 * Writes the editable columns of {@code alert} in one statement, provided
+	 * the row still has {@code expectedVersion} and {@code expectedStatus}, and
+	 * bumps the version. Returns {@code false} when another writer got there
+	 * first.
+	 */
+	public boolean compareAndSet(Alert alert, long expectedVersion, AlertStatus expectedStatus) {
+		return jdbcTemplate.update(COMPARE_AND_SET_SQL, ps -> {
+			ps.setString(1, alert.getTitle());
+			ps.setString(2, alert.getDescription());
+			ps.setString(3, alert.getSeverity().name());
+			ps.setString(4, alert.getStatus().name());
+			ps.setString(5, alert.getAssignedTo());
+			ps.setString(6, alert.getClosedBy());
+			ps.setTimestamp(7, alert.getClosedAt() != null ? Timestamp.valueOf(alert.getClosedAt()) : null);
+			ps.setString(8, alert.getResolutionNotes());
+			ps.setTimestamp(9, Timestamp.valueOf(alert.getUpdatedAt()));
+			ps.setBytes(10, toBytes(alert.getId()));
+			ps.setLong(11, expectedVersion);
+			ps.setString(12, expectedStatus.name());
+		}) == 1;
+	}
+
+	/**
+	 * Stores enrichment results. Only the enrichment columns are touched, so the
+	 * version is left alone and concurrent entity updates are not conflicted.
+	 */
+	public void updateEnrichment(Map<UUID, AlertEnrichment> enrichments) {
+		if (enrichments.isEmpty()) {
+			return;
+		}
+		jdbcTemplate.batchUpdate(ENRICH_SQL, new ArrayList<>(enrichments.entrySet()), batchSize, (ps, entry) -> {
+			AlertEnrichment enrichment = entry.getValue();
+			ps.setString(1, enrichment.getThreatIntelIndicatorId());
+			setDouble(ps, 2, enrichment.getThreatIntelConfidence());
+			ps.setString(3, enrichment.getSourceCountry());
+			ps.setString(4, enrichment.getDestinationCountry());
+			ps.setString(5, enrichment.getSourceAssetOwner());
+			ps.setString(6, enrichment.getDestinationAssetOwner());
+			ps.setTimestamp(7,
+					enrichment.getEnrichedAt() != null ? Timestamp.valueOf(enrichment.getEnrichedAt()) : null);
+			ps.setBytes(8, toBytes(entry.getKey()));
+		});
+	}
+
+	private Alert mapAlert(ResultSet rs, int rowNum) throws SQLException {
+		AlertEnrichment enrichment = AlertEnrichment.builder().threatIntelIndicatorId(rs.getString(29))
+				.threatIntelConfidence(getDouble(rs, 30)).sourceCountry(rs.getString(31))
+				.destinationCountry(rs.getString(32)).sourceAssetOwner(rs.getString(33))
+				.destinationAssetOwner(rs.getString(34)).enrichedAt(toLocal(rs.getTimestamp(35))).build();
+		byte[] investigationId = rs.getBytes(24);
+		byte[] clusterId = rs.getBytes(25);
+		return Alert.builder().id(fromBytes(rs.getBytes(1))).title(rs.getString(2)).description(rs.getString(3))
+				.severity(AlertSeverity.valueOf(rs.getString(4))).status(AlertStatus.valueOf(rs.getString(5)))
+				.sourceSystem(rs.getString(6)).sourceIp(rs.getString(7)).destinationIp(rs.getString(8))
+				.sourcePort(getInteger(rs, 9)).destinationPort(getInteger(rs, 10)).protocol(rs.getString(11))
+				.ruleId(rs.getString(12)).ruleName(rs.getString(13)).assignedTo(rs.getString(14))
+				.closedBy(rs.getString(15)).closedAt(toLocal(rs.getTimestamp(16))).resolutionNotes(rs.getString(17))
+				.tags(rs.getString(18)).threatCategory(rs.getString(19)).confidenceScore(getDouble(rs, 20))
+				.createdAt(toLocal(rs.getTimestamp(21))).updatedAt(toLocal(rs.getTimestamp(22))).hash(rs.getString(23))
+				.investigationId(investigationId != null ? fromBytes(investigationId) : null)
+				.clusterId(clusterId != null ? fromBytes(clusterId) : null).occurrenceCount(getInteger(rs, 26))
+				.lastSeenAt(toLocal(rs.getTimestamp(27))).escalationLevel(getInteger(rs, 28)).enrichment(enrichment)
+				.version(rs.getLong(36)).build();
+	}
+
+	private static Integer getInteger(ResultSet rs, int index) throws SQLException {
+		int value = rs.getInt(index);
+		return rs.wasNull() ? null : value;
+	}
+
+	private static Double getDouble(ResultSet rs, int index) throws SQLException {
+		double value = rs.getDouble(index);
+		return rs.wasNull() ? null : value;
+	}
+
+	private static LocalDateTime toLocal(Timestamp timestamp) {
+		return timestamp != null ? timestamp.toLocalDateTime() : null;
+	}
+
+	private static void setInteger(PreparedStatement ps, int index, Integer value) throws SQLException {
+		if (value != null) {
+			ps.setInt(index, value);
+		} else {
+			ps.setNull(index, Types.INTEGER);
+		}
+	}
+
+	private static void setDouble(PreparedStatement ps, int index, Double value) throws SQLException {
+		if (value != null) {
+			ps.setDouble(index, value);
+		} else {
+			ps.setNull(index, Types.DOUBLE);
+		}
+	}
+
+	/**
+	 * Hibernate maps {@link UUID} ids to {@code BINARY(16)} on MySQL, so native
+	 * statements must bind the raw 16 bytes rather than the string form.
+	 */
+	public static byte[] toBytes(UUID uuid) {
+		ByteBuffer buffer = ByteBuffer.allocate(16);
+		buffer.putLong(uuid.getMostSignificantBits());
+		buffer.putLong(uuid.getLeastSignificantBits());
+		return buffer.array();
+	}
+
+	public static UUID fromBytes(byte[] bytes) {
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		return new UUID(buffer.getLong(), buffer.getLong());
+	}
+}
@@ -1,12 +1,15 @@
 package com.ops.hunting.alerts.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -15,6 +18,8 @@ import com.ops.hunting.alerts.entity.Alert;
 import com.ops.hunting.alerts.enums.AlertSeverity;
 import com.ops.hunting.alerts.enums.AlertStatus;
 
+import jakarta.persistence.LockModeType;
+
 @Repository
 public interface AlertRepository extends JpaRepository<Alert, UUID> {
 
@@ -30,6 +35,8 @@ public interface AlertRepository extends JpaRepository<Alert, UUID> {
 
 	List<Alert> findByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
 
+	List<Alert> findByCreatedAtAfter(LocalDateTime since);
+
 	Page<Alert> findBySeverityAndStatusAndCreatedAtBetween(AlertSeverity severity, AlertStatus status,
 			LocalDateTime start, LocalDateTime end, Pageable pageable);
 
@@ -51,4 +58,31 @@ public interface AlertRepository extends JpaRepository<Alert, UUID> {
 
 	@Query("SELECT AVG(EXTRACT(EPOCH FROM (a.closedAt - a.createdAt))) FROM Alert a WHERE a.status = 'CLOSED' AND a.closedAt IS NOT NULL")
 	Double calculateAverageResolutionTimeInSeconds();
+
+	// Legacy rows may have a null version; bulk updates treat it as 0
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT a.id, a.version, a.status, a.createdAt FROM Alert a WHERE a.id IN :ids")
+	List<Object[]> lockStatusVersionsByIdIn(@Param("ids") Collection<UUID> ids);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE Alert a SET a.status = :status, a.assignedTo = :updatedBy, a.updatedAt = :now, "
+			+ "a.version = COALESCE(a.version, 0) + 1 WHERE a.id IN :ids AND COALESCE(a.version, 0) = :version")
+	int bulkUpdateStatus(@Param("ids") Collection<UUID> ids, @Param("version") Long version,
+			@Param("status") AlertStatus status, @Param("updatedBy") String updatedBy,
+			@Param("now") LocalDateTime now);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE Alert a SET a.status = :status, a.assignedTo = :updatedBy, a.closedBy = :updatedBy, "
+			+ "a.closedAt = :now, a.updatedAt = :now, a.version = COALESCE(a.version, 0) + 1 "
+			+ "WHERE a.id IN :ids AND COALESCE(a.version, 0) = :version")
+	int bulkCloseAlerts(@Param("ids") Collection<UUID> ids, @Param("version") Long version,
+			@Param("status") AlertStatus status, @Param("updatedBy") String updatedBy,
+			@Param("now") LocalDateTime now);
+
+	@Query(value = "SELECT status, severity, COUNT(*), "
+			+ "SUM(CASE WHEN created_at >= :startOfDay THEN 1 ELSE 0 END), "
+			+ "SUM(CASE WHEN closed_at >= :startOfDay THEN 1 ELSE 0 END), "
+			+ "COUNT(closed_at), SUM(TIMESTAMPDIFF(SECOND, created_at, closed_at)) "
+			+ "FROM alerts GROUP BY status, severity", nativeQuery = true)
+	List<Object[]> aggregateSummary(@Param("startOfDay") LocalDateTime startOfDay);
 }
\ No newline at end of file
@@ -0,0 +1,231 @@
+package com.ops.hunting.alerts.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.query.Query;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+import com.ops.hunting.alerts.dto.AlertCursor;
+import com.ops.hunting.alerts.dto.AlertSearchCriteria;
+import com.ops.hunting.alerts.entity.Alert;
+import com.ops.hunting.alerts.entity.ArchivedAlert;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Criteria-built alert queries whose shape depends on which filters are set.
+ * Only present filters become predicates, so each combination resolves to one
+ * of the composite indexes declared on {@link Alert}. Expected MySQL plans for
+ * the triage screens:
+ *
+ * <ul>
+ * <li>no filter: {@code idx_alerts_created_at_id}, backward index scan, no
+ * filesort</li>
+ * <li>status [+ severity] [+ time range]:
+ * {@code idx_alerts_status_severity_created}, range on the leading columns</li>
+ * <li>assignedTo [+ status]: {@code idx_alerts_assignee_status_created}</li>
+ * <li>sourceSystem, ruleId, sourceIp or destinationIp [+ time range]: the
+ * matching {@code (column, created_at)} index</li>
+ * </ul>
+ *
+ * Confidence and threat category are residual filters applied to rows already
+ * narrowed by one of the indexes above.
+ */
+@Repository
+public class AlertSearchRepository {
+
+	private static final Set<String> SORTABLE = Set.of("createdAt", "updatedAt", "severity", "status",
+			"confidenceScore");
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	/**
+	 * Offset page of matching alerts. The count query is skipped when the page
+	 * itself shows the total, i.e. on a short first or last page.
+	 */
+	public Page<Alert> search(AlertSearchCriteria criteria, Pageable pageable) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Alert> query = cb.createQuery(Alert.class);
+		Root<Alert> alert = query.from(Alert.class);
+
+		query.select(alert).where(predicates(cb, alert, criteria).toArray(new Predicate[0]))
+				.orderBy(orders(cb, alert, pageable.getSort()));
+
+		List<Alert> content = entityManager.createQuery(query).setFirstResult((int) pageable.getOffset())
+				.setMaxResults(pageable.getPageSize()).getResultList();
+
+		return PageableExecutionUtils.getPage(content, pageable, () -> count(criteria));
+	}
+
+	/**
+	 * Keyset page in {@code createdAt DESC, id DESC} order starting after
+	 * {@code after}. Fetches one extra row so the caller can tell whether another
+	 * page exists without a count query.
+	 */
+	public List<Alert> seek(AlertSearchCriteria criteria, AlertCursor after, int limit) {
+		return seek(Alert.class, criteria, after, limit);
+	}
+
+	/** Same as {@link #seek} over {@code alerts_archive}. */
+	public List<ArchivedAlert> seekArchived(AlertSearchCriteria criteria, AlertCursor after, int limit) {
+		return seek(ArchivedAlert.class, criteria, after, limit);
+	}
+
+	/**
+	 * Feeds every matching alert, newest first, to {@code consumer} from a
+	 * forward-only cursor. Rows are detached once consumed and the persistence
+	 * context is cleared every {@code fetchSize} rows, so memory stays flat.
+	 * With {@code streamRows} only this statement asks MySQL Connector/J to
+	 * stream rows ({@code Integer.MIN_VALUE} fetch size) instead of buffering
+	 * the whole result. Must run inside a transaction.
+	 */
+	@SuppressWarnings("unchecked")
+	public long scroll(AlertSearchCriteria criteria, int fetchSize, boolean streamRows, Consumer<Alert> consumer) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Alert> query = cb.createQuery(Alert.class);
+		Root<Alert> alert = query.from(Alert.class);
+
+		query.select(alert).where(predicates(cb, alert, criteria).toArray(new Predicate[0]))
+				.orderBy(cb.desc(alert.get("createdAt")), cb.desc(alert.get("id")));
+
+		Query<Alert> hibernateQuery = entityManager.createQuery(query).unwrap(Query.class);
+		hibernateQuery.setFetchSize(streamRows ? Integer.MIN_VALUE : fetchSize);
+		hibernateQuery.setReadOnly(true);
+
+		long rows = 0;
+		try (ScrollableResults<Alert> results = hibernateQuery.scroll(ScrollMode.FORWARD_ONLY)) {
+			while (results.next()) {
+				Alert row = results.get();
+				consumer.accept(row);
+				entityManager.detach(row);
+				if (++rows % fetchSize == 0) {
+					entityManager.clear();
+				}
+			}
+		}
+		return rows;
+	}
+
+	private <T> List<T> seek(Class<T> type, AlertSearchCriteria criteria, AlertCursor after, int limit) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<T> query = cb.createQuery(type);
+		Root<T> alert = query.from(type);
+
+		List<Predicate> predicates = predicates(cb, alert, criteria);
+		if (after != null) {
+			predicates.add(cb.or(cb.lessThan(alert.<LocalDateTime>get("createdAt"), after.createdAt()),
+					cb.and(cb.equal(alert.<LocalDateTime>get("createdAt"), after.createdAt()),
+							cb.lessThan(alert.<UUID>get("id"), after.id()))));
+		}
+
+		query.select(alert).where(predicates.toArray(new Predicate[0]))
+				.orderBy(cb.desc(alert.get("createdAt")), cb.desc(alert.get("id")));
+
+		return entityManager.createQuery(query).setMaxResults(limit + 1).getResultList();
+	}
+
+	private long count(AlertSearchCriteria criteria) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Long> query = cb.createQuery(Long.class);
+		Root<Alert> alert = query.from(Alert.class);
+
+		query.select(cb.count(alert)).where(predicates(cb, alert, criteria).toArray(new Predicate[0]));
+
+		return entityManager.createQuery(query).getSingleResult();
+	}
+
+	/**
+	 * Filters shared by {@link Alert} and {@link ArchivedAlert}, which use the
+	 * same attribute names for every searchable column.
+	 */
+	private List<Predicate> predicates(CriteriaBuilder cb, Root<?> alert, AlertSearchCriteria criteria) {
+		List<Predicate> predicates = new ArrayList<>();
+		if (criteria == null) {
+			return predicates;
+		}
+
+		in(alert.get("severity"), criteria.getSeverities(), cb, predicates);
+		in(alert.get("status"), criteria.getStatuses(), cb, predicates);
+		equal(cb, alert, "sourceSystem", criteria.getSourceSystem(), predicates);
+		equal(cb, alert, "assignedTo", criteria.getAssignedTo(), predicates);
+		equal(cb, alert, "ruleId", criteria.getRuleId(), predicates);
+		equal(cb, alert, "sourceIp", criteria.getSourceIp(), predicates);
+		equal(cb, alert, "destinationIp", criteria.getDestinationIp(), predicates);
+		equal(cb, alert, "threatCategory", criteria.getThreatCategory(), predicates);
+
+		if (criteria.getMinConfidence() != null) {
+			predicates.add(cb.greaterThanOrEqualTo(alert.<Double>get("confidenceScore"), criteria.getMinConfidence()));
+		}
+		if (criteria.getMaxConfidence() != null) {
+			predicates.add(cb.lessThanOrEqualTo(alert.<Double>get("confidenceScore"), criteria.getMaxConfidence()));
+		}
+		if (criteria.getFrom() != null) {
+			predicates.add(cb.greaterThanOrEqualTo(alert.<LocalDateTime>get("createdAt"), criteria.getFrom()));
+		}
+		if (criteria.getTo() != null) {
+			predicates.add(cb.lessThanOrEqualTo(alert.<LocalDateTime>get("createdAt"), criteria.getTo()));
+		}
+		if (criteria.getClusterId() != null) {
+			// Cluster membership is not kept in the archive tier
+			predicates.add(alert.getJavaType() == Alert.class
+					? cb.or(cb.equal(alert.get("clusterId"), criteria.getClusterId()),
+							cb.equal(alert.get("id"), criteria.getClusterId()))
+					: cb.disjunction());
+		}
+		return predicates;
+	}
+
+	private static void in(Path<?> path, Collection<?> values, CriteriaBuilder cb,
+			List<Predicate> predicates) {
+		if (values == null || values.isEmpty()) {
+			return;
+		}
+		predicates.add(values.size() == 1 ? cb.equal(path, values.iterator().next()) : path.in(values));
+	}
+
+	private static void equal(CriteriaBuilder cb, Root<?> alert, String attribute, String value,
+			List<Predicate> predicates) {
+		if (value != null && !value.isBlank()) {
+			predicates.add(cb.equal(alert.get(attribute), value));
+		}
+	}
+
+	/**
+	 * Requested sort on whitelisted attributes, always finished with
+	 * {@code id} so offsets are stable across pages.
+	 */
+	private static List<Order> orders(CriteriaBuilder cb, Root<Alert> alert, Sort sort) {
+		List<Order> orders = new ArrayList<>();
+		for (Sort.Order order : sort) {
+			if (SORTABLE.contains(order.getProperty())) {
+				orders.add(order.isAscending() ? cb.asc(alert.get(order.getProperty()))
+						: cb.desc(alert.get(order.getProperty())));
+			}
+		}
+		if (orders.isEmpty()) {
+			orders.add(cb.desc(alert.get("createdAt")));
+		}
+		orders.add(cb.desc(alert.get("id")));
+		return orders;
+	}
+}
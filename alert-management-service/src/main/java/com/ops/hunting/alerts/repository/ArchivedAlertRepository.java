@@ -0,0 +1,12 @@
+package com.ops.hunting.alerts.repository;
+
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.ops.hunting.alerts.entity.ArchivedAlert;
+
+@Repository
+public interface ArchivedAlertRepository extends JpaRepository<ArchivedAlert, UUID> {
+}
@@ -0,0 +1,336 @@
+package com.ops.hunting.alerts.rollup;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ops.hunting.alerts.config.RollupProperties;
+import com.ops.hunting.alerts.dto.AlertHistogramDTO;
+import com.ops.hunting.alerts.entity.Alert;
+import com.ops.hunting.alerts.enums.AlertSeverity;
+import com.ops.hunting.alerts.enums.RollupDimension;
+import com.ops.hunting.alerts.enums.RollupGranularity;
+import com.ops.hunting.alerts.util.TransactionHooks;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pre-aggregated alert volume for charts. Every created alert adds one to its
+ * minute, hour and day bucket for each {@link RollupDimension}; increments are
+ * summed in memory and flushed as batched upserts, so a burst of thousands of
+ * alerts turns into a few hundred row updates. Fine-grained buckets are purged
+ * in the background once past their retention, leaving the coarser ones.
+ * <p>
+ * Buckets count alerts by creation time and are never decremented: deleting
+ * or archiving an alert does not rewrite history. Histograms lag ingestion by
+ * at most one flush interval.
+ */
+@Component
+@Slf4j
+public class AlertRollups {
+
+	private static final String UPSERT_SQL = "INSERT INTO alert_rollups "
+			+ "(granularity, dimension, dimension_value, bucket_start, alert_count) VALUES (?, ?, ?, ?, ?) "
+			+ "ON DUPLICATE KEY UPDATE alert_count = alert_count + VALUES(alert_count)";
+
+	private static final String HISTOGRAM_SQL = "SELECT dimension_value, bucket_start, alert_count FROM alert_rollups "
+			+ "WHERE granularity = ? AND dimension = ? AND bucket_start >= ? AND bucket_start < ?";
+
+	private static final String PURGE_SQL = "DELETE FROM alert_rollups WHERE granularity = ? AND bucket_start < ? "
+			+ "LIMIT ?";
+
+	private static final String BACKFILL_SQL = "SELECT id, created_at, severity, source_system, rule_name FROM alerts "
+			+ "WHERE created_at >= ? AND created_at < ? ORDER BY created_at, id LIMIT ?";
+
+	private static final String BACKFILL_NEXT_SQL = "SELECT id, created_at, severity, source_system, rule_name "
+			+ "FROM alerts WHERE created_at < ? AND (created_at > ? OR (created_at = ? AND id > ?)) "
+			+ "ORDER BY created_at, id LIMIT ?";
+
+	private static final String BACKFILL_LOCK = "alert_rollups.backfill";
+
+	private static final int MAX_VALUE_LENGTH = 255;
+
+	private final RollupProperties properties;
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final LocalDateTime recordingSince = LocalDateTime.now();
+	private final Map<RollupKey, Long> pending = new ConcurrentHashMap<>();
+	private final Counter dropped;
+
+	@Value("${app.alert.jdbc.batch-size:500}")
+	private int batchSize = 500;
+
+	public AlertRollups(RollupProperties properties, JdbcTemplate jdbcTemplate,
+			PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.dropped = Counter.builder("alerts.rollup.dropped")
+				.description("Alert increments dropped because too many buckets were pending").register(meterRegistry);
+		Gauge.builder("alerts.rollup.pending", pending, Map::size).description("Buckets waiting to be flushed")
+				.register(meterRegistry);
+	}
+
+	/** Counts the given newly created alerts once the current transaction commits. */
+	public void record(Collection<Alert> alerts) {
+		if (!properties.isEnabled() || alerts.isEmpty()) {
+			return;
+		}
+		Map<RollupKey, Long> deltas = new HashMap<>();
+		LocalDateTime now = LocalDateTime.now();
+		for (Alert alert : alerts) {
+			count(deltas, alert.getCreatedAt() != null ? alert.getCreatedAt() : now, alert, true);
+		}
+
+		TransactionHooks.afterCommit(() -> deltas.forEach(this::add));
+	}
+
+	public void record(Alert alert) {
+		record(List.of(alert));
+	}
+
+	/**
+	 * Writes pending increments in one transaction, so a failure puts back
+	 * only increments that were not stored.
+	 */
+	@Scheduled(fixedDelayString = "${app.alert.rollup.flush-interval-ms:5000}")
+	public void flush() {
+		if (pending.isEmpty()) {
+			return;
+		}
+		List<Map.Entry<RollupKey, Long>> batch = new ArrayList<>(pending.size());
+		for (RollupKey key : pending.keySet()) {
+			Long count = pending.remove(key);
+			if (count != null) {
+				batch.add(Map.entry(key, count));
+			}
+		}
+		batch.sort(Map.Entry.comparingByKey(RollupKey.ORDER));
+		try {
+			transactionTemplate.executeWithoutResult(tx -> upsert(batch));
+		} catch (DataAccessException e) {
+			log.warn("Flushing {} alert roll-up buckets failed, retrying later: {}", batch.size(), e.getMessage());
+			batch.forEach(entry -> add(entry.getKey(), entry.getValue()));
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${app.alert.rollup.purge-interval-ms:3600000}",
+			initialDelayString = "${app.alert.rollup.purge-initial-delay-ms:600000}")
+	public void purge() {
+		if (!properties.isEnabled()) {
+			return;
+		}
+		LocalDateTime now = LocalDateTime.now();
+		Map<RollupGranularity, Duration> retention = new EnumMap<>(RollupGranularity.class);
+		retention.put(RollupGranularity.MINUTE, properties.getMinuteRetention());
+		retention.put(RollupGranularity.HOUR, properties.getHourRetention());
+		retention.put(RollupGranularity.DAY, properties.getDayRetention());
+		try {
+			for (Map.Entry<RollupGranularity, Duration> entry : retention.entrySet()) {
+				Timestamp cutoff = Timestamp.valueOf(now.minus(entry.getValue()));
+				int deleted;
+				long total = 0;
+				do {
+					deleted = jdbcTemplate.update(PURGE_SQL, entry.getKey().name(), cutoff,
+							properties.getPurgeBatchSize());
+					total += deleted;
+				} while (deleted >= properties.getPurgeBatchSize());
+				if (total > 0) {
+					log.info("Purged {} {} roll-up buckets older than {}", total, entry.getKey(), cutoff);
+				}
+			}
+		} catch (DataAccessException e) {
+			log.warn("Purging expired roll-up buckets failed: {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * Seeds the roll-ups from the last {@code backfill-days} of alerts when the
+	 * table is empty, e.g. on first deployment. One instance does so under a
+	 * named lock, and only alerts created before it started recording are
+	 * scanned; later ones are counted by {@link #record(Collection)}.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void backfill() {
+		if (!properties.isEnabled() || properties.getBackfillDays() <= 0) {
+			return;
+		}
+		try {
+			transactionTemplate.executeWithoutResult(tx -> {
+				Integer locked = jdbcTemplate.queryForObject("SELECT GET_LOCK(?, 0)", Integer.class, BACKFILL_LOCK);
+				if (locked == null || locked != 1) {
+					log.debug("Another instance is backfilling alert roll-ups");
+					return;
+				}
+				try {
+					if (jdbcTemplate.queryForList("SELECT 1 FROM alert_rollups LIMIT 1").isEmpty()) {
+						backfill(recordingSince);
+					}
+				} finally {
+					jdbcTemplate.queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, BACKFILL_LOCK);
+				}
+			});
+		} catch (DataAccessException e) {
+			log.warn("Could not backfill alert roll-ups: {}", e.getMessage());
+		}
+	}
+
+	// Keyset pages on (created_at, id): Connector/J buffers a whole result set
+	// unless the URL enables cursor fetch, so one query would load every row
+	private void backfill(LocalDateTime until) {
+		LocalDateTime since = until.minusDays(properties.getBackfillDays());
+		LocalDateTime minuteSince = until.minus(properties.getMinuteRetention());
+		Timestamp upper = Timestamp.valueOf(until);
+		int pageSize = properties.getBackfillPageSize();
+		Map<RollupKey, Long> counts = new HashMap<>();
+		BackfillPage page = new BackfillPage();
+		long scanned = 0;
+		do {
+			Timestamp lastCreatedAt = page.createdAt;
+			byte[] lastId = page.id;
+			page.rows = 0;
+			RowCallbackHandler handler = rs -> {
+				page.id = rs.getBytes(1);
+				page.createdAt = rs.getTimestamp(2);
+				page.rows++;
+				LocalDateTime createdAt = page.createdAt.toLocalDateTime();
+				String severity = rs.getString(3);
+				Alert alert = Alert.builder().severity(severity != null ? AlertSeverity.valueOf(severity) : null)
+						.sourceSystem(rs.getString(4)).ruleName(rs.getString(5)).build();
+				count(counts, createdAt, alert, !createdAt.isBefore(minuteSince));
+			};
+			if (lastId == null) {
+				jdbcTemplate.query(BACKFILL_SQL, handler, Timestamp.valueOf(since), upper, pageSize);
+			} else {
+				jdbcTemplate.query(BACKFILL_NEXT_SQL, handler, upper, lastCreatedAt, lastCreatedAt, lastId, pageSize);
+			}
+			scanned += page.rows;
+		} while (page.rows == pageSize);
+
+		List<Map.Entry<RollupKey, Long>> rows = new ArrayList<>(counts.entrySet());
+		rows.sort(Map.Entry.comparingByKey(RollupKey.ORDER));
+		upsert(rows);
+		log.info("Backfilled {} roll-up buckets from {} alerts created between {} and {}", rows.size(), scanned,
+				since, until);
+	}
+
+	/**
+	 * Counts per bucket of {@code granularity} in {@code [from, to)}, one series
+	 * per value of {@code dimension} (or only {@code value} when given), the
+	 * {@code limit} largest first.
+	 */
+	public AlertHistogramDTO histogram(RollupGranularity granularity, RollupDimension dimension, String value,
+			LocalDateTime from, LocalDateTime to, int limit) {
+		LocalDateTime start = granularity.truncate(from);
+		if (!start.isBefore(to)) {
+			throw new IllegalArgumentException("Histogram range is empty");
+		}
+		long width = granularity.between(start, to.minusNanos(1)) + 1;
+		if (width > properties.getMaxHistogramBuckets()) {
+			throw new IllegalArgumentException("Histogram would have " + width + " buckets, more than "
+					+ properties.getMaxHistogramBuckets() + "; use a coarser granularity");
+		}
+		int size = (int) width;
+
+		String sql = HISTOGRAM_SQL + (value != null ? " AND dimension_value = ?" : "");
+		Object[] args = value != null
+				? new Object[] { granularity.name(), dimension.name(), Timestamp.valueOf(start), Timestamp.valueOf(to),
+						value }
+				: new Object[] { granularity.name(), dimension.name(), Timestamp.valueOf(start), Timestamp.valueOf(to) };
+		Map<String, AlertHistogramDTO.Series> series = new LinkedHashMap<>();
+		jdbcTemplate.query(sql, rs -> {
+			AlertHistogramDTO.Series line = series.computeIfAbsent(rs.getString(1),
+					v -> new AlertHistogramDTO.Series(v, 0, new long[size]));
+			int index = (int) granularity.between(start, rs.getTimestamp(2).toLocalDateTime());
+			long count = rs.getLong(3);
+			if (index >= 0 && index < size) {
+				line.getCounts()[index] += count;
+				line.setTotal(line.getTotal() + count);
+			}
+		}, args);
+
+		List<LocalDateTime> buckets = new ArrayList<>(size);
+		for (LocalDateTime bucket = start; buckets.size() < size; bucket = granularity.next(bucket)) {
+			buckets.add(bucket);
+		}
+		List<AlertHistogramDTO.Series> largest = series.values().stream()
+				.sorted(Comparator.comparingLong(AlertHistogramDTO.Series::getTotal).reversed()).limit(limit)
+				.toList();
+		return AlertHistogramDTO.builder().granularity(granularity).dimension(dimension).buckets(buckets)
+				.series(largest).build();
+	}
+
+	int pendingBuckets() {
+		return pending.size();
+	}
+
+	private void add(RollupKey key, long count) {
+		if (pending.size() >= properties.getMaxPendingBuckets() && !pending.containsKey(key)) {
+			dropped.increment(count);
+			return;
+		}
+		pending.merge(key, count, Long::sum);
+	}
+
+	private void upsert(List<Map.Entry<RollupKey, Long>> rows) {
+		if (rows.isEmpty()) {
+			return;
+		}
+		jdbcTemplate.batchUpdate(UPSERT_SQL, rows, batchSize, (ps, row) -> {
+			RollupKey key = row.getKey();
+			ps.setString(1, key.granularity().name());
+			ps.setString(2, key.dimension().name());
+			ps.setString(3, key.value());
+			ps.setTimestamp(4, Timestamp.valueOf(key.bucketStart()));
+			ps.setLong(5, row.getValue());
+		});
+	}
+
+	/** Adds one alert to each dimension's buckets, leaving out minutes when {@code minutes} is false. */
+	private static void count(Map<RollupKey, Long> counts, LocalDateTime createdAt, Alert alert, boolean minutes) {
+		for (RollupDimension dimension : RollupDimension.values()) {
+			String value = dimension.extract(alert);
+			if (value.length() > MAX_VALUE_LENGTH) {
+				value = value.substring(0, MAX_VALUE_LENGTH);
+			}
+			for (RollupGranularity granularity : RollupGranularity.values()) {
+				if (granularity == RollupGranularity.MINUTE && !minutes) {
+					continue;
+				}
+				counts.merge(new RollupKey(granularity, dimension, value, granularity.truncate(createdAt)), 1L,
+						Long::sum);
+			}
+		}
+	}
+
+	/** Key of the last row read, where the next backfill page starts. */
+	private static final class BackfillPage {
+
+		private Timestamp createdAt;
+		private byte[] id;
+		private int rows;
+	}
+}
@@ -0,0 +1,15 @@
+package com.ops.hunting.alerts.rollup;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+import com.ops.hunting.alerts.enums.RollupDimension;
+import com.ops.hunting.alerts.enums.RollupGranularity;
+
+/** One bucket row of {@code alert_rollups}. */
+record RollupKey(RollupGranularity granularity, RollupDimension dimension, String value, LocalDateTime bucketStart) {
+
+	/** Unique-key order, so concurrent upserts lock rows in the same order. */
+	static final Comparator<RollupKey> ORDER = Comparator.comparing(RollupKey::granularity)
+			.thenComparing(RollupKey::dimension).thenComparing(RollupKey::bucketStart).thenComparing(RollupKey::value);
+}
@@ -0,0 +1,17 @@
+package com.ops.hunting.alerts.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.ops.hunting.alerts.dto.AlertSearchCriteria;
+import com.ops.hunting.alerts.enums.AlertExportFormat;
+
+public interface AlertExportService {
+
+	/**
+	 * Writes every alert matching {@code criteria} to {@code out} and returns the
+	 * number of rows written. The stream is finished but not closed.
+	 */
+	long export(AlertSearchCriteria criteria, AlertExportFormat format, boolean gzip, OutputStream out)
+			throws IOException;
+}
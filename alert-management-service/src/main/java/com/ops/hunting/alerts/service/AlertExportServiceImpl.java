@@ -0,0 +1,139 @@
+package com.ops.hunting.alerts.service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ops.hunting.alerts.dto.AlertSearchCriteria;
+import com.ops.hunting.alerts.entity.Alert;
+import com.ops.hunting.alerts.enums.AlertExportFormat;
+import com.ops.hunting.alerts.mapper.AlertMapper;
+import com.ops.hunting.alerts.repository.AlertSearchRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams alerts straight from a forward-only cursor to the response. Nothing
+ * is collected in memory beyond the current row and the output buffer.
+ */
+@Service
+@Slf4j
+public class AlertExportServiceImpl implements AlertExportService {
+
+	static final String[] CSV_COLUMNS = { "id", "title", "severity", "status", "source_system", "source_ip",
+			"destination_ip", "source_port", "destination_port", "protocol", "rule_id", "rule_name", "assigned_to",
+			"threat_category", "confidence_score", "occurrence_count", "created_at", "updated_at", "closed_at",
+			"closed_by", "investigation_id", "hash" };
+
+	private final AlertSearchRepository alertSearchRepository;
+	private final AlertMapper alertMapper;
+	private final ObjectWriter jsonWriter;
+	private final TransactionTemplate transactionTemplate;
+
+	@Value("${app.alert.export.fetch-size:1000}")
+	private int fetchSize = 1000;
+
+	@Value("${app.alert.export.buffer-size:65536}")
+	private int bufferSize = 65536;
+
+	/** Stream rows on the export statement; only for MySQL, which has no cursor without it. */
+	@Value("${app.alert.export.row-streaming:false}")
+	private boolean rowStreaming;
+
+	public AlertExportServiceImpl(AlertSearchRepository alertSearchRepository, AlertMapper alertMapper,
+			ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+		this.alertSearchRepository = alertSearchRepository;
+		this.alertMapper = alertMapper;
+		this.jsonWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+				.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setReadOnly(true);
+	}
+
+	@Override
+	public long export(AlertSearchCriteria criteria, AlertExportFormat format, boolean gzip, OutputStream out)
+			throws IOException {
+		long started = System.currentTimeMillis();
+		GZIPOutputStream gzipStream = gzip ? new GZIPOutputStream(out, bufferSize) : null;
+		Writer writer = new OutputStreamWriter(
+				new BufferedOutputStream(gzipStream != null ? gzipStream : out, bufferSize), StandardCharsets.UTF_8);
+
+		if (format == AlertExportFormat.CSV) {
+			writer.write(String.join(",", CSV_COLUMNS));
+			writer.write('\n');
+		}
+
+		Consumer<Alert> sink = alert -> {
+			try {
+				if (format == AlertExportFormat.CSV) {
+					writeCsv(writer, alert);
+				} else {
+					jsonWriter.writeValue(writer, alertMapper.toDTO(alert));
+					writer.write('\n');
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		};
+
+		long rows;
+		try {
+			rows = transactionTemplate.execute(tx -> alertSearchRepository.scroll(criteria, fetchSize, rowStreaming, sink));
+		} catch (UncheckedIOException e) {
+			// Typically the client went away; the cursor is already released.
+			throw e.getCause();
+		}
+
+		writer.flush();
+		if (gzipStream != null) {
+			gzipStream.finish();
+		}
+		out.flush();
+
+		log.info("Exported {} alerts as {} in {} ms", rows, format, System.currentTimeMillis() - started);
+		return rows;
+	}
+
+	private static void writeCsv(Writer writer, Alert alert) throws IOException {
+		Object[] values = { alert.getId(), alert.getTitle(), alert.getSeverity(), alert.getStatus(),
+				alert.getSourceSystem(), alert.getSourceIp(), alert.getDestinationIp(), alert.getSourcePort(),
+				alert.getDestinationPort(), alert.getProtocol(), alert.getRuleId(), alert.getRuleName(),
+				alert.getAssignedTo(), alert.getThreatCategory(), alert.getConfidenceScore(),
+				alert.getOccurrenceCount(), alert.getCreatedAt(), alert.getUpdatedAt(), alert.getClosedAt(),
+				alert.getClosedBy(), alert.getInvestigationId(), alert.getHash() };
+
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) {
+				writer.write(',');
+			}
+			if (values[i] != null) {
+				writer.write(csvEscape(values[i].toString()));
+			}
+		}
+		writer.write('\n');
+	}
+
+	static String csvEscape(String value) {
+		boolean quote = false;
+		for (int i = 0; i < value.length() && !quote; i++) {
+			char c = value.charAt(i);
+			quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+		}
+		return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+	}
+}
@@ -0,0 +1,16 @@
+package com.ops.hunting.alerts.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.ops.hunting.alerts.dto.AlertImportResultDTO;
+
+public interface AlertImportService {
+
+	/**
+	 * Reads one {@code AlertDTO} per line from {@code in}, gzip-compressed or
+	 * not, and persists the valid ones in chunks. Invalid lines are reported by
+	 * line number and do not stop the import.
+	 */
+	AlertImportResultDTO importNdjson(InputStream in) throws IOException;
+}
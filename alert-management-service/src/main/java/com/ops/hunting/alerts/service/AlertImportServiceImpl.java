@@ -0,0 +1,250 @@
+package com.ops.hunting.alerts.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackInputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.ops.hunting.alerts.dto.AlertDTO;
+import com.ops.hunting.alerts.dto.AlertImportResultDTO;
+import com.ops.hunting.alerts.entity.Alert;
+import com.ops.hunting.alerts.enums.AlertStatus;
+import com.ops.hunting.alerts.mapper.AlertMapper;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bulk NDJSON import for sensors that cannot publish to Kafka. Lines are read
+ * one at a time, capped at {@code max-line-length} characters, and bound
+ * individually, so memory is bounded by the chunk size rather than the upload,
+ * and a bad or oversized line only rejects itself. Valid alerts go
+ * through the same chunked ingestion path as the Kafka listener, so HTTP,
+ * security and transaction overhead is paid once per chunk instead of once per
+ * alert.
+ */
+@Service
+@Slf4j
+public class AlertImportServiceImpl implements AlertImportService {
+
+	private static final int GZIP_MAGIC = 0x8b1f;
+
+	private final AlertIngestionService alertIngestionService;
+	private final AlertMapper alertMapper;
+	private final Validator validator;
+	private final ObjectReader alertReader;
+
+	@Value("${app.alert.import.chunk-size:1000}")
+	private int chunkSize = 1000;
+
+	@Value("${app.alert.import.max-reported-errors:1000}")
+	private int maxReportedErrors = 1000;
+
+	@Value("${app.alert.import.buffer-size:65536}")
+	private int bufferSize = 65536;
+
+	@Value("${app.alert.import.max-line-length:1048576}")
+	private int maxLineLength = 1048576;
+
+	public AlertImportServiceImpl(AlertIngestionService alertIngestionService, AlertMapper alertMapper,
+			Validator validator, ObjectMapper objectMapper) {
+		this.alertIngestionService = alertIngestionService;
+		this.alertMapper = alertMapper;
+		this.validator = validator;
+		this.alertReader = objectMapper.readerFor(AlertDTO.class)
+				.with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+	}
+
+	@Override
+	public AlertImportResultDTO importNdjson(InputStream in) throws IOException {
+		long started = System.currentTimeMillis();
+		AlertImportResultDTO result = AlertImportResultDTO.builder().errors(new ArrayList<>())
+				.startedAt(LocalDateTime.now()).build();
+
+		LineReader reader = new LineReader(new InputStreamReader(decompress(in), StandardCharsets.UTF_8), bufferSize,
+				maxLineLength);
+		List<Alert> chunk = new ArrayList<>(chunkSize);
+		long firstLine = 0;
+		long lineNumber = 0;
+		String line;
+		while ((line = reader.next()) != null) {
+			lineNumber++;
+			if (line.isBlank()) {
+				continue;
+			}
+			result.setTotalLines(result.getTotalLines() + 1);
+			if (reader.truncated()) {
+				reject(result, lineNumber, 1, "Line exceeds " + maxLineLength + " characters");
+				continue;
+			}
+			Alert alert = parse(line, lineNumber, result);
+			if (alert == null) {
+				continue;
+			}
+			if (chunk.isEmpty()) {
+				firstLine = lineNumber;
+			}
+			chunk.add(alert);
+			if (chunk.size() >= chunkSize) {
+				flush(chunk, firstLine, lineNumber, result);
+			}
+		}
+		flush(chunk, firstLine, lineNumber, result);
+
+		result.setCompletedAt(LocalDateTime.now());
+		log.info("Imported {} of {} alert lines ({} inserted, {} rejected) in {} ms", result.getAcceptedCount(),
+				result.getTotalLines(), result.getInsertedCount(), result.getRejectedCount(),
+				System.currentTimeMillis() - started);
+		return result;
+	}
+
+	private Alert parse(String line, long lineNumber, AlertImportResultDTO result) {
+		AlertDTO dto;
+		try {
+			dto = alertReader.readValue(line);
+		} catch (JsonProcessingException e) {
+			reject(result, lineNumber, 1, "Malformed JSON: " + e.getOriginalMessage());
+			return null;
+		} catch (IOException e) {
+			reject(result, lineNumber, 1, "Unreadable line: " + e.getMessage());
+			return null;
+		}
+		if (dto == null) {
+			reject(result, lineNumber, 1, "Expected an alert object");
+			return null;
+		}
+
+		dto.setId(null);
+		dto.setStatus(AlertStatus.OPEN);
+		Set<ConstraintViolation<AlertDTO>> violations = validator.validate(dto);
+		if (!violations.isEmpty()) {
+			reject(result, lineNumber, 1, violations.stream().map(v -> v.getPropertyPath() + ": " + v.getMessage())
+					.sorted().collect(Collectors.joining("; ")));
+			return null;
+		}
+
+		Alert alert = alertMapper.toEntity(dto);
+		alert.setOccurrenceCount(1);
+		return alert;
+	}
+
+	/** Persists the chunk in one transaction; a failure rejects its lines only. */
+	private void flush(List<Alert> chunk, long firstLine, long lastLine, AlertImportResultDTO result) {
+		if (chunk.isEmpty()) {
+			return;
+		}
+		try {
+			int inserted = alertIngestionService.ingestAlerts(chunk);
+			result.setAcceptedCount(result.getAcceptedCount() + chunk.size());
+			result.setInsertedCount(result.getInsertedCount() + inserted);
+		} catch (DataAccessException e) {
+			log.warn("Import chunk for lines {}-{} failed: {}", firstLine, lastLine, e.getMessage());
+			reject(result, firstLine, chunk.size(),
+					"Lines " + firstLine + "-" + lastLine + " not stored: " + e.getMostSpecificCause().getMessage());
+		}
+		chunk.clear();
+	}
+
+	private void reject(AlertImportResultDTO result, long lineNumber, int lines, String message) {
+		result.setRejectedCount(result.getRejectedCount() + lines);
+		if (result.getErrors().size() < maxReportedErrors) {
+			result.getErrors().add(new AlertImportResultDTO.LineError(lineNumber, message));
+		}
+	}
+
+	/** Accepts plain or gzip bodies, whatever {@code Content-Encoding} says. */
+	private InputStream decompress(InputStream in) throws IOException {
+		PushbackInputStream pushback = new PushbackInputStream(in, 2);
+		byte[] head = new byte[2];
+		int read = pushback.readNBytes(head, 0, 2);
+		pushback.unread(head, 0, read);
+		boolean gzip = read == 2 && ((head[0] & 0xff) | (head[1] & 0xff) << 8) == GZIP_MAGIC;
+		return gzip ? new GZIPInputStream(pushback, bufferSize) : pushback;
+	}
+
+	/**
+	 * Splits a reader on {@code \n}, dropping a trailing {@code \r}. Characters
+	 * beyond {@code maxLength} are skipped rather than buffered.
+	 */
+	private static final class LineReader {
+
+		private final Reader reader;
+		private final char[] buffer;
+		private final int maxLength;
+		private final StringBuilder line = new StringBuilder();
+		private int position;
+		private int limit;
+		private boolean truncated;
+
+		private LineReader(Reader reader, int bufferSize, int maxLength) {
+			this.reader = reader;
+			this.buffer = new char[bufferSize];
+			this.maxLength = maxLength;
+		}
+
+		/** The next line, or {@code null} at the end of input. */
+		private String next() throws IOException {
+			line.setLength(0);
+			truncated = false;
+			boolean started = false;
+			while (true) {
+				if (position == limit) {
+					int read = reader.read(buffer, 0, buffer.length);
+					position = 0;
+					limit = Math.max(read, 0);
+					if (read < 0) {
+						return started ? finish() : null;
+					}
+				}
+				started = true;
+				int start = position;
+				while (position < limit && buffer[position] != '\n') {
+					position++;
+				}
+				append(start, position);
+				if (position < limit) {
+					position++;
+					return finish();
+				}
+			}
+		}
+
+		/** Whether the last line was longer than {@code maxLength}. */
+		private boolean truncated() {
+			return truncated;
+		}
+
+		private void append(int from, int to) {
+			int room = maxLength - line.length();
+			if (to - from > room) {
+				truncated = true;
+			}
+			line.append(buffer, from, Math.min(to - from, room));
+		}
+
+		private String finish() {
+			int length = line.length();
+			if (length > 0 && line.charAt(length - 1) == '\r' && !truncated) {
+				line.setLength(length - 1);
+			}
+			return line.toString();
+		}
+	}
+}
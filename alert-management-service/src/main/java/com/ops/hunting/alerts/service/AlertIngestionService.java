@@ -0,0 +1,13 @@
+package com.ops.hunting.alerts.service;
+
+import java.util.List;
+
+import com.ops.hunting.alerts.dto.AlertGeneratedEventDTO;
+import com.ops.hunting.alerts.entity.Alert;
+
+public interface AlertIngestionService {
+
+	int ingestEvents(List<AlertGeneratedEventDTO> events);
+
+	int ingestAlerts(List<Alert> alerts);
+}
@@ -0,0 +1,146 @@
+package com.ops.hunting.alerts.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ops.hunting.alerts.cache.AlertCacheEvictor;
+import com.ops.hunting.alerts.cluster.AlertClusterer;
+import com.ops.hunting.alerts.correlation.AlertCorrelator;
+import com.ops.hunting.alerts.dedup.AlertDeduplicator;
+import com.ops.hunting.alerts.dto.AlertFeedEvent;
+import com.ops.hunting.alerts.dto.AlertGeneratedEventDTO;
+import com.ops.hunting.alerts.enrichment.AlertEnricher;
+import com.ops.hunting.alerts.entity.Alert;
+import com.ops.hunting.alerts.enums.AlertSeverity;
+import com.ops.hunting.alerts.enums.AlertStatus;
+import com.ops.hunting.alerts.live.AlertLiveFeed;
+import com.ops.hunting.alerts.payload.AlertPayloadStore;
+import com.ops.hunting.alerts.repository.AlertJdbcRepository;
+import com.ops.hunting.alerts.rollup.AlertRollups;
+import com.ops.hunting.alerts.sla.AlertSlaTracker;
+import com.ops.hunting.alerts.triage.AlertTriageQueue;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AlertIngestionServiceImpl implements AlertIngestionService {
+
+	static final String DETECTION_SOURCE_SYSTEM = "DETECTION_ANALYTICS";
+
+	private final AlertJdbcRepository alertJdbcRepository;
+	private final AlertPayloadStore alertPayloadStore;
+	private final AlertSummaryCounters alertSummaryCounters;
+	private final AlertDeduplicator alertDeduplicator;
+	private final AlertCacheEvictor alertCacheEvictor;
+	private final AlertLiveFeed alertLiveFeed;
+	private final AlertCorrelator alertCorrelator;
+	private final AlertClusterer alertClusterer;
+	private final AlertEnricher alertEnricher;
+	private final AlertSlaTracker alertSlaTracker;
+	private final AlertTriageQueue alertTriageQueue;
+	private final AlertRollups alertRollups;
+
+	@Override
+	@Transactional
+	public int ingestEvents(List<AlertGeneratedEventDTO> events) {
+		List<Alert> alerts = new ArrayList<>(events.size());
+		for (AlertGeneratedEventDTO event : events) {
+			if (event.getAlertCount() > 0) {
+				alerts.add(toAlert(event));
+			}
+		}
+		return ingestAlerts(alerts);
+	}
+
+	@Override
+	@Transactional
+	public int ingestAlerts(List<Alert> alerts) {
+		if (alerts.isEmpty()) {
+			return 0;
+		}
+
+		LocalDateTime now = LocalDateTime.now();
+		List<Alert> fresh = new ArrayList<>(alerts.size());
+		Map<UUID, List<Alert>> repeats = new LinkedHashMap<>();
+		for (Alert alert : alerts) {
+			if (alert.getId() == null) {
+				alert.setId(UUID.randomUUID());
+			}
+			if (alert.getCreatedAt() == null) {
+				alert.setCreatedAt(now);
+			}
+			if (alert.getStatus() == null) {
+				alert.setStatus(AlertStatus.OPEN);
+			}
+
+			UUID duplicateOf = alertDeduplicator.registerOrMatch(alert);
+			if (duplicateOf != null) {
+				repeats.computeIfAbsent(duplicateOf, id -> new ArrayList<>()).add(alert);
+			} else {
+				fresh.add(alert);
+			}
+		}
+
+		// As in createAlert, repeats of a representative that no longer exists are
+		// raised again; later ones in the batch fold into the first of them.
+		Map<UUID, Integer> refolded = new HashMap<>();
+		if (!repeats.isEmpty()) {
+			Map<UUID, Integer> counts = new HashMap<>();
+			repeats.forEach((id, group) -> counts.put(id, group.size()));
+			for (UUID missingId : alertJdbcRepository.incrementOccurrences(counts, now)) {
+				List<Alert> orphans = repeats.remove(missingId);
+				alertDeduplicator.forget(orphans.get(0));
+				for (Alert orphan : orphans) {
+					UUID duplicateOf = alertDeduplicator.registerOrMatch(orphan);
+					if (duplicateOf != null) {
+						refolded.merge(duplicateOf, 1, Integer::sum);
+					} else {
+						fresh.add(orphan);
+					}
+				}
+			}
+			alertCacheEvictor.evict(repeats.keySet());
+		}
+
+		alertCorrelator.correlate(fresh);
+		alertClusterer.assign(fresh);
+		int inserted = alertJdbcRepository.batchInsert(fresh);
+		alertPayloadStore.saveAll(fresh);
+		fresh.forEach(alertSummaryCounters::recordCreated);
+		alertRollups.record(fresh);
+		alertSlaTracker.track(fresh);
+		alertTriageQueue.track(fresh);
+		alertEnricher.submit(fresh);
+		alertLiveFeed.publish(fresh, AlertFeedEvent.Change.CREATED);
+
+		if (!refolded.isEmpty()) {
+			List<UUID> missing = alertJdbcRepository.incrementOccurrences(refolded, now);
+			if (!missing.isEmpty()) {
+				log.warn("{} re-raised repeats referenced representatives that no longer exist", missing.size());
+			}
+			alertCacheEvictor.evict(refolded.keySet());
+		}
+
+		log.debug("Persisted {} alerts in batch, folded {} repeats", inserted, alerts.size() - fresh.size());
+		return inserted;
+	}
+
+	private Alert toAlert(AlertGeneratedEventDTO event) {
+		String analyticId = event.getAnalyticId() != null ? event.getAnalyticId().toString() : null;
+		return Alert.builder().title("Detection analytic " + analyticId + " generated " + event.getAlertCount()
+				+ " alert(s)").severity(AlertSeverity.MEDIUM).status(AlertStatus.OPEN)
+				.sourceSystem(DETECTION_SOURCE_SYSTEM).ruleId(analyticId).rawData(event.getAlertData())
+				.createdAt(event.getTimestamp()).build();
+	}
+}
@@ -7,10 +7,16 @@ import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import com.ops.hunting.alerts.dto.AlertClusterDTO;
+import com.ops.hunting.alerts.dto.AlertCursorPageDTO;
 import com.ops.hunting.alerts.dto.AlertDTO;
+import com.ops.hunting.alerts.dto.AlertHistogramDTO;
+import com.ops.hunting.alerts.dto.AlertSearchCriteria;
 import com.ops.hunting.alerts.dto.AlertSummaryDTO;
-import com.ops.hunting.alerts.enums.AlertSeverity;
 import com.ops.hunting.alerts.enums.AlertStatus;
+import com.ops.hunting.alerts.enums.RollupDimension;
+import com.ops.hunting.alerts.enums.RollupGranularity;
+import com.ops.hunting.common.dto.BulkOperationResponse;
 
 public interface AlertService {
 
@@ -18,6 +24,9 @@ public interface AlertService {
 
 	AlertDTO getAlertById(UUID id);
 
+	/** Like {@link #getAlertById} but falls through to the archive tier on a miss. */
+	AlertDTO getAlertIncludingArchive(UUID id);
+
 	Page<AlertDTO> getAllAlerts(Pageable pageable);
 
 	AlertDTO updateAlert(UUID id, AlertDTO alertDTO);
@@ -26,8 +35,10 @@ public interface AlertService {
 
 	void deleteAlert(UUID id);
 
-	Page<AlertDTO> searchAlerts(AlertSeverity severity, AlertStatus status, LocalDateTime from, LocalDateTime to,
-			Pageable pageable);
+	Page<AlertDTO> searchAlerts(AlertSearchCriteria criteria, Pageable pageable);
+
+	AlertCursorPageDTO scrollAlerts(AlertSearchCriteria criteria, String cursor, int size, boolean includeTotal,
+			boolean includeArchived);
 
 	AlertSummaryDTO getAlertSummary();
 
@@ -35,7 +46,26 @@ public interface AlertService {
 
 	List<AlertDTO> getStaleAlerts(int hoursThreshold);
 
-	void bulkUpdateStatus(List<UUID> alertIds, AlertStatus status, String updatedBy);
+	/** Unassigned OPEN alerts, highest risk first. */
+	List<AlertDTO> getTriageQueue(int limit);
+
+	/**
+	 * Assigns the highest-risk unassigned OPEN alert to {@code assignee} and
+	 * moves it to IN_PROGRESS. Returns {@code null} when nothing is claimable.
+	 */
+	AlertDTO claimNextAlert(String assignee);
+
+	/** Largest near-duplicate clusters with their representative alerts. */
+	List<AlertClusterDTO> getClusters(int limit, long minSize);
+
+	/**
+	 * Alerts created per {@code granularity} bucket in {@code [from, to)}, one
+	 * series per {@code dimension} value, read from the pre-aggregated roll-ups.
+	 */
+	AlertHistogramDTO getHistogram(RollupGranularity granularity, RollupDimension dimension, String value,
+			LocalDateTime from, LocalDateTime to, int limit);
+
+	BulkOperationResponse bulkUpdateStatus(List<UUID> alertIds, AlertStatus status, String updatedBy);
 
 	List<String> getSourceSystems();
 }
\ No newline at end of file
@@ -1,27 +1,57 @@
 package com.ops.hunting.alerts.service;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.ops.hunting.alerts.archive.AlertArchive;
+import com.ops.hunting.alerts.cache.AlertCacheEvictor;
+import com.ops.hunting.alerts.cluster.AlertClusterer;
+import com.ops.hunting.alerts.correlation.AlertCorrelator;
+import com.ops.hunting.alerts.dedup.AlertDeduplicator;
+import com.ops.hunting.alerts.dto.AlertClusterDTO;
+import com.ops.hunting.alerts.dto.AlertCursor;
+import com.ops.hunting.alerts.dto.AlertCursorPageDTO;
 import com.ops.hunting.alerts.dto.AlertDTO;
+import com.ops.hunting.alerts.dto.AlertFeedEvent;
+import com.ops.hunting.alerts.dto.AlertHistogramDTO;
+import com.ops.hunting.alerts.dto.AlertSearchCriteria;
 import com.ops.hunting.alerts.dto.AlertSummaryDTO;
+import com.ops.hunting.alerts.enrichment.AlertEnricher;
 import com.ops.hunting.alerts.entity.Alert;
 import com.ops.hunting.alerts.enums.AlertSeverity;
 import com.ops.hunting.alerts.enums.AlertStatus;
+import com.ops.hunting.alerts.enums.RollupDimension;
+import com.ops.hunting.alerts.enums.RollupGranularity;
+import com.ops.hunting.alerts.exception.AlertConflictException;
 import com.ops.hunting.alerts.exception.AlertNotFoundException;
+import com.ops.hunting.alerts.live.AlertLiveFeed;
 import com.ops.hunting.alerts.mapper.AlertMapper;
+import com.ops.hunting.alerts.outbox.OutboxPublisher;
+import com.ops.hunting.alerts.payload.AlertPayloadStore;
+import com.ops.hunting.alerts.repository.AlertJdbcRepository;
 import com.ops.hunting.alerts.repository.AlertRepository;
-import com.ops.hunting.alerts.service.NotificationService;
+import com.ops.hunting.alerts.repository.AlertSearchRepository;
+import com.ops.hunting.alerts.rollup.AlertRollups;
+import com.ops.hunting.alerts.sla.AlertSlaTracker;
+import com.ops.hunting.alerts.triage.AlertTriageQueue;
+import com.ops.hunting.common.dto.BulkOperationResponse;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -31,10 +61,37 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class AlertServiceImpl implements AlertService {
 
+	/**
+	 * Keyset order of {@link AlertSearchRepository#seek}: ids compare as the
+	 * unsigned bytes MySQL stores them as.
+	 */
+	private static final Comparator<Alert> NEWEST_FIRST = Comparator.comparing(Alert::getCreatedAt)
+			.thenComparing((a, b) -> Arrays.compareUnsigned(AlertJdbcRepository.toBytes(a.getId()),
+					AlertJdbcRepository.toBytes(b.getId())))
+			.reversed();
+
 	private final AlertRepository alertRepository;
 	private final AlertMapper alertMapper;
-	private final KafkaTemplate<String, Object> kafkaTemplate;
+	private final OutboxPublisher outboxPublisher;
 	private final NotificationService notificationService;
+	private final AlertBulkStatusEngine alertBulkStatusEngine;
+	private final AlertSummaryCounters alertSummaryCounters;
+	private final AlertDeduplicator alertDeduplicator;
+	private final AlertJdbcRepository alertJdbcRepository;
+	private final AlertCacheEvictor alertCacheEvictor;
+	private final AlertSearchRepository alertSearchRepository;
+	private final AlertLiveFeed alertLiveFeed;
+	private final AlertCorrelator alertCorrelator;
+	private final AlertArchive alertArchive;
+	private final AlertSlaTracker alertSlaTracker;
+	private final AlertTriageQueue alertTriageQueue;
+	private final AlertClusterer alertClusterer;
+	private final AlertEnricher alertEnricher;
+	private final AlertPayloadStore alertPayloadStore;
+	private final AlertRollups alertRollups;
+
+	@Value("${app.alert.update.max-attempts:3}")
+	private int updateMaxAttempts = 3;
 
 	@Override
 	@Transactional
@@ -44,12 +101,31 @@ public class AlertServiceImpl implements AlertService {
 		Alert alert = alertMapper.toEntity(alertDTO);
 		alert.setCreatedAt(LocalDateTime.now());
 		alert.setStatus(AlertStatus.OPEN);
+		alert.setOccurrenceCount(1);
+
+		UUID duplicateOf = alertDeduplicator.registerOrMatch(alert);
+		if (duplicateOf != null) {
+			AlertDTO existing = foldIntoExisting(duplicateOf, alert);
+			if (existing != null) {
+				return existing;
+			}
+		}
 
 		Alert savedAlert = alertRepository.save(alert);
-		AlertDTO result = alertMapper.toDTO(savedAlert);
+		alertPayloadStore.save(savedAlert);
+		alertDeduplicator.bind(savedAlert);
+		alertCorrelator.correlate(savedAlert);
+		alertClusterer.assign(savedAlert);
+		alertSummaryCounters.recordCreated(savedAlert);
+		alertRollups.record(savedAlert);
+		alertSlaTracker.track(savedAlert);
+		alertTriageQueue.track(savedAlert);
+		alertEnricher.submit(savedAlert);
+		alertLiveFeed.publish(savedAlert, AlertFeedEvent.Change.CREATED);
+		AlertDTO result = alertMapper.toDetailDTO(savedAlert);
 
 		// Send Kafka message
-		kafkaTemplate.send("alert-created", result);
+		outboxPublisher.publish("alert-created", key(savedAlert.getId()), result);
 
 		// Send notification for high severity alerts
 		if (alertDTO.getSeverity() == AlertSeverity.CRITICAL) {
@@ -60,6 +136,23 @@ public class AlertServiceImpl implements AlertService {
 		return result;
 	}
 
+	/**
+	 * Counts a repeat against the alert it duplicates instead of inserting a new
+	 * row. Returns {@code null} when that alert has since been deleted.
+	 */
+	private AlertDTO foldIntoExisting(UUID existingId, Alert repeat) {
+		List<UUID> missing = alertJdbcRepository.incrementOccurrences(Map.of(existingId, 1), repeat.getCreatedAt());
+		if (!missing.isEmpty()) {
+			alertDeduplicator.forget(repeat);
+			alertDeduplicator.registerOrMatch(repeat);
+			return null;
+		}
+
+		alertCacheEvictor.evict(List.of(existingId));
+		log.debug("Alert '{}' folded into existing alert {}", repeat.getTitle(), existingId);
+		return alertRepository.findById(existingId).map(alertMapper::toDTO).orElse(null);
+	}
+
 	@Override
 	@Cacheable(value = "alerts", key = "#id")
 	public AlertDTO getAlertById(UUID id) {
@@ -68,7 +161,18 @@ public class AlertServiceImpl implements AlertService {
 		Alert alert = alertRepository.findById(id)
 				.orElseThrow(() -> new AlertNotFoundException("Alert not found with id: " + id));
 
-		return alertMapper.toDTO(alert);
+		return alertMapper.toDetailDTO(alertPayloadStore.load(alert));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public AlertDTO getAlertIncludingArchive(UUID id) {
+		log.debug("Fetching alert with ID: {} including archive", id);
+
+		Alert alert = alertRepository.findById(id).map(alertPayloadStore::load).or(() -> alertArchive.find(id))
+				.orElseThrow(() -> new AlertNotFoundException("Alert not found with id: " + id));
+
+		return alertMapper.toDetailDTO(alert);
 	}
 
 	@Override
@@ -85,21 +189,24 @@ public class AlertServiceImpl implements AlertService {
 	public AlertDTO updateAlert(UUID id, AlertDTO alertDTO) {
 		log.info("Updating alert with ID: {}", id);
 
-		Alert existingAlert = alertRepository.findById(id)
-				.orElseThrow(() -> new AlertNotFoundException("Alert not found with id: " + id));
-
-		// Update fields
-		existingAlert.setTitle(alertDTO.getTitle());
-		existingAlert.setDescription(alertDTO.getDescription());
-		existingAlert.setSeverity(alertDTO.getSeverity());
-		existingAlert.setResolutionNotes(alertDTO.getResolutionNotes());
-		existingAlert.setUpdatedAt(LocalDateTime.now());
-
-		Alert updatedAlert = alertRepository.save(existingAlert);
+		LocalDateTime now = LocalDateTime.now();
+		AlertUpdate update = compareAndSet(id, alert -> {
+			alert.setTitle(alertDTO.getTitle());
+			alert.setDescription(alertDTO.getDescription());
+			alert.setSeverity(alertDTO.getSeverity());
+			alert.setResolutionNotes(alertDTO.getResolutionNotes());
+			alert.setUpdatedAt(now);
+		});
+
+		Alert updatedAlert = update.alert();
+		alertSummaryCounters.recordSeverityChange(update.previousSeverity(), updatedAlert.getSeverity());
+		alertSlaTracker.track(updatedAlert);
+		alertTriageQueue.track(updatedAlert);
+		alertLiveFeed.publish(updatedAlert, AlertFeedEvent.Change.UPDATED);
 		AlertDTO result = alertMapper.toDTO(updatedAlert);
 
 		// Send Kafka message
-		kafkaTemplate.send("alert-updated", result);
+		outboxPublisher.publish("alert-updated", key(updatedAlert.getId()), result);
 
 		return result;
 	}
@@ -110,28 +217,61 @@ public class AlertServiceImpl implements AlertService {
 	public AlertDTO updateAlertStatus(UUID id, AlertStatus status, String assignedTo) {
 		log.info("Updating alert status for ID: {} to {}", id, status);
 
-		Alert alert = alertRepository.findById(id)
-				.orElseThrow(() -> new AlertNotFoundException("Alert not found with id: " + id));
-
-		AlertStatus previousStatus = alert.getStatus();
-		alert.setStatus(status);
-		alert.setAssignedTo(assignedTo);
-		alert.setUpdatedAt(LocalDateTime.now());
+		LocalDateTime now = LocalDateTime.now();
+		AlertUpdate update = compareAndSet(id, alert -> {
+			alert.setStatus(status);
+			alert.setAssignedTo(assignedTo);
+			alert.setUpdatedAt(now);
 
-		if (status == AlertStatus.CLOSED) {
-			alert.setClosedAt(LocalDateTime.now());
-			alert.setClosedBy(assignedTo);
-		}
-
-		Alert updatedAlert = alertRepository.save(alert);
+			if (status == AlertStatus.CLOSED) {
+				alert.setClosedAt(now);
+				alert.setClosedBy(assignedTo);
+			}
+		});
+
+		Alert updatedAlert = update.alert();
+		alertSummaryCounters.recordStatusChange(update.previousStatus(), status, updatedAlert.getCreatedAt(),
+				updatedAlert.getClosedAt());
+		alertSlaTracker.track(updatedAlert);
+		alertTriageQueue.track(updatedAlert);
+		alertLiveFeed.publish(updatedAlert, AlertFeedEvent.Change.STATUS_CHANGED);
 		AlertDTO result = alertMapper.toDTO(updatedAlert);
 
 		// Send Kafka message
-		kafkaTemplate.send("alert-status-updated", result);
+		outboxPublisher.publish("alert-status-updated", key(id), result);
 
 		return result;
 	}
 
+	/**
+	 * Applies {@code change} with one UPDATE guarded by the version and status
+	 * the row was read with, instead of a managed-entity save. The first read is
+	 * a plain one; after a lost race the row is re-read {@code FOR UPDATE}, which
+	 * sees the winner's commit, and the change is re-applied on top of it.
+	 * Gives up with {@link AlertConflictException} after
+	 * {@code app.alert.update.max-attempts} tries.
+	 */
+	private AlertUpdate compareAndSet(UUID id, Consumer<Alert> change) {
+		for (int attempt = 1;; attempt++) {
+			Alert alert = alertJdbcRepository.findById(id, attempt > 1)
+					.orElseThrow(() -> new AlertNotFoundException("Alert not found with id: " + id));
+			AlertStatus previousStatus = alert.getStatus();
+			AlertSeverity previousSeverity = alert.getSeverity();
+			long version = alert.getVersion() != null ? alert.getVersion() : 0L;
+
+			change.accept(alert);
+			if (alertJdbcRepository.compareAndSet(alert, version, previousStatus)) {
+				alert.setVersion(version + 1);
+				return new AlertUpdate(alert, previousStatus, previousSeverity);
+			}
+			if (attempt >= updateMaxAttempts) {
+				throw new AlertConflictException(
+						"Alert " + id + " was modified concurrently " + attempt + " times; please retry");
+			}
+			log.debug("Alert {} changed concurrently, retrying update (attempt {})", id, attempt + 1);
+		}
+	}
+
 	@Override
 	@Transactional
 	@CacheEvict(value = "alerts", key = "#id")
@@ -142,43 +282,97 @@ public class AlertServiceImpl implements AlertService {
 				.orElseThrow(() -> new AlertNotFoundException("Alert not found with id: " + id));
 
 		alertRepository.delete(alert);
+		alertPayloadStore.deleteAll(List.of(id));
+		alertSummaryCounters.recordDeleted(alert);
+		alertSlaTracker.cancel(List.of(id));
+		alertTriageQueue.remove(List.of(id));
+		alertLiveFeed.publish(alert, AlertFeedEvent.Change.DELETED);
 
 		// Send Kafka message
-		kafkaTemplate.send("alert-deleted", id.toString());
+		outboxPublisher.publish("alert-deleted", key(id), id.toString());
 	}
 
 	@Override
-	public Page<AlertDTO> searchAlerts(AlertSeverity severity, AlertStatus status, LocalDateTime from, LocalDateTime to,
-			Pageable pageable) {
-		log.debug("Searching alerts with criteria - severity: {}, status: {}, from: {}, to: {}", severity, status, from,
-				to);
+	@Transactional(readOnly = true)
+	public Page<AlertDTO> searchAlerts(AlertSearchCriteria criteria, Pageable pageable) {
+		log.debug("Searching alerts with criteria: {}", criteria);
 
-		Page<Alert> alerts = alertRepository.findBySeverityAndStatusAndCreatedAtBetween(severity, status, from, to,
-				pageable);
+		Page<Alert> alerts = alertSearchRepository.search(criteria, pageable);
 
 		return alerts.map(alertMapper::toDTO);
 	}
 
+	@Override
+	@Transactional(readOnly = true)
+	public AlertCursorPageDTO scrollAlerts(AlertSearchCriteria criteria, String cursor, int size,
+			boolean includeTotal, boolean includeArchived) {
+		log.debug("Scrolling alerts after cursor {} with size {}", cursor, size);
+
+		AlertCursor after = cursor != null && !cursor.isBlank() ? AlertCursor.decode(cursor) : null;
+		List<Alert> rows = alertSearchRepository.seek(criteria, after, size);
+		if (includeArchived) {
+			// Both tiers return their first size + 1 rows after the cursor in the
+			// same order, so the merged head is exactly the combined page.
+			rows = Stream.concat(rows.stream(), alertArchive.seek(criteria, after, size).stream())
+					.sorted(NEWEST_FIRST).limit(size + 1L).collect(Collectors.toList());
+		}
+
+		boolean hasNext = rows.size() > size;
+		List<Alert> page = hasNext ? rows.subList(0, size) : rows;
+		String nextCursor = null;
+		if (hasNext) {
+			Alert last = page.get(page.size() - 1);
+			nextCursor = new AlertCursor(last.getCreatedAt(), last.getId()).encode();
+		}
+
+		return AlertCursorPageDTO.builder().content(page.stream().map(alertMapper::toDTO).collect(Collectors.toList()))
+				.size(page.size()).hasNext(hasNext).nextCursor(nextCursor)
+				.approximateTotal(includeTotal && !includeArchived ? approximateTotal(criteria) : null).build();
+	}
+
+	/** Alert events are keyed by alert id so each alert's history stays on one partition. */
+	private static String key(UUID id) {
+		return id != null ? id.toString() : null;
+	}
+
+	/**
+	 * Totals come from the summary counters, which only cover a single severity
+	 * or status; other combinations report no total rather than running a count.
+	 */
+	private Long approximateTotal(AlertSearchCriteria criteria) {
+		Set<AlertSeverity> severities = criteria.getSeverities() != null ? criteria.getSeverities() : Set.of();
+		Set<AlertStatus> statuses = criteria.getStatuses() != null ? criteria.getStatuses() : Set.of();
+		AlertSearchCriteria rest = criteria.toBuilder().severities(null).statuses(null).build();
+		if (!rest.equals(new AlertSearchCriteria()) || severities.size() + statuses.size() > 1) {
+			return null;
+		}
+
+		AlertSummaryDTO summary = alertSummaryCounters.snapshot();
+		if (!statuses.isEmpty()) {
+			return switch (statuses.iterator().next()) {
+			case OPEN -> summary.getOpenAlerts();
+			case IN_PROGRESS -> summary.getInProgressAlerts();
+			case CLOSED -> summary.getClosedAlerts();
+			case RESOLVED -> summary.getResolvedAlerts();
+			case FALSE_POSITIVE -> summary.getFalsePositiveAlerts();
+			};
+		}
+		if (!severities.isEmpty()) {
+			return switch (severities.iterator().next()) {
+			case LOW -> summary.getLowSeverityAlerts();
+			case MEDIUM -> summary.getMediumSeverityAlerts();
+			case HIGH -> summary.getHighSeverityAlerts();
+			case CRITICAL -> summary.getCriticalSeverityAlerts();
+			};
+		}
+		return summary.getTotalAlerts();
+	}
+
 	@Override
 	public AlertSummaryDTO getAlertSummary() {
 		log.debug("Generating alert summary");
 
-		return AlertSummaryDTO.builder().totalAlerts(alertRepository.count())
-				.openAlerts(alertRepository.countByStatus(AlertStatus.OPEN))
-				.inProgressAlerts(alertRepository.countByStatus(AlertStatus.IN_PROGRESS))
-				.closedAlerts(alertRepository.countByStatus(AlertStatus.CLOSED))
-				.resolvedAlerts(alertRepository.countByStatus(AlertStatus.RESOLVED))
-				.falsePositiveAlerts(alertRepository.countByStatus(AlertStatus.FALSE_POSITIVE))
-				.lowSeverityAlerts(alertRepository.countBySeverity(AlertSeverity.LOW))
-				.mediumSeverityAlerts(alertRepository.countBySeverity(AlertSeverity.MEDIUM))
-				.highSeverityAlerts(alertRepository.countBySeverity(AlertSeverity.HIGH))
-				.criticalSeverityAlerts(alertRepository.countBySeverity(AlertSeverity.CRITICAL))
-				.averageResolutionTime(alertRepository.calculateAverageResolutionTimeInSeconds())
-				.alertsCreatedToday(alertRepository.countByCreatedAtBetween(
-						LocalDateTime.now().withHour(0).withMinute(0).withSecond(0), LocalDateTime.now()))
-				.alertsClosedToday(alertRepository.countByCreatedAtBetween(
-						LocalDateTime.now().withHour(0).withMinute(0).withSecond(0), LocalDateTime.now()))
-				.build();
+		return alertSummaryCounters.snapshot();
 	}
 
 	@Override
@@ -200,17 +394,68 @@ public class AlertServiceImpl implements AlertService {
 	}
 
 	@Override
-	@Transactional
-	public void bulkUpdateStatus(List<UUID> alertIds, AlertStatus status, String updatedBy) {
-		log.info("Bulk updating {} alerts to status: {}", alertIds.size(), status);
+	@Transactional(readOnly = true)
+	public List<AlertDTO> getTriageQueue(int limit) {
+		List<UUID> ids = alertTriageQueue.top(limit);
+		Map<UUID, Alert> alerts = alertRepository.findAllById(ids).stream()
+				.collect(Collectors.toMap(Alert::getId, alert -> alert));
+		return ids.stream().map(alerts::get).filter(Objects::nonNull).map(alertMapper::toDTO)
+				.collect(Collectors.toList());
+	}
 
-		for (UUID alertId : alertIds) {
-			try {
-				updateAlertStatus(alertId, status, updatedBy);
-			} catch (AlertNotFoundException e) {
-				log.warn("Alert not found during bulk update: {}", alertId);
+	@Override
+	@Transactional
+	public AlertDTO claimNextAlert(String assignee) {
+		LocalDateTime now = LocalDateTime.now();
+		for (UUID id : alertTriageQueue.claimCandidates()) {
+			if (!alertJdbcRepository.claim(id, assignee, now)) {
+				alertTriageQueue.discard(id);
+				continue;
 			}
+
+			alertCacheEvictor.evict(List.of(id));
+			Alert claimed = alertRepository.findById(id)
+					.orElseThrow(() -> new AlertNotFoundException("Alert not found with id: " + id));
+			alertSummaryCounters.recordStatusChange(AlertStatus.OPEN, AlertStatus.IN_PROGRESS,
+					claimed.getCreatedAt(), null);
+			alertSlaTracker.track(claimed);
+			alertTriageQueue.track(claimed);
+			alertLiveFeed.publish(claimed, AlertFeedEvent.Change.STATUS_CHANGED);
+			AlertDTO result = alertMapper.toDTO(claimed);
+
+			// Send Kafka message
+			outboxPublisher.publish("alert-status-updated", key(id), result);
+
+			log.info("Alert {} claimed by {}", id, assignee);
+			return result;
 		}
+
+		log.debug("No alert available to claim for {}", assignee);
+		return null;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<AlertClusterDTO> getClusters(int limit, long minSize) {
+		List<AlertClusterDTO> clusters = alertClusterer.largest(limit, minSize);
+		Map<UUID, AlertDTO> representatives = alertRepository
+				.findAllById(clusters.stream().map(AlertClusterDTO::getClusterId).collect(Collectors.toList()))
+				.stream().collect(Collectors.toMap(Alert::getId, alertMapper::toDTO));
+		clusters.forEach(cluster -> cluster.setRepresentative(representatives.get(cluster.getClusterId())));
+		return clusters;
+	}
+
+	@Override
+	public AlertHistogramDTO getHistogram(RollupGranularity granularity, RollupDimension dimension, String value,
+			LocalDateTime from, LocalDateTime to, int limit) {
+		return alertRollups.histogram(granularity, dimension, value, from, to, limit);
+	}
+
+	@Override
+	public BulkOperationResponse bulkUpdateStatus(List<UUID> alertIds, AlertStatus status, String updatedBy) {
+		log.info("Bulk updating {} alerts to status: {}", alertIds.size(), status);
+
+		return alertBulkStatusEngine.updateStatus(alertIds, status, updatedBy);
 	}
 
 	@Override
@@ -218,4 +463,7 @@ public class AlertServiceImpl implements AlertService {
 		log.debug("Fetching distinct source systems");
 		return alertRepository.findDistinctSourceSystems();
 	}
+
+	private record AlertUpdate(Alert alert, AlertStatus previousStatus, AlertSeverity previousSeverity) {
+	}
 }
\ No newline at end of file
@@ -0,0 +1,271 @@
+package com.ops.hunting.alerts.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ops.hunting.alerts.dto.AlertSummaryDTO;
+import com.ops.hunting.alerts.entity.Alert;
+import com.ops.hunting.alerts.enums.AlertSeverity;
+import com.ops.hunting.alerts.enums.AlertStatus;
+import com.ops.hunting.alerts.repository.AlertRepository;
+import com.ops.hunting.alerts.util.TransactionHooks;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the numbers behind {@code /api/alerts/summary} up to date as alerts
+ * change, so the endpoint reads a handful of counters instead of running a
+ * dozen aggregate queries. Counters are reconciled against the table
+ * periodically with a single {@code GROUP BY}.
+ * <p>
+ * With {@code app.alert.summary.redis-enabled} the counters live in a Redis
+ * hash shared by every instance; otherwise each instance counts its own
+ * writes and relies on reconciliation for the rest.
+ */
+@Component
+@Slf4j
+public class AlertSummaryCounters {
+
+	static final String TOTAL = "total";
+	static final String STATUS_PREFIX = "status:";
+	static final String SEVERITY_PREFIX = "severity:";
+	static final String CREATED_PREFIX = "created:";
+	static final String CLOSED_PREFIX = "closed:";
+	static final String RESOLVED_COUNT = "resolution:count";
+	static final String RESOLVED_SECONDS = "resolution:seconds";
+
+	private static final String REDIS_KEY = "alerts:summary";
+
+	private final AlertRepository alertRepository;
+	private final ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+	private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+	@Value("${app.alert.summary.redis-enabled:false}")
+	private boolean redisEnabled;
+
+	public AlertSummaryCounters(AlertRepository alertRepository,
+			ObjectProvider<StringRedisTemplate> redisTemplateProvider) {
+		this.alertRepository = alertRepository;
+		this.redisTemplateProvider = redisTemplateProvider;
+	}
+
+	public void recordCreated(Alert alert) {
+		Map<String, Long> deltas = new HashMap<>();
+		deltas.put(TOTAL, 1L);
+		deltas.put(STATUS_PREFIX + alert.getStatus(), 1L);
+		deltas.put(SEVERITY_PREFIX + alert.getSeverity(), 1L);
+		deltas.put(CREATED_PREFIX + alert.getCreatedAt().toLocalDate(), 1L);
+		apply(deltas);
+	}
+
+	public void recordDeleted(Alert alert) {
+		Map<String, Long> deltas = new HashMap<>();
+		deltas.put(TOTAL, -1L);
+		deltas.put(STATUS_PREFIX + alert.getStatus(), -1L);
+		deltas.put(SEVERITY_PREFIX + alert.getSeverity(), -1L);
+		if (alert.getCreatedAt() != null) {
+			deltas.put(CREATED_PREFIX + alert.getCreatedAt().toLocalDate(), -1L);
+		}
+		apply(deltas);
+	}
+
+	public void recordSeverityChange(AlertSeverity previous, AlertSeverity current) {
+		if (previous == current || previous == null || current == null) {
+			return;
+		}
+		Map<String, Long> deltas = new HashMap<>();
+		deltas.put(SEVERITY_PREFIX + previous, -1L);
+		deltas.put(SEVERITY_PREFIX + current, 1L);
+		apply(deltas);
+	}
+
+	public void recordStatusChange(AlertStatus previous, AlertStatus current, LocalDateTime createdAt,
+			LocalDateTime closedAt) {
+		Map<String, Long> deltas = new HashMap<>();
+		addStatusChange(deltas, previous, current, createdAt, closedAt);
+		apply(deltas);
+	}
+
+	public void recordStatusChanges(Map<AlertStatus, Long> previousCounts, AlertStatus current,
+			LocalDateTime closedAt, long resolutionSeconds) {
+		Map<String, Long> deltas = new HashMap<>();
+		long changed = 0;
+		for (Map.Entry<AlertStatus, Long> entry : previousCounts.entrySet()) {
+			if (entry.getKey() != current) {
+				deltas.merge(STATUS_PREFIX + entry.getKey(), -entry.getValue(), Long::sum);
+				changed += entry.getValue();
+			}
+		}
+		if (changed == 0) {
+			return;
+		}
+		deltas.merge(STATUS_PREFIX + current, changed, Long::sum);
+		if (current == AlertStatus.CLOSED) {
+			deltas.put(CLOSED_PREFIX + closedAt.toLocalDate(), changed);
+			deltas.put(RESOLVED_COUNT, changed);
+			deltas.put(RESOLVED_SECONDS, resolutionSeconds);
+		}
+		apply(deltas);
+	}
+
+	public AlertSummaryDTO snapshot() {
+		Map<String, Long> values = read();
+		LocalDate today = LocalDate.now();
+		long resolvedCount = values.getOrDefault(RESOLVED_COUNT, 0L);
+
+		return AlertSummaryDTO.builder().totalAlerts(values.getOrDefault(TOTAL, 0L))
+				.openAlerts(statusCount(values, AlertStatus.OPEN))
+				.inProgressAlerts(statusCount(values, AlertStatus.IN_PROGRESS))
+				.closedAlerts(statusCount(values, AlertStatus.CLOSED))
+				.resolvedAlerts(statusCount(values, AlertStatus.RESOLVED))
+				.falsePositiveAlerts(statusCount(values, AlertStatus.FALSE_POSITIVE))
+				.lowSeverityAlerts(severityCount(values, AlertSeverity.LOW))
+				.mediumSeverityAlerts(severityCount(values, AlertSeverity.MEDIUM))
+				.highSeverityAlerts(severityCount(values, AlertSeverity.HIGH))
+				.criticalSeverityAlerts(severityCount(values, AlertSeverity.CRITICAL))
+				.averageResolutionTime(resolvedCount > 0
+						? values.getOrDefault(RESOLVED_SECONDS, 0L) / (double) resolvedCount
+						: null)
+				.alertsCreatedToday(values.getOrDefault(CREATED_PREFIX + today, 0L))
+				.alertsClosedToday(values.getOrDefault(CLOSED_PREFIX + today, 0L)).build();
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void reconcileOnStartup() {
+		reconcile();
+	}
+
+	/**
+	 * Rebuilds every counter from one aggregate query. Deltas applied while the
+	 * query runs may be counted twice or not at all; the next pass corrects them.
+	 */
+	@Scheduled(fixedDelayString = "${app.alert.summary.reconcile-interval-ms:300000}",
+			initialDelayString = "${app.alert.summary.reconcile-interval-ms:300000}")
+	public void reconcile() {
+		LocalDate today = LocalDate.now();
+		Map<String, Long> values = new HashMap<>();
+
+		for (Object[] row : alertRepository.aggregateSummary(today.atStartOfDay())) {
+			AlertStatus status = AlertStatus.valueOf((String) row[0]);
+			AlertSeverity severity = AlertSeverity.valueOf((String) row[1]);
+			long count = toLong(row[2]);
+
+			values.merge(TOTAL, count, Long::sum);
+			values.merge(STATUS_PREFIX + status, count, Long::sum);
+			values.merge(SEVERITY_PREFIX + severity, count, Long::sum);
+			values.merge(CREATED_PREFIX + today, toLong(row[3]), Long::sum);
+			values.merge(CLOSED_PREFIX + today, toLong(row[4]), Long::sum);
+			if (status == AlertStatus.CLOSED) {
+				values.merge(RESOLVED_COUNT, toLong(row[5]), Long::sum);
+				values.merge(RESOLVED_SECONDS, toLong(row[6]), Long::sum);
+			}
+		}
+
+		replace(values);
+		log.debug("Reconciled alert summary counters: {} alerts", values.getOrDefault(TOTAL, 0L));
+	}
+
+	private void addStatusChange(Map<String, Long> deltas, AlertStatus previous, AlertStatus current,
+			LocalDateTime createdAt, LocalDateTime closedAt) {
+		if (previous == current) {
+			return;
+		}
+		deltas.merge(STATUS_PREFIX + previous, -1L, Long::sum);
+		deltas.merge(STATUS_PREFIX + current, 1L, Long::sum);
+		if (current == AlertStatus.CLOSED && closedAt != null) {
+			deltas.merge(CLOSED_PREFIX + closedAt.toLocalDate(), 1L, Long::sum);
+			if (createdAt != null) {
+				deltas.merge(RESOLVED_COUNT, 1L, Long::sum);
+				deltas.merge(RESOLVED_SECONDS, Duration.between(createdAt, closedAt).getSeconds(), Long::sum);
+			}
+		}
+	}
+
+	/**
+	 * Deltas are applied once the surrounding transaction commits so that a
+	 * rollback never leaves the counters ahead of the table.
+	 */
+	private void apply(Map<String, Long> deltas) {
+		TransactionHooks.afterCommit(() -> applyNow(deltas));
+	}
+
+	private void applyNow(Map<String, Long> deltas) {
+		StringRedisTemplate redisTemplate = redisTemplate();
+		if (redisTemplate != null) {
+			redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+				deltas.forEach((field, delta) -> connection.hashCommands().hIncrBy(REDIS_KEY.getBytes(),
+						field.getBytes(), delta));
+				return null;
+			});
+			return;
+		}
+		deltas.forEach((field, delta) -> counters.computeIfAbsent(field, k -> new LongAdder()).add(delta));
+	}
+
+	private Map<String, Long> read() {
+		StringRedisTemplate redisTemplate = redisTemplate();
+		Map<String, Long> values = new HashMap<>();
+		if (redisTemplate != null) {
+			redisTemplate.<String, String>opsForHash().entries(REDIS_KEY)
+					.forEach((field, value) -> values.put(field, Long.parseLong(value)));
+		} else {
+			counters.forEach((field, adder) -> values.put(field, adder.sum()));
+		}
+		return values;
+	}
+
+	private void replace(Map<String, Long> values) {
+		StringRedisTemplate redisTemplate = redisTemplate();
+		if (redisTemplate != null) {
+			Map<String, String> fields = new HashMap<>();
+			values.forEach((field, value) -> fields.put(field, String.valueOf(value)));
+			if (fields.isEmpty()) {
+				redisTemplate.delete(REDIS_KEY);
+				return;
+			}
+			// Build the new hash aside and swap it in with one RENAME, so readers
+			// never see the key missing or half written
+			String staging = REDIS_KEY + ":staging:" + UUID.randomUUID();
+			redisTemplate.opsForHash().putAll(staging, fields);
+			redisTemplate.rename(staging, REDIS_KEY);
+			return;
+		}
+		counters.keySet().retainAll(values.keySet());
+		values.forEach((field, value) -> {
+			LongAdder adder = counters.computeIfAbsent(field, k -> new LongAdder());
+			adder.reset();
+			adder.add(value);
+		});
+	}
+
+	private StringRedisTemplate redisTemplate() {
+		return redisEnabled ? redisTemplateProvider.getIfAvailable() : null;
+	}
+
+	private static long statusCount(Map<String, Long> values, AlertStatus status) {
+		return values.getOrDefault(STATUS_PREFIX + status, 0L);
+	}
+
+	private static long severityCount(Map<String, Long> values, AlertSeverity severity) {
+		return values.getOrDefault(SEVERITY_PREFIX + severity, 0L);
+	}
+
+	private static long toLong(Object value) {
+		return value != null ? ((Number) value).longValue() : 0L;
+	}
+}
@@ -8,4 +8,6 @@ public interface NotificationService {
 	void sendAssignmentNotification(AlertDTO alert, String assignee);
 
 	void sendStatusUpdateNotification(AlertDTO alert, String previousStatus);
+
+	void sendEscalationNotification(AlertDTO alert, int level);
 }
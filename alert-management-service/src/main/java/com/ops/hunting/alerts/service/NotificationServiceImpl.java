@@ -1,9 +1,10 @@
 package com.ops.hunting.alerts.service;
 
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
 import com.ops.hunting.alerts.dto.AlertDTO;
+import com.ops.hunting.alerts.enums.NotificationChannel;
+import com.ops.hunting.alerts.notification.NotificationCoalescer;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,20 +14,19 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class NotificationServiceImpl implements NotificationService {
 
-	private final KafkaTemplate<String, Object> kafkaTemplate;
+	private final NotificationCoalescer notificationCoalescer;
 
 	@Override
 	public void sendCriticalAlertNotification(AlertDTO alert) {
 		log.info("Sending critical alert notification for alert: {}", alert.getId());
 
-		// Send to notification service via Kafka
-		kafkaTemplate.send("critical-alert-notification", alert);
-
-		// In a real implementation, this might also:
+		// Coalesced per recipient and sent to the notification service via Kafka.
+		// Downstream this might also:
 		// - Send email notifications
 		// - Send SMS alerts
 		// - Send Slack notifications
 		// - Update monitoring dashboards
+		notificationCoalescer.submit(NotificationChannel.CRITICAL_ALERT, alert.getAssignedTo(), alert);
 	}
 
 	@Override
@@ -34,7 +34,7 @@ public class NotificationServiceImpl implements NotificationService {
 		log.info("Sending assignment notification for alert: {} to {}", alert.getId(), assignee);
 
 		// Send notification about assignment
-		kafkaTemplate.send("alert-assignment-notification", alert);
+		notificationCoalescer.submit(NotificationChannel.ASSIGNMENT, assignee, alert);
 	}
 
 	@Override
@@ -43,6 +43,15 @@ public class NotificationServiceImpl implements NotificationService {
 				alert.getStatus());
 
 		// Send notification about status change
-		kafkaTemplate.send("alert-status-notification", alert);
+		notificationCoalescer.submit(NotificationChannel.STATUS_UPDATE, alert.getAssignedTo(), alert);
+	}
+
+	@Override
+	public void sendEscalationNotification(AlertDTO alert, int level) {
+		log.warn("Escalating alert {} ({}) to level {}: still unacknowledged", alert.getId(), alert.getSeverity(),
+				level);
+
+		// Send escalation so on-call routing can page the next tier
+		notificationCoalescer.submit(NotificationChannel.ESCALATION, alert.getAssignedTo(), alert);
 	}
-}
\ No newline at end of file
+}
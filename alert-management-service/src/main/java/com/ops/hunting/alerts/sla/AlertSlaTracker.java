@@ -0,0 +1,263 @@
+package com.ops.hunting.alerts.sla;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ops.hunting.alerts.config.SlaProperties;
+import com.ops.hunting.alerts.entity.Alert;
+import com.ops.hunting.alerts.enums.AlertStatus;
+import com.ops.hunting.alerts.mapper.AlertMapper;
+import com.ops.hunting.alerts.repository.AlertJdbcRepository;
+import com.ops.hunting.alerts.repository.AlertRepository;
+import com.ops.hunting.alerts.service.NotificationService;
+import com.ops.hunting.alerts.util.TransactionHooks;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Escalates OPEN alerts that miss their severity's SLA. Every OPEN alert with
+ * a configured deadline holds one timer in a {@link TimingWheel}; leaving OPEN
+ * cancels it, and a firing timer claims the escalation with a conditional
+ * update before notifying, so an alert acknowledged in the meantime or already
+ * escalated by another replica is skipped. Timers are rebuilt from the table
+ * at startup.
+ * <p>
+ * This replaces periodic scans for stale OPEN alerts with one timer per alert
+ * that costs nothing until it is due. The wheel advances every {@code tick}
+ * on a thread of its own, so a slow scheduled job elsewhere in the service
+ * cannot delay an escalation.
+ */
+@Component
+@Slf4j
+public class AlertSlaTracker {
+
+	private static final ZoneId ZONE = ZoneId.systemDefault();
+
+	private final SlaProperties properties;
+	private final AlertJdbcRepository alertJdbcRepository;
+	private final AlertRepository alertRepository;
+	private final AlertMapper alertMapper;
+	private final NotificationService notificationService;
+	private final TransactionTemplate transactionTemplate;
+	private final TimingWheel<Escalation> wheel;
+	private final Map<UUID, TimingWheel.Timeout<Escalation>> timers = new ConcurrentHashMap<>();
+	private final Counter escalations;
+	private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "alert-sla-tick");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	public AlertSlaTracker(SlaProperties properties, AlertJdbcRepository alertJdbcRepository,
+			AlertRepository alertRepository, AlertMapper alertMapper, NotificationService notificationService,
+			PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.alertJdbcRepository = alertJdbcRepository;
+		this.alertRepository = alertRepository;
+		this.alertMapper = alertMapper;
+		this.notificationService = notificationService;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.wheel = new TimingWheel<>(properties.getTick().toMillis(), properties.getWheelSize(),
+				properties.getWheelLevels(), System.currentTimeMillis());
+		this.escalations = Counter.builder("alerts.sla.escalations").description("SLA escalations sent")
+				.register(meterRegistry);
+		Gauge.builder("alerts.sla.timers", timers, Map::size).description("Pending SLA timers")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Arms or re-arms the SLA timer of each OPEN alert and cancels it for any
+	 * other status, once the current transaction commits.
+	 */
+	public void track(Collection<Alert> alerts) {
+		if (!properties.isEnabled() || alerts.isEmpty()) {
+			return;
+		}
+		List<SlaTarget> targets = new ArrayList<>(alerts.size());
+		List<UUID> closed = new ArrayList<>();
+		for (Alert alert : alerts) {
+			if (alert.getStatus() == AlertStatus.OPEN) {
+				targets.add(new SlaTarget(alert.getId(), alert.getSeverity(), alert.getCreatedAt(),
+						alert.getEscalationLevel() != null ? alert.getEscalationLevel() : 0));
+			} else {
+				closed.add(alert.getId());
+			}
+		}
+		TransactionHooks.afterCommit(() -> {
+			targets.forEach(this::arm);
+			closed.forEach(this::disarm);
+		});
+	}
+
+	public void track(Alert alert) {
+		track(List.of(alert));
+	}
+
+	/** Applies a status change made by id only, as bulk updates do. */
+	public void statusChanged(Collection<UUID> alertIds, AlertStatus status) {
+		if (!properties.isEnabled() || alertIds.isEmpty()) {
+			return;
+		}
+		if (status == AlertStatus.OPEN) {
+			List<UUID> ids = List.copyOf(alertIds);
+			TransactionHooks.afterCommit(() -> track(alertRepository.findAllById(ids)));
+		} else {
+			cancel(alertIds);
+		}
+	}
+
+	public void cancel(Collection<UUID> alertIds) {
+		if (!properties.isEnabled() || alertIds.isEmpty()) {
+			return;
+		}
+		List<UUID> ids = List.copyOf(alertIds);
+		TransactionHooks.afterCommit(() -> ids.forEach(this::disarm));
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		if (!properties.isEnabled()) {
+			return;
+		}
+		int armed = 0;
+		UUID after = null;
+		while (true) {
+			List<SlaTarget> page = alertJdbcRepository.findOpenSlaTargets(properties.getDeadlines().keySet(), after,
+					properties.getRebuildPageSize());
+			page.forEach(this::arm);
+			armed += page.size();
+			if (page.size() < properties.getRebuildPageSize()) {
+				break;
+			}
+			after = page.get(page.size() - 1).id();
+		}
+		log.info("Armed SLA timers for {} open alerts", armed);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void startTicking() {
+		if (!properties.isEnabled()) {
+			return;
+		}
+		long tickMillis = properties.getTick().toMillis();
+		ticker.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		ticker.shutdownNow();
+	}
+
+	// A task that throws is never run again, so nothing may escape a tick
+	private void tick() {
+		try {
+			tick(System.currentTimeMillis());
+		} catch (RuntimeException e) {
+			log.error("SLA tick failed: {}", e.getMessage(), e);
+		}
+	}
+
+	void tick(long nowMillis) {
+		List<Escalation> due = wheel.advance(nowMillis);
+		if (due.isEmpty()) {
+			return;
+		}
+
+		Map<Integer, List<UUID>> byLevel = new TreeMap<>();
+		for (Escalation escalation : due) {
+			timers.computeIfPresent(escalation.alertId(),
+					(id, timeout) -> timeout.payload() == escalation ? null : timeout);
+			byLevel.computeIfAbsent(escalation.level(), level -> new ArrayList<>()).add(escalation.alertId());
+		}
+
+		long retryAt = nowMillis + properties.getRepeatInterval().toMillis();
+		for (Map.Entry<Integer, List<UUID>> entry : byLevel.entrySet()) {
+			int level = entry.getKey();
+			List<Alert> escalated;
+			try {
+				escalated = transactionTemplate.execute(tx -> escalate(entry.getValue(), level));
+			} catch (RuntimeException e) {
+				log.warn("Escalating {} alerts to level {} failed, retrying later: {}", entry.getValue().size(),
+						level, e.getMessage());
+				entry.getValue().forEach(id -> schedule(id, level, retryAt));
+				continue;
+			}
+			if (escalated == null) {
+				continue;
+			}
+			escalations.increment(escalated.size());
+			for (Alert alert : escalated) {
+				if (level < properties.getMaxEscalations()) {
+					schedule(alert.getId(), level + 1, retryAt);
+				}
+			}
+		}
+	}
+
+	int timerCount() {
+		return timers.size();
+	}
+
+	private List<Alert> escalate(List<UUID> alertIds, int level) {
+		List<UUID> claimed = alertJdbcRepository.claimEscalations(alertIds, level);
+		if (claimed.isEmpty()) {
+			return List.of();
+		}
+		List<Alert> alerts = alertRepository.findAllById(claimed);
+		for (Alert alert : alerts) {
+			notificationService.sendEscalationNotification(alertMapper.toDTO(alert), level);
+		}
+		return alerts;
+	}
+
+	private void arm(SlaTarget target) {
+		Duration deadline = properties.getDeadlines().get(target.severity());
+		if (deadline == null || target.escalationLevel() >= properties.getMaxEscalations()) {
+			disarm(target.id());
+			return;
+		}
+		LocalDateTime due = target.createdAt().plus(deadline)
+				.plus(properties.getRepeatInterval().multipliedBy(target.escalationLevel()));
+		schedule(target.id(), target.escalationLevel() + 1, due.atZone(ZONE).toInstant().toEpochMilli());
+	}
+
+	private void schedule(UUID alertId, int level, long deadlineMillis) {
+		timers.compute(alertId, (id, previous) -> {
+			if (previous != null) {
+				previous.cancel();
+			}
+			return wheel.schedule(new Escalation(id, level), deadlineMillis);
+		});
+	}
+
+	private void disarm(UUID alertId) {
+		TimingWheel.Timeout<Escalation> timeout = timers.remove(alertId);
+		if (timeout != null) {
+			timeout.cancel();
+		}
+	}
+
+	private record Escalation(UUID alertId, int level) {
+	}
+}
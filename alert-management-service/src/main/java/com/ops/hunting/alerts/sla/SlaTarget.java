@@ -0,0 +1,12 @@
+package com.ops.hunting.alerts.sla;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.ops.hunting.alerts.enums.AlertSeverity;
+
+/**
+ * The columns the SLA tracker needs to arm a timer for an OPEN alert.
+ */
+public record SlaTarget(UUID id, AlertSeverity severity, LocalDateTime createdAt, int escalationLevel) {
+}
@@ -0,0 +1,167 @@
+package com.ops.hunting.alerts.sla;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel. Level {@code i} has {@code 2^bits} slots, each
+ * {@code tick * 2^(bits * i)} wide; a timer sits in the lowest level whose
+ * span covers its remaining delay and is cascaded one level down whenever the
+ * wheel below wraps onto its slot. Scheduling and cancelling are O(1), and
+ * advancing touches only the slots whose time has come, regardless of how many
+ * timers are pending.
+ * <p>
+ * All operations synchronize on the wheel; callers keep them short.
+ */
+final class TimingWheel<T> {
+
+	private final long tickMillis;
+	private final int bits;
+	private final int mask;
+	private final Slot<T>[][] levels;
+	private long currentTick;
+	private int size;
+
+	@SuppressWarnings("unchecked")
+	TimingWheel(long tickMillis, int wheelSize, int levelCount, long startMillis) {
+		if (tickMillis <= 0 || Integer.bitCount(wheelSize) != 1 || levelCount < 1
+				|| Integer.numberOfTrailingZeros(wheelSize) * levelCount > 62) {
+			throw new IllegalArgumentException("Invalid timing wheel geometry");
+		}
+		this.tickMillis = tickMillis;
+		this.bits = Integer.numberOfTrailingZeros(wheelSize);
+		this.mask = wheelSize - 1;
+		this.levels = new Slot[levelCount][wheelSize];
+		for (Slot<T>[] level : levels) {
+			for (int i = 0; i < wheelSize; i++) {
+				level[i] = new Slot<>();
+			}
+		}
+		this.currentTick = startMillis / tickMillis;
+	}
+
+	/**
+	 * Schedules {@code payload} to expire at {@code deadlineMillis}. A deadline
+	 * at or before the current tick expires on the next {@link #advance}.
+	 */
+	synchronized Timeout<T> schedule(T payload, long deadlineMillis) {
+		long deadlineTick = Math.max(ceilDiv(deadlineMillis, tickMillis), currentTick + 1);
+		Timeout<T> timeout = new Timeout<>(this, payload, deadlineTick);
+		place(timeout);
+		size++;
+		return timeout;
+	}
+
+	/** Moves the wheel up to {@code nowMillis} and returns what expired. */
+	synchronized List<T> advance(long nowMillis) {
+		long targetTick = nowMillis / tickMillis;
+		List<T> expired = new ArrayList<>();
+		while (currentTick < targetTick) {
+			currentTick++;
+			for (int level = levels.length - 1; level > 0; level--) {
+				int shift = bits * level;
+				if ((currentTick & ((1L << shift) - 1)) == 0) {
+					cascade(levels[level][(int) ((currentTick >>> shift) & mask)]);
+				}
+			}
+			Slot<T> slot = levels[0][(int) (currentTick & mask)];
+			for (Timeout<T> timeout = slot.head; timeout != null; timeout = slot.head) {
+				slot.unlink(timeout);
+				size--;
+				expired.add(timeout.payload);
+			}
+		}
+		return expired;
+	}
+
+	synchronized int size() {
+		return size;
+	}
+
+	private void place(Timeout<T> timeout) {
+		long delay = timeout.deadlineTick - currentTick;
+		int level = 0;
+		while (level < levels.length - 1 && delay >= 1L << (bits * (level + 1))) {
+			level++;
+		}
+		int shift = bits * level;
+		long tick = delay < 1L << (bits * (level + 1)) ? timeout.deadlineTick : currentTick;
+		levels[level][(int) ((tick >>> shift) & mask)].link(timeout);
+	}
+
+	private void cascade(Slot<T> slot) {
+		// Detach first: overflowing timers go back into the same slot
+		List<Timeout<T>> pending = new ArrayList<>();
+		for (Timeout<T> timeout = slot.head; timeout != null; timeout = slot.head) {
+			slot.unlink(timeout);
+			pending.add(timeout);
+		}
+		pending.forEach(this::place);
+	}
+
+	private synchronized void cancel(Timeout<T> timeout) {
+		if (timeout.slot != null) {
+			timeout.slot.unlink(timeout);
+			size--;
+		}
+	}
+
+	private static long ceilDiv(long value, long divisor) {
+		return -Math.floorDiv(-value, divisor);
+	}
+
+	/** Handle to a scheduled timer. */
+	static final class Timeout<T> {
+
+		private final TimingWheel<T> wheel;
+		private final T payload;
+		private final long deadlineTick;
+		private Slot<T> slot;
+		private Timeout<T> prev;
+		private Timeout<T> next;
+
+		private Timeout(TimingWheel<T> wheel, T payload, long deadlineTick) {
+			this.wheel = wheel;
+			this.payload = payload;
+			this.deadlineTick = deadlineTick;
+		}
+
+		T payload() {
+			return payload;
+		}
+
+		/** Removes the timer if it has not fired yet. */
+		void cancel() {
+			wheel.cancel(this);
+		}
+	}
+
+	private static final class Slot<T> {
+
+		private Timeout<T> head;
+
+		void link(Timeout<T> timeout) {
+			timeout.slot = this;
+			timeout.prev = null;
+			timeout.next = head;
+			if (head != null) {
+				head.prev = timeout;
+			}
+			head = timeout;
+		}
+
+		void unlink(Timeout<T> timeout) {
+			if (timeout.prev != null) {
+				timeout.prev.next = timeout.next;
+			} else {
+				head = timeout.next;
+			}
+			if (timeout.next != null) {
+				timeout.next.prev = timeout.prev;
+			}
+			timeout.slot = null;
+			timeout.prev = null;
+			timeout.next = null;
+		}
+	}
+}
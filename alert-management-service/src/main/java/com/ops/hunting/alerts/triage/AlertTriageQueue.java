@@ -0,0 +1,167 @@
+package com.ops.hunting.alerts.triage;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.ops.hunting.alerts.config.TriageProperties;
+import com.ops.hunting.alerts.entity.Alert;
+import com.ops.hunting.alerts.enums.AlertStatus;
+import com.ops.hunting.alerts.repository.AlertJdbcRepository;
+import com.ops.hunting.alerts.repository.AlertRepository;
+import com.ops.hunting.alerts.util.TransactionHooks;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Ranks unassigned OPEN alerts by risk score so analysts can take the next
+ * best alert instead of sorting the whole open set. Every alert change
+ * re-scores just that alert in a {@link TriageHeap}; alerts that get assigned
+ * or leave OPEN drop out, and near-duplicates that joined a cluster are only
+ * represented by its representative. The heap is rebuilt from the table at
+ * startup.
+ * <p>
+ * The queue only proposes candidates. Claims are settled by a conditional
+ * update on {@code assigned_to}, so a stale entry or a claim racing another
+ * analyst or replica simply loses and moves on to the next candidate.
+ */
+@Component
+@Slf4j
+public class AlertTriageQueue {
+
+	private static final ZoneId ZONE = ZoneId.systemDefault();
+
+	private final TriageProperties properties;
+	private final AlertJdbcRepository alertJdbcRepository;
+	private final AlertRepository alertRepository;
+	private final TriageHeap heap = new TriageHeap();
+
+	public AlertTriageQueue(TriageProperties properties, AlertJdbcRepository alertJdbcRepository,
+			AlertRepository alertRepository, MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.alertJdbcRepository = alertJdbcRepository;
+		this.alertRepository = alertRepository;
+		Gauge.builder("alerts.triage.queued", this, AlertTriageQueue::size).description("Alerts awaiting triage")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Re-scores the given alerts once the current transaction commits, adding
+	 * unassigned OPEN alerts and removing everything else.
+	 */
+	public void track(Collection<Alert> alerts) {
+		if (!properties.isEnabled() || alerts.isEmpty()) {
+			return;
+		}
+		List<TriageCandidate> candidates = new ArrayList<>(alerts.size());
+		List<UUID> gone = new ArrayList<>();
+		for (Alert alert : alerts) {
+			if (queued(alert.getStatus(), alert.getAssignedTo(), alert.getClusterId())) {
+				candidates.add(new TriageCandidate(alert.getId(), alert.getSeverity(), alert.getConfidenceScore(),
+						alert.getThreatCategory(), alert.getCreatedAt()));
+			} else {
+				gone.add(alert.getId());
+			}
+		}
+		TransactionHooks.afterCommit(() -> apply(candidates, gone));
+	}
+
+	public void track(Alert alert) {
+		track(List.of(alert));
+	}
+
+	/** Applies a status change made by id only, as bulk updates do. */
+	public void statusChanged(Collection<UUID> alertIds, AlertStatus status) {
+		if (!properties.isEnabled() || alertIds.isEmpty()) {
+			return;
+		}
+		if (status == AlertStatus.OPEN) {
+			List<UUID> ids = List.copyOf(alertIds);
+			TransactionHooks.afterCommit(() -> track(alertRepository.findAllById(ids)));
+		} else {
+			remove(alertIds);
+		}
+	}
+
+	public void remove(Collection<UUID> alertIds) {
+		if (!properties.isEnabled() || alertIds.isEmpty()) {
+			return;
+		}
+		List<UUID> ids = List.copyOf(alertIds);
+		TransactionHooks.afterCommit(() -> apply(List.of(), ids));
+	}
+
+	/** Drops an entry right away, e.g. after its claim found it already taken. */
+	public synchronized void discard(UUID alertId) {
+		heap.remove(alertId);
+	}
+
+	/** The highest-risk alert ids, best first. */
+	public synchronized List<UUID> top(int limit) {
+		return heap.top(limit);
+	}
+
+	/** The head entries a claim should try, best first. */
+	public synchronized List<UUID> claimCandidates() {
+		return heap.top(properties.getClaimAttempts());
+	}
+
+	public synchronized int size() {
+		return heap.size();
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		if (!properties.isEnabled()) {
+			return;
+		}
+		synchronized (this) {
+			heap.clear();
+		}
+		int queued = 0;
+		UUID after = null;
+		while (true) {
+			List<TriageCandidate> page = alertJdbcRepository.findTriageCandidates(after,
+					properties.getRebuildPageSize());
+			apply(page, List.of());
+			queued += page.size();
+			if (page.size() < properties.getRebuildPageSize()) {
+				break;
+			}
+			after = page.get(page.size() - 1).id();
+		}
+		log.info("Triage queue rebuilt with {} unassigned open alerts", queued);
+	}
+
+	double score(TriageCandidate candidate) {
+		double severity = properties.getSeverityWeights().getOrDefault(candidate.severity(), 0.0);
+		double confidence = candidate.confidenceScore() != null ? candidate.confidenceScore()
+				: properties.getDefaultConfidence();
+		double category = candidate.threatCategory() != null
+				? properties.getCategoryWeights().getOrDefault(candidate.threatCategory(), 1.0)
+				: 1.0;
+		return severity * (0.5 + 0.5 * Math.max(0.0, Math.min(1.0, confidence))) * category;
+	}
+
+	private synchronized void apply(List<TriageCandidate> candidates, List<UUID> gone) {
+		for (TriageCandidate candidate : candidates) {
+			LocalDateTime createdAt = candidate.createdAt() != null ? candidate.createdAt() : LocalDateTime.now();
+			heap.upsert(candidate.id(), score(candidate), createdAt.atZone(ZONE).toInstant().toEpochMilli());
+		}
+		gone.forEach(heap::remove);
+	}
+
+	/** Near-duplicates are represented by their cluster's representative. */
+	private static boolean queued(AlertStatus status, String assignedTo, UUID clusterId) {
+		return status == AlertStatus.OPEN && (assignedTo == null || assignedTo.isBlank()) && clusterId == null;
+	}
+}
@@ -0,0 +1,13 @@
+package com.ops.hunting.alerts.triage;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.ops.hunting.alerts.enums.AlertSeverity;
+
+/**
+ * The columns that feed an alert's risk score.
+ */
+public record TriageCandidate(UUID id, AlertSeverity severity, Double confidenceScore, String threatCategory,
+		LocalDateTime createdAt) {
+}
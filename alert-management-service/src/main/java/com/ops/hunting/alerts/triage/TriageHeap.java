@@ -0,0 +1,151 @@
+package com.ops.hunting.alerts.triage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+/**
+ * Indexed binary max-heap of alert ids by risk score. The position of every id
+ * is tracked, so changing or removing an entry is O(log n) rather than a
+ * linear search. Not thread-safe.
+ */
+final class TriageHeap {
+
+	private Entry[] entries = new Entry[64];
+	private final Map<UUID, Integer> positions = new HashMap<>();
+	private int size;
+
+	/** Inserts the id or moves it to its new score. */
+	void upsert(UUID id, double score, long createdAtMillis) {
+		Integer position = positions.get(id);
+		Entry entry = new Entry(id, score, createdAtMillis);
+		if (position == null) {
+			if (size == entries.length) {
+				entries = Arrays.copyOf(entries, size * 2);
+			}
+			set(size, entry);
+			siftUp(size++);
+			return;
+		}
+		Entry previous = entries[position];
+		set(position, entry);
+		if (higher(entry, previous)) {
+			siftUp(position);
+		} else {
+			siftDown(position);
+		}
+	}
+
+	boolean remove(UUID id) {
+		Integer position = positions.remove(id);
+		if (position == null) {
+			return false;
+		}
+		size--;
+		if (position == size) {
+			entries[size] = null;
+			return true;
+		}
+		Entry last = entries[size];
+		entries[size] = null;
+		Entry removed = entries[position];
+		set(position, last);
+		if (higher(last, removed)) {
+			siftUp(position);
+		} else {
+			siftDown(position);
+		}
+		return true;
+	}
+
+	/**
+	 * Returns up to {@code k} ids in priority order without modifying the heap,
+	 * walking it with a frontier of at most {@code k} candidates.
+	 */
+	List<UUID> top(int k) {
+		List<UUID> top = new ArrayList<>(Math.min(k, size));
+		if (size == 0 || k <= 0) {
+			return top;
+		}
+		PriorityQueue<Integer> frontier = new PriorityQueue<>((a, b) -> higher(entries[a], entries[b]) ? -1 : 1);
+		frontier.add(0);
+		while (top.size() < k && !frontier.isEmpty()) {
+			int index = frontier.poll();
+			top.add(entries[index].id);
+			for (int child = 2 * index + 1; child <= 2 * index + 2 && child < size; child++) {
+				frontier.add(child);
+			}
+		}
+		return top;
+	}
+
+	double score(UUID id) {
+		Integer position = positions.get(id);
+		return position != null ? entries[position].score : Double.NaN;
+	}
+
+	int size() {
+		return size;
+	}
+
+	void clear() {
+		Arrays.fill(entries, 0, size, null);
+		positions.clear();
+		size = 0;
+	}
+
+	private void siftUp(int index) {
+		while (index > 0) {
+			int parent = (index - 1) / 2;
+			if (!higher(entries[index], entries[parent])) {
+				return;
+			}
+			swap(index, parent);
+			index = parent;
+		}
+	}
+
+	private void siftDown(int index) {
+		while (true) {
+			int left = 2 * index + 1;
+			if (left >= size) {
+				return;
+			}
+			int best = left + 1 < size && higher(entries[left + 1], entries[left]) ? left + 1 : left;
+			if (!higher(entries[best], entries[index])) {
+				return;
+			}
+			swap(index, best);
+			index = best;
+		}
+	}
+
+	private void swap(int a, int b) {
+		Entry entry = entries[a];
+		set(a, entries[b]);
+		set(b, entry);
+	}
+
+	private void set(int index, Entry entry) {
+		entries[index] = entry;
+		positions.put(entry.id, index);
+	}
+
+	/** Higher score first, then the older alert, then a stable id order. */
+	private static boolean higher(Entry a, Entry b) {
+		if (a.score != b.score) {
+			return a.score > b.score;
+		}
+		if (a.createdAtMillis != b.createdAtMillis) {
+			return a.createdAtMillis < b.createdAtMillis;
+		}
+		return a.id.compareTo(b.id) < 0;
+	}
+
+	private record Entry(UUID id, double score, long createdAtMillis) {
+	}
+}
@@ -0,0 +1,49 @@
+package com.ops.hunting.alerts.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Ties in-memory side effects to the outcome of the current transaction, so
+ * caches, counters and queues never run ahead of the table.
+ */
+public final class TransactionHooks {
+
+	private TransactionHooks() {
+		// Utility class
+	}
+
+	/**
+	 * Runs {@code action} once the current transaction commits, or right away
+	 * when there is none.
+	 */
+	public static void afterCommit(Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		} else {
+			action.run();
+		}
+	}
+
+	/**
+	 * Runs {@code action} if the current transaction rolls back; does nothing
+	 * when there is none.
+	 */
+	public static void onRollback(Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					if (status == STATUS_ROLLED_BACK) {
+						action.run();
+					}
+				}
+			});
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package com.ops.hunting.alerts.archive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ops.hunting.alerts.cache.AlertCacheEvictor;
+import com.ops.hunting.alerts.entity.Alert;
+import com.ops.hunting.alerts.entity.ArchivedAlert;
+import com.ops.hunting.alerts.enums.AlertSeverity;
+import com.ops.hunting.alerts.enums.AlertStatus;
+import com.ops.hunting.alerts.payload.AlertPayloadStore;
+import com.ops.hunting.alerts.repository.AlertJdbcRepository;
+import com.ops.hunting.alerts.repository.AlertRepository;
+import com.ops.hunting.alerts.repository.AlertSearchRepository;
+import com.ops.hunting.alerts.repository.ArchivedAlertRepository;
+import com.ops.hunting.alerts.service.AlertSummaryCounters;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class AlertArchiverTest {
+
+	@Mock
+	private AlertJdbcRepository alertJdbcRepository;
+
+	@Mock
+	private AlertRepository alertRepository;
+
+	@Mock
+	private ArchivedAlertRepository archivedAlertRepository;
+
+	@Mock
+	private AlertSearchRepository alertSearchRepository;
+
+	@Mock
+	private AlertPayloadStore alertPayloadStore;
+
+	@Mock
+	private AlertSummaryCounters alertSummaryCounters;
+
+	@Mock
+	private AlertCacheEvictor alertCacheEvictor;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private AlertArchive alertArchive;
+	private AlertArchiver archiver;
+
+	@BeforeEach
+	void setUp() {
+		alertArchive = new AlertArchive(archivedAlertRepository, alertSearchRepository,
+				new ObjectMapper().findAndRegisterModules());
+		archiver = new AlertArchiver(alertJdbcRepository, alertRepository, alertArchive, alertPayloadStore,
+				alertSummaryCounters, alertCacheEvictor, transactionManager, new SimpleMeterRegistry());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void archive_ShouldCopyThenDeleteClosedAlerts() {
+		Alert closed = closedAlert();
+		when(alertJdbcRepository.lockArchivableIds(eq(AlertArchiver.ARCHIVABLE), any(), anyInt()))
+				.thenReturn(List.of(closed.getId()));
+		when(alertRepository.findAllById(List.of(closed.getId()))).thenReturn(List.of(closed));
+
+		archiver.archive();
+
+		ArgumentCaptor<List<ArchivedAlert>> rows = ArgumentCaptor.forClass(List.class);
+		verify(alertJdbcRepository).batchInsertArchived(rows.capture());
+		ArchivedAlert row = rows.getValue().get(0);
+		assertThat(row.getId()).isEqualTo(closed.getId());
+		assertThat(row.getSourceIp()).isEqualTo("10.0.0.1");
+		assertThat(row.getArchivedAt()).isNotNull();
+
+		verify(alertPayloadStore).loadAll(List.of(closed));
+		verify(alertJdbcRepository).deleteByIds(List.of(closed.getId()));
+		verify(alertPayloadStore).deleteAll(List.of(closed.getId()));
+		verify(alertSummaryCounters).recordDeleted(closed);
+		verify(alertCacheEvictor).evict(List.of(closed.getId()));
+	}
+
+	@Test
+	void archive_WithNothingToMove_ShouldNotWrite() {
+		when(alertJdbcRepository.lockArchivableIds(eq(AlertArchiver.ARCHIVABLE), any(), anyInt()))
+				.thenReturn(List.of());
+
+		archiver.archive();
+
+		verify(alertJdbcRepository, never()).batchInsertArchived(any());
+		verify(alertJdbcRepository, never()).deleteByIds(any());
+	}
+
+	@Test
+	void decode_ShouldRestoreTheArchivedAlert() {
+		Alert closed = closedAlert();
+
+		Alert restored = alertArchive.decode(alertArchive.encode(closed, LocalDateTime.now()));
+
+		assertThat(restored.getId()).isEqualTo(closed.getId());
+		assertThat(restored.getTitle()).isEqualTo(closed.getTitle());
+		assertThat(restored.getStatus()).isEqualTo(AlertStatus.CLOSED);
+		assertThat(restored.getClosedAt()).isEqualTo(closed.getClosedAt());
+		assertThat(restored.getRawData()).isEqualTo(closed.getRawData());
+	}
+
+	private static Alert closedAlert() {
+		LocalDateTime createdAt = LocalDateTime.now().minusDays(60);
+		return Alert.builder().id(UUID.randomUUID()).title("Old port scan").severity(AlertSeverity.LOW)
+				.status(AlertStatus.CLOSED).sourceIp("10.0.0.1").rawData("{\"ports\":[22,80,443]}")
+				.createdAt(createdAt).updatedAt(createdAt.plusDays(1)).closedAt(createdAt.plusDays(1))
+				.closedBy("analyst1").version(3L).build();
+	}
+}
@@ -0,0 +1,114 @@
+package com.ops.hunting.alerts.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ops.hunting.alerts.config.ClusterProperties;
+import com.ops.hunting.alerts.dto.AlertClusterDTO;
+import com.ops.hunting.alerts.entity.Alert;
+import com.ops.hunting.alerts.enums.AlertSeverity;
+import com.ops.hunting.alerts.enums.AlertStatus;
+import com.ops.hunting.alerts.payload.AlertPayloadStore;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class AlertClustererTest {
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+
+	@Mock
+	private AlertPayloadStore alertPayloadStore;
+
+	private ClusterProperties properties;
+	private AlertClusterer clusterer;
+
+	@BeforeEach
+	void setUp() {
+		properties = new ClusterProperties();
+		clusterer = new AlertClusterer(properties, jdbcTemplate, alertPayloadStore, new SimpleMeterRegistry());
+	}
+
+	@Test
+	void assign_ShouldGroupAlertsThatDifferOnlyInVariableValues() {
+		Alert first = alert("Outbound beacon to 203.0.113.7:4444",
+				"Host 10.0.0.12 contacted C2 at 2024-03-01T10:15:22Z session 9f8e7d6c5b4a",
+				"{\"pid\": 4312, \"request\": \"b3c1f0e2-7d4a-4a8e-9a55-0c1d2e3f4a5b\"}");
+		Alert second = alert("Outbound beacon to 198.51.100.23:8443",
+				"Host 10.0.0.57 contacted C2 at 2024-03-02T22:01:09Z session 1a2b3c4d5e6f",
+				"{\"pid\": 877, \"request\": \"0f9e8d7c-6b5a-4c3d-8e1f-a2b3c4d5e6f7\"}");
+		Alert unrelated = alert("Multiple failed logins for admin", "Brute force against VPN gateway",
+				"{\"attempts\": 57}");
+
+		clusterer.assign(List.of(first, second, unrelated));
+
+		assertThat(first.getClusterId()).isNull();
+		assertThat(second.getClusterId()).isEqualTo(first.getId());
+		assertThat(unrelated.getClusterId()).isNull();
+		assertThat(clusterer.clusterCount()).isEqualTo(2);
+
+		List<AlertClusterDTO> largest = clusterer.largest(10, 2);
+		assertThat(largest).hasSize(1);
+		assertThat(largest.get(0).getClusterId()).isEqualTo(first.getId());
+		assertThat(largest.get(0).getSize()).isEqualTo(2);
+	}
+
+	@Test
+	void assign_ShouldEvictLeastRecentlyMatchedClusterBeyondLimit() {
+		properties.setMaxClusters(2);
+		clusterer = new AlertClusterer(properties, jdbcTemplate, alertPayloadStore, new SimpleMeterRegistry());
+		Alert oldest = alert("Port scan from external host", null, null);
+
+		clusterer.assign(List.of(oldest, alert("Suspicious PowerShell encoded command", null, null),
+				alert("DNS tunneling over TXT records", null, null)));
+		Alert repeat = alert("Port scan from external host", null, null);
+		clusterer.assign(repeat);
+
+		assertThat(clusterer.clusterCount()).isEqualTo(2);
+		assertThat(repeat.getClusterId()).isNull();
+	}
+
+	@Test
+	void assign_InRolledBackTransaction_ShouldDropSeededRepresentatives() {
+		Alert ghost = alert("Outbound beacon to 203.0.113.7:4444", null, null);
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			clusterer.assign(ghost);
+			TransactionSynchronizationManager.getSynchronizations()
+					.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		Alert redelivered = alert("Outbound beacon to 203.0.113.7:4444", null, null);
+		clusterer.assign(redelivered);
+
+		assertThat(redelivered.getClusterId()).isNull();
+		assertThat(clusterer.clusterCount()).isEqualTo(1);
+	}
+
+	@Test
+	void normalize_ShouldReplaceVariableTokens() {
+		assertThat(MinHasher.normalize("Login from 10.1.2.3 at 2024-01-01 08:00:00 port 22"))
+				.isEqualTo("login from  #ip  at  #ts  port  #n ");
+	}
+
+	private static Alert alert(String title, String description, String rawData) {
+		return Alert.builder().id(UUID.randomUUID()).title(title).description(description).rawData(rawData)
+				.severity(AlertSeverity.HIGH).status(AlertStatus.OPEN).createdAt(LocalDateTime.now()).build();
+	}
+}
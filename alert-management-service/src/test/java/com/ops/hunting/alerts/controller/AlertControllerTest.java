@@ -1,18 +1,26 @@
 package com.ops.hunting.alerts.controller;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -21,6 +29,7 @@ import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -31,6 +40,7 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -48,9 +58,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 //1. UNIT TESTS - CONTROLLER LAYER
 //=============================================================================
 
+import com.ops.hunting.alerts.dto.AlertCursorPageDTO;
 import com.ops.hunting.alerts.dto.AlertDTO;
+import com.ops.hunting.alerts.dto.AlertSearchCriteria;
 import com.ops.hunting.alerts.dto.AlertSummaryDTO;
+import com.ops.hunting.alerts.enums.AlertExportFormat;
 import com.ops.hunting.alerts.enums.AlertSeverity;
+import com.ops.hunting.alerts.service.AlertExportService;
+import com.ops.hunting.alerts.service.AlertImportService;
 import com.ops.hunting.alerts.service.AlertService;
 import com.ops.hunting.alerts.enums.AlertStatus;
 
@@ -64,6 +79,12 @@ public class AlertControllerTest {
 	@MockBean
 	private AlertService alertService;
 
+	@MockBean
+	private AlertExportService alertExportService;
+
+	@MockBean
+	private AlertImportService alertImportService;
+
 	@Autowired
 	private ObjectMapper objectMapper;
 
@@ -140,12 +161,40 @@ public class AlertControllerTest {
 		List<AlertDTO> alerts = Arrays.asList(alertDTO);
 		Page<AlertDTO> page = new PageImpl<>(alerts, PageRequest.of(0, 10), 1);
 
-		when(alertService.searchAlerts(eq(AlertSeverity.HIGH), eq(AlertStatus.OPEN), any(LocalDateTime.class),
-				any(LocalDateTime.class), any(PageRequest.class))).thenReturn(page);
+		when(alertService.searchAlerts(any(AlertSearchCriteria.class), any(PageRequest.class))).thenReturn(page);
 
 		mockMvc.perform(get("/api/alerts/search").param("severity", "HIGH").param("status", "OPEN")
 				.param("from", "2024-01-01T00:00:00").param("to", "2024-12-31T23:59:59")).andExpect(status().isOk())
 				.andExpect(jsonPath("$.content").isArray()).andExpect(jsonPath("$.content[0].severity").value("HIGH"));
+
+		ArgumentCaptor<AlertSearchCriteria> criteria = ArgumentCaptor.forClass(AlertSearchCriteria.class);
+		verify(alertService).searchAlerts(criteria.capture(), any(PageRequest.class));
+		assertThat(criteria.getValue().getSeverities()).containsExactly(AlertSeverity.HIGH);
+		assertThat(criteria.getValue().getStatuses()).containsExactly(AlertStatus.OPEN);
+		assertThat(criteria.getValue().getFrom()).isEqualTo(LocalDateTime.of(2024, 1, 1, 0, 0));
+	}
+
+	@Test
+	@WithMockUser(roles = "VIEWER")
+	void scrollAlerts_ShouldPassAllSearchFilters() throws Exception {
+		UUID clusterId = UUID.randomUUID();
+		when(alertService.scrollAlerts(any(AlertSearchCriteria.class), any(), eq(50), eq(false), eq(false)))
+				.thenReturn(AlertCursorPageDTO.builder().content(List.of(alertDTO)).size(1).build());
+
+		mockMvc.perform(get("/api/alerts/scroll").param("ruleId", "R-7").param("sourceIp", "10.0.0.5")
+				.param("destinationIp", "10.0.0.9").param("threatCategory", "MALWARE").param("minConfidence", "0.5")
+				.param("maxConfidence", "0.9").param("clusterId", clusterId.toString())).andExpect(status().isOk())
+				.andExpect(jsonPath("$.content[0].severity").value("HIGH"));
+
+		ArgumentCaptor<AlertSearchCriteria> criteria = ArgumentCaptor.forClass(AlertSearchCriteria.class);
+		verify(alertService).scrollAlerts(criteria.capture(), any(), eq(50), eq(false), eq(false));
+		assertThat(criteria.getValue().getRuleId()).isEqualTo("R-7");
+		assertThat(criteria.getValue().getSourceIp()).isEqualTo("10.0.0.5");
+		assertThat(criteria.getValue().getDestinationIp()).isEqualTo("10.0.0.9");
+		assertThat(criteria.getValue().getThreatCategory()).isEqualTo("MALWARE");
+		assertThat(criteria.getValue().getMinConfidence()).isEqualTo(0.5);
+		assertThat(criteria.getValue().getMaxConfidence()).isEqualTo(0.9);
+		assertThat(criteria.getValue().getClusterId()).isEqualTo(clusterId);
 	}
 
 	@Test
@@ -171,6 +220,31 @@ public class AlertControllerTest {
 				.andExpect(jsonPath("$.highSeverityAlerts").value(10));
 	}
 
+	@Test
+	@WithMockUser(roles = "ANALYST")
+	void exportAlerts_ShouldStreamServiceOutput() throws Exception {
+		when(alertExportService.export(any(AlertSearchCriteria.class), eq(AlertExportFormat.CSV), eq(false),
+				any(OutputStream.class))).thenAnswer(invocation -> {
+					OutputStream out = invocation.getArgument(3);
+					out.write("id,title\n".getBytes(StandardCharsets.UTF_8));
+					return 0L;
+				});
+
+		MvcResult result = mockMvc.perform(get("/api/alerts/export").param("format", "CSV").param("status", "OPEN"))
+				.andExpect(request().asyncStarted()).andReturn();
+		assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(Duration.ofHours(1).toMillis());
+
+		mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk())
+				.andExpect(header().string("Content-Disposition", "attachment; filename=\"alerts.csv\""))
+				.andExpect(content().string("id,title\n"));
+	}
+
+	@Test
+	@WithMockUser(roles = "VIEWER")
+	void exportAlerts_WithViewerRole_ShouldReturn403() throws Exception {
+		mockMvc.perform(get("/api/alerts/export")).andExpect(status().isForbidden());
+	}
+
 	@Test
 	void createAlert_WithoutAuthentication_ShouldReturn401() throws Exception {
 		mockMvc.perform(post("/api/alerts").contentType(MediaType.APPLICATION_JSON)
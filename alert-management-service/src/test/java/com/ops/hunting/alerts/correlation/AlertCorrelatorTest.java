@@ -0,0 +1,150 @@
+package com.ops.hunting.alerts.correlation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ops.hunting.alerts.config.CorrelationProperties;
+import com.ops.hunting.alerts.dto.AlertIncidentDTO;
+import com.ops.hunting.alerts.entity.Alert;
+import com.ops.hunting.alerts.enums.AlertSeverity;
+import com.ops.hunting.alerts.enums.AlertStatus;
+import com.ops.hunting.alerts.outbox.OutboxPublisher;
+import com.ops.hunting.alerts.repository.AlertJdbcRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class AlertCorrelatorTest {
+
+	@Mock
+	private AlertJdbcRepository alertJdbcRepository;
+
+	@Mock
+	private OutboxPublisher outboxPublisher;
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+
+	private CorrelationProperties properties;
+	private AlertCorrelator correlator;
+
+	@BeforeEach
+	void setUp() {
+		properties = new CorrelationProperties();
+		properties.setWindow(Duration.ofMinutes(30));
+		correlator = newCorrelator();
+	}
+
+	@Test
+	void correlate_ShouldGroupAlertsSharingAKeyWithinTheWindow() {
+		LocalDateTime now = LocalDateTime.now();
+		Alert first = alert("10.0.0.5", "rule-1", now.minusMinutes(5));
+		Alert second = alert("10.0.0.5", "rule-2", now);
+
+		correlator.correlate(List.of(first, second));
+
+		assertThat(first.getInvestigationId()).isNotNull().isEqualTo(second.getInvestigationId());
+		ArgumentCaptor<AlertIncidentDTO> event = ArgumentCaptor.forClass(AlertIncidentDTO.class);
+		verify(outboxPublisher).publish(eq(AlertCorrelator.INCIDENT_TOPIC), eq(first.getInvestigationId().toString()),
+				event.capture());
+		assertThat(event.getValue().isNewIncident()).isTrue();
+		assertThat(event.getValue().getAlertIds()).containsExactly(first.getId(), second.getId());
+		assertThat(event.getValue().getCorrelationKeys()).contains("SOURCE_IP:10.0.0.5");
+		verify(alertJdbcRepository, never()).assignInvestigation(any(), anyCollection());
+	}
+
+	@Test
+	void correlate_ShouldLinkEarlierPersistedMembersInTheTable() {
+		LocalDateTime now = LocalDateTime.now();
+		Alert earlier = alert("10.0.0.7", "rule-1", now.minusMinutes(1));
+		correlator.correlate(List.of(earlier));
+		assertThat(earlier.getInvestigationId()).isNull();
+
+		Alert later = alert("10.0.0.8", "rule-1", now);
+		correlator.correlate(List.of(later));
+
+		assertThat(later.getInvestigationId()).isNotNull();
+		verify(alertJdbcRepository).assignInvestigation(later.getInvestigationId(), List.of(earlier.getId()));
+	}
+
+	@Test
+	void correlate_ShouldStartNewWindowAfterInactivity() {
+		LocalDateTime now = LocalDateTime.now();
+		Alert old = alert("10.0.0.9", "rule-9", now.minusHours(2));
+		Alert recent = alert("10.0.0.9", "rule-10", now);
+
+		correlator.correlate(List.of(old, recent));
+
+		assertThat(old.getInvestigationId()).isNull();
+		assertThat(recent.getInvestigationId()).isNull();
+		verify(outboxPublisher, never()).publish(any(), any(), any());
+	}
+
+	@Test
+	void correlate_InRolledBackTransaction_ShouldLeaveWindowsUntouched() {
+		LocalDateTime now = LocalDateTime.now();
+		Alert ghost = alert("10.2.2.2", "rule-x", now.minusMinutes(1));
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			correlator.correlate(List.of(ghost));
+			TransactionSynchronizationManager.getSynchronizations()
+					.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		assertThat(correlator.windowCount()).isZero();
+
+		Alert redelivered = alert("10.2.2.2", "rule-y", now);
+		correlator.correlate(List.of(redelivered));
+		assertThat(redelivered.getInvestigationId()).isNull();
+		verify(alertJdbcRepository, never()).assignInvestigation(any(), anyCollection());
+	}
+
+	@Test
+	void restore_ShouldResumeOpenIncidentsFromCheckpoint() throws Exception {
+		LocalDateTime now = LocalDateTime.now();
+		Alert first = alert("10.1.1.1", "rule-a", now.minusMinutes(2));
+		Alert second = alert("10.1.1.1", "rule-b", now.minusMinutes(1));
+		correlator.correlate(List.of(first, second));
+		String checkpoint = correlator.snapshot();
+
+		AlertCorrelator restarted = newCorrelator();
+		assertThat(restarted.restore(checkpoint)).isEqualTo(correlator.windowCount());
+
+		Alert third = alert("10.1.1.1", "rule-c", now);
+		restarted.correlate(List.of(third));
+		assertThat(third.getInvestigationId()).isEqualTo(first.getInvestigationId());
+	}
+
+	private AlertCorrelator newCorrelator() {
+		ObjectMapper objectMapper = new ObjectMapper();
+		return new AlertCorrelator(properties, alertJdbcRepository, outboxPublisher, jdbcTemplate, objectMapper,
+				new SimpleMeterRegistry());
+	}
+
+	private static Alert alert(String sourceIp, String ruleId, LocalDateTime createdAt) {
+		return Alert.builder().id(UUID.randomUUID()).title("alert " + ruleId).severity(AlertSeverity.HIGH)
+				.status(AlertStatus.OPEN).sourceIp(sourceIp).ruleId(ruleId).createdAt(createdAt).build();
+	}
+}
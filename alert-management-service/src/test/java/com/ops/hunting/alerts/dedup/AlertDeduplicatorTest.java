@@ -0,0 +1,125 @@
+package com.ops.hunting.alerts.dedup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ops.hunting.alerts.config.DeduplicationProperties;
+import com.ops.hunting.alerts.entity.Alert;
+import com.ops.hunting.alerts.repository.AlertRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class AlertDeduplicatorTest {
+
+	@Mock
+	private AlertRepository alertRepository;
+
+	private DeduplicationProperties properties;
+	private AlertDeduplicator deduplicator;
+
+	@BeforeEach
+	void setUp() {
+		properties = new DeduplicationProperties();
+		properties.setBloomExpectedInsertions(1000);
+		deduplicator = new AlertDeduplicator(properties, alertRepository);
+	}
+
+	@Test
+	void registerOrMatch_ShouldMatchRepeatsByHash() {
+		Alert first = Alert.builder().id(UUID.randomUUID()).hash("abc").sourceSystem("IDS").build();
+		Alert repeat = Alert.builder().hash("abc").sourceSystem("IDS").build();
+
+		assertThat(deduplicator.registerOrMatch(first)).isNull();
+		assertThat(deduplicator.registerOrMatch(repeat)).isEqualTo(first.getId());
+	}
+
+	@Test
+	void registerOrMatch_ShouldFallBackToRuleAndAddresses() {
+		Alert first = Alert.builder().ruleId("R1").sourceIp("10.0.0.1").destinationIp("10.0.0.2").build();
+		Alert other = Alert.builder().ruleId("R1").sourceIp("10.0.0.1").destinationIp("10.0.0.3").build();
+
+		assertThat(deduplicator.registerOrMatch(first)).isNull();
+		first.setId(UUID.randomUUID());
+		deduplicator.bind(first);
+
+		Alert repeat = Alert.builder().ruleId("R1").sourceIp("10.0.0.1").destinationIp("10.0.0.2").build();
+		assertThat(deduplicator.registerOrMatch(repeat)).isEqualTo(first.getId());
+		assertThat(deduplicator.registerOrMatch(other)).isNull();
+	}
+
+	@Test
+	void registerOrMatch_ShouldHonourPerSourcePolicy() {
+		DeduplicationProperties.SourcePolicy policy = new DeduplicationProperties.SourcePolicy();
+		policy.setWindow(Duration.ZERO);
+		properties.getSources().put("NOISY", policy);
+
+		Alert first = Alert.builder().id(UUID.randomUUID()).hash("xyz").sourceSystem("NOISY").build();
+		Alert repeat = Alert.builder().id(UUID.randomUUID()).hash("xyz").sourceSystem("NOISY").build();
+
+		assertThat(deduplicator.registerOrMatch(first)).isNull();
+		assertThat(deduplicator.registerOrMatch(repeat)).isNull();
+	}
+
+	@Test
+	void registerOrMatch_ShouldRaiseFreshAlertAfterMaxOccurrences() {
+		properties.setDefaultMaxOccurrences(2);
+		Alert first = Alert.builder().id(UUID.randomUUID()).hash("cap").build();
+
+		assertThat(deduplicator.registerOrMatch(first)).isNull();
+		assertThat(deduplicator.registerOrMatch(Alert.builder().hash("cap").build())).isEqualTo(first.getId());
+		assertThat(deduplicator.registerOrMatch(Alert.builder().hash("cap").build())).isNull();
+	}
+
+	@Test
+	void registerOrMatch_ShouldKeepSourcesApart() {
+		Alert first = Alert.builder().id(UUID.randomUUID()).hash("abc").sourceSystem("IDS").build();
+		Alert other = Alert.builder().id(UUID.randomUUID()).hash("abc").sourceSystem("EDR").build();
+
+		assertThat(deduplicator.registerOrMatch(first)).isNull();
+		assertThat(deduplicator.registerOrMatch(other)).isNull();
+	}
+
+	@Test
+	void registerOrMatch_ShouldForgetRegistrationsOfRolledBackTransaction() {
+		Alert first = Alert.builder().id(UUID.randomUUID()).hash("ghost").sourceSystem("IDS").build();
+		Alert redelivered = Alert.builder().id(UUID.randomUUID()).hash("ghost").sourceSystem("IDS").build();
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			assertThat(deduplicator.registerOrMatch(first)).isNull();
+			TransactionSynchronizationManager.getSynchronizations()
+					.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		assertThat(deduplicator.size()).isZero();
+		assertThat(deduplicator.registerOrMatch(redelivered)).isNull();
+	}
+
+	@Test
+	void registerOrMatch_ShouldKeepRegistrationsOfCommittedTransaction() {
+		Alert first = Alert.builder().id(UUID.randomUUID()).hash("kept").sourceSystem("IDS").build();
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			assertThat(deduplicator.registerOrMatch(first)).isNull();
+			TransactionSynchronizationManager.getSynchronizations()
+					.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		Alert repeat = Alert.builder().hash("kept").sourceSystem("IDS").build();
+		assertThat(deduplicator.registerOrMatch(repeat)).isEqualTo(first.getId());
+	}
+}
@@ -0,0 +1,145 @@
+package com.ops.hunting.alerts.enrichment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.ops.hunting.alerts.config.EnrichmentProperties;
+import com.ops.hunting.alerts.entity.AlertEnrichment;
+import com.ops.hunting.alerts.repository.AlertJdbcRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class AlertEnricherTest {
+
+	@Mock
+	private AlertJdbcRepository alertJdbcRepository;
+
+	@TempDir
+	Path dir;
+
+	private EnrichmentProperties properties;
+	private SimpleMeterRegistry meterRegistry;
+	private AlertEnricher enricher;
+
+	@BeforeEach
+	void setUp() {
+		properties = new EnrichmentProperties();
+		meterRegistry = new SimpleMeterRegistry();
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (enricher != null) {
+			enricher.stop();
+		}
+	}
+
+	@Test
+	void enrich_ShouldMergeStagesAndFallBackOnSlowLookup() throws IOException {
+		Path geoFile = Files.writeString(dir.resolve("geo.csv"), "# network,country\n10.0.0.0/8,zz\n203.0.113.7,au\n");
+		properties.getGeo().setFile(geoFile.toString());
+		GeoIpStage geo = new GeoIpStage(properties, meterRegistry);
+		CountingStage slow = new CountingStage(Duration.ofMillis(20), 500);
+		enricher = new AlertEnricher(properties, List.of(geo, slow), alertJdbcRepository, meterRegistry);
+
+		UUID id = UUID.randomUUID();
+		enricher.enrich(List.of(new EnrichmentTarget(id, "10.1.2.3", "203.0.113.7")));
+
+		AlertEnrichment enrichment = stored().get(id);
+		assertThat(enrichment.getSourceCountry()).isEqualTo("ZZ");
+		assertThat(enrichment.getDestinationCountry()).isEqualTo("AU");
+		assertThat(enrichment.getThreatIntelIndicatorId()).isNull();
+		assertThat(enrichment.getEnrichedAt()).isNotNull();
+		assertThat(meterRegistry.counter("alerts.enrichment.fallbacks", "stage", "counting").count()).isEqualTo(2.0);
+	}
+
+	@Test
+	void enrich_ShouldLoadEachIpOnceAcrossBatches() {
+		CountingStage stage = new CountingStage(Duration.ofSeconds(1), 0);
+		enricher = new AlertEnricher(properties, List.of(stage), alertJdbcRepository, meterRegistry);
+
+		enricher.enrich(List.of(new EnrichmentTarget(UUID.randomUUID(), "198.51.100.1", "198.51.100.1")));
+		enricher.enrich(List.of(new EnrichmentTarget(UUID.randomUUID(), "198.51.100.1", null)));
+
+		assertThat(stage.loads.get()).isEqualTo(1);
+	}
+
+	@Test
+	void geoLoad_WithNestedNetworks_ShouldPreferMostSpecific() throws IOException {
+		Path geoFile = Files.writeString(dir.resolve("geo.csv"),
+				"10.0.0.0/8,zz\n10.1.2.0/24,de\n10.1.2.128/25,fr\n11.0.0.0/8,us\n");
+		properties.getGeo().setFile(geoFile.toString());
+		GeoIpStage geo = new GeoIpStage(properties, meterRegistry);
+
+		assertThat(geo.load("10.0.0.1")).isEqualTo("ZZ");
+		assertThat(geo.load("10.1.2.1")).isEqualTo("DE");
+		assertThat(geo.load("10.1.2.200")).isEqualTo("FR");
+		assertThat(geo.load("10.1.3.1")).isEqualTo("ZZ");
+		assertThat(geo.load("10.255.255.255")).isEqualTo("ZZ");
+		assertThat(geo.load("11.0.0.1")).isEqualTo("US");
+		assertThat(geo.load("12.0.0.1")).isNull();
+	}
+
+	@Test
+	void toLong_ShouldRejectNonIpv4Addresses() {
+		assertThat(GeoIpStage.toLong("255.255.255.255")).isEqualTo(0xFFFFFFFFL);
+		assertThat(GeoIpStage.toLong("2001:db8::1")).isEqualTo(-1);
+		assertThat(GeoIpStage.toLong("10.0.0.256")).isEqualTo(-1);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<UUID, AlertEnrichment> stored() {
+		ArgumentCaptor<Map<UUID, AlertEnrichment>> captor = ArgumentCaptor.forClass(Map.class);
+		verify(alertJdbcRepository).updateEnrichment(captor.capture());
+		return captor.getValue();
+	}
+
+	/** Blocking threat-intel style stage that records how often it loads. */
+	private class CountingStage extends CachedIpStage<ThreatIntelStage.Match> {
+
+		private final AtomicInteger loads = new AtomicInteger();
+		private final long delayMillis;
+
+		CountingStage(Duration timeout, long delayMillis) {
+			super("counting", new EnrichmentProperties.Stage(true, timeout, 100, null), meterRegistry);
+			this.delayMillis = delayMillis;
+		}
+
+		@Override
+		protected ThreatIntelStage.Match load(String ip) throws InterruptedException {
+			loads.incrementAndGet();
+			Thread.sleep(delayMillis);
+			return new ThreatIntelStage.Match("ind-" + ip, 0.9);
+		}
+
+		@Override
+		protected boolean blocking() {
+			return true;
+		}
+
+		@Override
+		protected void apply(AlertEnrichment enrichment, ThreatIntelStage.Match source,
+				ThreatIntelStage.Match destination) {
+			enrichment.setThreatIntelIndicatorId(source != null ? source.id() : destination.id());
+		}
+	}
+}
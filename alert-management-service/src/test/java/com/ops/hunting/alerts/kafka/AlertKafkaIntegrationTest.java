@@ -21,7 +21,7 @@ import com.ops.hunting.alerts.enums.AlertSeverity;
 import com.ops.hunting.alerts.enums.AlertStatus;
 import com.ops.hunting.alerts.service.AlertService;
 
-@SpringBootTest
+@SpringBootTest(properties = "app.outbox.relay-enabled=true")
 @EmbeddedKafka(partitions = 1, topics = { "alert-created", "alert-status-updated", "alert-deleted" })
 @ActiveProfiles("test")
 @DirtiesContext
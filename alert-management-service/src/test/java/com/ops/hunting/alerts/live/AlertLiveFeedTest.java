@@ -0,0 +1,118 @@
+package com.ops.hunting.alerts.live;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import com.ops.hunting.alerts.config.LiveFeedProperties;
+import com.ops.hunting.alerts.dto.AlertFeedEvent;
+import com.ops.hunting.alerts.dto.AlertFeedFilter;
+import com.ops.hunting.alerts.dto.AlertFeedFrame;
+import com.ops.hunting.alerts.dto.AlertSummaryDTO;
+import com.ops.hunting.alerts.entity.Alert;
+import com.ops.hunting.alerts.enums.AlertSeverity;
+import com.ops.hunting.alerts.enums.AlertStatus;
+import com.ops.hunting.alerts.service.AlertSummaryCounters;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class AlertLiveFeedTest {
+
+	@Mock
+	private SimpMessagingTemplate messagingTemplate;
+
+	@Mock
+	private AlertSummaryCounters alertSummaryCounters;
+
+	private LiveFeedProperties properties;
+	private AlertLiveFeed liveFeed;
+
+	@BeforeEach
+	void setUp() {
+		properties = new LiveFeedProperties();
+		properties.setSessionQueueCapacity(2);
+		properties.setMaxBatch(10);
+		liveFeed = new AlertLiveFeed(messagingTemplate, alertSummaryCounters, properties, new SimpleMeterRegistry());
+	}
+
+	@Test
+	void flush_ShouldOnlyDeliverAlertsMatchingSessionFilter() {
+		liveFeed.updateFilter("critical-only",
+				AlertFeedFilter.builder().severities(Set.of(AlertSeverity.CRITICAL)).build());
+		liveFeed.updateFilter("everything", new AlertFeedFilter());
+
+		liveFeed.publish(alert(AlertSeverity.LOW), AlertFeedEvent.Change.CREATED);
+		liveFeed.flush();
+
+		verify(messagingTemplate).convertAndSendToUser(eq("everything"), eq(AlertLiveFeed.DESTINATION),
+				any(AlertFeedFrame.class), anyMap());
+		verify(messagingTemplate, never()).convertAndSendToUser(eq("critical-only"), anyString(), any(), anyMap());
+	}
+
+	@Test
+	void flush_ShouldConflateRepeatedChangesToSameAlert() {
+		liveFeed.updateFilter("session", new AlertFeedFilter());
+		Alert alert = alert(AlertSeverity.HIGH);
+
+		liveFeed.publish(alert, AlertFeedEvent.Change.CREATED);
+		alert.setStatus(AlertStatus.IN_PROGRESS);
+		liveFeed.publish(alert, AlertFeedEvent.Change.STATUS_CHANGED);
+		liveFeed.flush();
+
+		AlertFeedFrame frame = sentFrame("session");
+		assertThat(frame.getAlerts()).hasSize(1);
+		assertThat(frame.getAlerts().get(0).getChange()).isEqualTo(AlertFeedEvent.Change.STATUS_CHANGED);
+		assertThat(frame.getAlerts().get(0).getStatus()).isEqualTo(AlertStatus.IN_PROGRESS);
+	}
+
+	@Test
+	void sendSummaries_ShouldReportDroppedAlertsAndKeepCriticalOnes() {
+		FeedSession session = new FeedSession("session", 2);
+		session.enqueue(AlertFeedEvent.of(alert(AlertSeverity.CRITICAL), AlertFeedEvent.Change.CREATED));
+		session.enqueue(AlertFeedEvent.of(alert(AlertSeverity.LOW), AlertFeedEvent.Change.CREATED));
+		session.enqueue(AlertFeedEvent.of(alert(AlertSeverity.MEDIUM), AlertFeedEvent.Change.CREATED));
+
+		assertThat(session.drain(10)).extracting(AlertFeedEvent::getSeverity)
+				.containsExactly(AlertSeverity.CRITICAL, AlertSeverity.MEDIUM);
+		assertThat(session.takeLosses()).containsExactly(0L, 1L);
+
+		liveFeed.updateFilter("viewer", new AlertFeedFilter());
+		when(alertSummaryCounters.snapshot()).thenReturn(AlertSummaryDTO.builder().totalAlerts(7L).build());
+		liveFeed.sendSummaries();
+
+		AlertFeedFrame frame = sentFrame("viewer");
+		assertThat(frame.getType()).isEqualTo(AlertFeedFrame.SUMMARY);
+		assertThat(frame.getSummary().getTotalAlerts()).isEqualTo(7L);
+		assertThat(frame.getPending()).isZero();
+	}
+
+	private AlertFeedFrame sentFrame(String sessionId) {
+		ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+		verify(messagingTemplate).convertAndSendToUser(eq(sessionId), eq(AlertLiveFeed.DESTINATION),
+				payload.capture(), anyMap());
+		return (AlertFeedFrame) payload.getValue();
+	}
+
+	private static Alert alert(AlertSeverity severity) {
+		return Alert.builder().id(UUID.randomUUID()).title(severity + " alert").severity(severity)
+				.status(AlertStatus.OPEN).sourceSystem("IDS").createdAt(LocalDateTime.now()).build();
+	}
+}
@@ -0,0 +1,122 @@
+package com.ops.hunting.alerts.notification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.ops.hunting.alerts.config.NotificationProperties;
+import com.ops.hunting.alerts.dto.AlertDTO;
+import com.ops.hunting.alerts.dto.NotificationDigestDTO;
+import com.ops.hunting.alerts.enums.AlertStatus;
+import com.ops.hunting.alerts.enums.NotificationChannel;
+import com.ops.hunting.alerts.outbox.OutboxPublisher;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationCoalescerTest {
+
+	private static final long T0 = 1_700_000_000_000L;
+
+	@Mock
+	private OutboxPublisher outboxPublisher;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private NotificationProperties properties;
+	private NotificationCoalescer coalescer;
+
+	@BeforeEach
+	void setUp() {
+		properties = new NotificationProperties();
+		coalescer = new NotificationCoalescer(properties, outboxPublisher, transactionManager,
+				new SimpleMeterRegistry());
+	}
+
+	@Test
+	void tick_ShouldDigestNotificationsForSameRecipientWithinWindow() {
+		coalescer.offer(NotificationChannel.ASSIGNMENT, "alice", alert(AlertStatus.OPEN), T0);
+		coalescer.offer(NotificationChannel.ASSIGNMENT, "alice", alert(AlertStatus.OPEN), T0 + 1000);
+
+		coalescer.tick(T0 + 1000);
+		verify(outboxPublisher, never()).publish(anyString(), any(), any());
+
+		coalescer.tick(T0 + properties.getWindow().toMillis());
+		ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+		verify(outboxPublisher).publish(eq(NotificationCoalescer.DIGEST_TOPIC), eq("alice"), payload.capture());
+		NotificationDigestDTO digest = (NotificationDigestDTO) payload.getValue();
+		assertThat(digest.getChannel()).isEqualTo(NotificationChannel.ASSIGNMENT);
+		assertThat(digest.getAlerts()).hasSize(2);
+		assertThat(coalescer.pendingBatches()).isZero();
+	}
+
+	@Test
+	void tick_ShouldSendLatestStateOfRepeatedAlertOnItsOwnTopic() {
+		AlertDTO first = alert(AlertStatus.IN_PROGRESS);
+		AlertDTO latest = AlertDTO.builder().id(first.getId()).status(AlertStatus.RESOLVED).build();
+		coalescer.offer(NotificationChannel.STATUS_UPDATE, NotificationCoalescer.ON_CALL, first, T0);
+		coalescer.offer(NotificationChannel.STATUS_UPDATE, NotificationCoalescer.ON_CALL, latest, T0 + 10);
+
+		coalescer.tick(T0 + properties.getWindow().toMillis());
+
+		verify(outboxPublisher).publish(NotificationChannel.STATUS_UPDATE.getTopic(), first.getId().toString(),
+				latest);
+	}
+
+	@Test
+	void tick_ShouldHoldRateLimitedBatchesButSendUrgentOnesWithinMaxDelay() {
+		properties.setBurst(1);
+		properties.setRefillInterval(Duration.ofMinutes(5));
+		long window = properties.getWindow().toMillis();
+		coalescer.offer(NotificationChannel.ASSIGNMENT, "alice", alert(AlertStatus.OPEN), T0);
+		coalescer.tick(T0 + window);
+
+		coalescer.offer(NotificationChannel.ASSIGNMENT, "alice", alert(AlertStatus.OPEN), T0 + window);
+		AlertDTO critical = alert(AlertStatus.OPEN);
+		coalescer.offer(NotificationChannel.CRITICAL_ALERT, "alice", critical, T0 + window);
+		coalescer.tick(T0 + 2 * window);
+
+		verify(outboxPublisher).publish(NotificationChannel.CRITICAL_ALERT.getTopic(), critical.getId().toString(),
+				critical);
+		assertThat(coalescer.pendingBatches()).isEqualTo(1);
+	}
+
+	@Test
+	void offer_ShouldReleaseFullBatchWithoutWaitingForWindow() {
+		properties.setMaxBatch(2);
+
+		assertThat(coalescer.offer(NotificationChannel.ESCALATION, "bob", alert(AlertStatus.OPEN), T0)).isEmpty();
+		assertThat(coalescer.offer(NotificationChannel.ESCALATION, "bob", alert(AlertStatus.OPEN), T0)).hasSize(1);
+		assertThat(coalescer.pendingBatches()).isZero();
+	}
+
+	@Test
+	void submit_WhenCoalescingDisabled_ShouldPublishImmediately() {
+		properties.setCoalesce(false);
+		AlertDTO alert = alert(AlertStatus.OPEN);
+
+		coalescer.submit(NotificationChannel.CRITICAL_ALERT, null, alert);
+
+		verify(outboxPublisher).publish(NotificationChannel.CRITICAL_ALERT.getTopic(), alert.getId().toString(),
+				alert);
+	}
+
+	private static AlertDTO alert(AlertStatus status) {
+		return AlertDTO.builder().id(UUID.randomUUID()).title("alert").status(status).build();
+	}
+}
@@ -0,0 +1,104 @@
+package com.ops.hunting.alerts.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.mapping.AbstractJavaTypeMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.ops.hunting.alerts.outbox.OutboxRelay.OutboxRecord;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxRelayTest {
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+
+	@Mock
+	private KafkaTemplate<String, String> outboxKafkaTemplate;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private OutboxRelay relay;
+
+	@BeforeEach
+	void setUp() {
+		relay = new OutboxRelay(jdbcTemplate, outboxKafkaTemplate, transactionManager, new SimpleMeterRegistry());
+	}
+
+	@Test
+	void relay_ShouldSendClaimedRowsInOrderAndDeleteThemTogether() {
+		when(jdbcTemplate.query(startsWith("SELECT id"), ArgumentMatchers.<RowMapper<OutboxRecord>>any(), anyInt()))
+				.thenReturn(List.of(new OutboxRecord(1L, "alert-created", "a-1", "com.example.AlertDTO", "{\"id\":1}"),
+						new OutboxRecord(2L, "alert-deleted", "a-2", "java.lang.String", "\"a-2\"")));
+		when(outboxKafkaTemplate.send(ArgumentMatchers.<ProducerRecord<String, String>>any()))
+				.thenReturn(CompletableFuture.completedFuture(null));
+
+		relay.relay();
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<ProducerRecord<String, String>> records = ArgumentCaptor.forClass(ProducerRecord.class);
+		verify(outboxKafkaTemplate, times(2)).send(records.capture());
+		ProducerRecord<String, String> first = records.getAllValues().get(0);
+		assertThat(first.topic()).isEqualTo("alert-created");
+		assertThat(first.key()).isEqualTo("a-1");
+		assertThat(first.value()).isEqualTo("{\"id\":1}");
+		assertThat(new String(first.headers().lastHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME).value(),
+				StandardCharsets.UTF_8)).isEqualTo("com.example.AlertDTO");
+		assertThat(records.getAllValues().get(1).topic()).isEqualTo("alert-deleted");
+
+		verify(jdbcTemplate).update(eq("DELETE FROM outbox_events WHERE id IN (?, ?)"), eq(1L), eq(2L));
+	}
+
+	@Test
+	void relay_WhenSendFails_ShouldKeepRowsForNextRun() {
+		when(jdbcTemplate.query(startsWith("SELECT id"), ArgumentMatchers.<RowMapper<OutboxRecord>>any(), anyInt()))
+				.thenReturn(List.of(new OutboxRecord(7L, "alert-updated", "a-7", null, "{}")));
+		when(outboxKafkaTemplate.send(ArgumentMatchers.<ProducerRecord<String, String>>any()))
+				.thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker unavailable")));
+
+		relay.relay();
+
+		verify(jdbcTemplate, never()).update(startsWith("DELETE"), any(Object[].class));
+		verify(transactionManager).rollback(any());
+	}
+
+	@Test
+	void relay_ShouldReportAgeOfOldestPendingRow() {
+		when(jdbcTemplate.query(eq("SELECT created_at FROM outbox_events ORDER BY id LIMIT 1"),
+				ArgumentMatchers.<RowMapper<Timestamp>>any()))
+				.thenReturn(List.of(Timestamp.valueOf(LocalDateTime.now().minusSeconds(30))));
+
+		relay.relay();
+
+		assertThat(relay.lagMillis()).isGreaterThanOrEqualTo(30_000L);
+		verify(outboxKafkaTemplate, never()).send(ArgumentMatchers.<ProducerRecord<String, String>>any());
+	}
+}
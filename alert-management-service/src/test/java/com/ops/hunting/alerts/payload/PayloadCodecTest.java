@@ -0,0 +1,35 @@
+package com.ops.hunting.alerts.payload;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+public class PayloadCodecTest {
+
+	private static final String PAYLOAD = "{\"event\":\"dns_query\",\"query\":\"beacon.example.net\",\"answers\":[]}\n"
+			.repeat(200);
+
+	@Test
+	void encode_ShouldCompressLargePayloadsAndRoundTrip() {
+		PayloadCodec.Encoded encoded = PayloadCodec.encode(PAYLOAD, 256);
+
+		assertThat(encoded.codec()).isEqualTo(PayloadCodec.DEFLATE);
+		assertThat(encoded.data().length).isLessThan(PAYLOAD.length() / 10);
+		assertThat(PayloadCodec.decode(encoded.codec(), encoded.data(), Integer.MAX_VALUE)).isEqualTo(PAYLOAD);
+	}
+
+	@Test
+	void encode_ShouldKeepSmallPayloadsPlain() {
+		PayloadCodec.Encoded encoded = PayloadCodec.encode("{\"port\":22}", 256);
+
+		assertThat(encoded.codec()).isEqualTo(PayloadCodec.PLAIN);
+		assertThat(PayloadCodec.decode(encoded.codec(), encoded.data(), 100)).isEqualTo("{\"port\":22}");
+	}
+
+	@Test
+	void decode_ShouldStopAtMaxChars() {
+		PayloadCodec.Encoded encoded = PayloadCodec.encode(PAYLOAD, 256);
+
+		assertThat(PayloadCodec.decode(encoded.codec(), encoded.data(), 50)).isEqualTo(PAYLOAD.substring(0, 50));
+	}
+}
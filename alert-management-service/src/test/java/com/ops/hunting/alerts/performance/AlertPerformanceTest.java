@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -16,6 +17,7 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.util.StopWatch;
 
 import com.ops.hunting.alerts.dto.AlertDTO;
+import com.ops.hunting.alerts.dto.AlertSearchCriteria;
 import com.ops.hunting.alerts.enums.AlertSeverity;
 import com.ops.hunting.alerts.enums.AlertStatus;
 import com.ops.hunting.alerts.service.AlertService;
@@ -68,8 +70,9 @@ public class AlertPerformanceTest {
 
 		// Perform multiple search operations
 		for (int i = 0; i < 100; i++) {
-			alertService.searchAlerts(AlertSeverity.HIGH, AlertStatus.OPEN, LocalDateTime.now().minusDays(1),
-					LocalDateTime.now(), org.springframework.data.domain.PageRequest.of(0, 10));
+			alertService.searchAlerts(AlertSearchCriteria.builder().severities(Set.of(AlertSeverity.HIGH))
+					.statuses(Set.of(AlertStatus.OPEN)).from(LocalDateTime.now().minusDays(1)).to(LocalDateTime.now())
+					.build(), org.springframework.data.domain.PageRequest.of(0, 10));
 		}
 
 		stopWatch.stop();
@@ -0,0 +1,99 @@
+package com.ops.hunting.alerts.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.ops.hunting.alerts.dto.AlertCursor;
+import com.ops.hunting.alerts.dto.AlertSearchCriteria;
+import com.ops.hunting.alerts.entity.Alert;
+import com.ops.hunting.alerts.enums.AlertSeverity;
+import com.ops.hunting.alerts.enums.AlertStatus;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(AlertSearchRepository.class)
+public class AlertSearchRepositoryTest {
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private AlertSearchRepository alertSearchRepository;
+
+	private LocalDateTime baseTime;
+
+	@BeforeEach
+	void setUp() {
+		baseTime = LocalDateTime.now().withNano(0);
+
+		persist("Open high", AlertSeverity.HIGH, AlertStatus.OPEN, "IDS", "alice", 0.9, 3);
+		persist("Open critical", AlertSeverity.CRITICAL, AlertStatus.OPEN, "SIEM", null, 0.4, 2);
+		persist("Closed high", AlertSeverity.HIGH, AlertStatus.CLOSED, "IDS", "alice", 0.7, 1);
+	}
+
+	@Test
+	void search_WithNoCriteria_ShouldReturnAllNewestFirst() {
+		Page<Alert> page = alertSearchRepository.search(new AlertSearchCriteria(), PageRequest.of(0, 10));
+
+		assertThat(page.getTotalElements()).isEqualTo(3);
+		assertThat(page.getContent()).extracting(Alert::getTitle).containsExactly("Closed high", "Open critical",
+				"Open high");
+	}
+
+	@Test
+	void search_ShouldApplyOnlyPresentFilters() {
+		AlertSearchCriteria criteria = AlertSearchCriteria.builder()
+				.severities(Set.of(AlertSeverity.HIGH, AlertSeverity.CRITICAL)).statuses(Set.of(AlertStatus.OPEN))
+				.minConfidence(0.5).build();
+
+		Page<Alert> page = alertSearchRepository.search(criteria, PageRequest.of(0, 10));
+
+		assertThat(page.getContent()).extracting(Alert::getTitle).containsExactly("Open high");
+	}
+
+	@Test
+	void search_ByAssigneeAndSourceSystem_ShouldMatchBoth() {
+		AlertSearchCriteria criteria = AlertSearchCriteria.builder().assignedTo("alice").sourceSystem("IDS")
+				.from(baseTime.minusHours(2)).build();
+
+		Page<Alert> page = alertSearchRepository.search(criteria, PageRequest.of(0, 10));
+
+		assertThat(page.getContent()).extracting(Alert::getTitle).containsExactly("Closed high");
+	}
+
+	@Test
+	void seek_ShouldContinueAfterCursor() {
+		List<Alert> first = alertSearchRepository.seek(new AlertSearchCriteria(), null, 2);
+		assertThat(first).hasSize(3);
+
+		Alert last = first.get(1);
+		List<Alert> next = alertSearchRepository.seek(new AlertSearchCriteria(),
+				new AlertCursor(last.getCreatedAt(), last.getId()), 2);
+
+		assertThat(next).extracting(Alert::getTitle).containsExactly("Open high");
+	}
+
+	private void persist(String title, AlertSeverity severity, AlertStatus status, String sourceSystem,
+			String assignedTo, double confidence, int hoursAgo) {
+		Alert alert = Alert.builder().title(title).severity(severity).status(status).sourceSystem(sourceSystem)
+				.assignedTo(assignedTo).confidenceScore(confidence).build();
+		entityManager.persistAndFlush(alert);
+		// createdAt is set by @CreationTimestamp on insert, so backdate it afterwards.
+		entityManager.getEntityManager().createNativeQuery("UPDATE alerts SET created_at = ?1 WHERE title = ?2")
+				.setParameter(1, baseTime.minusHours(hoursAgo)).setParameter(2, title).executeUpdate();
+		entityManager.clear();
+	}
+}
@@ -0,0 +1,215 @@
+package com.ops.hunting.alerts.rollup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.ops.hunting.alerts.config.RollupProperties;
+import com.ops.hunting.alerts.dto.AlertHistogramDTO;
+import com.ops.hunting.alerts.entity.Alert;
+import com.ops.hunting.alerts.enums.AlertSeverity;
+import com.ops.hunting.alerts.enums.AlertStatus;
+import com.ops.hunting.alerts.enums.RollupDimension;
+import com.ops.hunting.alerts.enums.RollupGranularity;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class AlertRollupsTest {
+
+	private static final LocalDateTime T0 = LocalDateTime.of(2024, 3, 1, 10, 15, 30);
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private RollupProperties properties;
+	private AlertRollups rollups;
+
+	@BeforeEach
+	void setUp() {
+		properties = new RollupProperties();
+		rollups = new AlertRollups(properties, jdbcTemplate, transactionManager, new SimpleMeterRegistry());
+	}
+
+	@Test
+	void flush_ShouldUpsertOneSummedRowPerBucket() {
+		rollups.record(List.of(alert(AlertSeverity.HIGH, "IDS", T0), alert(AlertSeverity.HIGH, "IDS", T0.plusSeconds(5)),
+				alert(AlertSeverity.LOW, null, T0.plusMinutes(1))));
+
+		rollups.flush();
+
+		Map<RollupKey, Long> rows = flushedRows();
+		assertThat(rows.get(key(RollupGranularity.MINUTE, RollupDimension.ALL, "all", T0))).isEqualTo(2L);
+		assertThat(rows.get(key(RollupGranularity.HOUR, RollupDimension.ALL, "all", T0))).isEqualTo(3L);
+		assertThat(rows.get(key(RollupGranularity.DAY, RollupDimension.SEVERITY, "HIGH", T0))).isEqualTo(2L);
+		assertThat(rows.get(key(RollupGranularity.HOUR, RollupDimension.SOURCE_SYSTEM, RollupDimension.NONE, T0)))
+				.isEqualTo(1L);
+		assertThat(rollups.pendingBuckets()).isZero();
+	}
+
+	@Test
+	void flush_ShouldKeepDeltasWhenUpsertFails() {
+		rollups.record(alert(AlertSeverity.HIGH, "IDS", T0));
+		int buckets = rollups.pendingBuckets();
+		when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(),
+				any(ParameterizedPreparedStatementSetter.class)))
+				.thenThrow(new DataAccessResourceFailureException("down"));
+
+		rollups.flush();
+
+		assertThat(rollups.pendingBuckets()).isEqualTo(buckets);
+	}
+
+	@Test
+	void backfill_ShouldSkipWhenAnotherInstanceHoldsTheLock() {
+		when(jdbcTemplate.queryForObject(eq("SELECT GET_LOCK(?, 0)"), eq(Integer.class), any(Object[].class)))
+				.thenReturn(0);
+
+		rollups.backfill();
+
+		verify(jdbcTemplate, never()).queryForList(anyString());
+		verify(jdbcTemplate, never()).batchUpdate(anyString(), any(Collection.class), anyInt(),
+				any(ParameterizedPreparedStatementSetter.class));
+	}
+
+	@Test
+	void backfill_ShouldPageByCreatedAtAndIdUntilShortPage() throws SQLException {
+		properties.setBackfillPageSize(2);
+		when(jdbcTemplate.queryForObject(eq("SELECT GET_LOCK(?, 0)"), eq(Integer.class), any(Object[].class)))
+				.thenReturn(1);
+		when(jdbcTemplate.queryForObject(eq("SELECT RELEASE_LOCK(?)"), eq(Integer.class), any(Object[].class)))
+				.thenReturn(1);
+		when(jdbcTemplate.queryForList("SELECT 1 FROM alert_rollups LIMIT 1")).thenReturn(List.of());
+		LocalDateTime createdAt = LocalDateTime.now().minusHours(1);
+		byte[] lastId = { 2 };
+		ResultSet rs = mock(ResultSet.class);
+		when(rs.getBytes(1)).thenReturn(new byte[] { 1 }, lastId, new byte[] { 3 });
+		when(rs.getTimestamp(2)).thenReturn(Timestamp.valueOf(createdAt));
+		when(rs.getString(3)).thenReturn("HIGH");
+		when(rs.getString(4)).thenReturn("IDS");
+		when(rs.getString(5)).thenReturn("rule");
+		int[] pages = { 0 };
+		doAnswer(invocation -> {
+			RowCallbackHandler handler = invocation.getArgument(1);
+			int rows = pages[0]++ == 0 ? 2 : 1;
+			for (int i = 0; i < rows; i++) {
+				handler.processRow(rs);
+			}
+			return null;
+		}).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+
+		rollups.backfill();
+
+		ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+		verify(jdbcTemplate, times(2)).query(anyString(), any(RowCallbackHandler.class), args.capture());
+		List<Object> next = Arrays.asList(args.getAllValues().get(1));
+		assertThat(next.subList(1, next.size())).containsExactly(Timestamp.valueOf(createdAt),
+				Timestamp.valueOf(createdAt), lastId, 2);
+		Map<RollupKey, Long> rows = flushedRows();
+		assertThat(rows.get(key(RollupGranularity.HOUR, RollupDimension.SEVERITY, "HIGH", createdAt))).isEqualTo(3L);
+	}
+
+	@Test
+	void record_ShouldDoNothingWhenDisabled() {
+		properties.setEnabled(false);
+
+		rollups.record(alert(AlertSeverity.HIGH, "IDS", T0));
+		rollups.flush();
+
+		assertThat(rollups.pendingBuckets()).isZero();
+		verify(jdbcTemplate, never()).batchUpdate(anyString(), any(Collection.class), anyInt(),
+				any(ParameterizedPreparedStatementSetter.class));
+	}
+
+	@Test
+	void histogram_ShouldZeroFillBucketsAndRankSeriesByTotal() throws SQLException {
+		LocalDateTime from = T0.withMinute(0).withSecond(0);
+		ResultSet rs = mock(ResultSet.class);
+		when(rs.getString(1)).thenReturn("IDS", "EDR", "EDR");
+		when(rs.getTimestamp(2)).thenReturn(Timestamp.valueOf(from), Timestamp.valueOf(from.plusHours(1)),
+				Timestamp.valueOf(from.plusHours(3)));
+		when(rs.getLong(3)).thenReturn(4L, 2L, 5L);
+		doAnswer(invocation -> {
+			RowCallbackHandler handler = invocation.getArgument(1);
+			for (int i = 0; i < 3; i++) {
+				handler.processRow(rs);
+			}
+			return null;
+		}).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+
+		AlertHistogramDTO histogram = rollups.histogram(RollupGranularity.HOUR, RollupDimension.SOURCE_SYSTEM, null,
+				T0, from.plusHours(4), 10);
+
+		assertThat(histogram.getBuckets()).containsExactly(from, from.plusHours(1), from.plusHours(2),
+				from.plusHours(3));
+		assertThat(histogram.getSeries()).extracting(AlertHistogramDTO.Series::getValue).containsExactly("EDR", "IDS");
+		assertThat(histogram.getSeries().get(0).getCounts()).containsExactly(0L, 2L, 0L, 5L);
+		assertThat(histogram.getSeries().get(1).getCounts()).containsExactly(4L, 0L, 0L, 0L);
+	}
+
+	@Test
+	void histogram_ShouldRejectTooManyBuckets() {
+		properties.setMaxHistogramBuckets(60);
+
+		assertThatThrownBy(() -> rollups.histogram(RollupGranularity.MINUTE, RollupDimension.ALL, null, T0,
+				T0.plusHours(2), 10)).isInstanceOf(IllegalArgumentException.class);
+		verifyNoInteractions(jdbcTemplate);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<RollupKey, Long> flushedRows() {
+		ArgumentCaptor<Collection<Map.Entry<RollupKey, Long>>> rows = ArgumentCaptor.forClass(Collection.class);
+		verify(jdbcTemplate).batchUpdate(anyString(), rows.capture(), anyInt(),
+				any(ParameterizedPreparedStatementSetter.class));
+		List<Map.Entry<RollupKey, Long>> flushed = new ArrayList<>(rows.getValue());
+		assertThat(flushed).isSortedAccordingTo(Map.Entry.comparingByKey(RollupKey.ORDER));
+		return flushed.stream().collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+	}
+
+	private static RollupKey key(RollupGranularity granularity, RollupDimension dimension, String value,
+			LocalDateTime time) {
+		return new RollupKey(granularity, dimension, value, granularity.truncate(time));
+	}
+
+	private static Alert alert(AlertSeverity severity, String sourceSystem, LocalDateTime createdAt) {
+		return Alert.builder().id(UUID.randomUUID()).title("alert").severity(severity).status(AlertStatus.OPEN)
+				.sourceSystem(sourceSystem).ruleName("rule").createdAt(createdAt).build();
+	}
+}
@@ -0,0 +1,147 @@
+package com.ops.hunting.alerts.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.ops.hunting.alerts.cache.AlertCacheEvictor;
+import com.ops.hunting.alerts.dto.AlertBulkStatusUpdateDTO;
+import com.ops.hunting.alerts.entity.Alert;
+import com.ops.hunting.alerts.enums.AlertStatus;
+import com.ops.hunting.alerts.live.AlertFeedEvent;
+import com.ops.hunting.alerts.live.AlertLiveFeed;
+import com.ops.hunting.alerts.outbox.OutboxPublisher;
+import com.ops.hunting.alerts.repository.AlertRepository;
+import com.ops.hunting.alerts.sla.AlertSlaTracker;
+import com.ops.hunting.alerts.triage.AlertTriageQueue;
+import com.ops.hunting.common.dto.BulkOperationResponse;
+
+@ExtendWith(MockitoExtension.class)
+public class AlertBulkStatusEngineTest {
+
+	@Mock
+	private AlertRepository alertRepository;
+
+	@Mock
+	private OutboxPublisher outboxPublisher;
+
+	@Mock
+	private AlertCacheEvictor alertCacheEvictor;
+
+	@Mock
+	private AlertSummaryCounters alertSummaryCounters;
+
+	@Mock
+	private AlertSlaTracker alertSlaTracker;
+
+	@Mock
+	private AlertTriageQueue alertTriageQueue;
+
+	@Mock
+	private AlertLiveFeed alertLiveFeed;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private AlertBulkStatusEngine engine;
+
+	@BeforeEach
+	void setUp() {
+		engine = new AlertBulkStatusEngine(alertRepository, outboxPublisher, alertCacheEvictor, alertSummaryCounters,
+				alertSlaTracker, alertTriageQueue, alertLiveFeed, transactionManager);
+	}
+
+	@Test
+	void updateStatus_ShouldReportMissingIdsAndUpdateTheRest() {
+		UUID existing = UUID.randomUUID();
+		UUID missing = UUID.randomUUID();
+		List<Object[]> rows = new ArrayList<>();
+		rows.add(new Object[] { existing, 2L, AlertStatus.OPEN, LocalDateTime.now() });
+
+		when(alertRepository.lockStatusVersionsByIdIn(anyCollection())).thenReturn(rows);
+		when(alertRepository.bulkUpdateStatus(eq(List.of(existing)), eq(2L), eq(AlertStatus.FALSE_POSITIVE),
+				eq("analyst1"), any())).thenReturn(1);
+
+		BulkOperationResponse response = engine.updateStatus(Arrays.asList(existing, missing),
+				AlertStatus.FALSE_POSITIVE, "analyst1");
+
+		assertThat(response.getTotalCount()).isEqualTo(2);
+		assertThat(response.getSuccessCount()).isEqualTo(1);
+		assertThat(response.getFailureCount()).isEqualTo(1);
+		assertThat(response.getStatus()).isEqualTo("PARTIAL");
+		assertThat(response.getErrors()).containsExactly(missing + ": alert not found");
+
+		verify(alertCacheEvictor, times(1)).evict(List.of(existing));
+		verify(outboxPublisher, times(1)).publish(eq("alert-status-updated"), anyString(),
+				any(AlertBulkStatusUpdateDTO.class));
+	}
+
+	@Test
+	void updateStatus_ToClosed_ShouldUseCloseStatement() {
+		UUID id = UUID.randomUUID();
+		List<Object[]> rows = new ArrayList<>();
+		rows.add(new Object[] { id, 0L, AlertStatus.IN_PROGRESS, LocalDateTime.now() });
+
+		when(alertRepository.lockStatusVersionsByIdIn(anyCollection())).thenReturn(rows);
+		when(alertRepository.bulkCloseAlerts(eq(List.of(id)), eq(0L), eq(AlertStatus.CLOSED), eq("analyst1"),
+				any())).thenReturn(1);
+
+		BulkOperationResponse response = engine.updateStatus(List.of(id), AlertStatus.CLOSED, "analyst1");
+
+		assertThat(response.getStatus()).isEqualTo("COMPLETED");
+		verify(alertRepository, never()).bulkUpdateStatus(anyCollection(), any(), any(), any(), any());
+	}
+
+	@Test
+	void updateStatus_WithLiveSessions_ShouldPublishUpdatedAlertsToFeed() {
+		UUID id = UUID.randomUUID();
+		List<Object[]> rows = new ArrayList<>();
+		rows.add(new Object[] { id, 1L, AlertStatus.OPEN, LocalDateTime.now() });
+		List<Alert> alerts = List.of(new Alert());
+
+		when(alertRepository.lockStatusVersionsByIdIn(anyCollection())).thenReturn(rows);
+		when(alertRepository.bulkUpdateStatus(eq(List.of(id)), eq(1L), eq(AlertStatus.IN_PROGRESS), eq("analyst1"),
+				any())).thenReturn(1);
+		when(alertLiveFeed.isListening()).thenReturn(true);
+		when(alertRepository.findAllById(List.of(id))).thenReturn(alerts);
+
+		engine.updateStatus(List.of(id), AlertStatus.IN_PROGRESS, "analyst1");
+
+		verify(alertLiveFeed).publish(alerts, AlertFeedEvent.Change.STATUS_CHANGED);
+	}
+
+	@Test
+	void updateStatus_WithNullVersion_ShouldTreatItAsZero() {
+		UUID id = UUID.randomUUID();
+		List<Object[]> rows = new ArrayList<>();
+		rows.add(new Object[] { id, null, AlertStatus.OPEN, LocalDateTime.now() });
+
+		when(alertRepository.lockStatusVersionsByIdIn(anyCollection())).thenReturn(rows);
+		when(alertRepository.bulkUpdateStatus(eq(List.of(id)), eq(0L), eq(AlertStatus.IN_PROGRESS), eq("analyst1"),
+				any())).thenReturn(1);
+
+		BulkOperationResponse response = engine.updateStatus(List.of(id), AlertStatus.IN_PROGRESS, "analyst1");
+
+		assertThat(response.getStatus()).isEqualTo("COMPLETED");
+		assertThat(response.getSuccessCount()).isEqualTo(1);
+	}
+}
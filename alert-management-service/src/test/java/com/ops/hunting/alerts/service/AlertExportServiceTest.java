@@ -0,0 +1,102 @@
+package com.ops.hunting.alerts.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ops.hunting.alerts.dto.AlertDTO;
+import com.ops.hunting.alerts.dto.AlertSearchCriteria;
+import com.ops.hunting.alerts.entity.Alert;
+import com.ops.hunting.alerts.enums.AlertExportFormat;
+import com.ops.hunting.alerts.enums.AlertSeverity;
+import com.ops.hunting.alerts.enums.AlertStatus;
+import com.ops.hunting.alerts.mapper.AlertMapper;
+import com.ops.hunting.alerts.repository.AlertSearchRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class AlertExportServiceTest {
+
+	@Mock
+	private AlertSearchRepository alertSearchRepository;
+
+	@Mock
+	private AlertMapper alertMapper;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private AlertExportServiceImpl exportService;
+
+	private AlertSearchCriteria criteria;
+	private Alert alert;
+
+	@BeforeEach
+	void setUp() {
+		exportService = new AlertExportServiceImpl(alertSearchRepository, alertMapper,
+				new ObjectMapper().registerModule(new JavaTimeModule()), transactionManager);
+		criteria = new AlertSearchCriteria();
+		alert = Alert.builder().id(UUID.randomUUID()).title("Beacon, \"suspected\"").severity(AlertSeverity.HIGH)
+				.status(AlertStatus.OPEN).createdAt(LocalDateTime.of(2024, 5, 1, 12, 0)).build();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void export_AsNdjson_ShouldWriteOneLinePerAlert() throws Exception {
+		when(alertSearchRepository.scroll(eq(criteria), anyInt(), anyBoolean(), any())).thenAnswer(invocation -> {
+			Consumer<Alert> consumer = invocation.getArgument(3);
+			consumer.accept(alert);
+			consumer.accept(alert);
+			return 2L;
+		});
+		when(alertMapper.toDTO(alert)).thenReturn(AlertDTO.builder().id(alert.getId()).title("Beacon").build());
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		long rows = exportService.export(criteria, AlertExportFormat.NDJSON, false, out);
+
+		String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+		assertThat(rows).isEqualTo(2);
+		assertThat(lines).hasSize(2);
+		assertThat(lines[0]).startsWith("{").contains("\"title\":\"Beacon\"");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void export_AsGzippedCsv_ShouldWriteHeaderAndEscapedRows() throws Exception {
+		when(alertSearchRepository.scroll(eq(criteria), anyInt(), anyBoolean(), any())).thenAnswer(invocation -> {
+			Consumer<Alert> consumer = invocation.getArgument(3);
+			consumer.accept(alert);
+			return 1L;
+		});
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		exportService.export(criteria, AlertExportFormat.CSV, true, out);
+
+		String csv;
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+			csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+		String[] lines = csv.split("\n");
+		assertThat(lines[0]).startsWith("id,title,severity,status");
+		assertThat(lines[1]).startsWith(alert.getId() + ",\"Beacon, \"\"suspected\"\"\",HIGH,OPEN");
+	}
+}
@@ -0,0 +1,124 @@
+package com.ops.hunting.alerts.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ops.hunting.alerts.dto.AlertDTO;
+import com.ops.hunting.alerts.dto.AlertImportResultDTO;
+import com.ops.hunting.alerts.entity.Alert;
+import com.ops.hunting.alerts.enums.AlertStatus;
+import com.ops.hunting.alerts.mapper.AlertMapper;
+
+import jakarta.validation.Validation;
+
+@ExtendWith(MockitoExtension.class)
+public class AlertImportServiceTest {
+
+	private static final String BODY = """
+			{"title":"Beacon","severity":"HIGH","sourceSystem":"SENSOR-7","sourceIp":"10.0.0.5"}
+			{"title":"Broken",
+			{"severity":"LOW"}
+
+			{"title":"Scan","severity":"MEDIUM","status":"CLOSED"}
+			""";
+
+	@Mock
+	private AlertIngestionService alertIngestionService;
+
+	@Mock
+	private AlertMapper alertMapper;
+
+	private AlertImportServiceImpl importService;
+
+	@BeforeEach
+	void setUp() {
+		importService = new AlertImportServiceImpl(alertIngestionService, alertMapper,
+				Validation.buildDefaultValidatorFactory().getValidator(),
+				new ObjectMapper().registerModule(new JavaTimeModule()));
+		when(alertMapper.toEntity(any(AlertDTO.class))).thenAnswer(invocation -> {
+			AlertDTO dto = invocation.getArgument(0);
+			return Alert.builder().title(dto.getTitle()).severity(dto.getSeverity()).status(dto.getStatus()).build();
+		});
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void importNdjson_ShouldPersistValidLinesAndReportBadOnes() throws IOException {
+		when(alertIngestionService.ingestAlerts(anyList())).thenReturn(2);
+
+		AlertImportResultDTO result = importService.importNdjson(gzip(BODY));
+
+		ArgumentCaptor<List<Alert>> chunk = ArgumentCaptor.forClass(List.class);
+		verify(alertIngestionService).ingestAlerts(chunk.capture());
+		assertThat(chunk.getValue()).extracting(Alert::getTitle).containsExactly("Beacon", "Scan");
+		assertThat(chunk.getValue()).extracting(Alert::getStatus).containsOnly(AlertStatus.OPEN);
+
+		assertThat(result.getTotalLines()).isEqualTo(4);
+		assertThat(result.getAcceptedCount()).isEqualTo(2);
+		assertThat(result.getInsertedCount()).isEqualTo(2);
+		assertThat(result.getRejectedCount()).isEqualTo(2);
+		assertThat(result.getErrors()).extracting(AlertImportResultDTO.LineError::getLine).containsExactly(2L, 3L);
+		assertThat(result.getErrors().get(0).getMessage()).startsWith("Malformed JSON");
+		assertThat(result.getErrors().get(1).getMessage()).startsWith("title:");
+	}
+
+	@Test
+	void importNdjson_ShouldRejectChunkThatFailsToPersist() throws IOException {
+		when(alertIngestionService.ingestAlerts(anyList())).thenThrow(new DataIntegrityViolationException("boom"));
+
+		AlertImportResultDTO result = importService
+				.importNdjson(new ByteArrayInputStream(BODY.getBytes(StandardCharsets.UTF_8)));
+
+		assertThat(result.getAcceptedCount()).isZero();
+		assertThat(result.getRejectedCount()).isEqualTo(4);
+		assertThat(result.getErrors()).last().extracting(AlertImportResultDTO.LineError::getMessage)
+				.asString().startsWith("Lines 1-5 not stored");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void importNdjson_ShouldRejectOversizedLineWithoutBufferingIt() throws IOException {
+		when(alertIngestionService.ingestAlerts(anyList())).thenReturn(1);
+		String oversized = "{\"title\":\"" + "x".repeat(2 * 1024 * 1024) + "\",\"severity\":\"LOW\"}";
+		String body = oversized + "\n{\"title\":\"Beacon\",\"severity\":\"HIGH\"}\n";
+
+		AlertImportResultDTO result = importService
+				.importNdjson(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+		ArgumentCaptor<List<Alert>> chunk = ArgumentCaptor.forClass(List.class);
+		verify(alertIngestionService).ingestAlerts(chunk.capture());
+		assertThat(chunk.getValue()).extracting(Alert::getTitle).containsExactly("Beacon");
+		assertThat(result.getTotalLines()).isEqualTo(2);
+		assertThat(result.getRejectedCount()).isEqualTo(1);
+		assertThat(result.getErrors()).extracting(AlertImportResultDTO.LineError::getLine).containsExactly(1L);
+		assertThat(result.getErrors().get(0).getMessage()).startsWith("Line exceeds");
+	}
+
+	private static ByteArrayInputStream gzip(String body) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+			out.write(body.getBytes(StandardCharsets.UTF_8));
+		}
+		return new ByteArrayInputStream(bytes.toByteArray());
+	}
+}
@@ -0,0 +1,154 @@
+package com.ops.hunting.alerts.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.ops.hunting.alerts.cache.AlertCacheEvictor;
+import com.ops.hunting.alerts.cluster.AlertClusterer;
+import com.ops.hunting.alerts.correlation.AlertCorrelator;
+import com.ops.hunting.alerts.dedup.AlertDeduplicator;
+import com.ops.hunting.alerts.dto.AlertGeneratedEventDTO;
+import com.ops.hunting.alerts.enrichment.AlertEnricher;
+import com.ops.hunting.alerts.entity.Alert;
+import com.ops.hunting.alerts.enums.AlertSeverity;
+import com.ops.hunting.alerts.enums.AlertStatus;
+import com.ops.hunting.alerts.live.AlertLiveFeed;
+import com.ops.hunting.alerts.payload.AlertPayloadStore;
+import com.ops.hunting.alerts.repository.AlertJdbcRepository;
+import com.ops.hunting.alerts.rollup.AlertRollups;
+import com.ops.hunting.alerts.sla.AlertSlaTracker;
+import com.ops.hunting.alerts.triage.AlertTriageQueue;
+
+@ExtendWith(MockitoExtension.class)
+public class AlertIngestionServiceTest {
+
+	@Mock
+	private AlertJdbcRepository alertJdbcRepository;
+
+	@Mock
+	private AlertSummaryCounters alertSummaryCounters;
+
+	@Mock
+	private AlertDeduplicator alertDeduplicator;
+
+	@Mock
+	private AlertCacheEvictor alertCacheEvictor;
+
+	@Mock
+	private AlertLiveFeed alertLiveFeed;
+
+	@Mock
+	private AlertCorrelator alertCorrelator;
+
+	@Mock
+	private AlertSlaTracker alertSlaTracker;
+
+	@Mock
+	private AlertTriageQueue alertTriageQueue;
+
+	@Mock
+	private AlertClusterer alertClusterer;
+
+	@Mock
+	private AlertEnricher alertEnricher;
+
+	@Mock
+	private AlertPayloadStore alertPayloadStore;
+
+	@Mock
+	private AlertRollups alertRollups;
+
+	@InjectMocks
+	private AlertIngestionServiceImpl alertIngestionService;
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void ingestEvents_ShouldBatchInsertOneAlertPerNonEmptyEvent() {
+		UUID analyticId = UUID.randomUUID();
+		LocalDateTime timestamp = LocalDateTime.now().minusMinutes(1);
+		AlertGeneratedEventDTO event = AlertGeneratedEventDTO.builder().analyticId(analyticId).alertCount(3)
+				.alertData("{\"hits\":3}").timestamp(timestamp).build();
+		AlertGeneratedEventDTO empty = AlertGeneratedEventDTO.builder().analyticId(analyticId).alertCount(0).build();
+
+		when(alertJdbcRepository.batchInsert(anyList())).thenReturn(1);
+
+		int persisted = alertIngestionService.ingestEvents(Arrays.asList(event, empty));
+
+		ArgumentCaptor<List<Alert>> captor = ArgumentCaptor.forClass(List.class);
+		verify(alertJdbcRepository).batchInsert(captor.capture());
+		assertThat(persisted).isEqualTo(1);
+		assertThat(captor.getValue()).hasSize(1);
+
+		Alert alert = captor.getValue().get(0);
+		assertThat(alert.getStatus()).isEqualTo(AlertStatus.OPEN);
+		assertThat(alert.getRuleId()).isEqualTo(analyticId.toString());
+		assertThat(alert.getCreatedAt()).isEqualTo(timestamp);
+		assertThat(alert.getSourceSystem()).isEqualTo(AlertIngestionServiceImpl.DETECTION_SOURCE_SYSTEM);
+		verify(alertCorrelator).correlate(captor.getValue());
+	}
+
+	@Test
+	void ingestAlerts_WithEmptyBatch_ShouldNotTouchDatabase() {
+		int persisted = alertIngestionService.ingestAlerts(Collections.emptyList());
+
+		assertThat(persisted).isZero();
+		verify(alertJdbcRepository, never()).batchInsert(anyList());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void ingestAlerts_ShouldFoldRepeatsIntoExistingAlerts() {
+		UUID existingId = UUID.randomUUID();
+		Alert repeat = Alert.builder().title("Repeat").severity(AlertSeverity.LOW).hash("abc").build();
+		Alert fresh = Alert.builder().title("Fresh").severity(AlertSeverity.LOW).hash("def").build();
+
+		when(alertDeduplicator.registerOrMatch(repeat)).thenReturn(existingId);
+		when(alertDeduplicator.registerOrMatch(fresh)).thenReturn(null);
+		when(alertJdbcRepository.batchInsert(anyList())).thenReturn(1);
+		when(alertJdbcRepository.incrementOccurrences(anyMap(), any())).thenReturn(Collections.emptyList());
+
+		int persisted = alertIngestionService.ingestAlerts(Arrays.asList(repeat, fresh));
+
+		assertThat(persisted).isEqualTo(1);
+		ArgumentCaptor<Map<UUID, Integer>> repeats = ArgumentCaptor.forClass(Map.class);
+		verify(alertJdbcRepository).incrementOccurrences(repeats.capture(), any());
+		assertThat(repeats.getValue()).containsEntry(existingId, 1);
+		verify(alertJdbcRepository).batchInsert(List.of(fresh));
+	}
+
+	@Test
+	void ingestAlerts_WithRepeatOfDeletedAlert_ShouldRaiseItAgain() {
+		UUID deletedId = UUID.randomUUID();
+		Alert repeat = Alert.builder().title("Repeat").severity(AlertSeverity.LOW).hash("abc").build();
+
+		when(alertDeduplicator.registerOrMatch(repeat)).thenReturn(deletedId, (UUID) null);
+		when(alertJdbcRepository.incrementOccurrences(anyMap(), any())).thenReturn(List.of(deletedId));
+		when(alertJdbcRepository.batchInsert(anyList())).thenReturn(1);
+
+		int persisted = alertIngestionService.ingestAlerts(List.of(repeat));
+
+		assertThat(persisted).isEqualTo(1);
+		verify(alertDeduplicator).forget(repeat);
+		verify(alertJdbcRepository).batchInsert(List.of(repeat));
+		verify(alertJdbcRepository).incrementOccurrences(anyMap(), any());
+	}
+}
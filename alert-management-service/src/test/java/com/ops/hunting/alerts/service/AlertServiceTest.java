@@ -3,16 +3,23 @@ package com.ops.hunting.alerts.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -25,16 +32,33 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.kafka.core.KafkaTemplate;
 
+import com.ops.hunting.alerts.archive.AlertArchive;
+import com.ops.hunting.alerts.cache.AlertCacheEvictor;
+import com.ops.hunting.alerts.cluster.AlertClusterer;
+import com.ops.hunting.alerts.correlation.AlertCorrelator;
+import com.ops.hunting.alerts.dedup.AlertDeduplicator;
+import com.ops.hunting.alerts.dto.AlertCursor;
+import com.ops.hunting.alerts.dto.AlertCursorPageDTO;
 import com.ops.hunting.alerts.dto.AlertDTO;
+import com.ops.hunting.alerts.dto.AlertSearchCriteria;
 import com.ops.hunting.alerts.dto.AlertSummaryDTO;
+import com.ops.hunting.alerts.enrichment.AlertEnricher;
 import com.ops.hunting.alerts.entity.Alert;
 import com.ops.hunting.alerts.enums.AlertSeverity;
 import com.ops.hunting.alerts.enums.AlertStatus;
+import com.ops.hunting.alerts.exception.AlertConflictException;
 import com.ops.hunting.alerts.exception.AlertNotFoundException;
+import com.ops.hunting.alerts.live.AlertLiveFeed;
 import com.ops.hunting.alerts.mapper.AlertMapper;
+import com.ops.hunting.alerts.outbox.OutboxPublisher;
+import com.ops.hunting.alerts.payload.AlertPayloadStore;
+import com.ops.hunting.alerts.repository.AlertJdbcRepository;
 import com.ops.hunting.alerts.repository.AlertRepository;
+import com.ops.hunting.alerts.repository.AlertSearchRepository;
+import com.ops.hunting.alerts.rollup.AlertRollups;
+import com.ops.hunting.alerts.sla.AlertSlaTracker;
+import com.ops.hunting.alerts.triage.AlertTriageQueue;
 
 @ExtendWith(MockitoExtension.class)
 public class AlertServiceTest {
@@ -46,11 +70,56 @@ public class AlertServiceTest {
 	private AlertMapper alertMapper;
 
 	@Mock
-	private KafkaTemplate<String, Object> kafkaTemplate;
+	private OutboxPublisher outboxPublisher;
 
 	@Mock
 	private NotificationService notificationService;
 
+	@Mock
+	private AlertBulkStatusEngine alertBulkStatusEngine;
+
+	@Mock
+	private AlertSummaryCounters alertSummaryCounters;
+
+	@Mock
+	private AlertDeduplicator alertDeduplicator;
+
+	@Mock
+	private AlertJdbcRepository alertJdbcRepository;
+
+	@Mock
+	private AlertCacheEvictor alertCacheEvictor;
+
+	@Mock
+	private AlertSearchRepository alertSearchRepository;
+
+	@Mock
+	private AlertLiveFeed alertLiveFeed;
+
+	@Mock
+	private AlertCorrelator alertCorrelator;
+
+	@Mock
+	private AlertArchive alertArchive;
+
+	@Mock
+	private AlertSlaTracker alertSlaTracker;
+
+	@Mock
+	private AlertTriageQueue alertTriageQueue;
+
+	@Mock
+	private AlertClusterer alertClusterer;
+
+	@Mock
+	private AlertEnricher alertEnricher;
+
+	@Mock
+	private AlertPayloadStore alertPayloadStore;
+
+	@Mock
+	private AlertRollups alertRollups;
+
 	@InjectMocks
 	private AlertServiceImpl alertService;
 
@@ -76,7 +145,7 @@ public class AlertServiceTest {
 	void createAlert_ShouldCreateAndReturnAlert() {
 		when(alertMapper.toEntity(alertDTO)).thenReturn(alert);
 		when(alertRepository.save(alert)).thenReturn(alert);
-		when(alertMapper.toDTO(alert)).thenReturn(alertDTO);
+		when(alertMapper.toDetailDTO(alert)).thenReturn(alertDTO);
 
 		AlertDTO result = alertService.createAlert(alertDTO);
 
@@ -86,13 +155,36 @@ public class AlertServiceTest {
 		assertThat(result.getSeverity()).isEqualTo(AlertSeverity.HIGH);
 
 		verify(alertRepository, times(1)).save(alert);
-		verify(kafkaTemplate, times(1)).send(eq("alert-created"), any());
+		verify(outboxPublisher, times(1)).publish(eq("alert-created"), any(), any());
+	}
+
+	@Test
+	void createAlert_WhenDuplicateWithinWindow_ShouldFoldIntoExistingAlert() {
+		UUID existingId = UUID.randomUUID();
+		Alert existing = Alert.builder().id(existingId).title("Suspicious Network Activity").occurrenceCount(2)
+				.build();
+		AlertDTO existingDTO = AlertDTO.builder().id(existingId).occurrenceCount(2).build();
+
+		when(alertMapper.toEntity(alertDTO)).thenReturn(alert);
+		when(alertDeduplicator.registerOrMatch(alert)).thenReturn(existingId);
+		when(alertJdbcRepository.incrementOccurrences(eq(Map.of(existingId, 1)), any()))
+				.thenReturn(Collections.emptyList());
+		when(alertRepository.findById(existingId)).thenReturn(Optional.of(existing));
+		when(alertMapper.toDTO(existing)).thenReturn(existingDTO);
+
+		AlertDTO result = alertService.createAlert(alertDTO);
+
+		assertThat(result.getId()).isEqualTo(existingId);
+		assertThat(result.getOccurrenceCount()).isEqualTo(2);
+		verify(alertRepository, never()).save(any(Alert.class));
+		verify(outboxPublisher, never()).publish(eq("alert-created"), any(), any());
 	}
 
 	@Test
 	void getAlertById_WhenAlertExists_ShouldReturnAlert() {
 		when(alertRepository.findById(alertId)).thenReturn(Optional.of(alert));
-		when(alertMapper.toDTO(alert)).thenReturn(alertDTO);
+		when(alertPayloadStore.load(alert)).thenReturn(alert);
+		when(alertMapper.toDetailDTO(alert)).thenReturn(alertDTO);
 
 		AlertDTO result = alertService.getAlertById(alertId);
 
@@ -109,6 +201,17 @@ public class AlertServiceTest {
 				.hasMessage("Alert not found with id: " + alertId);
 	}
 
+	@Test
+	void getAlertIncludingArchive_WhenAlertArchived_ShouldFallThrough() {
+		when(alertRepository.findById(alertId)).thenReturn(Optional.empty());
+		when(alertArchive.find(alertId)).thenReturn(Optional.of(alert));
+		when(alertMapper.toDetailDTO(alert)).thenReturn(alertDTO);
+
+		AlertDTO result = alertService.getAlertIncludingArchive(alertId);
+
+		assertThat(result.getId()).isEqualTo(alertId);
+	}
+
 	@Test
 	void getAllAlerts_ShouldReturnPagedAlerts() {
 		List<Alert> alerts = Arrays.asList(alert);
@@ -128,22 +231,54 @@ public class AlertServiceTest {
 
 	@Test
 	void updateAlertStatus_ShouldUpdateStatusAndAssignee() {
-		Alert updatedAlert = Alert.builder().id(alertId).status(AlertStatus.IN_PROGRESS).assignedTo("analyst1")
-				.updatedAt(LocalDateTime.now()).build();
-
-		AlertDTO updatedDTO = AlertDTO.builder().id(alertId).status(AlertStatus.IN_PROGRESS).assignedTo("analyst1")
-				.build();
-
-		when(alertRepository.findById(alertId)).thenReturn(Optional.of(alert));
-		when(alertRepository.save(any(Alert.class))).thenReturn(updatedAlert);
-		when(alertMapper.toDTO(updatedAlert)).thenReturn(updatedDTO);
+		alert.setVersion(4L);
+		when(alertJdbcRepository.findById(alertId, false)).thenReturn(Optional.of(alert));
+		when(alertJdbcRepository.compareAndSet(alert, 4L, AlertStatus.OPEN)).thenReturn(true);
+		when(alertMapper.toDTO(any(Alert.class)))
+				.thenAnswer(invocation -> AlertDTO.builder().id(alertId).status(alert.getStatus())
+						.assignedTo(alert.getAssignedTo()).version(alert.getVersion()).build());
 
 		AlertDTO result = alertService.updateAlertStatus(alertId, AlertStatus.IN_PROGRESS, "analyst1");
 
 		assertThat(result).isNotNull();
 		assertThat(result.getStatus()).isEqualTo(AlertStatus.IN_PROGRESS);
 		assertThat(result.getAssignedTo()).isEqualTo("analyst1");
-		verify(kafkaTemplate, times(1)).send(eq("alert-status-updated"), any());
+		assertThat(result.getVersion()).isEqualTo(5L);
+		verify(alertSummaryCounters).recordStatusChange(eq(AlertStatus.OPEN), eq(AlertStatus.IN_PROGRESS), any(),
+				any());
+		verify(alertRepository, never()).save(any(Alert.class));
+		verify(outboxPublisher, times(1)).publish(eq("alert-status-updated"), any(), any());
+	}
+
+	@Test
+	void updateAlertStatus_WhenRaced_ShouldRereadWithLockAndRetry() {
+		Alert stale = Alert.builder().id(alertId).title(alert.getTitle()).severity(AlertSeverity.HIGH)
+				.status(AlertStatus.OPEN).createdAt(alert.getCreatedAt()).version(1L).build();
+		Alert current = Alert.builder().id(alertId).title(alert.getTitle()).severity(AlertSeverity.HIGH)
+				.status(AlertStatus.IN_PROGRESS).assignedTo("analyst2").createdAt(alert.getCreatedAt()).version(2L)
+				.build();
+		when(alertJdbcRepository.findById(alertId, false)).thenReturn(Optional.of(stale));
+		when(alertJdbcRepository.findById(alertId, true)).thenReturn(Optional.of(current));
+		when(alertJdbcRepository.compareAndSet(stale, 1L, AlertStatus.OPEN)).thenReturn(false);
+		when(alertJdbcRepository.compareAndSet(current, 2L, AlertStatus.IN_PROGRESS)).thenReturn(true);
+
+		alertService.updateAlertStatus(alertId, AlertStatus.CLOSED, "analyst1");
+
+		assertThat(current.getStatus()).isEqualTo(AlertStatus.CLOSED);
+		assertThat(current.getClosedBy()).isEqualTo("analyst1");
+		verify(alertSummaryCounters).recordStatusChange(eq(AlertStatus.IN_PROGRESS), eq(AlertStatus.CLOSED), any(),
+				any());
+	}
+
+	@Test
+	void updateAlert_WhenConflictsPersist_ShouldThrowConflict() {
+		when(alertJdbcRepository.findById(eq(alertId), anyBoolean())).thenReturn(Optional.of(alert));
+		when(alertJdbcRepository.compareAndSet(any(Alert.class), anyLong(), any(AlertStatus.class))).thenReturn(false);
+
+		assertThatThrownBy(() -> alertService.updateAlert(alertId, alertDTO))
+				.isInstanceOf(AlertConflictException.class);
+		verify(alertJdbcRepository, times(3)).compareAndSet(any(Alert.class), anyLong(), any(AlertStatus.class));
+		verify(outboxPublisher, never()).publish(anyString(), any(), any());
 	}
 
 	@Test
@@ -154,11 +289,13 @@ public class AlertServiceTest {
 		LocalDateTime from = LocalDateTime.now().minusDays(1);
 		LocalDateTime to = LocalDateTime.now();
 
-		when(alertRepository.findBySeverityAndStatusAndCreatedAtBetween(AlertSeverity.HIGH, AlertStatus.OPEN, from, to,
-				pageable)).thenReturn(page);
+		AlertSearchCriteria criteria = AlertSearchCriteria.builder().severities(Set.of(AlertSeverity.HIGH))
+				.statuses(Set.of(AlertStatus.OPEN)).from(from).to(to).build();
+
+		when(alertSearchRepository.search(criteria, pageable)).thenReturn(page);
 		when(alertMapper.toDTO(alert)).thenReturn(alertDTO);
 
-		Page<AlertDTO> result = alertService.searchAlerts(AlertSeverity.HIGH, AlertStatus.OPEN, from, to, pageable);
+		Page<AlertDTO> result = alertService.searchAlerts(criteria, pageable);
 
 		assertThat(result).isNotNull();
 		assertThat(result.getContent()).hasSize(1);
@@ -173,16 +310,14 @@ public class AlertServiceTest {
 		alertService.deleteAlert(alertId);
 
 		verify(alertRepository, times(1)).delete(alert);
-		verify(kafkaTemplate, times(1)).send(eq("alert-deleted"), any());
+		verify(outboxPublisher, times(1)).publish(eq("alert-deleted"), any(), any());
 	}
 
 	@Test
-	void getAlertSummary_ShouldReturnSummary() {
-		when(alertRepository.count()).thenReturn(100L);
-		when(alertRepository.countByStatus(AlertStatus.OPEN)).thenReturn(25L);
-		when(alertRepository.countByStatus(AlertStatus.IN_PROGRESS)).thenReturn(15L);
-		when(alertRepository.countByStatus(AlertStatus.CLOSED)).thenReturn(60L);
-		when(alertRepository.countBySeverity(AlertSeverity.HIGH)).thenReturn(10L);
+	void getAlertSummary_ShouldReturnCounterSnapshot() {
+		AlertSummaryDTO snapshot = AlertSummaryDTO.builder().totalAlerts(100L).openAlerts(25L).inProgressAlerts(15L)
+				.closedAlerts(60L).highSeverityAlerts(10L).build();
+		when(alertSummaryCounters.snapshot()).thenReturn(snapshot);
 
 		AlertSummaryDTO result = alertService.getAlertSummary();
 
@@ -192,6 +327,89 @@ public class AlertServiceTest {
 		assertThat(result.getInProgressAlerts()).isEqualTo(15L);
 		assertThat(result.getClosedAlerts()).isEqualTo(60L);
 		assertThat(result.getHighSeverityAlerts()).isEqualTo(10L);
+		verify(alertRepository, never()).count();
+	}
+
+	@Test
+	void scrollAlerts_WithMoreRows_ShouldReturnCursorFromLastRow() {
+		Alert older = Alert.builder().id(UUID.randomUUID()).title("Older").severity(AlertSeverity.HIGH)
+				.status(AlertStatus.OPEN).createdAt(alert.getCreatedAt().minusMinutes(5)).build();
+		Alert oldest = Alert.builder().id(UUID.randomUUID()).title("Oldest").severity(AlertSeverity.HIGH)
+				.status(AlertStatus.OPEN).createdAt(alert.getCreatedAt().minusMinutes(10)).build();
+		AlertCursor after = new AlertCursor(LocalDateTime.now(), UUID.randomUUID());
+
+		AlertSearchCriteria criteria = AlertSearchCriteria.builder().severities(Set.of(AlertSeverity.HIGH)).build();
+
+		when(alertSearchRepository.seek(criteria, after, 2)).thenReturn(Arrays.asList(alert, older, oldest));
+		when(alertMapper.toDTO(any(Alert.class))).thenReturn(alertDTO);
+		when(alertSummaryCounters.snapshot())
+				.thenReturn(AlertSummaryDTO.builder().totalAlerts(100L).highSeverityAlerts(40L).build());
+
+		AlertCursorPageDTO result = alertService.scrollAlerts(criteria, after.encode(), 2, true, false);
+
+		assertThat(result.getContent()).hasSize(2);
+		assertThat(result.isHasNext()).isTrue();
+		assertThat(AlertCursor.decode(result.getNextCursor()))
+				.isEqualTo(new AlertCursor(older.getCreatedAt(), older.getId()));
+		assertThat(result.getApproximateTotal()).isEqualTo(40L);
+		verify(alertRepository, never()).count();
+	}
+
+	@Test
+	void scrollAlerts_IncludingArchive_ShouldMergeTiersNewestFirst() {
+		Alert archived = Alert.builder().id(UUID.randomUUID()).title("Archived").severity(AlertSeverity.HIGH)
+				.status(AlertStatus.CLOSED).createdAt(alert.getCreatedAt().plusMinutes(1)).build();
+		Alert archivedOlder = Alert.builder().id(UUID.randomUUID()).title("Archived older")
+				.severity(AlertSeverity.HIGH).status(AlertStatus.CLOSED)
+				.createdAt(alert.getCreatedAt().minusMinutes(1)).build();
+		AlertSearchCriteria criteria = new AlertSearchCriteria();
+
+		when(alertSearchRepository.seek(criteria, null, 1)).thenReturn(List.of(alert));
+		when(alertArchive.seek(criteria, null, 1)).thenReturn(List.of(archived, archivedOlder));
+		when(alertMapper.toDTO(archived)).thenReturn(AlertDTO.builder().id(archived.getId()).build());
+
+		AlertCursorPageDTO result = alertService.scrollAlerts(criteria, null, 1, true, true);
+
+		assertThat(result.getContent()).extracting(AlertDTO::getId).containsExactly(archived.getId());
+		assertThat(result.isHasNext()).isTrue();
+		assertThat(AlertCursor.decode(result.getNextCursor()))
+				.isEqualTo(new AlertCursor(archived.getCreatedAt(), archived.getId()));
+		assertThat(result.getApproximateTotal()).isNull();
+	}
+
+	@Test
+	void scrollAlerts_WithMalformedCursor_ShouldThrowIllegalArgument() {
+		assertThatThrownBy(() -> alertService.scrollAlerts(new AlertSearchCriteria(), "not-a-cursor", 10, false, false))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void claimNextAlert_WhenHeadAlreadyTaken_ShouldDiscardItAndClaimNext() {
+		UUID taken = UUID.randomUUID();
+		when(alertTriageQueue.claimCandidates()).thenReturn(List.of(taken, alertId));
+		when(alertJdbcRepository.claim(eq(taken), eq("analyst1"), any())).thenReturn(false);
+		when(alertJdbcRepository.claim(eq(alertId), eq("analyst1"), any())).thenReturn(true);
+		alert.setStatus(AlertStatus.IN_PROGRESS);
+		alert.setAssignedTo("analyst1");
+		when(alertRepository.findById(alertId)).thenReturn(Optional.of(alert));
+		when(alertMapper.toDTO(alert)).thenReturn(alertDTO);
+
+		AlertDTO result = alertService.claimNextAlert("analyst1");
+
+		assertThat(result).isSameAs(alertDTO);
+		verify(alertTriageQueue).discard(taken);
+		verify(alertTriageQueue).track(alert);
+		verify(alertSummaryCounters).recordStatusChange(AlertStatus.OPEN, AlertStatus.IN_PROGRESS,
+				alert.getCreatedAt(), null);
+		verify(outboxPublisher).publish(eq("alert-status-updated"), eq(alertId.toString()), eq(alertDTO));
+	}
+
+	@Test
+	void claimNextAlert_WhenQueueEmpty_ShouldReturnNull() {
+		when(alertTriageQueue.claimCandidates()).thenReturn(List.of());
+
+		assertThat(alertService.claimNextAlert("analyst1")).isNull();
+		verify(alertJdbcRepository, never()).claim(any(), any(), any());
 	}
 
 	@Test
@@ -204,7 +422,7 @@ public class AlertServiceTest {
 
 		when(alertMapper.toEntity(highSeverityAlert)).thenReturn(highSeverityAlertEntity);
 		when(alertRepository.save(highSeverityAlertEntity)).thenReturn(highSeverityAlertEntity);
-		when(alertMapper.toDTO(highSeverityAlertEntity)).thenReturn(highSeverityAlert);
+		when(alertMapper.toDetailDTO(highSeverityAlertEntity)).thenReturn(highSeverityAlert);
 
 		alertService.createAlert(highSeverityAlert);
 
@@ -0,0 +1,82 @@
+package com.ops.hunting.alerts.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.ops.hunting.alerts.dto.AlertSummaryDTO;
+import com.ops.hunting.alerts.entity.Alert;
+import com.ops.hunting.alerts.enums.AlertSeverity;
+import com.ops.hunting.alerts.enums.AlertStatus;
+import com.ops.hunting.alerts.repository.AlertRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class AlertSummaryCountersTest {
+
+	@Mock
+	private AlertRepository alertRepository;
+
+	@Mock
+	private ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+
+	private AlertSummaryCounters counters;
+
+	@BeforeEach
+	void setUp() {
+		counters = new AlertSummaryCounters(alertRepository, redisTemplateProvider);
+	}
+
+	@Test
+	void recordChanges_ShouldMaintainCountsWithoutQueries() {
+		LocalDateTime createdAt = LocalDateTime.now();
+		Alert alert = Alert.builder().severity(AlertSeverity.HIGH).status(AlertStatus.OPEN).createdAt(createdAt)
+				.build();
+
+		counters.recordCreated(alert);
+		counters.recordStatusChange(AlertStatus.OPEN, AlertStatus.CLOSED, createdAt, createdAt.plusSeconds(120));
+		counters.recordSeverityChange(AlertSeverity.HIGH, AlertSeverity.CRITICAL);
+
+		AlertSummaryDTO summary = counters.snapshot();
+
+		assertThat(summary.getTotalAlerts()).isEqualTo(1L);
+		assertThat(summary.getOpenAlerts()).isZero();
+		assertThat(summary.getClosedAlerts()).isEqualTo(1L);
+		assertThat(summary.getHighSeverityAlerts()).isZero();
+		assertThat(summary.getCriticalSeverityAlerts()).isEqualTo(1L);
+		assertThat(summary.getAverageResolutionTime()).isEqualTo(120.0);
+	}
+
+	@Test
+	void reconcile_ShouldReplaceCountersFromGroupByRows() {
+		List<Object[]> rows = new ArrayList<>();
+		rows.add(new Object[] { "OPEN", "LOW", 5L, 2L, 0L, 0L, null });
+		rows.add(new Object[] { "CLOSED", "LOW", 3L, 1L, 1L, 3L, 300L });
+		when(alertRepository.aggregateSummary(any())).thenReturn(rows);
+
+		counters.recordCreated(Alert.builder().severity(AlertSeverity.MEDIUM).status(AlertStatus.OPEN)
+				.createdAt(LocalDateTime.now()).build());
+		counters.reconcile();
+
+		AlertSummaryDTO summary = counters.snapshot();
+
+		assertThat(summary.getTotalAlerts()).isEqualTo(8L);
+		assertThat(summary.getOpenAlerts()).isEqualTo(5L);
+		assertThat(summary.getMediumSeverityAlerts()).isZero();
+		assertThat(summary.getLowSeverityAlerts()).isEqualTo(8L);
+		assertThat(summary.getAlertsCreatedToday()).isEqualTo(3L);
+		assertThat(summary.getAlertsClosedToday()).isEqualTo(1L);
+		assertThat(summary.getAverageResolutionTime()).isEqualTo(100.0);
+	}
+}
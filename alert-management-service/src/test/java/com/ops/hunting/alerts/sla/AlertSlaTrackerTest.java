@@ -0,0 +1,122 @@
+package com.ops.hunting.alerts.sla;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.ops.hunting.alerts.config.SlaProperties;
+import com.ops.hunting.alerts.dto.AlertDTO;
+import com.ops.hunting.alerts.entity.Alert;
+import com.ops.hunting.alerts.enums.AlertSeverity;
+import com.ops.hunting.alerts.enums.AlertStatus;
+import com.ops.hunting.alerts.mapper.AlertMapper;
+import com.ops.hunting.alerts.repository.AlertJdbcRepository;
+import com.ops.hunting.alerts.repository.AlertRepository;
+import com.ops.hunting.alerts.service.NotificationService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class AlertSlaTrackerTest {
+
+	@Mock
+	private AlertJdbcRepository alertJdbcRepository;
+
+	@Mock
+	private AlertRepository alertRepository;
+
+	@Mock
+	private AlertMapper alertMapper;
+
+	@Mock
+	private NotificationService notificationService;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private AlertSlaTracker tracker;
+
+	@BeforeEach
+	void setUp() {
+		tracker = new AlertSlaTracker(new SlaProperties(), alertJdbcRepository, alertRepository, alertMapper,
+				notificationService, transactionManager, new SimpleMeterRegistry());
+	}
+
+	@Test
+	void tick_WhenCriticalAlertMissesDeadline_ShouldEscalateAndRearm() {
+		Alert alert = alert(AlertSeverity.CRITICAL, LocalDateTime.now().minusMinutes(20));
+		AlertDTO dto = AlertDTO.builder().id(alert.getId()).build();
+		when(alertJdbcRepository.claimEscalations(List.of(alert.getId()), 1)).thenReturn(List.of(alert.getId()));
+		when(alertRepository.findAllById(List.of(alert.getId()))).thenReturn(List.of(alert));
+		when(alertMapper.toDTO(alert)).thenReturn(dto);
+
+		tracker.track(alert);
+		tracker.tick(System.currentTimeMillis() + 2000);
+
+		verify(notificationService).sendEscalationNotification(dto, 1);
+		assertThat(tracker.timerCount()).isEqualTo(1);
+	}
+
+	@Test
+	void track_WhenAlertLeavesOpen_ShouldCancelTimer() {
+		Alert alert = alert(AlertSeverity.CRITICAL, LocalDateTime.now().minusMinutes(20));
+		tracker.track(alert);
+		assertThat(tracker.timerCount()).isEqualTo(1);
+
+		alert.setStatus(AlertStatus.IN_PROGRESS);
+		tracker.track(alert);
+		tracker.tick(System.currentTimeMillis() + 2000);
+
+		assertThat(tracker.timerCount()).isZero();
+		verify(alertJdbcRepository, never()).claimEscalations(any(), anyInt());
+	}
+
+	@Test
+	void tick_WhenClaimLost_ShouldNotNotify() {
+		Alert alert = alert(AlertSeverity.HIGH, LocalDateTime.now().minusHours(2));
+		when(alertJdbcRepository.claimEscalations(eq(List.of(alert.getId())), eq(1))).thenReturn(List.of());
+
+		tracker.track(alert);
+		tracker.tick(System.currentTimeMillis() + 2000);
+
+		verify(notificationService, never()).sendEscalationNotification(any(), anyInt());
+		assertThat(tracker.timerCount()).isZero();
+	}
+
+	@Test
+	void rebuild_ShouldArmTimersForOpenAlertsWithDeadlines() {
+		LocalDateTime createdAt = LocalDateTime.now();
+		when(alertJdbcRepository.findOpenSlaTargets(any(), isNull(), anyInt()))
+				.thenReturn(List.of(new SlaTarget(UUID.randomUUID(), AlertSeverity.CRITICAL, createdAt, 0),
+						new SlaTarget(UUID.randomUUID(), AlertSeverity.LOW, createdAt, 0),
+						new SlaTarget(UUID.randomUUID(), AlertSeverity.HIGH, createdAt, 3)));
+
+		tracker.rebuild();
+
+		assertThat(tracker.timerCount()).isEqualTo(1);
+		tracker.tick(createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() + 60_000);
+		verify(alertJdbcRepository, never()).claimEscalations(any(), anyInt());
+	}
+
+	private static Alert alert(AlertSeverity severity, LocalDateTime createdAt) {
+		return Alert.builder().id(UUID.randomUUID()).title(severity + " alert").severity(severity)
+				.status(AlertStatus.OPEN).createdAt(createdAt).build();
+	}
+}
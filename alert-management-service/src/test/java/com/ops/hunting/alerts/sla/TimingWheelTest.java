@@ -0,0 +1,68 @@
+package com.ops.hunting.alerts.sla;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+public class TimingWheelTest {
+
+	@Test
+	void advance_ShouldFireTimersAtTheirDeadlineAcrossLevels() {
+		TimingWheel<String> wheel = new TimingWheel<>(1000, 4, 3, 0);
+		wheel.schedule("near", 2500);
+		wheel.schedule("cascaded", 40_000);
+		wheel.schedule("overflow", 100_000);
+
+		assertThat(wheel.advance(2999)).isEmpty();
+		assertThat(wheel.advance(3000)).containsExactly("near");
+		assertThat(wheel.advance(39_999)).isEmpty();
+		assertThat(wheel.advance(40_000)).containsExactly("cascaded");
+		assertThat(wheel.advance(99_999)).isEmpty();
+		assertThat(wheel.advance(100_000)).containsExactly("overflow");
+		assertThat(wheel.size()).isZero();
+	}
+
+	@Test
+	@Timeout(value = 5, unit = TimeUnit.SECONDS)
+	void advance_WithTimersBeyondTopLevel_ShouldCascadeThemWithoutLooping() {
+		// Span is 16 ticks, so these sit in the top level and are re-placed
+		// into the slot being cascaded many times before they are due
+		TimingWheel<String> wheel = new TimingWheel<>(1000, 4, 2, 0);
+		wheel.schedule("far", 1_000_000);
+		wheel.schedule("farther", 1_000_000 + 17_000);
+		wheel.schedule("near", 3000);
+
+		assertThat(wheel.advance(3000)).containsExactly("near");
+		assertThat(wheel.advance(999_999)).isEmpty();
+		assertThat(wheel.size()).isEqualTo(2);
+		assertThat(wheel.advance(1_000_000)).containsExactly("far");
+		assertThat(wheel.advance(1_016_999)).isEmpty();
+		assertThat(wheel.advance(1_017_000)).containsExactly("farther");
+		assertThat(wheel.size()).isZero();
+	}
+
+	@Test
+	void cancel_ShouldRemoveTimerBeforeItFires() {
+		TimingWheel<String> wheel = new TimingWheel<>(1000, 8, 2, 0);
+		TimingWheel.Timeout<String> cancelled = wheel.schedule("cancelled", 5000);
+		wheel.schedule("kept", 5000);
+
+		cancelled.cancel();
+		cancelled.cancel();
+
+		assertThat(wheel.size()).isEqualTo(1);
+		assertThat(wheel.advance(5000)).containsExactly("kept");
+	}
+
+	@Test
+	void schedule_WithPastDeadline_ShouldFireOnNextTick() {
+		TimingWheel<String> wheel = new TimingWheel<>(1000, 8, 2, 10_000);
+		wheel.schedule("overdue", 1000);
+
+		assertThat(wheel.advance(10_500)).isEmpty();
+		assertThat(wheel.advance(11_000)).containsExactly("overdue");
+	}
+}
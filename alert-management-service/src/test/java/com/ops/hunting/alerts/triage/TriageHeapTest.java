@@ -0,0 +1,55 @@
+package com.ops.hunting.alerts.triage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+public class TriageHeapTest {
+
+	@Test
+	void top_ShouldOrderByScoreThenAge() {
+		TriageHeap heap = new TriageHeap();
+		UUID low = UUID.randomUUID();
+		UUID olderHigh = UUID.randomUUID();
+		UUID newerHigh = UUID.randomUUID();
+		heap.upsert(low, 10, 1000);
+		heap.upsert(newerHigh, 90, 3000);
+		heap.upsert(olderHigh, 90, 2000);
+
+		assertThat(heap.top(2)).containsExactly(olderHigh, newerHigh);
+		assertThat(heap.top(10)).containsExactly(olderHigh, newerHigh, low);
+	}
+
+	@Test
+	void upsertAndRemove_ShouldKeepHeapOrderUnderRandomChanges() {
+		TriageHeap heap = new TriageHeap();
+		Random random = new Random(42);
+		List<UUID> ids = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			UUID id = UUID.randomUUID();
+			ids.add(id);
+			heap.upsert(id, random.nextInt(100), i);
+		}
+		for (int i = 0; i < 300; i++) {
+			UUID id = ids.get(random.nextInt(ids.size()));
+			if (random.nextBoolean()) {
+				heap.upsert(id, random.nextInt(100), i);
+			} else if (heap.remove(id)) {
+				ids.remove(id);
+			}
+		}
+
+		List<UUID> top = heap.top(ids.size());
+
+		assertThat(heap.size()).isEqualTo(ids.size());
+		assertThat(top).containsExactlyInAnyOrderElementsOf(ids);
+		for (int i = 1; i < top.size(); i++) {
+			assertThat(heap.score(top.get(i))).isLessThanOrEqualTo(heap.score(top.get(i - 1)));
+		}
+	}
+}
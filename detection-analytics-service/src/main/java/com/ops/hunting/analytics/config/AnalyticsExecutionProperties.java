@@ -0,0 +1,121 @@
+package com.ops.hunting.analytics.config;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import com.ops.hunting.analytics.enums.CatchUpPolicy;
+import com.ops.hunting.common.enums.Platform;
+
+/**
+ * Settings for scheduled and on-demand analytic execution. Each platform runs
+ * at most {@code platform-concurrency[platform]} queries at once, falling back
+ * to {@code max-parallel-executions}, so a slow platform cannot hold up the
+ * others.
+ */
+@Component
+@ConfigurationProperties(prefix = "analytics.execution")
+public class AnalyticsExecutionProperties {
+
+	private boolean enabled = true;
+
+	/** Interval of analytics without a schedule of their own. */
+	private int intervalMinutes = 5;
+
+	/** Jitter of analytics that do not set one. */
+	private int defaultJitterSeconds = 30;
+
+	private CatchUpPolicy defaultCatchUpPolicy = CatchUpPolicy.RUN_ONCE;
+
+	/** A run this late is treated as missed and handled by its catch-up policy. */
+	private int misfireGraceSeconds = 60;
+
+	/** Most due analytics started per poll. */
+	private int dueBatchSize = 200;
+
+	private int maxParallelExecutions = 10;
+
+	private Map<Platform, Integer> platformConcurrency = new EnumMap<>(Platform.class);
+
+	/** Longest a single execution may run before it is recorded as timed out. */
+	private int timeoutMinutes = 30;
+
+	public int concurrencyFor(Platform platform) {
+		Integer limit = platformConcurrency.get(platform);
+		return Math.max(1, limit != null ? limit : maxParallelExecutions);
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public int getIntervalMinutes() {
+		return intervalMinutes;
+	}
+
+	public void setIntervalMinutes(int intervalMinutes) {
+		this.intervalMinutes = intervalMinutes;
+	}
+
+	public int getDefaultJitterSeconds() {
+		return defaultJitterSeconds;
+	}
+
+	public void setDefaultJitterSeconds(int defaultJitterSeconds) {
+		this.defaultJitterSeconds = defaultJitterSeconds;
+	}
+
+	public CatchUpPolicy getDefaultCatchUpPolicy() {
+		return defaultCatchUpPolicy;
+	}
+
+	public void setDefaultCatchUpPolicy(CatchUpPolicy defaultCatchUpPolicy) {
+		this.defaultCatchUpPolicy = defaultCatchUpPolicy;
+	}
+
+	public int getMisfireGraceSeconds() {
+		return misfireGraceSeconds;
+	}
+
+	public void setMisfireGraceSeconds(int misfireGraceSeconds) {
+		this.misfireGraceSeconds = misfireGraceSeconds;
+	}
+
+	public int getDueBatchSize() {
+		return dueBatchSize;
+	}
+
+	public void setDueBatchSize(int dueBatchSize) {
+		this.dueBatchSize = dueBatchSize;
+	}
+
+	public int getMaxParallelExecutions() {
+		return maxParallelExecutions;
+	}
+
+	public void setMaxParallelExecutions(int maxParallelExecutions) {
+		this.maxParallelExecutions = maxParallelExecutions;
+	}
+
+	public Map<Platform, Integer> getPlatformConcurrency() {
+		return platformConcurrency;
+	}
+
+	public void setPlatformConcurrency(Map<Platform, Integer> platformConcurrency) {
+		this.platformConcurrency = platformConcurrency;
+	}
+
+	public int getTimeoutMinutes() {
+		return timeoutMinutes;
+	}
+
+	public void setTimeoutMinutes(int timeoutMinutes) {
+		this.timeoutMinutes = timeoutMinutes;
+	}
+}
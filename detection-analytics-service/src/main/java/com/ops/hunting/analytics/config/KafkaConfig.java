@@ -0,0 +1,54 @@
+package com.ops.hunting.analytics.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+
+@Configuration
+public class KafkaConfig {
+
+	@Value("${spring.kafka.bootstrap-servers}")
+	private String bootstrapServers;
+
+	@Value("${app.outbox.producer.linger-ms:10}")
+	private int lingerMs;
+
+	@Value("${app.outbox.producer.batch-size:131072}")
+	private int batchSize;
+
+	@Value("${app.outbox.producer.compression-type:lz4}")
+	private String compressionType;
+
+	/**
+	 * Idempotent producer used by the outbox relay. Payloads are stored as JSON,
+	 * so values go out as strings.
+	 */
+	@Bean
+	public ProducerFactory<String, String> outboxProducerFactory() {
+		Map<String, Object> configProps = new HashMap<>();
+		configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+		configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+		configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+		configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+		configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+		configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+		configProps.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+		configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+		configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+
+		return new DefaultKafkaProducerFactory<>(configProps);
+	}
+
+	@Bean
+	public KafkaTemplate<String, String> outboxKafkaTemplate() {
+		return new KafkaTemplate<>(outboxProducerFactory());
+	}
+}
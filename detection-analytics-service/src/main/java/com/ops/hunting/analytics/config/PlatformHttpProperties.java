@@ -0,0 +1,101 @@
+package com.ops.hunting.analytics.config;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.ops.hunting.common.enums.Platform;
+
+/**
+ * Connection pool and timeout settings of the HTTP client each platform
+ * service talks to its platform through. Platforms without an entry under
+ * {@code platforms.http} use the defaults.
+ */
+@Component
+@ConfigurationProperties(prefix = "platforms.http")
+public class PlatformHttpProperties {
+
+	private Map<Platform, Client> clients = new EnumMap<>(Platform.class);
+
+	public Client forPlatform(Platform platform) {
+		return clients.getOrDefault(platform, new Client());
+	}
+
+	public Map<Platform, Client> getClients() {
+		return clients;
+	}
+
+	public void setClients(Map<Platform, Client> clients) {
+		this.clients = clients;
+	}
+
+	public static class Client {
+
+		private Duration connectTimeout = Duration.ofSeconds(5);
+
+		/** Longest wait for a response once the request is sent. */
+		private Duration readTimeout = Duration.ofSeconds(60);
+
+		private int maxConnections = 50;
+
+		/** Longest a request waits for a free pooled connection. */
+		private Duration pendingAcquireTimeout = Duration.ofSeconds(30);
+
+		/** Idle connections are closed after this, before a proxy drops them. */
+		private Duration maxIdleTime = Duration.ofSeconds(30);
+
+		private DataSize maxResponseSize = DataSize.ofMegabytes(16);
+
+		public Duration getConnectTimeout() {
+			return connectTimeout;
+		}
+
+		public void setConnectTimeout(Duration connectTimeout) {
+			this.connectTimeout = connectTimeout;
+		}
+
+		public Duration getReadTimeout() {
+			return readTimeout;
+		}
+
+		public void setReadTimeout(Duration readTimeout) {
+			this.readTimeout = readTimeout;
+		}
+
+		public int getMaxConnections() {
+			return maxConnections;
+		}
+
+		public void setMaxConnections(int maxConnections) {
+			this.maxConnections = maxConnections;
+		}
+
+		public Duration getPendingAcquireTimeout() {
+			return pendingAcquireTimeout;
+		}
+
+		public void setPendingAcquireTimeout(Duration pendingAcquireTimeout) {
+			this.pendingAcquireTimeout = pendingAcquireTimeout;
+		}
+
+		public Duration getMaxIdleTime() {
+			return maxIdleTime;
+		}
+
+		public void setMaxIdleTime(Duration maxIdleTime) {
+			this.maxIdleTime = maxIdleTime;
+		}
+
+		public DataSize getMaxResponseSize() {
+			return maxResponseSize;
+		}
+
+		public void setMaxResponseSize(DataSize maxResponseSize) {
+			this.maxResponseSize = maxResponseSize;
+		}
+	}
+}
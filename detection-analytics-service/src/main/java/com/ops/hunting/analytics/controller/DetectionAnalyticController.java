@@ -219,7 +219,7 @@ public class DetectionAnalyticController {
 	public ResponseEntity<ResponseWrapper<String>> executeAllActiveAnalytics() {
 		try {
 			analyticService.executeAllActiveAnalytics();
-			return ResponseEntity.ok(ResponseWrapper.success("All active analytics executed successfully"));
+			return ResponseEntity.ok(ResponseWrapper.success("Execution of all active analytics started"));
 		} catch (Exception e) {
 			return ResponseEntity.badRequest()
 					.body(ResponseWrapper.error("Failed to execute all analytics: " + e.getMessage()));
@@ -4,10 +4,12 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+import com.ops.hunting.analytics.enums.CatchUpPolicy;
 import com.ops.hunting.common.enums.Platform;
 
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
@@ -44,6 +46,16 @@ public class DetectionAnalyticDto {
 	private Long falsePositiveCount;
 	private BigDecimal falsePositiveRate;
 	private LocalDateTime createdDate;
+	private String scheduleCron;
+
+	@Min(value = 1, message = "Schedule interval must be at least one minute")
+	private Integer scheduleIntervalMinutes;
+
+	@Min(value = 0, message = "Schedule jitter cannot be negative")
+	private Integer scheduleJitterSeconds;
+
+	private CatchUpPolicy catchUpPolicy;
+	private LocalDateTime nextRunAt;
 
 	// Constructors
 	public DetectionAnalyticDto() {
@@ -177,4 +189,44 @@ public class DetectionAnalyticDto {
 	public void setCreatedDate(LocalDateTime createdDate) {
 		this.createdDate = createdDate;
 	}
+
+	public String getScheduleCron() {
+		return scheduleCron;
+	}
+
+	public void setScheduleCron(String scheduleCron) {
+		this.scheduleCron = scheduleCron;
+	}
+
+	public Integer getScheduleIntervalMinutes() {
+		return scheduleIntervalMinutes;
+	}
+
+	public void setScheduleIntervalMinutes(Integer scheduleIntervalMinutes) {
+		this.scheduleIntervalMinutes = scheduleIntervalMinutes;
+	}
+
+	public Integer getScheduleJitterSeconds() {
+		return scheduleJitterSeconds;
+	}
+
+	public void setScheduleJitterSeconds(Integer scheduleJitterSeconds) {
+		this.scheduleJitterSeconds = scheduleJitterSeconds;
+	}
+
+	public CatchUpPolicy getCatchUpPolicy() {
+		return catchUpPolicy;
+	}
+
+	public void setCatchUpPolicy(CatchUpPolicy catchUpPolicy) {
+		this.catchUpPolicy = catchUpPolicy;
+	}
+
+	public LocalDateTime getNextRunAt() {
+		return nextRunAt;
+	}
+
+	public void setNextRunAt(LocalDateTime nextRunAt) {
+		this.nextRunAt = nextRunAt;
+	}
 }
\ No newline at end of file
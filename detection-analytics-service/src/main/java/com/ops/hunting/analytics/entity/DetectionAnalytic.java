@@ -5,6 +5,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.ops.hunting.analytics.enums.CatchUpPolicy;
 import com.ops.hunting.common.entity.BaseEntity;
 import com.ops.hunting.common.enums.Platform;
 
@@ -70,6 +71,25 @@ public class DetectionAnalytic extends BaseEntity {
 	@Column(name = "false_positive_count")
 	private Long falsePositiveCount = 0L;
 
+	/** Spring cron expression; takes precedence over the interval. */
+	@Column(name = "schedule_cron", length = 120)
+	private String scheduleCron;
+
+	/** Minutes between runs; {@code null} uses analytics.execution.interval-minutes. */
+	@Column(name = "schedule_interval_minutes")
+	private Integer scheduleIntervalMinutes;
+
+	/** Random delay added to each run; {@code null} uses the configured default. */
+	@Column(name = "schedule_jitter_seconds")
+	private Integer scheduleJitterSeconds;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "catch_up_policy", length = 20)
+	private CatchUpPolicy catchUpPolicy;
+
+	@Column(name = "next_run_at")
+	private LocalDateTime nextRunAt;
+
 	@OneToMany(mappedBy = "analytic", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
 	private List<AnalyticExecution> executions = new ArrayList<>();
 
@@ -225,4 +245,44 @@ public class DetectionAnalytic extends BaseEntity {
 	public void setExecutions(List<AnalyticExecution> executions) {
 		this.executions = executions;
 	}
+
+	public String getScheduleCron() {
+		return scheduleCron;
+	}
+
+	public void setScheduleCron(String scheduleCron) {
+		this.scheduleCron = scheduleCron;
+	}
+
+	public Integer getScheduleIntervalMinutes() {
+		return scheduleIntervalMinutes;
+	}
+
+	public void setScheduleIntervalMinutes(Integer scheduleIntervalMinutes) {
+		this.scheduleIntervalMinutes = scheduleIntervalMinutes;
+	}
+
+	public Integer getScheduleJitterSeconds() {
+		return scheduleJitterSeconds;
+	}
+
+	public void setScheduleJitterSeconds(Integer scheduleJitterSeconds) {
+		this.scheduleJitterSeconds = scheduleJitterSeconds;
+	}
+
+	public CatchUpPolicy getCatchUpPolicy() {
+		return catchUpPolicy;
+	}
+
+	public void setCatchUpPolicy(CatchUpPolicy catchUpPolicy) {
+		this.catchUpPolicy = catchUpPolicy;
+	}
+
+	public LocalDateTime getNextRunAt() {
+		return nextRunAt;
+	}
+
+	public void setNextRunAt(LocalDateTime nextRunAt) {
+		this.nextRunAt = nextRunAt;
+	}
 }
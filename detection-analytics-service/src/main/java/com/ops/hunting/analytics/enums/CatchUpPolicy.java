@@ -0,0 +1,12 @@
+package com.ops.hunting.analytics.enums;
+
+/**
+ * What to do with an analytic whose run was missed, e.g. because the service
+ * was down when it fell due.
+ */
+public enum CatchUpPolicy {
+	/** Run once as soon as possible, then resume the schedule. */
+	RUN_ONCE,
+	/** Drop the missed run and wait for the next scheduled one. */
+	SKIP
+}
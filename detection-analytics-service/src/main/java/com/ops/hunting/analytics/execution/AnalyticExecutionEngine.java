@@ -0,0 +1,231 @@
+package com.ops.hunting.analytics.execution;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.ops.hunting.analytics.config.AnalyticsExecutionProperties;
+import com.ops.hunting.analytics.entity.DetectionAnalytic;
+import com.ops.hunting.analytics.repository.DetectionAnalyticRepository;
+import com.ops.hunting.analytics.service.platform.PlatformService;
+import com.ops.hunting.common.enums.Platform;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs analytic queries concurrently. Each platform gets its own fixed pool
+ * sized by {@link AnalyticsExecutionProperties#concurrencyFor}, so a backlog
+ * on one platform never delays another, and no database transaction is open
+ * while a query runs: the analytic is read up front and its result stored by
+ * {@link AnalyticExecutionRecorder} in a short transaction of its own.
+ * <p>
+ * An analytic still running from an earlier cycle is skipped rather than
+ * queued twice. A query that exceeds {@code timeout-minutes} has its worker
+ * interrupted and is recorded as timed out; a result that arrives anyway is
+ * discarded.
+ */
+@Component
+public class AnalyticExecutionEngine {
+
+	private static final Logger log = LoggerFactory.getLogger(AnalyticExecutionEngine.class);
+
+	private final DetectionAnalyticRepository analyticRepository;
+	private final Map<Platform, PlatformService> platformServices = new EnumMap<>(Platform.class);
+	private final AnalyticExecutionRecorder recorder;
+	private final AnalyticsExecutionProperties properties;
+	private final MeterRegistry meterRegistry;
+	private final Map<Platform, ExecutorService> executors = new EnumMap<>(Platform.class);
+	private final ScheduledExecutorService watchdog;
+	private final Set<UUID> running = ConcurrentHashMap.newKeySet();
+
+	@Autowired
+	public AnalyticExecutionEngine(DetectionAnalyticRepository analyticRepository,
+			List<PlatformService> platformServiceList, AnalyticExecutionRecorder recorder,
+			AnalyticsExecutionProperties properties, MeterRegistry meterRegistry) {
+		this.analyticRepository = analyticRepository;
+		this.recorder = recorder;
+		this.properties = properties;
+		this.meterRegistry = meterRegistry;
+		for (PlatformService service : platformServiceList) {
+			Platform platform = service.getSupportedPlatform();
+			platformServices.put(platform, service);
+			executors.put(platform, Executors.newFixedThreadPool(properties.concurrencyFor(platform),
+					threadFactory("analytics-" + platform.name().toLowerCase())));
+		}
+		this.watchdog = Executors.newSingleThreadScheduledExecutor(threadFactory("analytics-timeout"));
+	}
+
+	/** Queues every active analytic that is not already running. */
+	public CompletableFuture<ExecutionSummary> executeAll() {
+		return execute(analyticRepository.findByIsActiveTrue());
+	}
+
+	/**
+	 * Queues the given analytics, skipping any that are still running. Returns
+	 * once they are queued; the future completes when the last one is recorded.
+	 */
+	public CompletableFuture<ExecutionSummary> execute(List<DetectionAnalytic> analytics) {
+		List<CompletableFuture<Boolean>> runs = new ArrayList<>();
+		int skipped = 0;
+		for (DetectionAnalytic analytic : analytics) {
+			if (!running.add(analytic.getId())) {
+				skipped++;
+				continue;
+			}
+			runs.add(submit(new ActiveAnalytic(analytic.getId(), analytic.getPlatform(), analytic.getQueryText())));
+		}
+
+		int started = runs.size();
+		int skippedCount = skipped;
+		return CompletableFuture.allOf(runs.toArray(CompletableFuture[]::new)).thenApply(done -> {
+			int succeeded = (int) runs.stream().filter(CompletableFuture::join).count();
+			return new ExecutionSummary(started, skippedCount, succeeded, started - succeeded);
+		});
+	}
+
+	/**
+	 * Runs one analytic on its platform pool and waits for it to be recorded.
+	 * A failed query is recorded, not thrown.
+	 */
+	public void execute(UUID analyticId) {
+		Optional<DetectionAnalytic> analyticOpt = analyticRepository.findById(analyticId.toString());
+		if (analyticOpt.isEmpty()) {
+			throw new RuntimeException("Analytic not found with id: " + analyticId.toString());
+		}
+
+		DetectionAnalytic analytic = analyticOpt.get();
+		if (!analytic.getIsActive()) {
+			throw new RuntimeException("Cannot execute inactive analytic");
+		}
+		if (!platformServices.containsKey(analytic.getPlatform())) {
+			throw new RuntimeException("No platform service available for: " + analytic.getPlatform());
+		}
+		if (!running.add(analytic.getId())) {
+			throw new IllegalStateException("Analytic is already executing: " + analyticId);
+		}
+
+		submit(new ActiveAnalytic(analytic.getId(), analytic.getPlatform(), analytic.getQueryText())).join();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executors.values().forEach(ExecutorService::shutdownNow);
+		watchdog.shutdownNow();
+	}
+
+	/** Caller has already added the analytic to {@link #running}. */
+	private CompletableFuture<Boolean> submit(ActiveAnalytic analytic) {
+		ExecutorService executor = executors.get(analytic.platform());
+		if (executor == null) {
+			running.remove(analytic.id());
+			log.warn("No platform service available for analytic {} on {}", analytic.id(), analytic.platform());
+			return CompletableFuture.completedFuture(false);
+		}
+		try {
+			return CompletableFuture.supplyAsync(() -> run(analytic), executor).exceptionally(e -> {
+				log.error("Recording execution of analytic {} failed: {}", analytic.id(), e.getMessage());
+				return false;
+			}).whenComplete((ok, e) -> running.remove(analytic.id()));
+		} catch (RejectedExecutionException e) {
+			running.remove(analytic.id());
+			return CompletableFuture.completedFuture(false);
+		}
+	}
+
+	private boolean run(ActiveAnalytic analytic) {
+		PlatformService platformService = platformServices.get(analytic.platform());
+		long timeoutMillis = TimeUnit.MINUTES.toMillis(properties.getTimeoutMinutes());
+		LocalDateTime startedAt = LocalDateTime.now();
+		long start = System.nanoTime();
+
+		Deadline deadline = new Deadline(Thread.currentThread());
+		ScheduledFuture<?> timer = watchdog.schedule(deadline::expire, timeoutMillis, TimeUnit.MILLISECONDS);
+		PlatformService.QueryResult result = null;
+		String error = null;
+		try {
+			result = platformService.executeQuery(analytic.queryText());
+		} catch (RuntimeException e) {
+			error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+		} finally {
+			timer.cancel(false);
+		}
+		boolean expired = deadline.finish();
+		long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		if (expired) {
+			error = "Execution timed out after " + properties.getTimeoutMinutes() + " minutes";
+		} else if (error == null && !result.isSuccess()) {
+			error = result.getErrorMessage();
+		}
+		Timer.builder("analytics.execution.duration").tag("platform", analytic.platform().name())
+				.tag("outcome", expired ? "timeout" : error == null ? "success" : "failure")
+				.register(meterRegistry).record(durationMs, TimeUnit.MILLISECONDS);
+
+		recorder.record(analytic.id(), startedAt, durationMs, error == null ? result : null, error);
+		return error == null;
+	}
+
+	private static ThreadFactory threadFactory(String prefix) {
+		AtomicInteger count = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	/** What a worker needs from the analytic, read before the query starts. */
+	private record ActiveAnalytic(UUID id, Platform platform, String queryText) {
+	}
+
+	/**
+	 * Interrupts the worker when the timeout fires. {@link #finish} runs on the
+	 * worker and clears any interrupt that raced the end of the query, so the
+	 * pooled thread never starts its next task interrupted.
+	 */
+	static final class Deadline {
+
+		private final Thread worker;
+		private boolean finished;
+		private boolean expired;
+
+		Deadline(Thread worker) {
+			this.worker = worker;
+		}
+
+		synchronized void expire() {
+			if (!finished) {
+				expired = true;
+				worker.interrupt();
+			}
+		}
+
+		synchronized boolean finish() {
+			finished = true;
+			Thread.interrupted();
+			return expired;
+		}
+	}
+}
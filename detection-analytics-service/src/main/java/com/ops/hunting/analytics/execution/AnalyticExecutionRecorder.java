@@ -0,0 +1,76 @@
+package com.ops.hunting.analytics.execution;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ops.hunting.analytics.entity.AnalyticExecution;
+import com.ops.hunting.analytics.entity.DetectionAnalytic;
+import com.ops.hunting.analytics.outbox.OutboxPublisher;
+import com.ops.hunting.analytics.repository.DetectionAnalyticRepository;
+import com.ops.hunting.analytics.service.DetectionAnalyticService;
+import com.ops.hunting.analytics.service.platform.PlatformService;
+
+/**
+ * Stores the outcome of one analytic execution. The platform query runs
+ * outside any transaction; only this bookkeeping does, so each execution
+ * holds a connection for a few statements and a failure affects no other
+ * analytic.
+ */
+@Component
+public class AnalyticExecutionRecorder {
+
+	private static final Logger log = LoggerFactory.getLogger(AnalyticExecutionRecorder.class);
+
+	private final DetectionAnalyticRepository analyticRepository;
+	private final OutboxPublisher outboxPublisher;
+
+	@Autowired
+	public AnalyticExecutionRecorder(DetectionAnalyticRepository analyticRepository,
+			OutboxPublisher outboxPublisher) {
+		this.analyticRepository = analyticRepository;
+		this.outboxPublisher = outboxPublisher;
+	}
+
+	/**
+	 * Records a finished execution; {@code error} is {@code null} when
+	 * {@code result} succeeded. Generated alerts are published through the
+	 * outbox in the same transaction.
+	 */
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	public void record(UUID analyticId, LocalDateTime startedAt, long durationMs, PlatformService.QueryResult result,
+			String error) {
+		Optional<DetectionAnalytic> analyticOpt = analyticRepository.findById(analyticId.toString());
+		if (analyticOpt.isEmpty()) {
+			log.warn("Analytic {} was deleted while executing; dropping its result", analyticId);
+			return;
+		}
+
+		DetectionAnalytic analytic = analyticOpt.get();
+		AnalyticExecution execution = new AnalyticExecution(analytic, startedAt);
+		if (error == null) {
+			execution.markAsSuccessful(durationMs, result.getRecordsProcessed(), result.getAlertsGenerated());
+			analytic.incrementExecutionCount();
+
+			if (result.getAlertsGenerated() > 0) {
+				// Publish alerts to alert management service
+				DetectionAnalyticService.AlertGeneratedEvent event = new DetectionAnalyticService.AlertGeneratedEvent(
+						analytic.getId(), result.getAlertsGenerated(), result.getAlertData());
+				outboxPublisher.publish("alert-events", String.valueOf(analytic.getId()), event);
+			}
+		} else {
+			execution.setExecutionDurationMs(durationMs);
+			execution.markAsFailed(error);
+		}
+
+		analytic.getExecutions().add(execution);
+		analyticRepository.save(analytic);
+	}
+}
@@ -0,0 +1,5 @@
+package com.ops.hunting.analytics.execution;
+
+/** Outcome of one execution cycle over the active analytics. */
+public record ExecutionSummary(int started, int skipped, int succeeded, int failed) {
+}
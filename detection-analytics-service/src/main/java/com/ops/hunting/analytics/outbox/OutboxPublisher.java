@@ -0,0 +1,44 @@
+package com.ops.hunting.analytics.outbox;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Records outgoing Kafka messages in {@code outbox_events} as part of the
+ * caller's transaction; {@link OutboxRelay} delivers them after commit.
+ */
+@Component
+public class OutboxPublisher {
+
+	private static final String INSERT_SQL = "INSERT INTO outbox_events (topic, message_key, payload_type, payload, "
+			+ "created_at) VALUES (?, ?, ?, ?, ?)";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final ObjectMapper objectMapper;
+
+	@Autowired
+	public OutboxPublisher(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.objectMapper = objectMapper;
+	}
+
+	public void publish(String topic, String key, Object payload) {
+		jdbcTemplate.update(INSERT_SQL, topic, key, payload.getClass().getName(), toJson(payload),
+				Timestamp.valueOf(LocalDateTime.now()));
+	}
+
+	private String toJson(Object payload) {
+		try {
+			return objectMapper.writeValueAsString(payload);
+		} catch (JsonProcessingException e) {
+			throw new IllegalArgumentException("Cannot serialize outbox payload " + payload.getClass().getName(), e);
+		}
+	}
+}
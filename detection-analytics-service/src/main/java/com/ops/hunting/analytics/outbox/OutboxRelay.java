@@ -0,0 +1,162 @@
+package com.ops.hunting.analytics.outbox;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.kafka.support.mapping.AbstractJavaTypeMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Drains {@code outbox_events} to Kafka, oldest id first. Batches are claimed
+ * with {@code FOR UPDATE SKIP LOCKED}, sent through the idempotent outbox
+ * producer and deleted in one statement once every send is acknowledged; a
+ * failed send rolls the batch back for the next run. Delivery is
+ * at-least-once and not ordered per key: parallel relays, late-committing
+ * lower ids and retried batches can all reorder messages.
+ */
+@Component
+public class OutboxRelay {
+
+	private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+	private static final String CLAIM_SQL = "SELECT id, topic, message_key, payload_type, payload "
+			+ "FROM outbox_events ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+	private static final String OLDEST_SQL = "SELECT created_at FROM outbox_events ORDER BY id LIMIT 1";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final KafkaTemplate<String, String> outboxKafkaTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final MeterRegistry meterRegistry;
+	private final AtomicLong lagMillis = new AtomicLong();
+	private final Counter published;
+	private final Timer batchLatency;
+
+	@Value("${app.outbox.relay-enabled:true}")
+	private boolean enabled = true;
+
+	@Value("${app.outbox.batch-size:500}")
+	private int batchSize = 500;
+
+	@Value("${app.outbox.max-batches-per-run:20}")
+	private int maxBatchesPerRun = 20;
+
+	@Value("${app.outbox.send-timeout-ms:10000}")
+	private long sendTimeoutMs = 10000;
+
+	@Autowired
+	public OutboxRelay(JdbcTemplate jdbcTemplate,
+			@Qualifier("outboxKafkaTemplate") KafkaTemplate<String, String> outboxKafkaTemplate,
+			PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.outboxKafkaTemplate = outboxKafkaTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.meterRegistry = meterRegistry;
+		this.published = Counter.builder("outbox.relay.published").description("Outbox messages sent to Kafka")
+				.register(meterRegistry);
+		this.batchLatency = Timer.builder("outbox.relay.batch.latency")
+				.description("Time to send and delete one outbox batch").register(meterRegistry);
+		Gauge.builder("outbox.relay.lag", lagMillis, AtomicLong::get).baseUnit("milliseconds")
+				.description("Age of the oldest undelivered outbox message").register(meterRegistry);
+	}
+
+	@Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:200}")
+	public void relay() {
+		if (!enabled) {
+			return;
+		}
+		try {
+			for (int i = 0; i < maxBatchesPerRun; i++) {
+				Integer sent = transactionTemplate.execute(tx -> relayBatch());
+				if (sent == null || sent < batchSize) {
+					break;
+				}
+			}
+		} catch (RuntimeException e) {
+			log.warn("Outbox relay stopped, retrying next run: {}", e.getMessage());
+		} finally {
+			updateLag();
+		}
+	}
+
+	private int relayBatch() {
+		List<OutboxRecord> batch = jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> new OutboxRecord(rs.getLong(1),
+				rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5)), batchSize);
+		if (batch.isEmpty()) {
+			return 0;
+		}
+
+		Timer.Sample sample = Timer.start(meterRegistry);
+		List<CompletableFuture<SendResult<String, String>>> sends = new ArrayList<>(batch.size());
+		for (OutboxRecord row : batch) {
+			ProducerRecord<String, String> record = new ProducerRecord<>(row.topic(), row.key(), row.payload());
+			if (row.payloadType() != null) {
+				record.headers().add(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME,
+						row.payloadType().getBytes(StandardCharsets.UTF_8));
+			}
+			sends.add(outboxKafkaTemplate.send(record));
+		}
+		outboxKafkaTemplate.flush();
+		awaitAll(sends);
+
+		List<Long> ids = batch.stream().map(OutboxRecord::id).toList();
+		jdbcTemplate.update("DELETE FROM outbox_events WHERE id IN ("
+				+ String.join(", ", Collections.nCopies(ids.size(), "?")) + ")", ids.toArray());
+
+		published.increment(batch.size());
+		sample.stop(batchLatency);
+		return batch.size();
+	}
+
+	private void awaitAll(List<CompletableFuture<SendResult<String, String>>> sends) {
+		try {
+			CompletableFuture.allOf(sends.toArray(new CompletableFuture[0])).get(sendTimeoutMs,
+					TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while sending outbox batch", e);
+		} catch (ExecutionException | TimeoutException e) {
+			throw new IllegalStateException("Outbox batch was not acknowledged", e);
+		}
+	}
+
+	private void updateLag() {
+		try {
+			List<Timestamp> oldest = jdbcTemplate.query(OLDEST_SQL, (rs, rowNum) -> rs.getTimestamp(1));
+			lagMillis.set(oldest.isEmpty() || oldest.get(0) == null ? 0
+					: Math.max(0, Duration.between(oldest.get(0).toLocalDateTime(), LocalDateTime.now()).toMillis()));
+		} catch (RuntimeException e) {
+			log.debug("Could not read outbox lag: {}", e.getMessage());
+		}
+	}
+
+	private record OutboxRecord(long id, String topic, String key, String payloadType, String payload) {
+	}
+}
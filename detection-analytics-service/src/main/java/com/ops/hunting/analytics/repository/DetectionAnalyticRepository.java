@@ -5,13 +5,16 @@ import com.ops.hunting.common.enums.Platform;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
 
 @Repository
 public interface DetectionAnalyticRepository extends JpaRepository<DetectionAnalytic, String> {
@@ -52,4 +55,22 @@ public interface DetectionAnalyticRepository extends JpaRepository<DetectionAnal
 
 	@Query("SELECT AVG(da.accuracy) FROM DetectionAnalytic da WHERE da.accuracy IS NOT NULL")
 	BigDecimal getAverageAccuracy();
+
+	@Query("SELECT da FROM DetectionAnalytic da WHERE da.isActive = true AND da.nextRunAt <= :now ORDER BY da.nextRunAt")
+	List<DetectionAnalytic> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+	@Query("SELECT da FROM DetectionAnalytic da WHERE da.isActive = true AND da.nextRunAt IS NULL")
+	List<DetectionAnalytic> findUnscheduled();
+
+	// Conditional on the value read, so exactly one replica claims each run
+	@Transactional
+	@Modifying
+	@Query("UPDATE DetectionAnalytic da SET da.nextRunAt = :next WHERE da.id = :id AND da.nextRunAt = :expected")
+	int reschedule(@Param("id") UUID id, @Param("expected") LocalDateTime expected,
+			@Param("next") LocalDateTime next);
+
+	@Transactional
+	@Modifying
+	@Query("UPDATE DetectionAnalytic da SET da.nextRunAt = :next WHERE da.id = :id AND da.nextRunAt IS NULL")
+	int scheduleFirstRun(@Param("id") UUID id, @Param("next") LocalDateTime next);
 }
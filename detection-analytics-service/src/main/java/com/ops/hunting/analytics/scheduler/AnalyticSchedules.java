@@ -0,0 +1,91 @@
+package com.ops.hunting.analytics.scheduler;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Component;
+
+import com.ops.hunting.analytics.config.AnalyticsExecutionProperties;
+import com.ops.hunting.analytics.entity.DetectionAnalytic;
+import com.ops.hunting.analytics.enums.CatchUpPolicy;
+
+/**
+ * Computes when an analytic runs next. An analytic follows its cron
+ * expression if it has one, otherwise its interval or the configured default,
+ * and every run is pushed back by a random jitter so analytics sharing a
+ * schedule do not all hit their platform in the same second.
+ */
+@Component
+public class AnalyticSchedules {
+
+	private final AnalyticsExecutionProperties properties;
+
+	@Autowired
+	public AnalyticSchedules(AnalyticsExecutionProperties properties) {
+		this.properties = properties;
+	}
+
+	/** Rejects a cron expression Spring cannot parse. */
+	public void validate(String cron) {
+		if (cron != null && !cron.isBlank() && !CronExpression.isValidExpression(cron)) {
+			throw new IllegalArgumentException("Invalid schedule cron expression: " + cron);
+		}
+	}
+
+	/**
+	 * The first run after {@code now} of the analytic's schedule, jittered, or
+	 * {@code null} if its cron expression never matches again.
+	 */
+	public LocalDateTime nextRun(DetectionAnalytic analytic, LocalDateTime now) {
+		LocalDateTime base;
+		if (hasCron(analytic)) {
+			base = CronExpression.parse(analytic.getScheduleCron()).next(now);
+			if (base == null) {
+				return null;
+			}
+		} else {
+			base = now.plusMinutes(intervalMinutes(analytic));
+		}
+		return jitter(base, jitterSeconds(analytic));
+	}
+
+	/**
+	 * When a newly scheduled analytic runs first. Interval schedules start at a
+	 * random point within their first interval, which spreads analytics created
+	 * or rescheduled together across the whole period.
+	 */
+	public LocalDateTime firstRun(DetectionAnalytic analytic, LocalDateTime now) {
+		if (hasCron(analytic)) {
+			return nextRun(analytic, now);
+		}
+		return jitter(now, intervalMinutes(analytic) * 60L);
+	}
+
+	public CatchUpPolicy catchUpPolicy(DetectionAnalytic analytic) {
+		return analytic.getCatchUpPolicy() != null ? analytic.getCatchUpPolicy()
+				: properties.getDefaultCatchUpPolicy();
+	}
+
+	private long intervalMinutes(DetectionAnalytic analytic) {
+		Integer minutes = analytic.getScheduleIntervalMinutes();
+		return Math.max(1, minutes != null ? minutes : properties.getIntervalMinutes());
+	}
+
+	private long jitterSeconds(DetectionAnalytic analytic) {
+		Integer seconds = analytic.getScheduleJitterSeconds();
+		return Math.max(0, seconds != null ? seconds : properties.getDefaultJitterSeconds());
+	}
+
+	private static boolean hasCron(DetectionAnalytic analytic) {
+		return analytic.getScheduleCron() != null && !analytic.getScheduleCron().isBlank();
+	}
+
+	// Whole seconds, so the stored value compares exactly when claimed
+	private static LocalDateTime jitter(LocalDateTime base, long maxSeconds) {
+		long offset = maxSeconds > 0 ? ThreadLocalRandom.current().nextLong(maxSeconds + 1) : 0;
+		return base.plusSeconds(offset).truncatedTo(ChronoUnit.SECONDS);
+	}
+}
@@ -1,35 +1,112 @@
 package com.ops.hunting.analytics.scheduler;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import com.ops.hunting.analytics.service.DetectionAnalyticService;
+import com.ops.hunting.analytics.config.AnalyticsExecutionProperties;
+import com.ops.hunting.analytics.entity.DetectionAnalytic;
+import com.ops.hunting.analytics.enums.CatchUpPolicy;
+import com.ops.hunting.analytics.execution.AnalyticExecutionEngine;
+import com.ops.hunting.analytics.repository.DetectionAnalyticRepository;
 
+/**
+ * Starts analytics when their own schedule says so. The next run of every
+ * active analytic is stored in {@code next_run_at}; each poll reads only the
+ * rows that are due, claims each run by moving {@code next_run_at} forward
+ * with a conditional update and hands the claimed analytics to the
+ * {@link AnalyticExecutionEngine}. Because the schedule lives in the table, a
+ * run missed while the service was down is found on the first poll after
+ * restart and handled by the analytic's {@link CatchUpPolicy}, and replicas
+ * never start the same run twice.
+ */
 @Component
 public class AnalyticsExecutionScheduler {
 
-	private final DetectionAnalyticService analyticService;
+	private static final Logger log = LoggerFactory.getLogger(AnalyticsExecutionScheduler.class);
 
-	@Value("${analytics.execution.enabled:true}")
-	private boolean executionEnabled;
+	private final DetectionAnalyticRepository analyticRepository;
+	private final AnalyticExecutionEngine executionEngine;
+	private final AnalyticSchedules schedules;
+	private final AnalyticsExecutionProperties properties;
 
 	@Autowired
-	public AnalyticsExecutionScheduler(DetectionAnalyticService analyticService) {
-		this.analyticService = analyticService;
+	public AnalyticsExecutionScheduler(DetectionAnalyticRepository analyticRepository,
+			AnalyticExecutionEngine executionEngine, AnalyticSchedules schedules,
+			AnalyticsExecutionProperties properties) {
+		this.analyticRepository = analyticRepository;
+		this.executionEngine = executionEngine;
+		this.schedules = schedules;
+		this.properties = properties;
+	}
+
+	/** Schedules active analytics that have never had a next run assigned. */
+	@EventListener(ApplicationReadyEvent.class)
+	public void scheduleUnscheduled() {
+		if (!properties.isEnabled()) {
+			return;
+		}
+		LocalDateTime now = LocalDateTime.now();
+		int scheduled = 0;
+		for (DetectionAnalytic analytic : analyticRepository.findUnscheduled()) {
+			LocalDateTime next = schedules.firstRun(analytic, now);
+			if (next != null) {
+				scheduled += analyticRepository.scheduleFirstRun(analytic.getId(), next);
+			}
+		}
+		if (scheduled > 0) {
+			log.info("Assigned first runs to {} unscheduled analytics", scheduled);
+		}
 	}
 
-	@Scheduled(fixedRateString = "${analytics.execution.interval-minutes:5}000")
-	public void executeActiveAnalytics() {
-		if (executionEnabled) {
-			try {
-				System.out.println("Starting scheduled execution of active analytics...");
-				analyticService.executeAllActiveAnalytics();
-				System.out.println("Completed scheduled execution of active analytics");
-			} catch (Exception e) {
-				System.err.println("Error during scheduled analytics execution: " + e.getMessage());
+	@Scheduled(fixedDelayString = "${analytics.execution.poll-interval-ms:1000}")
+	public void executeDueAnalytics() {
+		if (!properties.isEnabled()) {
+			return;
+		}
+		try {
+			LocalDateTime now = LocalDateTime.now();
+			List<DetectionAnalytic> claimed = claimDue(now);
+			if (claimed.isEmpty()) {
+				return;
+			}
+			executionEngine.execute(claimed).whenComplete((summary, e) -> {
+				if (e != null) {
+					log.error("Scheduled analytics execution failed: {}", e.getMessage());
+				} else {
+					log.debug("Scheduled analytics execution finished: {}", summary);
+				}
+			});
+		} catch (RuntimeException e) {
+			log.error("Error during scheduled analytics execution: {}", e.getMessage());
+		}
+	}
+
+	private List<DetectionAnalytic> claimDue(LocalDateTime now) {
+		List<DetectionAnalytic> due = analyticRepository.findDue(now, PageRequest.of(0, properties.getDueBatchSize()));
+		LocalDateTime missedBefore = now.minusSeconds(properties.getMisfireGraceSeconds());
+		List<DetectionAnalytic> claimed = new ArrayList<>(due.size());
+		for (DetectionAnalytic analytic : due) {
+			LocalDateTime next = schedules.nextRun(analytic, now);
+			if (analyticRepository.reschedule(analytic.getId(), analytic.getNextRunAt(), next) == 0) {
+				continue; // claimed by another replica or rescheduled meanwhile
+			}
+			if (analytic.getNextRunAt().isBefore(missedBefore)
+					&& schedules.catchUpPolicy(analytic) == CatchUpPolicy.SKIP) {
+				log.info("Skipping missed run of analytic {} due at {}", analytic.getId(), analytic.getNextRunAt());
+				continue;
 			}
+			claimed.add(analytic);
 		}
+		return claimed;
 	}
 }
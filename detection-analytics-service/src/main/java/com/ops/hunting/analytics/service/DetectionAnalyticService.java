@@ -4,8 +4,10 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,14 +15,17 @@ import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.ops.hunting.analytics.dto.DetectionAnalyticDto;
-import com.ops.hunting.analytics.entity.AnalyticExecution;
 import com.ops.hunting.analytics.entity.DetectionAnalytic;
+import com.ops.hunting.analytics.execution.AnalyticExecutionEngine;
+import com.ops.hunting.analytics.execution.ExecutionSummary;
+import com.ops.hunting.analytics.outbox.OutboxPublisher;
 import com.ops.hunting.analytics.repository.DetectionAnalyticRepository;
+import com.ops.hunting.analytics.scheduler.AnalyticSchedules;
 import com.ops.hunting.analytics.service.platform.PlatformService;
 import com.ops.hunting.common.enums.Platform;
 
@@ -30,20 +35,27 @@ public class DetectionAnalyticService {
 
 	private final DetectionAnalyticRepository analyticRepository;
 	private final Map<Platform, PlatformService> platformServices;
-	private final KafkaTemplate<String, Object> kafkaTemplate;
+	private final OutboxPublisher outboxPublisher;
+	private final AnalyticExecutionEngine executionEngine;
+	private final AnalyticSchedules schedules;
 
 	@Autowired
 	public DetectionAnalyticService(DetectionAnalyticRepository analyticRepository,
-			List<PlatformService> platformServiceList, KafkaTemplate<String, Object> kafkaTemplate) {
+			List<PlatformService> platformServiceList, OutboxPublisher outboxPublisher,
+			AnalyticExecutionEngine executionEngine, AnalyticSchedules schedules) {
 		this.analyticRepository = analyticRepository;
 		this.platformServices = platformServiceList.stream()
 				.collect(Collectors.toMap(PlatformService::getSupportedPlatform, service -> service));
-		this.kafkaTemplate = kafkaTemplate;
+		this.outboxPublisher = outboxPublisher;
+		this.executionEngine = executionEngine;
+		this.schedules = schedules;
 	}
 
 	@Transactional
 	public DetectionAnalyticDto createAnalytic(DetectionAnalyticDto dto) {
+		schedules.validate(dto.getScheduleCron());
 		DetectionAnalytic entity = convertToEntity(dto);
+		entity.setNextRunAt(schedules.firstRun(entity, LocalDateTime.now()));
 		DetectionAnalytic saved = analyticRepository.save(entity);
 
 		// Deploy to platform
@@ -102,14 +114,25 @@ public class DetectionAnalyticService {
 			throw new RuntimeException("Analytic not found with id: " + id);
 		}
 
+		schedules.validate(dto.getScheduleCron());
 		DetectionAnalytic existing = existingOpt.get();
+		boolean rescheduled = !Objects.equals(existing.getScheduleCron(), dto.getScheduleCron())
+				|| !Objects.equals(existing.getScheduleIntervalMinutes(), dto.getScheduleIntervalMinutes())
+				|| !Objects.equals(existing.getScheduleJitterSeconds(), dto.getScheduleJitterSeconds());
 		existing.setName(dto.getName());
 		existing.setDescription(dto.getDescription());
 		existing.setQueryText(dto.getQueryText());
 		existing.setPlatform(dto.getPlatform());
 		existing.setAccuracy(dto.getAccuracy());
 		existing.setThreatIntelligenceId(dto.getThreatIntelligenceId());
+		existing.setScheduleCron(dto.getScheduleCron());
+		existing.setScheduleIntervalMinutes(dto.getScheduleIntervalMinutes());
+		existing.setScheduleJitterSeconds(dto.getScheduleJitterSeconds());
+		existing.setCatchUpPolicy(dto.getCatchUpPolicy());
 		existing.setLastModified(LocalDateTime.now());
+		if (rescheduled || existing.getNextRunAt() == null) {
+			existing.setNextRunAt(schedules.firstRun(existing, LocalDateTime.now()));
+		}
 
 		DetectionAnalytic updated = analyticRepository.save(existing);
 
@@ -171,56 +194,22 @@ public class DetectionAnalyticService {
 		return convertToDto(updated);
 	}
 
-	@Transactional
+	/**
+	 * Runs one analytic and waits for its result. No transaction is held while
+	 * the platform query runs; see {@link AnalyticExecutionEngine}.
+	 */
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
 	public void executeAnalytic(UUID uuid) {
-		Optional<DetectionAnalytic> analyticOpt = analyticRepository.findById(uuid.toString());
-		if (analyticOpt.isEmpty()) {
-			throw new RuntimeException("Analytic not found with id: " + uuid.toString());
-		}
-
-		DetectionAnalytic analytic = analyticOpt.get();
-		if (!analytic.getIsActive()) {
-			throw new RuntimeException("Cannot execute inactive analytic");
-		}
-
-		PlatformService platformService = platformServices.get(analytic.getPlatform());
-		if (platformService == null) {
-			throw new RuntimeException("No platform service available for: " + analytic.getPlatform());
-		}
-
-		AnalyticExecution execution = new AnalyticExecution(analytic, LocalDateTime.now());
-
-		try {
-			long startTime = System.currentTimeMillis();
-			var result = platformService.executeQuery(analytic.getQueryText());
-			long duration = System.currentTimeMillis() - startTime;
-
-			execution.markAsSuccessful(duration, result.getRecordsProcessed(), result.getAlertsGenerated());
-			analytic.incrementExecutionCount();
-
-			if (result.getAlertsGenerated() > 0) {
-				// Publish alerts to alert management service
-				publishAlertsGenerated(analytic, result);
-			}
-
-		} catch (Exception e) {
-			execution.markAsFailed(e.getMessage());
-		}
-
-		analytic.getExecutions().add(execution);
-		analyticRepository.save(analytic);
+		executionEngine.execute(uuid);
 	}
 
-	@Transactional
-	public void executeAllActiveAnalytics() {
-		List<DetectionAnalytic> activeAnalytics = analyticRepository.findByIsActiveTrue();
-		for (DetectionAnalytic analytic : activeAnalytics) {
-			try {
-				executeAnalytic(analytic.getId());
-			} catch (Exception e) {
-				System.err.println("Failed to execute analytic " + analytic.getId() + ": " + e.getMessage());
-			}
-		}
+	/**
+	 * Starts all active analytics concurrently, per-platform limits permitting.
+	 * The returned future completes once every run has been recorded.
+	 */
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public CompletableFuture<ExecutionSummary> executeAllActiveAnalytics() {
+		return executionEngine.executeAll();
 	}
 
 	public List<DetectionAnalyticDto> getStaleAnalytics(int hours) {
@@ -259,24 +248,13 @@ public class DetectionAnalyticService {
 		}
 	}
 
+	// Events go through the outbox so they are only sent if the surrounding
+	// transaction commits. The relay sends oldest first but does not order
+	// events per analytic, so consumers must not rely on their order.
 	private void publishAnalyticEvent(DetectionAnalytic analytic, String eventType) {
-		try {
-			DetectionAnalyticDto dto = convertToDto(analytic);
-			AnalyticEvent event = new AnalyticEvent(eventType, dto);
-			kafkaTemplate.send("analytic-events", eventType, event);
-		} catch (Exception e) {
-			System.err.println("Failed to publish analytic event: " + e.getMessage());
-		}
-	}
-
-	private void publishAlertsGenerated(DetectionAnalytic analytic, PlatformService.QueryResult result) {
-		try {
-			AlertGeneratedEvent event = new AlertGeneratedEvent(analytic.getId(), result.getAlertsGenerated(),
-					result.getAlertData());
-			kafkaTemplate.send("alert-events", "ALERTS_GENERATED", event);
-		} catch (Exception e) {
-			System.err.println("Failed to publish alerts generated event: " + e.getMessage());
-		}
+		DetectionAnalyticDto dto = convertToDto(analytic);
+		AnalyticEvent event = new AnalyticEvent(eventType, dto);
+		outboxPublisher.publish("analytic-events", String.valueOf(analytic.getId()), event);
 	}
 
 	private DetectionAnalytic convertToEntity(DetectionAnalyticDto dto) {
@@ -289,6 +267,10 @@ public class DetectionAnalyticService {
 		entity.setAccuracy(dto.getAccuracy());
 		entity.setThreatIntelligenceId(dto.getThreatIntelligenceId());
 		entity.setIsActive(dto.getIsActive() != null ? dto.getIsActive() : true);
+		entity.setScheduleCron(dto.getScheduleCron());
+		entity.setScheduleIntervalMinutes(dto.getScheduleIntervalMinutes());
+		entity.setScheduleJitterSeconds(dto.getScheduleJitterSeconds());
+		entity.setCatchUpPolicy(dto.getCatchUpPolicy());
 		return entity;
 	}
 
@@ -309,6 +291,11 @@ public class DetectionAnalyticService {
 		dto.setAlertCount(entity.getAlertCount());
 		dto.setFalsePositiveCount(entity.getFalsePositiveCount());
 		dto.setFalsePositiveRate(entity.getFalsePositiveRate());
+		dto.setScheduleCron(entity.getScheduleCron());
+		dto.setScheduleIntervalMinutes(entity.getScheduleIntervalMinutes());
+		dto.setScheduleJitterSeconds(entity.getScheduleJitterSeconds());
+		dto.setCatchUpPolicy(entity.getCatchUpPolicy());
+		dto.setNextRunAt(entity.getNextRunAt());
 		// dto.setCreatedDate(entity.getCreatedDate());
 		return dto;
 	}
@@ -1,23 +1,42 @@
 package com.ops.hunting.analytics.service.platform;
 
+import java.net.URI;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.ops.hunting.common.enums.Platform;
 
+import jakarta.annotation.PostConstruct;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
 @Service
 public class DatabricksPlatformService implements PlatformService {
 
+	private static final Logger log = LoggerFactory.getLogger(DatabricksPlatformService.class);
+
+	private static final String STATEMENTS_PATH = "/api/2.0/sql/statements";
+	private static final int MAX_ALERTS = 50;
+
 	@Value("${platforms.databricks.host:https://databricks.company.com}")
 	private String databricksHost;
 
@@ -27,11 +46,34 @@ public class DatabricksPlatformService implements PlatformService {
 	@Value("${platforms.databricks.cluster-id:your-cluster-id}")
 	private String clusterId;
 
-	private final RestTemplate restTemplate;
+	/** How long the submit call waits for a result before polling takes over (5s to 50s). */
+	@Value("${platforms.databricks.wait-timeout:10s}")
+	private Duration waitTimeout;
+
+	@Value("${platforms.databricks.poll-initial-delay:500ms}")
+	private Duration pollInitialDelay;
+
+	@Value("${platforms.databricks.poll-max-delay:10s}")
+	private Duration pollMaxDelay;
+
+	/** Statements still running after this are cancelled on the warehouse. */
+	@Value("${platforms.databricks.statement-timeout:30m}")
+	private Duration statementTimeout;
+
+	private final PlatformWebClients webClients;
+	private final ObjectMapper objectMapper;
 	private final Map<String, String> deployedAnalytics = new ConcurrentHashMap<>();
+	private WebClient webClient;
 
-	public DatabricksPlatformService() {
-		this.restTemplate = new RestTemplate();
+	@Autowired
+	public DatabricksPlatformService(PlatformWebClients webClients, ObjectMapper objectMapper) {
+		this.webClients = webClients;
+		this.objectMapper = objectMapper;
+	}
+
+	@PostConstruct
+	public void init() {
+		this.webClient = webClients.create(Platform.DATABRICKS, databricksHost);
 	}
 
 	@Override
@@ -64,44 +106,39 @@ public class DatabricksPlatformService implements PlatformService {
 		}
 	}
 
+	/**
+	 * Submits the statement and, if it is still PENDING or RUNNING when the
+	 * submit call returns, polls it with exponential backoff. Results are
+	 * requested as external links and every chunk is downloaded and parsed as
+	 * it streams in, so rows are counted one at a time rather than loaded into
+	 * memory. A result the warehouse truncated fails the execution rather than
+	 * passing as complete. A statement that outlives {@code statement-timeout},
+	 * or whose caller cancels, is cancelled on the warehouse too.
+	 */
 	@Override
-	public QueryResult executeQuery(String query) {
-		try {
-			HttpHeaders headers = createAuthHeaders();
-
-			// Build SQL execution request
-			Map<String, Object> sqlRequest = buildSqlRequest(query);
-			HttpEntity<Map<String, Object>> entity = new HttpEntity<>(sqlRequest, headers);
-
-			// Execute SQL statement
-			String url = databricksHost + "/api/2.0/sql/statements";
-			ResponseEntity<Map> response = restTemplate.exchange(url, HttpMethod.POST, entity, Map.class);
-
-			if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-				return parseSqlResponse(response.getBody());
-			} else {
-				return new QueryResult("Failed to execute query on Databricks");
-			}
-
-		} catch (Exception e) {
-			return new QueryResult("Error executing query: " + e.getMessage());
-		}
+	public CompletionStage<QueryResult> executeQueryAsync(String query) {
+		return webClient.post().uri(STATEMENTS_PATH).headers(this::setAuthHeaders)
+				.contentType(MediaType.APPLICATION_JSON).bodyValue(buildSqlRequest(query)).retrieve()
+				.bodyToMono(JsonNode.class).flatMap(statement -> {
+					String statementId = statement.path("statement_id").asText();
+					return awaitCompletion(statementId, statement, pollInitialDelay)
+							.flatMap(completed -> readResult(statementId, completed)).timeout(statementTimeout)
+							.doOnError(TimeoutException.class, e -> cancelStatement(statementId))
+							.doOnCancel(() -> cancelStatement(statementId));
+				}).defaultIfEmpty(new QueryResult("Failed to execute query on Databricks"))
+				.onErrorResume(TimeoutException.class,
+						e -> Mono.just(new QueryResult("Statement timed out after " + statementTimeout)))
+				.onErrorResume(e -> Mono.just(new QueryResult("Error executing query: " + e.getMessage())))
+				.toFuture();
 	}
 
 	@Override
 	public boolean testConnection() {
-		try {
-			HttpHeaders headers = createAuthHeaders();
-			HttpEntity<String> entity = new HttpEntity<>(headers);
-
-			ResponseEntity<Map> response = restTemplate.exchange(
-					databricksHost + "/api/2.0/clusters/get?cluster_id=" + clusterId, HttpMethod.GET, entity,
-					Map.class);
-
-			return response.getStatusCode().is2xxSuccessful();
-		} catch (Exception e) {
-			return false;
-		}
+		return webClient.get()
+				.uri(uri -> uri.path("/api/2.0/clusters/get").queryParam("cluster_id", clusterId).build())
+				.headers(this::setAuthHeaders).retrieve().toBodilessEntity()
+				.map(response -> response.getStatusCode().is2xxSuccessful()).onErrorReturn(false)
+				.defaultIfEmpty(false).block();
 	}
 
 	private void validateSqlQuery(String query) {
@@ -116,11 +153,8 @@ public class DatabricksPlatformService implements PlatformService {
 		}
 	}
 
-	private HttpHeaders createAuthHeaders() {
-		HttpHeaders headers = new HttpHeaders();
+	private void setAuthHeaders(HttpHeaders headers) {
 		headers.setBearerAuth(token);
-		headers.set("Content-Type", "application/json");
-		return headers;
 	}
 
 	private Map<String, Object> buildSqlRequest(String query) {
@@ -129,28 +163,107 @@ public class DatabricksPlatformService implements PlatformService {
 		sqlRequest.put("warehouse_id", clusterId);
 		sqlRequest.put("catalog", "main");
 		sqlRequest.put("schema", "default");
+		sqlRequest.put("wait_timeout", waitTimeout.toSeconds() + "s");
+		sqlRequest.put("on_wait_timeout", "CONTINUE");
+		sqlRequest.put("disposition", "EXTERNAL_LINKS");
+		sqlRequest.put("format", "JSON_ARRAY");
 
 		return sqlRequest;
 	}
 
-	private QueryResult parseSqlResponse(Map<String, Object> response) {
-		try {
-			// Parse Databricks SQL API response
-			Map<String, Object> result = (Map<String, Object>) response.get("result");
-			if (result != null) {
-				Number rowCount = (Number) result.get("row_count");
-				long recordsProcessed = rowCount != null ? rowCount.longValue() : 0;
-
-				// Apply threat detection logic to determine alerts
-				int alerts = (int) Math.min(recordsProcessed * 0.1, 50); // 10% of records as alerts, max 50
-
-				return new QueryResult(recordsProcessed, alerts, response.toString());
-			} else {
-				return new QueryResult("No result data in response");
+	private Mono<JsonNode> awaitCompletion(String statementId, JsonNode statement, Duration delay) {
+		String state = statement.path("status").path("state").asText();
+		if (!"PENDING".equals(state) && !"RUNNING".equals(state)) {
+			return Mono.just(statement);
+		}
+		Duration nextDelay = delay.multipliedBy(2).compareTo(pollMaxDelay) < 0 ? delay.multipliedBy(2) : pollMaxDelay;
+		return Mono.delay(delay).then(getStatement(statementId))
+				.flatMap(polled -> awaitCompletion(statementId, polled, nextDelay));
+	}
+
+	private Mono<QueryResult> readResult(String statementId, JsonNode statement) {
+		JsonNode status = statement.path("status");
+		String state = status.path("state").asText();
+		if (!"SUCCEEDED".equals(state)) {
+			String message = status.path("error").path("message").asText("");
+			return Mono.just(new QueryResult("Statement " + state + (message.isEmpty() ? "" : ": " + message)));
+		}
+		JsonNode manifest = statement.path("manifest");
+		if (manifest.path("truncated").asBoolean(false)) {
+			return Mono.just(new QueryResult("Databricks truncated the result of statement " + statementId + " at "
+					+ manifest.path("total_row_count").asLong() + " rows; narrow the query"));
+		}
+
+		ResultRows rows = new ResultRows();
+		return readChunks(statementId, statement.path("result"), rows).then(Mono.fromCallable(rows::toQueryResult));
+	}
+
+	// Chunks are read strictly in order; each one names the index of the next
+	private Mono<Void> readChunks(String statementId, JsonNode first, ResultRows rows) {
+		return Mono.just(first).expand(chunk -> readChunk(chunk, rows).then(Mono.defer(() -> {
+			JsonNode next = nextChunkIndex(chunk);
+			return next.canConvertToInt() ? getChunk(statementId, next.asInt()) : Mono.<JsonNode>empty();
+		}))).then();
+	}
+
+	private Mono<Void> readChunk(JsonNode chunk, ResultRows rows) {
+		// Small results may still come back inline
+		chunk.path("data_array").forEach(rows::accept);
+		return Flux.fromIterable(chunk.path("external_links"))
+				.concatMap(link -> download(link.path("external_link").asText(), rows)).then();
+	}
+
+	private Mono<Void> download(String externalLink, ResultRows rows) {
+		JsonArrayElementParser parser = new JsonArrayElementParser(objectMapper, rows::accept);
+		// Pre-signed cloud storage URL, so no Databricks credentials
+		return webClient.get().uri(URI.create(externalLink)).retrieve().bodyToFlux(DataBuffer.class)
+				.doOnNext(parser::feed).then(Mono.fromRunnable(parser::finish));
+	}
+
+	private static JsonNode nextChunkIndex(JsonNode chunk) {
+		JsonNode links = chunk.path("external_links");
+		return links.size() > 0 ? links.get(links.size() - 1).path("next_chunk_index")
+				: chunk.path("next_chunk_index");
+	}
+
+	private Mono<JsonNode> getStatement(String statementId) {
+		return webClient.get().uri(STATEMENTS_PATH + "/{id}", statementId).headers(this::setAuthHeaders).retrieve()
+				.bodyToMono(JsonNode.class);
+	}
+
+	private Mono<JsonNode> getChunk(String statementId, int chunkIndex) {
+		return webClient.get().uri(STATEMENTS_PATH + "/{id}/result/chunks/{index}", statementId, chunkIndex)
+				.headers(this::setAuthHeaders).retrieve().bodyToMono(JsonNode.class);
+	}
+
+	private void cancelStatement(String statementId) {
+		webClient.post().uri(STATEMENTS_PATH + "/{id}/cancel", statementId).headers(this::setAuthHeaders).retrieve()
+				.toBodilessEntity()
+				.subscribe(response -> log.info("Cancelled Databricks statement {}", statementId),
+						e -> log.warn("Failed to cancel Databricks statement {}: {}", statementId, e.getMessage()));
+	}
+
+	/** Counts streamed rows, keeping only the first few for the alert payload. */
+	private static final class ResultRows {
+
+		private final ArrayNode sample = JsonNodeFactory.instance.arrayNode();
+		private long count;
+
+		void accept(JsonNode row) {
+			count++;
+			if (sample.size() < MAX_ALERTS) {
+				sample.add(row);
 			}
+		}
 
-		} catch (Exception e) {
-			return new QueryResult("Failed to parse SQL response: " + e.getMessage());
+		QueryResult toQueryResult() {
+			// Apply threat detection logic to determine alerts
+			int alerts = (int) Math.min(count * 0.1, MAX_ALERTS); // 10% of records as alerts, max 50
+			ArrayNode alertRows = JsonNodeFactory.instance.arrayNode();
+			for (int i = 0; i < alerts; i++) {
+				alertRows.add(sample.get(i));
+			}
+			return new QueryResult(count, alerts, alertRows.toString());
 		}
 	}
 }
@@ -1,23 +1,42 @@
 package com.ops.hunting.analytics.service.platform;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.ops.hunting.common.enums.Platform;
 
+import jakarta.annotation.PostConstruct;
+import reactor.core.publisher.Mono;
+
 @Service
 public class ElasticPlatformService implements PlatformService {
 
+	private static final Logger log = LoggerFactory.getLogger(ElasticPlatformService.class);
+
+	private static final String[] HITS_PATH = { "hits", "hits" };
+	private static final int MAX_ALERTS = 100;
+
 	@Value("${platforms.elastic.host:http://localhost:9200}")
 	private String elasticHost;
 
@@ -30,11 +49,28 @@ public class ElasticPlatformService implements PlatformService {
 	@Value("${platforms.elastic.index-pattern:logs-*}")
 	private String indexPattern;
 
-	private final RestTemplate restTemplate;
+	/** Hits fetched per search_after page. */
+	@Value("${platforms.elastic.page-size:1000}")
+	private int pageSize;
+
+	/** How long the point in time is kept open between pages. */
+	@Value("${platforms.elastic.pit-keep-alive:1m}")
+	private String pitKeepAlive;
+
+	private final PlatformWebClients webClients;
+	private final ObjectMapper objectMapper;
 	private final Map<String, String> deployedAnalytics = new ConcurrentHashMap<>();
+	private WebClient webClient;
 
-	public ElasticPlatformService() {
-		this.restTemplate = new RestTemplate();
+	@Autowired
+	public ElasticPlatformService(PlatformWebClients webClients, ObjectMapper objectMapper) {
+		this.webClients = webClients;
+		this.objectMapper = objectMapper;
+	}
+
+	@PostConstruct
+	public void init() {
+		this.webClient = webClients.create(Platform.ELASTIC, elasticHost);
 	}
 
 	@Override
@@ -70,42 +106,32 @@ public class ElasticPlatformService implements PlatformService {
 	}
 
 	@Override
-	public QueryResult executeQuery(String query) {
-		try {
-			HttpHeaders headers = createAuthHeaders();
-
-			// Build Elasticsearch query
-			Map<String, Object> searchRequest = buildSearchRequest(query);
-			HttpEntity<Map<String, Object>> entity = new HttpEntity<>(searchRequest, headers);
-
-			// Execute search
-			String url = elasticHost + "/" + indexPattern + "/_search";
-			ResponseEntity<Map> response = restTemplate.exchange(url, HttpMethod.POST, entity, Map.class);
-
-			if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-				return parseSearchResponse(response.getBody());
-			} else {
-				return new QueryResult("Failed to execute query on Elastic");
-			}
+	public CompletionStage<QueryResult> executeQueryAsync(String query) {
+		HitAlerts alerts = new HitAlerts();
+		return streamHits(query, alerts::accept).map(hits -> alerts.toQueryResult())
+				.onErrorResume(e -> Mono.just(new QueryResult("Error executing query: " + e.getMessage())))
+				.toFuture();
+	}
 
-		} catch (Exception e) {
-			return new QueryResult("Error executing query: " + e.getMessage());
-		}
+	/**
+	 * Hands every hit matching {@code query} to {@code hitConsumer}, in shard
+	 * document order, and emits the number of hits. All matches are paged
+	 * through with a point in time and {@code search_after}, and each page is
+	 * parsed as it streams in, so memory stays bounded by one hit however many
+	 * match. The point in time is closed when the stream completes, fails or is
+	 * cancelled.
+	 */
+	public Mono<Long> streamHits(String query, Consumer<JsonNode> hitConsumer) {
+		return Mono.usingWhen(openPointInTime().map(PitCursor::new),
+				cursor -> readPages(query, cursor, hitConsumer), this::closePointInTime,
+				(cursor, e) -> closePointInTime(cursor), this::closePointInTime);
 	}
 
 	@Override
 	public boolean testConnection() {
-		try {
-			HttpHeaders headers = createAuthHeaders();
-			HttpEntity<String> entity = new HttpEntity<>(headers);
-
-			ResponseEntity<Map> response = restTemplate.exchange(elasticHost + "/_cluster/health", HttpMethod.GET,
-					entity, Map.class);
-
-			return response.getStatusCode().is2xxSuccessful();
-		} catch (Exception e) {
-			return false;
-		}
+		return webClient.get().uri("/_cluster/health").headers(this::setAuthHeaders).retrieve().toBodilessEntity()
+				.map(response -> response.getStatusCode().is2xxSuccessful()).onErrorReturn(false)
+				.defaultIfEmpty(false).block();
 	}
 
 	private void testQuery(String query) {
@@ -115,14 +141,11 @@ public class ElasticPlatformService implements PlatformService {
 		}
 	}
 
-	private HttpHeaders createAuthHeaders() {
-		HttpHeaders headers = new HttpHeaders();
+	private void setAuthHeaders(HttpHeaders headers) {
 		headers.setBasicAuth(username, password);
-		headers.set("Content-Type", "application/json");
-		return headers;
 	}
 
-	private Map<String, Object> buildSearchRequest(String query) {
+	private Map<String, Object> buildSearchRequest(String query, PitCursor cursor) {
 		Map<String, Object> searchRequest = new HashMap<>();
 
 		// For this example, we'll use a simple query string query
@@ -133,32 +156,97 @@ public class ElasticPlatformService implements PlatformService {
 		queryMap.put("query_string", queryString);
 		searchRequest.put("query", queryMap);
 
-		// Limit results for performance
-		searchRequest.put("size", 1000);
+		// Page through the point in time in shard document order
+		searchRequest.put("size", pageSize);
+		searchRequest.put("pit", Map.of("id", cursor.pitId, "keep_alive", pitKeepAlive));
+		searchRequest.put("sort", List.of(Map.of("_shard_doc", "asc")));
+		searchRequest.put("track_total_hits", false);
+		if (cursor.searchAfter != null) {
+			searchRequest.put("search_after", cursor.searchAfter);
+		}
 
 		return searchRequest;
 	}
 
-	private QueryResult parseSearchResponse(Map<String, Object> response) {
-		try {
-			Map<String, Object> hits = (Map<String, Object>) response.get("hits");
-			Object totalObj = hits.get("total");
-
-			long totalHits;
-			if (totalObj instanceof Map) {
-				totalHits = ((Number) ((Map<String, Object>) totalObj).get("value")).longValue();
-			} else {
-				totalHits = ((Number) totalObj).longValue();
-			}
+	private Mono<String> openPointInTime() {
+		return webClient.post().uri("/" + indexPattern + "/_pit?keep_alive=" + pitKeepAlive)
+				.headers(this::setAuthHeaders).retrieve().bodyToMono(JsonNode.class)
+				.map(response -> response.path("id").asText());
+	}
 
-			// For this example, assume all hits are potential alerts
-			// In real implementation, would apply threat detection logic
-			int alerts = Math.min((int) totalHits, 100); // Cap at 100 alerts per execution
+	private Mono<Void> closePointInTime(PitCursor cursor) {
+		return webClient.method(HttpMethod.DELETE).uri("/_pit").headers(this::setAuthHeaders)
+				.contentType(MediaType.APPLICATION_JSON).bodyValue(Map.of("id", cursor.pitId)).retrieve()
+				.toBodilessEntity().then().onErrorResume(e -> {
+					log.warn("Failed to close Elastic point in time: {}", e.getMessage());
+					return Mono.empty();
+				});
+	}
 
-			return new QueryResult(totalHits, alerts, response.toString());
+	// Each repeat builds its request from the cursor the previous page advanced
+	private Mono<Long> readPages(String query, PitCursor cursor, Consumer<JsonNode> hitConsumer) {
+		return Mono.defer(() -> searchPage(query, cursor, hitConsumer)).repeat()
+				.takeUntil(pageHits -> pageHits < pageSize).then(Mono.fromCallable(() -> cursor.hits));
+	}
 
-		} catch (Exception e) {
-			return new QueryResult("Failed to parse search response: " + e.getMessage());
+	// Searches without an index: the point in time already names it
+	private Mono<Integer> searchPage(String query, PitCursor cursor, Consumer<JsonNode> hitConsumer) {
+		int[] pageHits = new int[1];
+		JsonArrayElementParser parser = new JsonArrayElementParser(objectMapper, HITS_PATH, hit -> {
+			pageHits[0]++;
+			cursor.hits++;
+			cursor.searchAfter = hit.get("sort");
+			hitConsumer.accept(hit);
+		});
+		return webClient.post().uri("/_search").headers(this::setAuthHeaders).contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(buildSearchRequest(query, cursor)).retrieve().bodyToFlux(DataBuffer.class)
+				.doOnNext(parser::feed).then(Mono.fromCallable(() -> {
+					parser.finish();
+					// The id may change between pages; always continue with the latest
+					String pitId = parser.rootValue("pit_id");
+					if (pitId != null) {
+						cursor.pitId = pitId;
+					}
+					return pageHits[0];
+				}));
+	}
+
+	/** Where paging through a point in time has got to. */
+	private static final class PitCursor {
+
+		private String pitId;
+		private JsonNode searchAfter;
+		private long hits;
+
+		PitCursor(String pitId) {
+			this.pitId = pitId;
+		}
+	}
+
+	/**
+	 * Builds an alert record for each hit, keeping at most MAX_ALERTS of them.
+	 * For this example all hits are potential alerts; a real implementation
+	 * would apply threat detection logic here.
+	 */
+	private static final class HitAlerts {
+
+		private final ArrayNode alerts = JsonNodeFactory.instance.arrayNode();
+		private long hits;
+
+		void accept(JsonNode hit) {
+			hits++;
+			if (alerts.size() < MAX_ALERTS) {
+				ObjectNode alert = alerts.addObject();
+				alert.put("index", hit.path("_index").asText());
+				alert.put("documentId", hit.path("_id").asText());
+				if (hit.has("_source")) {
+					alert.set("source", hit.get("_source"));
+				}
+			}
+		}
+
+		QueryResult toQueryResult() {
+			return new QueryResult(hits, alerts.size(), alerts.toString());
 		}
 	}
 }
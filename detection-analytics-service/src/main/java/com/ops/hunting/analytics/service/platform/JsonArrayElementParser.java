@@ -0,0 +1,142 @@
+package com.ops.hunting.analytics.service.platform;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+/**
+ * Incrementally parses a JSON body and hands each element of one array in it
+ * to a consumer as soon as the element is complete. The array is the body
+ * itself or the one reached through a path of object fields, e.g.
+ * {@code hits.hits}. Bytes are fed as they arrive, so only the element being
+ * parsed is ever held in memory, however large the array. Scalar fields of
+ * the top-level object are kept for {@link #rootValue}.
+ */
+final class JsonArrayElementParser {
+
+	private final ObjectMapper objectMapper;
+	private final String[] path;
+	private final Consumer<JsonNode> consumer;
+	private final JsonParser parser;
+	private final ByteArrayFeeder feeder;
+	private final Map<String, String> rootValues = new HashMap<>();
+	private TokenBuffer element;
+	private int depth;
+	private int arrayDepth = -1;
+
+	JsonArrayElementParser(ObjectMapper objectMapper, Consumer<JsonNode> consumer) {
+		this(objectMapper, new String[0], consumer);
+	}
+
+	JsonArrayElementParser(ObjectMapper objectMapper, String[] path, Consumer<JsonNode> consumer) {
+		this.objectMapper = objectMapper;
+		this.path = path;
+		this.consumer = consumer;
+		try {
+			this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+	}
+
+	/** Parses what {@code buffer} completes and releases it. */
+	void feed(DataBuffer buffer) {
+		try {
+			byte[] bytes = new byte[buffer.readableByteCount()];
+			buffer.read(bytes);
+			feeder.feedInput(bytes, 0, bytes.length);
+			drain();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			DataBufferUtils.release(buffer);
+		}
+	}
+
+	/** Signals the end of the body; fails if it was cut short. */
+	void finish() {
+		try {
+			feeder.endOfInput();
+			drain();
+			if (depth != 0) {
+				throw new JsonParseException(parser, "JSON body ended prematurely");
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/** A scalar field of the top-level object, as text, once parsed. */
+	String rootValue(String name) {
+		return rootValues.get(name);
+	}
+
+	private void drain() throws IOException {
+		JsonToken token;
+		while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+			if (element != null) {
+				element.copyCurrentEvent(parser);
+				if (token.isStructStart()) {
+					depth++;
+				} else if (token.isStructEnd() && --depth == arrayDepth) {
+					emit();
+				}
+			} else if (depth == arrayDepth) {
+				// Next element of the target array, or its end
+				if (token == JsonToken.END_ARRAY) {
+					depth--;
+					arrayDepth = -1;
+					continue;
+				}
+				element = new TokenBuffer(parser);
+				element.copyCurrentEvent(parser);
+				if (token.isStructStart()) {
+					depth++;
+				} else {
+					emit();
+				}
+			} else if (token.isStructStart()) {
+				depth++;
+				if (token == JsonToken.START_ARRAY && atTarget()) {
+					arrayDepth = depth;
+				}
+			} else if (token.isStructEnd()) {
+				depth--;
+			} else if (depth == 1 && token.isScalarValue() && parser.getParsingContext().inObject()) {
+				rootValues.put(parser.currentName(), parser.getText());
+			}
+		}
+	}
+
+	private boolean atTarget() {
+		JsonStreamContext context = parser.getParsingContext().getParent();
+		for (int i = path.length - 1; i >= 0; i--) {
+			if (context == null || !context.inObject() || !path[i].equals(context.getCurrentName())) {
+				return false;
+			}
+			context = context.getParent();
+		}
+		return context != null && context.inRoot();
+	}
+
+	private void emit() throws IOException {
+		JsonNode node = objectMapper.readTree(element.asParser(objectMapper));
+		element = null;
+		consumer.accept(node);
+	}
+}
@@ -1,6 +1,9 @@
 package com.ops.hunting.analytics.service.platform;
 
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
 
 import com.ops.hunting.common.enums.Platform;
 
@@ -12,7 +15,28 @@ public interface PlatformService {
 
 	void undeployAnalytic(UUID uuid);
 
-	QueryResult executeQuery(String query);
+	/**
+	 * Runs the query without blocking the caller. Failures complete the stage
+	 * with an unsuccessful {@link QueryResult} rather than exceptionally.
+	 */
+	CompletionStage<QueryResult> executeQueryAsync(String query);
+
+	/**
+	 * Waits for {@link #executeQueryAsync}. Interrupting the caller cancels the
+	 * request and releases its connection.
+	 */
+	default QueryResult executeQuery(String query) {
+		CompletableFuture<QueryResult> future = executeQueryAsync(query).toCompletableFuture();
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			return new QueryResult("Query interrupted");
+		} catch (ExecutionException e) {
+			return new QueryResult("Error executing query: " + e.getCause().getMessage());
+		}
+	}
 
 	boolean testConnection();
 
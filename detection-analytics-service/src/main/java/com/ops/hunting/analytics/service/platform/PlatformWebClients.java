@@ -0,0 +1,59 @@
+package com.ops.hunting.analytics.service.platform;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.ops.hunting.analytics.config.PlatformHttpProperties;
+import com.ops.hunting.common.enums.Platform;
+
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Builds the non-blocking {@link WebClient} of each platform. Every platform
+ * gets its own keep-alive connection pool, so a platform that is slow to
+ * respond cannot starve another of connections.
+ */
+@Component
+public class PlatformWebClients {
+
+	private final WebClient.Builder webClientBuilder;
+	private final PlatformHttpProperties properties;
+	private final List<ConnectionProvider> providers = new CopyOnWriteArrayList<>();
+
+	@Autowired
+	public PlatformWebClients(WebClient.Builder webClientBuilder, PlatformHttpProperties properties) {
+		this.webClientBuilder = webClientBuilder;
+		this.properties = properties;
+	}
+
+	public WebClient create(Platform platform, String baseUrl) {
+		PlatformHttpProperties.Client settings = properties.forPlatform(platform);
+		ConnectionProvider provider = ConnectionProvider.builder("platform-" + platform.name().toLowerCase())
+				.maxConnections(settings.getMaxConnections())
+				.pendingAcquireTimeout(settings.getPendingAcquireTimeout())
+				.maxIdleTime(settings.getMaxIdleTime()).build();
+		providers.add(provider);
+
+		HttpClient httpClient = HttpClient.create(provider)
+				.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) settings.getConnectTimeout().toMillis())
+				.option(ChannelOption.SO_KEEPALIVE, true).responseTimeout(settings.getReadTimeout()).compress(true);
+
+		return webClientBuilder.clone().baseUrl(baseUrl).clientConnector(new ReactorClientHttpConnector(httpClient))
+				.codecs(codecs -> codecs.defaultCodecs()
+						.maxInMemorySize((int) settings.getMaxResponseSize().toBytes()))
+				.build();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		providers.forEach(ConnectionProvider::dispose);
+	}
+}
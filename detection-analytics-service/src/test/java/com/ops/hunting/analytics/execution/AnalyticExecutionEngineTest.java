@@ -0,0 +1,148 @@
+package com.ops.hunting.analytics.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.ops.hunting.analytics.config.AnalyticsExecutionProperties;
+import com.ops.hunting.analytics.entity.DetectionAnalytic;
+import com.ops.hunting.analytics.repository.DetectionAnalyticRepository;
+import com.ops.hunting.analytics.service.platform.PlatformService;
+import com.ops.hunting.common.enums.Platform;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class AnalyticExecutionEngineTest {
+
+	@Mock
+	private DetectionAnalyticRepository analyticRepository;
+
+	@Mock
+	private PlatformService platformService;
+
+	@Mock
+	private AnalyticExecutionRecorder recorder;
+
+	private AnalyticsExecutionProperties properties;
+	private AnalyticExecutionEngine engine;
+
+	@BeforeEach
+	void setUp() {
+		properties = new AnalyticsExecutionProperties();
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (engine != null) {
+			engine.shutdown();
+		}
+	}
+
+	@Test
+	void execute_ShouldRecordSuccessfulResult() throws Exception {
+		PlatformService.QueryResult result = new PlatformService.QueryResult(10, 1, "[]");
+		when(platformService.executeQuery("user:alice")).thenReturn(result);
+		DetectionAnalytic analytic = analytic();
+
+		ExecutionSummary summary = engine().execute(List.of(analytic)).get(5, TimeUnit.SECONDS);
+
+		assertThat(summary).isEqualTo(new ExecutionSummary(1, 0, 1, 0));
+		verify(recorder).record(eq(analytic.getId()), any(LocalDateTime.class), anyLong(), same(result), isNull());
+	}
+
+	@Test
+	void execute_WhenQueryOutlivesTimeout_ShouldInterruptWorkerAndRecordTimeout() throws Exception {
+		properties.setTimeoutMinutes(0);
+		when(platformService.executeQuery(anyString())).thenAnswer(invocation -> {
+			try {
+				Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+				return new PlatformService.QueryResult(1, 0, "[]");
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return new PlatformService.QueryResult("Query interrupted");
+			}
+		});
+		DetectionAnalytic analytic = analytic();
+
+		ExecutionSummary summary = engine().execute(List.of(analytic)).get(5, TimeUnit.SECONDS);
+
+		assertThat(summary).isEqualTo(new ExecutionSummary(1, 0, 0, 1));
+		verify(recorder).record(eq(analytic.getId()), any(LocalDateTime.class), anyLong(), isNull(),
+				eq("Execution timed out after 0 minutes"));
+	}
+
+	@Test
+	void execute_WhenAnalyticStillRunning_ShouldSkipIt() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		when(platformService.executeQuery(anyString())).thenAnswer(invocation -> {
+			release.await();
+			return new PlatformService.QueryResult(1, 0, "[]");
+		});
+		DetectionAnalytic analytic = analytic();
+		engine();
+
+		CompletableFuture<ExecutionSummary> first = engine.execute(List.of(analytic));
+		ExecutionSummary second = engine.execute(List.of(analytic)).get(5, TimeUnit.SECONDS);
+		release.countDown();
+
+		assertThat(second).isEqualTo(new ExecutionSummary(0, 1, 0, 0));
+		assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(new ExecutionSummary(1, 0, 1, 0));
+	}
+
+	@Test
+	void deadline_WhenExpiredBeforeFinish_ShouldInterruptWorkerUntilFinished() {
+		AnalyticExecutionEngine.Deadline deadline = new AnalyticExecutionEngine.Deadline(Thread.currentThread());
+
+		deadline.expire();
+		assertThat(Thread.currentThread().isInterrupted()).isTrue();
+
+		assertThat(deadline.finish()).isTrue();
+		assertThat(Thread.currentThread().isInterrupted()).isFalse();
+	}
+
+	@Test
+	void deadline_WhenExpiringAfterFinish_ShouldLeaveWorkerAlone() {
+		AnalyticExecutionEngine.Deadline deadline = new AnalyticExecutionEngine.Deadline(Thread.currentThread());
+
+		assertThat(deadline.finish()).isFalse();
+		deadline.expire();
+
+		assertThat(Thread.currentThread().isInterrupted()).isFalse();
+	}
+
+	private AnalyticExecutionEngine engine() {
+		when(platformService.getSupportedPlatform()).thenReturn(Platform.ELASTIC);
+		engine = new AnalyticExecutionEngine(analyticRepository, List.of(platformService), recorder, properties,
+				new SimpleMeterRegistry());
+		return engine;
+	}
+
+	private static DetectionAnalytic analytic() {
+		DetectionAnalytic analytic = new DetectionAnalytic();
+		analytic.setId(UUID.randomUUID());
+		analytic.setPlatform(Platform.ELASTIC);
+		analytic.setQueryText("user:alice");
+		return analytic;
+	}
+}
@@ -0,0 +1,108 @@
+package com.ops.hunting.analytics.scheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.ops.hunting.analytics.config.AnalyticsExecutionProperties;
+import com.ops.hunting.analytics.entity.DetectionAnalytic;
+import com.ops.hunting.analytics.enums.CatchUpPolicy;
+
+public class AnalyticSchedulesTest {
+
+	private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 1, 10, 15, 30);
+
+	private AnalyticsExecutionProperties properties;
+	private AnalyticSchedules schedules;
+
+	@BeforeEach
+	void setUp() {
+		properties = new AnalyticsExecutionProperties();
+		schedules = new AnalyticSchedules(properties);
+	}
+
+	@Test
+	void nextRun_WithCron_ShouldFollowCron() {
+		DetectionAnalytic analytic = analytic("0 0 * * * *", null, 0);
+
+		assertThat(schedules.nextRun(analytic, NOW)).isEqualTo(LocalDateTime.of(2024, 3, 1, 11, 0));
+	}
+
+	@Test
+	void nextRun_WithCron_ShouldDelayByAtMostJitter() {
+		DetectionAnalytic analytic = analytic("0 0 * * * *", null, 90);
+
+		for (int i = 0; i < 100; i++) {
+			assertThat(schedules.nextRun(analytic, NOW)).isBetween(LocalDateTime.of(2024, 3, 1, 11, 0),
+					LocalDateTime.of(2024, 3, 1, 11, 1, 30));
+		}
+	}
+
+	@Test
+	void nextRun_WithInterval_ShouldAddIntervalAndJitterInWholeSeconds() {
+		DetectionAnalytic analytic = analytic(null, 10, 30);
+		LocalDateTime now = NOW.withNano(500_000_000);
+
+		for (int i = 0; i < 100; i++) {
+			LocalDateTime next = schedules.nextRun(analytic, now);
+			assertThat(next).isBetween(NOW.plusMinutes(10), NOW.plusMinutes(10).plusSeconds(30));
+			assertThat(next.getNano()).isZero();
+		}
+	}
+
+	@Test
+	void nextRun_WithoutSchedule_ShouldUseConfiguredDefaults() {
+		properties.setIntervalMinutes(15);
+		properties.setDefaultJitterSeconds(0);
+
+		assertThat(schedules.nextRun(analytic(null, null, null), NOW)).isEqualTo(NOW.plusMinutes(15));
+	}
+
+	@Test
+	void firstRun_WithInterval_ShouldStartWithinFirstInterval() {
+		DetectionAnalytic analytic = analytic(null, 10, 0);
+
+		for (int i = 0; i < 100; i++) {
+			assertThat(schedules.firstRun(analytic, NOW)).isBetween(NOW, NOW.plusMinutes(10));
+		}
+	}
+
+	@Test
+	void firstRun_WithCron_ShouldBeNextCronMatch() {
+		DetectionAnalytic analytic = analytic("0 */5 * * * *", null, 0);
+
+		assertThat(schedules.firstRun(analytic, NOW)).isEqualTo(LocalDateTime.of(2024, 3, 1, 10, 20));
+	}
+
+	@Test
+	void validate_ShouldRejectOnlyUnparseableCron() {
+		assertThatCode(() -> schedules.validate(null)).doesNotThrowAnyException();
+		assertThatCode(() -> schedules.validate(" ")).doesNotThrowAnyException();
+		assertThatCode(() -> schedules.validate("0 0 * * * *")).doesNotThrowAnyException();
+		assertThatThrownBy(() -> schedules.validate("every hour")).isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("every hour");
+	}
+
+	@Test
+	void catchUpPolicy_WithoutOwnPolicy_ShouldUseDefault() {
+		properties.setDefaultCatchUpPolicy(CatchUpPolicy.SKIP);
+		DetectionAnalytic analytic = analytic(null, null, null);
+
+		assertThat(schedules.catchUpPolicy(analytic)).isEqualTo(CatchUpPolicy.SKIP);
+		analytic.setCatchUpPolicy(CatchUpPolicy.RUN_ONCE);
+		assertThat(schedules.catchUpPolicy(analytic)).isEqualTo(CatchUpPolicy.RUN_ONCE);
+	}
+
+	private static DetectionAnalytic analytic(String cron, Integer intervalMinutes, Integer jitterSeconds) {
+		DetectionAnalytic analytic = new DetectionAnalytic();
+		analytic.setScheduleCron(cron);
+		analytic.setScheduleIntervalMinutes(intervalMinutes);
+		analytic.setScheduleJitterSeconds(jitterSeconds);
+		return analytic;
+	}
+}
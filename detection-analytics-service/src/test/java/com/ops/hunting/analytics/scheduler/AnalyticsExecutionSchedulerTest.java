@@ -0,0 +1,152 @@
+package com.ops.hunting.analytics.scheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import com.ops.hunting.analytics.config.AnalyticsExecutionProperties;
+import com.ops.hunting.analytics.entity.DetectionAnalytic;
+import com.ops.hunting.analytics.enums.CatchUpPolicy;
+import com.ops.hunting.analytics.execution.AnalyticExecutionEngine;
+import com.ops.hunting.analytics.execution.ExecutionSummary;
+import com.ops.hunting.analytics.repository.DetectionAnalyticRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class AnalyticsExecutionSchedulerTest {
+
+	@Mock
+	private DetectionAnalyticRepository analyticRepository;
+
+	@Mock
+	private AnalyticExecutionEngine executionEngine;
+
+	private AnalyticsExecutionProperties properties;
+	private AnalyticsExecutionScheduler scheduler;
+
+	@BeforeEach
+	void setUp() {
+		properties = new AnalyticsExecutionProperties();
+		properties.setDefaultJitterSeconds(0);
+		scheduler = new AnalyticsExecutionScheduler(analyticRepository, executionEngine,
+				new AnalyticSchedules(properties), properties);
+	}
+
+	@Test
+	void executeDueAnalytics_ShouldExecuteOnlyRunsItClaimed() {
+		DetectionAnalytic claimed = analytic(LocalDateTime.now().minusSeconds(5), null);
+		DetectionAnalytic taken = analytic(LocalDateTime.now().minusSeconds(5), null);
+		dueAnalytics(claimed, taken);
+		when(analyticRepository.reschedule(eq(claimed.getId()), eq(claimed.getNextRunAt()), any(LocalDateTime.class)))
+				.thenReturn(1);
+		when(analyticRepository.reschedule(eq(taken.getId()), eq(taken.getNextRunAt()), any(LocalDateTime.class)))
+				.thenReturn(0);
+		stubExecution();
+
+		scheduler.executeDueAnalytics();
+
+		verify(executionEngine).execute(List.of(claimed));
+	}
+
+	@Test
+	void executeDueAnalytics_ShouldMoveClaimedRunToItsNextScheduledTime() {
+		DetectionAnalytic analytic = analytic(LocalDateTime.now().minusSeconds(5), null);
+		analytic.setScheduleIntervalMinutes(10);
+		dueAnalytics(analytic);
+		ArgumentCaptor<LocalDateTime> next = ArgumentCaptor.forClass(LocalDateTime.class);
+		when(analyticRepository.reschedule(eq(analytic.getId()), eq(analytic.getNextRunAt()), next.capture()))
+				.thenReturn(1);
+		stubExecution();
+		LocalDateTime before = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+		scheduler.executeDueAnalytics();
+
+		assertThat(next.getValue()).isBetween(before.plusMinutes(10), LocalDateTime.now().plusMinutes(10));
+	}
+
+	@Test
+	void executeDueAnalytics_WhenRunWasMissed_ShouldApplyCatchUpPolicy() {
+		LocalDateTime missed = LocalDateTime.now().minusMinutes(10).truncatedTo(ChronoUnit.SECONDS);
+		DetectionAnalytic skipped = analytic(missed, CatchUpPolicy.SKIP);
+		DetectionAnalytic caughtUp = analytic(missed, CatchUpPolicy.RUN_ONCE);
+		dueAnalytics(skipped, caughtUp);
+		when(analyticRepository.reschedule(any(UUID.class), eq(missed), any(LocalDateTime.class))).thenReturn(1);
+		stubExecution();
+
+		scheduler.executeDueAnalytics();
+
+		verify(analyticRepository).reschedule(eq(skipped.getId()), eq(missed), any(LocalDateTime.class));
+		verify(executionEngine).execute(List.of(caughtUp));
+	}
+
+	@Test
+	void executeDueAnalytics_WhenNothingClaimed_ShouldNotCallEngine() {
+		DetectionAnalytic skipped = analytic(LocalDateTime.now().minusMinutes(10), CatchUpPolicy.SKIP);
+		dueAnalytics(skipped);
+		when(analyticRepository.reschedule(eq(skipped.getId()), eq(skipped.getNextRunAt()), any(LocalDateTime.class)))
+				.thenReturn(1);
+
+		scheduler.executeDueAnalytics();
+
+		verify(executionEngine, never()).execute(anyList());
+	}
+
+	@Test
+	void executeDueAnalytics_WhenDisabled_ShouldDoNothing() {
+		properties.setEnabled(false);
+
+		scheduler.executeDueAnalytics();
+
+		verifyNoInteractions(analyticRepository, executionEngine);
+	}
+
+	@Test
+	void scheduleUnscheduled_ShouldAssignFirstRunWithinFirstInterval() {
+		DetectionAnalytic analytic = analytic(null, null);
+		analytic.setScheduleIntervalMinutes(10);
+		when(analyticRepository.findUnscheduled()).thenReturn(List.of(analytic));
+		ArgumentCaptor<LocalDateTime> first = ArgumentCaptor.forClass(LocalDateTime.class);
+		when(analyticRepository.scheduleFirstRun(eq(analytic.getId()), first.capture())).thenReturn(1);
+		LocalDateTime before = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+		scheduler.scheduleUnscheduled();
+
+		assertThat(first.getValue()).isBetween(before, LocalDateTime.now().plusMinutes(10));
+	}
+
+	private void dueAnalytics(DetectionAnalytic... analytics) {
+		PageRequest batch = PageRequest.of(0, properties.getDueBatchSize());
+		when(analyticRepository.findDue(any(LocalDateTime.class), eq(batch))).thenReturn(List.of(analytics));
+	}
+
+	private void stubExecution() {
+		when(executionEngine.execute(anyList()))
+				.thenReturn(CompletableFuture.completedFuture(new ExecutionSummary(1, 0, 1, 0)));
+	}
+
+	private static DetectionAnalytic analytic(LocalDateTime nextRunAt, CatchUpPolicy catchUpPolicy) {
+		DetectionAnalytic analytic = new DetectionAnalytic();
+		analytic.setId(UUID.randomUUID());
+		analytic.setNextRunAt(nextRunAt != null ? nextRunAt.truncatedTo(ChronoUnit.SECONDS) : null);
+		analytic.setCatchUpPolicy(catchUpPolicy);
+		return analytic;
+	}
+}
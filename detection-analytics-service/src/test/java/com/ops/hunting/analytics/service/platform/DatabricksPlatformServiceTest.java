@@ -0,0 +1,148 @@
+package com.ops.hunting.analytics.service.platform;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ops.hunting.analytics.config.PlatformHttpProperties;
+import com.ops.hunting.common.enums.Platform;
+
+public class DatabricksPlatformServiceTest {
+
+	private static final String STATEMENTS = "/api/2.0/sql/statements";
+
+	private StubServer server;
+	private PlatformHttpProperties properties;
+	private PlatformWebClients webClients;
+	private DatabricksPlatformService service;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		server = new StubServer();
+		server.on("GET /api/2.0/clusters/get", body -> "{}");
+		server.on("GET " + STATEMENTS + "/s1", body -> statement("RUNNING"));
+		server.on("POST " + STATEMENTS + "/s1/cancel", body -> "{}");
+		properties = new PlatformHttpProperties();
+		webClients = new PlatformWebClients(WebClient.builder(), properties);
+		service = new DatabricksPlatformService(webClients, new ObjectMapper());
+		ReflectionTestUtils.setField(service, "databricksHost", server.url());
+		ReflectionTestUtils.setField(service, "token", "test-token");
+		ReflectionTestUtils.setField(service, "clusterId", "warehouse-1");
+		ReflectionTestUtils.setField(service, "waitTimeout", Duration.ofSeconds(10));
+		ReflectionTestUtils.setField(service, "pollInitialDelay", Duration.ofMillis(20));
+		ReflectionTestUtils.setField(service, "pollMaxDelay", Duration.ofMillis(50));
+		ReflectionTestUtils.setField(service, "statementTimeout", Duration.ofMinutes(1));
+	}
+
+	@AfterEach
+	void tearDown() {
+		server.close();
+		webClients.shutdown();
+	}
+
+	@Test
+	void executeQuery_WhenInterrupted_ShouldCancelStatementOnWarehouse() throws InterruptedException {
+		server.on("POST " + STATEMENTS, body -> statement("PENDING"));
+		service.init();
+
+		AtomicReference<PlatformService.QueryResult> result = new AtomicReference<>();
+		AtomicBoolean reinterrupted = new AtomicBoolean();
+		Thread caller = new Thread(() -> {
+			result.set(service.executeQuery("SELECT 1"));
+			reinterrupted.set(Thread.currentThread().isInterrupted());
+		});
+		caller.start();
+		assertThat(server.await("GET " + STATEMENTS + "/s1")).isTrue();
+
+		caller.interrupt();
+		caller.join(5000);
+
+		assertThat(result.get().isSuccess()).isFalse();
+		assertThat(result.get().getErrorMessage()).isEqualTo("Query interrupted");
+		assertThat(reinterrupted).isTrue();
+		assertThat(server.await("POST " + STATEMENTS + "/s1/cancel")).isTrue();
+	}
+
+	@Test
+	void executeQuery_WhenInterruptedAwaitingSubmit_ShouldReleaseConnection() throws InterruptedException {
+		PlatformHttpProperties.Client client = new PlatformHttpProperties.Client();
+		client.setMaxConnections(1);
+		client.setPendingAcquireTimeout(Duration.ofSeconds(1));
+		properties.getClients().put(Platform.DATABRICKS, client);
+		server.hang("POST " + STATEMENTS);
+		service.init();
+
+		AtomicReference<PlatformService.QueryResult> result = new AtomicReference<>();
+		Thread caller = new Thread(() -> result.set(service.executeQuery("SELECT 1")));
+		caller.start();
+		assertThat(server.await("POST " + STATEMENTS)).isTrue();
+
+		caller.interrupt();
+		caller.join(5000);
+
+		assertThat(result.get().getErrorMessage()).isEqualTo("Query interrupted");
+		assertThat(service.testConnection()).isTrue();
+	}
+
+	@Test
+	void executeQuery_WhenStatementOutlivesTimeout_ShouldCancelStatementOnWarehouse() throws InterruptedException {
+		ReflectionTestUtils.setField(service, "statementTimeout", Duration.ofMillis(300));
+		server.on("POST " + STATEMENTS, body -> statement("PENDING"));
+		service.init();
+
+		PlatformService.QueryResult result = service.executeQuery("SELECT 1");
+
+		assertThat(result.isSuccess()).isFalse();
+		assertThat(result.getErrorMessage()).isEqualTo("Statement timed out after PT0.3S");
+		assertThat(server.await("POST " + STATEMENTS + "/s1/cancel")).isTrue();
+	}
+
+	@Test
+	void executeQuery_ShouldCountRowsOfEveryChunkInOrder() {
+		server.on("POST " + STATEMENTS, body -> "{\"statement_id\":\"s1\",\"status\":{\"state\":\"SUCCEEDED\"},"
+				+ "\"manifest\":{\"total_row_count\":3},\"result\":" + chunk(0, 1) + "}");
+		server.on("GET " + STATEMENTS + "/s1/result/chunks/1", body -> chunk(1, null));
+		server.on("GET /results/0", body -> "[[\"a\"],[\"b\"]]");
+		server.on("GET /results/1", body -> "[[\"c\"]]");
+		service.init();
+
+		PlatformService.QueryResult result = service.executeQuery("SELECT 1");
+
+		assertThat(result.isSuccess()).isTrue();
+		assertThat(result.getRecordsProcessed()).isEqualTo(3);
+		assertThat(server.received()).containsSubsequence("GET /results/0", "GET " + STATEMENTS + "/s1/result/chunks/1",
+				"GET /results/1");
+	}
+
+	@Test
+	void executeQuery_WhenResultTruncated_ShouldFailWithoutReadingIt() {
+		server.on("POST " + STATEMENTS, body -> "{\"statement_id\":\"s1\",\"status\":{\"state\":\"SUCCEEDED\"},"
+				+ "\"manifest\":{\"truncated\":true,\"total_row_count\":1000},\"result\":" + chunk(0, null) + "}");
+		service.init();
+
+		PlatformService.QueryResult result = service.executeQuery("SELECT 1");
+
+		assertThat(result.isSuccess()).isFalse();
+		assertThat(result.getErrorMessage()).contains("truncated").contains("1000 rows");
+		assertThat(server.received()).doesNotContain("GET /results/0");
+	}
+
+	private static String statement(String state) {
+		return "{\"statement_id\":\"s1\",\"status\":{\"state\":\"" + state + "\"}}";
+	}
+
+	private String chunk(int index, Integer next) {
+		return "{\"external_links\":[{\"chunk_index\":" + index + ",\"external_link\":\"" + server.url() + "/results/"
+				+ index + "\"" + (next != null ? ",\"next_chunk_index\":" + next : "") + "}]}";
+	}
+}
@@ -0,0 +1,109 @@
+package com.ops.hunting.analytics.service.platform;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ops.hunting.analytics.config.PlatformHttpProperties;
+
+public class ElasticPlatformServiceTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final List<JsonNode> searches = new CopyOnWriteArrayList<>();
+
+	private StubServer server;
+	private PlatformWebClients webClients;
+	private ElasticPlatformService service;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		server = new StubServer();
+		server.on("POST /logs-*/_pit", body -> "{\"id\":\"pit-1\"}");
+		server.on("DELETE /_pit", body -> "{}");
+		webClients = new PlatformWebClients(WebClient.builder(), new PlatformHttpProperties());
+		service = new ElasticPlatformService(webClients, objectMapper);
+		ReflectionTestUtils.setField(service, "elasticHost", server.url());
+		ReflectionTestUtils.setField(service, "username", "elastic");
+		ReflectionTestUtils.setField(service, "password", "secret");
+		ReflectionTestUtils.setField(service, "indexPattern", "logs-*");
+		ReflectionTestUtils.setField(service, "pageSize", 2);
+		ReflectionTestUtils.setField(service, "pitKeepAlive", "1m");
+		service.init();
+	}
+
+	@AfterEach
+	void tearDown() {
+		server.close();
+		webClients.shutdown();
+	}
+
+	@Test
+	void streamHits_ShouldPageUntilShortPageAndCloseLatestPointInTime() throws Exception {
+		respondWithPages(List.of(hit("a", 1), hit("b", 2)), List.of(hit("c", 3)));
+		List<String> ids = new ArrayList<>();
+
+		Long hits = service.streamHits("user:alice", hit -> ids.add(hit.path("_id").asText()))
+				.block(Duration.ofSeconds(5));
+
+		assertThat(hits).isEqualTo(3);
+		assertThat(ids).containsExactly("a", "b", "c");
+		assertThat(searches).hasSize(2);
+		assertThat(searches.get(0).path("pit").path("id").asText()).isEqualTo("pit-1");
+		assertThat(searches.get(0).has("search_after")).isFalse();
+		assertThat(searches.get(1).path("pit").path("id").asText()).isEqualTo("pit-2");
+		assertThat(searches.get(1).path("search_after").toString()).isEqualTo("[2]");
+		assertThat(server.await("DELETE /_pit")).isTrue();
+		assertThat(objectMapper.readTree(server.lastBody("DELETE /_pit")).path("id").asText()).isEqualTo("pit-2");
+	}
+
+	@Test
+	void streamHits_WhenLastPageIsFull_ShouldStopAtFollowingEmptyPage() throws InterruptedException {
+		respondWithPages(List.of(hit("a", 1), hit("b", 2)), List.of());
+
+		Long hits = service.streamHits("*", hit -> {
+		}).block(Duration.ofSeconds(5));
+
+		assertThat(hits).isEqualTo(2);
+		assertThat(searches).hasSize(2);
+		assertThat(server.await("DELETE /_pit")).isTrue();
+	}
+
+	@Test
+	void executeQuery_WhenSearchFails_ShouldReportErrorAndClosePointInTime() throws InterruptedException {
+		server.on("POST /_search", body -> {
+			throw new IllegalStateException("search_phase_execution_exception");
+		});
+
+		PlatformService.QueryResult result = service.executeQuery("*");
+
+		assertThat(result.isSuccess()).isFalse();
+		assertThat(result.getErrorMessage()).startsWith("Error executing query");
+		assertThat(server.await("DELETE /_pit")).isTrue();
+	}
+
+	private void respondWithPages(List<String> first, List<String> second) {
+		server.on("POST /_search", body -> {
+			JsonNode search = objectMapper.readTree(body);
+			searches.add(search);
+			List<String> page = search.has("search_after") ? second : first;
+			return "{\"pit_id\":\"pit-2\",\"took\":1,\"hits\":{\"hits\":[" + String.join(",", page) + "]}}";
+		});
+	}
+
+	private static String hit(String id, int sort) {
+		return "{\"_index\":\"logs-1\",\"_id\":\"" + id + "\",\"_source\":{\"user\":\"alice\"},\"sort\":[" + sort
+				+ "]}";
+	}
+}
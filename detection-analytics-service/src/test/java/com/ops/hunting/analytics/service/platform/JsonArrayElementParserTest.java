@@ -0,0 +1,76 @@
+package com.ops.hunting.analytics.service.platform;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class JsonArrayElementParserTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final List<JsonNode> elements = new ArrayList<>();
+
+	@Test
+	void feed_ShouldEmitEachElementOfRootArray() {
+		JsonArrayElementParser parser = new JsonArrayElementParser(objectMapper, elements::add);
+
+		feed(parser, "[[\"a\",1],[\"b\",[2,3]],{\"c\":[4]},5]", 100);
+		parser.finish();
+
+		assertThat(elements).extracting(JsonNode::toString).containsExactly("[\"a\",1]", "[\"b\",[2,3]]",
+				"{\"c\":[4]}", "5");
+	}
+
+	@Test
+	void feed_WhenBodyArrivesByteByByte_ShouldEmitElementsAsTheyComplete() {
+		JsonArrayElementParser parser = new JsonArrayElementParser(objectMapper, elements::add);
+
+		feed(parser, "[{\"id\":1},{\"id\":2}]", 1);
+
+		assertThat(elements).extracting(node -> node.path("id").asInt()).containsExactly(1, 2);
+		parser.finish();
+	}
+
+	@Test
+	void feed_WithPath_ShouldEmitOnlyElementsOfTargetArrayAndKeepRootScalars() {
+		JsonArrayElementParser parser = new JsonArrayElementParser(objectMapper, new String[] { "hits", "hits" },
+				elements::add);
+
+		feed(parser, "{\"pit_id\":\"p1\",\"took\":3,\"other\":{\"hits\":[9]},"
+				+ "\"hits\":{\"total\":2,\"hits\":[{\"_id\":\"a\",\"sort\":[1]},{\"_id\":\"b\",\"sort\":[2]}]}}", 7);
+		parser.finish();
+
+		assertThat(elements).extracting(node -> node.path("_id").asText()).containsExactly("a", "b");
+		assertThat(parser.rootValue("pit_id")).isEqualTo("p1");
+		assertThat(parser.rootValue("took")).isEqualTo("3");
+		assertThat(parser.rootValue("total")).isNull();
+	}
+
+	@Test
+	void finish_WhenBodyEndsInsideArray_ShouldFail() {
+		JsonArrayElementParser parser = new JsonArrayElementParser(objectMapper, elements::add);
+		feed(parser, "[[1],[2", 100);
+
+		assertThatThrownBy(parser::finish).isInstanceOf(UncheckedIOException.class);
+		assertThat(elements).hasSize(1);
+	}
+
+	private static void feed(JsonArrayElementParser parser, String json, int chunkSize) {
+		byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+		for (int offset = 0; offset < bytes.length; offset += chunkSize) {
+			int length = Math.min(chunkSize, bytes.length - offset);
+			byte[] chunk = new byte[length];
+			System.arraycopy(bytes, offset, chunk, 0, length);
+			parser.feed(DefaultDataBufferFactory.sharedInstance.wrap(chunk));
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package com.ops.hunting.analytics.service.platform;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.ops.hunting.analytics.config.PlatformHttpProperties;
+import com.ops.hunting.common.enums.Platform;
+
+import io.netty.handler.timeout.ReadTimeoutException;
+import reactor.core.Disposable;
+
+public class PlatformWebClientsTest {
+
+	private StubServer server;
+	private PlatformHttpProperties properties;
+	private PlatformWebClients webClients;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		server = new StubServer();
+		server.on("GET /ping", body -> "{\"ok\":true}");
+		server.hang("GET /slow");
+		properties = new PlatformHttpProperties();
+		webClients = new PlatformWebClients(WebClient.builder(), properties);
+	}
+
+	@AfterEach
+	void tearDown() {
+		server.close();
+		webClients.shutdown();
+	}
+
+	@Test
+	void create_ShouldReuseKeptAliveConnection() {
+		WebClient webClient = webClients.create(Platform.ELASTIC, server.url());
+
+		get(webClient, "/ping");
+		get(webClient, "/ping");
+
+		assertThat(server.clientPorts()).hasSize(2);
+		assertThat(server.clientPorts().get(1)).isEqualTo(server.clientPorts().get(0));
+	}
+
+	@Test
+	void create_WhenPoolExhausted_ShouldFailAfterPendingAcquireTimeoutWithoutStarvingOtherPlatforms()
+			throws InterruptedException {
+		PlatformHttpProperties.Client client = new PlatformHttpProperties.Client();
+		client.setMaxConnections(1);
+		client.setPendingAcquireTimeout(Duration.ofMillis(200));
+		properties.getClients().put(Platform.ELASTIC, client);
+		WebClient elastic = webClients.create(Platform.ELASTIC, server.url());
+		WebClient databricks = webClients.create(Platform.DATABRICKS, server.url());
+
+		Disposable held = elastic.get().uri("/slow").retrieve().bodyToMono(String.class).subscribe();
+		try {
+			assertThat(server.await("GET /slow")).isTrue();
+
+			Throwable thrown = catchThrowable(() -> get(elastic, "/ping"));
+			assertThat(rootCause(thrown)).isInstanceOf(TimeoutException.class).hasMessageContaining("Pool#acquire");
+			assertThat(get(databricks, "/ping")).contains("ok");
+		} finally {
+			held.dispose();
+		}
+	}
+
+	@Test
+	void create_WhenResponseIsSlowerThanReadTimeout_ShouldFail() {
+		PlatformHttpProperties.Client client = new PlatformHttpProperties.Client();
+		client.setReadTimeout(Duration.ofMillis(200));
+		properties.getClients().put(Platform.ELASTIC, client);
+		WebClient webClient = webClients.create(Platform.ELASTIC, server.url());
+
+		Throwable thrown = catchThrowable(() -> get(webClient, "/slow"));
+
+		assertThat(rootCause(thrown)).isInstanceOf(ReadTimeoutException.class);
+	}
+
+	@Test
+	void create_WhenResponseExceedsMaxResponseSize_ShouldFail() {
+		PlatformHttpProperties.Client client = new PlatformHttpProperties.Client();
+		client.setMaxResponseSize(DataSize.ofBytes(64));
+		properties.getClients().put(Platform.ELASTIC, client);
+		server.on("GET /large", body -> "\"" + "x".repeat(1024) + "\"");
+		WebClient webClient = webClients.create(Platform.ELASTIC, server.url());
+
+		Throwable thrown = catchThrowable(() -> get(webClient, "/large"));
+
+		assertThat(rootCause(thrown)).isInstanceOf(DataBufferLimitException.class);
+	}
+
+	private static String get(WebClient webClient, String path) {
+		return webClient.get().uri(path).retrieve().bodyToMono(String.class).block(Duration.ofSeconds(5));
+	}
+
+	private static Throwable rootCause(Throwable thrown) {
+		assertThat(thrown).isNotNull();
+		while (thrown.getCause() != null) {
+			thrown = thrown.getCause();
+		}
+		return thrown;
+	}
+}
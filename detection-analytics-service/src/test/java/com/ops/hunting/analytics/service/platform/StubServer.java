@@ -0,0 +1,125 @@
+package com.ops.hunting.analytics.service.platform;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Loopback HTTP server standing in for a platform. Requests are recorded as
+ * {@code METHOD path} and answered with the JSON of the route registered for
+ * them, or 404. A route can hang until the server closes, like a platform
+ * that never answers.
+ */
+final class StubServer implements AutoCloseable {
+
+	@FunctionalInterface
+	interface Route {
+		String respond(String requestBody) throws Exception;
+	}
+
+	private final HttpServer server;
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+	private final Map<String, Route> routes = new ConcurrentHashMap<>();
+	private final List<String> received = new CopyOnWriteArrayList<>();
+	private final Map<String, String> lastBodies = new ConcurrentHashMap<>();
+	private final List<Integer> clientPorts = new CopyOnWriteArrayList<>();
+	private final CountDownLatch closed = new CountDownLatch(1);
+
+	StubServer() throws IOException {
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.createContext("/", this::handle);
+		server.setExecutor(executor);
+		server.start();
+	}
+
+	String url() {
+		return "http://127.0.0.1:" + server.getAddress().getPort();
+	}
+
+	void on(String request, Route route) {
+		routes.put(request, route);
+	}
+
+	void hang(String request) {
+		on(request, body -> {
+			closed.await();
+			return "{}";
+		});
+	}
+
+	List<String> received() {
+		return received;
+	}
+
+	/** Body of the latest {@code request} received, or {@code null}. */
+	String lastBody(String request) {
+		return lastBodies.get(request);
+	}
+
+	/** Client port each request came from, in arrival order. */
+	List<Integer> clientPorts() {
+		return clientPorts;
+	}
+
+	/** Waits up to five seconds for {@code request} to arrive. */
+	boolean await(String request) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!received.contains(request)) {
+			if (System.nanoTime() > deadline) {
+				return false;
+			}
+			Thread.sleep(10);
+		}
+		return true;
+	}
+
+	@Override
+	public void close() {
+		closed.countDown();
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		String request = exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath();
+		String requestBody = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+		lastBodies.put(request, requestBody);
+		clientPorts.add(exchange.getRemoteAddress().getPort());
+		received.add(request);
+
+		Route route = routes.get(request);
+		int status = 200;
+		String body;
+		try {
+			if (route == null) {
+				status = 404;
+				body = "{}";
+			} else {
+				body = route.respond(requestBody);
+			}
+		} catch (Exception e) {
+			status = 500;
+			body = "{\"error\":\"" + e.getMessage() + "\"}";
+		}
+
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+}
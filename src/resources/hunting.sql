@@ -110,8 +110,14 @@ CREATE TABLE detection_analytics (
     is_active BOOLEAN DEFAULT TRUE,
     accuracy DECIMAL(5,2) CHECK (accuracy >= 0 AND accuracy <= 100),
     threat_intelligence_id VARCHAR(50),
+    schedule_cron VARCHAR(120),
+    schedule_interval_minutes INT,
+    schedule_jitter_seconds INT,
+    catch_up_policy VARCHAR(20),
+    next_run_at DATETIME(6),
     FOREIGN KEY (threat_intelligence_id) REFERENCES threat_intelligence(id) ON DELETE SET NULL,
     INDEX idx_platform (platform),
+    INDEX idx_due (is_active, next_run_at),
     INDEX idx_created_by (created_by),
     INDEX idx_is_active (is_active),
     INDEX idx_threat_intel (threat_intelligence_id)
@@ -350,6 +356,16 @@ CREATE TABLE product_tags (
     FOREIGN KEY (tag_id) REFERENCES tags(id) ON DELETE CASCADE
 );
 
+-- Transactional outbox shared by the services; drained in id order by OutboxRelay
+CREATE TABLE outbox_events (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    topic VARCHAR(255) NOT NULL,
+    message_key VARCHAR(255),
+    payload_type VARCHAR(255),
+    payload LONGTEXT NOT NULL,
+    created_at DATETIME(6) NOT NULL
+);
+
 -- Insert initial lookup data
 INSERT INTO threat_types VALUES 
 ('MALWARE', 'Malware', 'Malicious software including viruses, trojans, and ransomware'),